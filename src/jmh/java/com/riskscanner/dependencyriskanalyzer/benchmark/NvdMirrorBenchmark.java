@@ -0,0 +1,275 @@
+package com.riskscanner.dependencyriskanalyzer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.riskscanner.dependencyriskanalyzer.BuildAegisApplication;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.NvdMirrorService;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.NvdVulnerabilityProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares NVD lookups answered by the local mirror with the live-query path.
+ *
+ * <p>A {@code com.sun.net.httpserver} stand-in serves NVD 2.0 responses for both the mirror's
+ * incremental sync and the live {@code cpeName} queries, with an optional per-request latency to
+ * approximate the real API. The dataset is {@value #PRODUCTS} products with {@value #CVES_PER_PRODUCT}
+ * CVEs each.
+ *
+ * <ul>
+ *   <li>{@code mirrorColdLookup}: first lookup after the application context started, one per fork.</li>
+ *   <li>{@code mirrorWarmLookup}: steady-state lookup of random coordinates.</li>
+ *   <li>{@code liveLookup}: the pre-mirror path, one HTTP query per lookup.</li>
+ * </ul>
+ *
+ * <p>Run with {@code mvn -Pbenchmark compile exec:exec -Djmh.args=NvdMirrorBenchmark}.
+ */
+public class NvdMirrorBenchmark {
+
+    static final int PRODUCTS = 500;
+    static final int CVES_PER_PRODUCT = 4;
+
+    @State(Scope.Benchmark)
+    public static class MirrorState {
+        StandInNvdServer server;
+        ConfigurableApplicationContext context;
+        NvdVulnerabilityProvider provider;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            server = StandInNvdServer.start(0);
+            context = startContext("nvdmirror", server.baseUrl());
+
+            // Bootstrap from a one-record feed, then pull the dataset through the incremental sync
+            NvdMirrorService mirror = context.getBean(NvdMirrorService.class);
+            Path feedDir = Files.createTempDirectory("nvd-feed");
+            Path feed = feedDir.resolve("nvdcve-2.0-bootstrap.json");
+            Files.writeString(feed, server.page(List.of(cve("CVE-2000-0001", "bootstrap", LocalDateTime.now(ZoneOffset.UTC).minusDays(1))), 0, 1));
+            mirror.importFeeds(feedDir);
+            mirror.sync();
+
+            provider = context.getBean(NvdVulnerabilityProvider.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+            server.stop();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class LiveState {
+        @Param({"0", "150"})
+        public int latencyMillis;
+
+        StandInNvdServer server;
+        ConfigurableApplicationContext context;
+        NvdVulnerabilityProvider provider;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            server = StandInNvdServer.start(latencyMillis);
+            context = startContext("nvdlive", server.baseUrl());
+            provider = context.getBean(NvdVulnerabilityProvider.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public List<Vulnerability> mirrorColdLookup(MirrorState state) {
+        return state.provider.getVulnerabilities(randomCoordinate());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public List<Vulnerability> mirrorWarmLookup(MirrorState state) {
+        return state.provider.getVulnerabilities(randomCoordinate());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 2)
+    @Fork(1)
+    public List<Vulnerability> liveLookup(LiveState state) {
+        return state.provider.getVulnerabilities(randomCoordinate());
+    }
+
+    private static DependencyCoordinate randomCoordinate() {
+        int product = ThreadLocalRandom.current().nextInt(PRODUCTS);
+        return new DependencyCoordinate("com.example", "lib-" + product, "1.5", "maven", null);
+    }
+
+    private static ConfigurableApplicationContext startContext(String database, String baseUrl) {
+        return new SpringApplicationBuilder(BuildAegisApplication.class)
+            .web(WebApplicationType.NONE)
+            .logStartupInfo(false)
+            .run(
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--buildaegis.vulnerability.nvd.base-url=" + baseUrl,
+                "--buildaegis.vulnerability.nvd.sync-page-delay=PT0S",
+                "--logging.level.root=WARN");
+    }
+
+    private static ObjectNode cve(String id, String product, LocalDateTime lastModified) {
+        ObjectNode cve = StandInNvdServer.MAPPER.createObjectNode();
+        cve.put("id", id);
+        cve.put("published", lastModified.minusDays(30).truncatedTo(ChronoUnit.MILLIS).toString());
+        cve.put("lastModified", lastModified.truncatedTo(ChronoUnit.MILLIS).toString());
+        cve.putArray("descriptions").addObject().put("lang", "en").put("value", "Synthetic vulnerability in " + product);
+        cve.putObject("metrics").putArray("cvssMetricV31").addObject().putObject("cvssData")
+            .put("baseScore", 7.5)
+            .put("vectorString", "CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:U/C:H/I:N/A:N");
+        cve.putArray("references").addObject().put("url", "https://example.com/" + id);
+        ObjectNode match = cve.putArray("configurations").addObject().putArray("nodes").addObject()
+            .put("operator", "OR").put("negate", false)
+            .putArray("cpeMatch").addObject();
+        match.put("vulnerable", true);
+        match.put("criteria", "cpe:2.3:a:example:" + product + ":*:*:*:*:*:*:*:*");
+        match.put("versionEndExcluding", "2.0");
+        return cve;
+    }
+
+    /**
+     * Minimal NVD CVE API 2.0 stand-in: {@code cpeName} queries return the CVEs of that product,
+     * {@code lastModStartDate} queries return the whole dataset.
+     */
+    static final class StandInNvdServer {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+        private static final String PATH = "/rest/json/cves/2.0";
+
+        private final HttpServer server;
+        private final int latencyMillis;
+
+        private StandInNvdServer(HttpServer server, int latencyMillis) {
+            this.server = server;
+            this.latencyMillis = latencyMillis;
+        }
+
+        static StandInNvdServer start(int latencyMillis) throws IOException {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            StandInNvdServer standIn = new StandInNvdServer(server, latencyMillis);
+            server.createContext(PATH, standIn::handle);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.start();
+            return standIn;
+        }
+
+        String baseUrl() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + PATH;
+        }
+
+        void stop() {
+            server.stop(0);
+        }
+
+        String page(List<ObjectNode> cves, int startIndex, int totalResults) throws IOException {
+            ObjectNode root = MAPPER.createObjectNode();
+            root.put("resultsPerPage", cves.size());
+            root.put("startIndex", startIndex);
+            root.put("totalResults", totalResults);
+            root.put("format", "NVD_CVE");
+            root.put("version", "2.0");
+            ArrayNode vulnerabilities = root.putArray("vulnerabilities");
+            cves.forEach(cve -> vulnerabilities.addObject().set("cve", cve));
+            return MAPPER.writeValueAsString(root);
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            try {
+                if (latencyMillis > 0) {
+                    Thread.sleep(latencyMillis);
+                }
+                String query = URLDecoder.decode(String.valueOf(exchange.getRequestURI().getRawQuery()), StandardCharsets.UTF_8);
+                String body;
+                if (query.contains("cpeName=")) {
+                    // cpe:2.3:a:<vendor>:<product>:<version>:...
+                    String product = query.substring(query.indexOf("cpeName=") + 8).split(":")[4];
+                    body = page(cvesFor(product), 0, CVES_PER_PRODUCT);
+                } else if (query.contains("startIndex=0")) {
+                    List<ObjectNode> all = new ArrayList<>();
+                    for (int i = 0; i < PRODUCTS; i++) {
+                        all.addAll(cvesFor("lib-" + i));
+                    }
+                    body = page(all, 0, all.size());
+                } else {
+                    body = page(List.of(), 0, 0);
+                }
+
+                byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exchange.sendResponseHeaders(503, -1);
+            } finally {
+                exchange.close();
+            }
+        }
+
+        private static List<ObjectNode> cvesFor(String product) {
+            int index = Integer.parseInt(product.substring(product.indexOf('-') + 1));
+            LocalDateTime modified = LocalDateTime.now(ZoneOffset.UTC).minusHours(1);
+            List<ObjectNode> cves = new ArrayList<>();
+            for (int i = 0; i < CVES_PER_PRODUCT; i++) {
+                cves.add(cve(String.format("CVE-2024-%05d", index * CVES_PER_PRODUCT + i), product, modified));
+            }
+            return cves;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.riskscanner.dependencyriskanalyzer.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.GitHubAdvisoryParser;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.NvdCveParser;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.NvdCveRecord;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.OsvAdvisory;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.OsvRecordParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing provider responses into a tree with streaming them straight from the body.
+ *
+ * <p>The responses are built from the recorded records in {@code src/jmh/resources/responses}
+ * (Log4Shell as returned by the NVD CVE API, OSV {@code /v1/query} and the GitHub advisories API),
+ * repeated {@code records} times per response:
+ * <ul>
+ *   <li>{@code *Tree}: the former path, the body read into a {@code String}, then
+ *       {@code ObjectMapper.readTree}, then the record parser over the tree.</li>
+ *   <li>{@code *Streaming}: the providers' path, the record parser reading the body stream.</li>
+ * </ul>
+ *
+ * <p>Run with {@code mvn -Pbenchmark compile exec:exec -Djmh.args="ProviderResponseParsingBenchmark -prof gc"};
+ * the gc profiler reports the allocation per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProviderResponseParsingBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final DependencyCoordinate LOG4J =
+        new DependencyCoordinate("org.apache.logging.log4j", "log4j-core", "2.14.1", "maven", null);
+
+    @Param({"20", "500"})
+    public int records;
+
+    private byte[] nvdResponse;
+    private byte[] osvResponse;
+    private byte[] githubResponse;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectNode nvd = (ObjectNode) recorded("nvd-cves.json");
+        repeat((ArrayNode) nvd.get("vulnerabilities"));
+        nvd.put("resultsPerPage", records).put("totalResults", records);
+        nvdResponse = MAPPER.writeValueAsBytes(nvd);
+
+        ObjectNode osv = (ObjectNode) recorded("osv-query.json");
+        repeat((ArrayNode) osv.get("vulns"));
+        osvResponse = MAPPER.writeValueAsBytes(osv);
+
+        ArrayNode github = (ArrayNode) recorded("github-advisories.json");
+        repeat(github);
+        githubResponse = MAPPER.writeValueAsBytes(github);
+    }
+
+    @Benchmark
+    public List<NvdCveRecord> nvdTree() throws IOException {
+        List<NvdCveRecord> parsed = new ArrayList<>();
+        for (JsonNode item : tree(nvdResponse).path("vulnerabilities")) {
+            parsed.add(NvdCveParser.parse(item.path("cve")));
+        }
+        return parsed;
+    }
+
+    @Benchmark
+    public NvdCveParser.Page nvdStreaming() throws IOException {
+        return NvdCveParser.parsePage(body(nvdResponse));
+    }
+
+    @Benchmark
+    public List<OsvAdvisory> osvTree() throws IOException {
+        List<OsvAdvisory> parsed = new ArrayList<>();
+        for (JsonNode vuln : tree(osvResponse).path("vulns")) {
+            parsed.add(OsvRecordParser.parse(vuln));
+        }
+        return parsed;
+    }
+
+    @Benchmark
+    public List<OsvAdvisory> osvStreaming() throws IOException {
+        return OsvRecordParser.parseVulns(body(osvResponse));
+    }
+
+    @Benchmark
+    public List<Vulnerability> githubTree() throws IOException {
+        List<Vulnerability> parsed = new ArrayList<>();
+        for (JsonNode advisory : tree(githubResponse)) {
+            try (JsonParser parser = advisory.traverse()) {
+                parser.nextToken();
+                parsed.add(GitHubAdvisoryParser.parse(parser, LOG4J));
+            }
+        }
+        return parsed;
+    }
+
+    @Benchmark
+    public List<Vulnerability> githubStreaming() throws IOException {
+        return GitHubAdvisoryParser.parse(body(githubResponse), LOG4J);
+    }
+
+    /**
+     * The former provider path: the whole body as a string, then as a tree.
+     */
+    private static JsonNode tree(byte[] response) throws IOException {
+        String body = new String(response, StandardCharsets.UTF_8);
+        return MAPPER.readTree(body);
+    }
+
+    private static InputStream body(byte[] response) {
+        return new ByteArrayInputStream(response);
+    }
+
+    private void repeat(ArrayNode array) {
+        JsonNode record = array.get(0);
+        array.removeAll();
+        for (int i = 0; i < records; i++) {
+            array.add(record.deepCopy());
+        }
+    }
+
+    private static JsonNode recorded(String name) {
+        try (InputStream in = ProviderResponseParsingBenchmark.class.getResourceAsStream("/responses/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing recorded response " + name);
+            }
+            return MAPPER.readTree(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.riskscanner.dependencyriskanalyzer.benchmark;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.MavenVersion;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the former string-splitting version comparison of {@link VersionRange} with
+ * {@link MavenVersion}, on versions published to Maven Central by widely used artifacts.
+ *
+ * <ul>
+ *   <li>{@code legacyCompare}: split on {@code .} and parse every segment on each comparison.</li>
+ *   <li>{@code mavenVersionCompare}: compare the interned, pre-tokenized versions.</li>
+ *   <li>{@code mavenVersionParseAndCompare}: the same through {@link MavenVersion#compare(String, String)},
+ *       i.e. including the interning cache lookup, as {@link VersionRange#includes(String)} does.</li>
+ *   <li>{@code rangeIncludes}: {@link VersionRange#includes(String)} against a bounded range.</li>
+ * </ul>
+ *
+ * <p>Run with {@code mvn -Pbenchmark compile exec:exec -Djmh.args=VersionComparisonBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VersionComparisonBenchmark {
+
+    static final List<String> CORPUS = List.of(
+        // log4j-core
+        "2.0-beta9", "2.0-rc1", "2.0", "2.14.1", "2.15.0", "2.16.0", "2.17.0", "2.17.1", "2.20.0", "2.23.1",
+        // jackson-databind
+        "2.9.10.8", "2.12.7.1", "2.13.4.2", "2.14.0-rc1", "2.15.2", "2.17.0",
+        // spring-core
+        "5.2.22.RELEASE", "5.3.27", "6.0.0-M1", "6.0.0-RC2", "6.1.4", "6.2.0-SNAPSHOT",
+        // guava
+        "19.0", "30.1.1-jre", "31.1-android", "31.1-jre", "32.0.0-jre", "33.0.0-jre",
+        // hibernate-core, netty
+        "5.4.33.Final", "5.6.15.Final", "6.4.4.Final", "4.1.86.Final", "4.1.94.Final", "4.1.100.Final",
+        // junit, commons-text, snakeyaml, h2
+        "5.10.0-M1", "5.10.0", "1.9", "1.10.0", "1.33", "2.0", "1.4.200", "2.2.224", "2.3.232",
+        // date- and build-number-style versions
+        "20090211", "20231013", "1.0.0.202106151411", "3.0.0.v20230202-1300", "1.2.3-beta.1+build.5"
+    );
+
+    private static final int PAIRS = 1024;
+
+    private final String[] left = new String[PAIRS];
+    private final String[] right = new String[PAIRS];
+    private final MavenVersion[] parsedLeft = new MavenVersion[PAIRS];
+    private final MavenVersion[] parsedRight = new MavenVersion[PAIRS];
+    private final VersionRange range = VersionRange.between("2.0-beta9", "2.15.0", false);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < PAIRS; i++) {
+            left[i] = CORPUS.get(random.nextInt(CORPUS.size()));
+            right[i] = CORPUS.get(random.nextInt(CORPUS.size()));
+            parsedLeft[i] = MavenVersion.parse(left[i]);
+            parsedRight[i] = MavenVersion.parse(right[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void legacyCompare(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(LegacyComparison.compareVersions(left[i], right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void mavenVersionCompare(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(parsedLeft[i].compareTo(parsedRight[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void mavenVersionParseAndCompare(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(MavenVersion.compare(left[i], right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void rangeIncludes(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(range.includes(left[i]));
+        }
+    }
+
+    /**
+     * The comparison {@link VersionRange} used before it stored parsed bounds.
+     */
+    static final class LegacyComparison {
+
+        static int compareVersions(String v1, String v2) {
+            String[] parts1 = v1.split("\\.");
+            String[] parts2 = v2.split("\\.");
+
+            int maxLength = Math.max(parts1.length, parts2.length);
+
+            for (int i = 0; i < maxLength; i++) {
+                int num1 = i < parts1.length ? parseVersionPart(parts1[i]) : 0;
+                int num2 = i < parts2.length ? parseVersionPart(parts2[i]) : 0;
+
+                if (num1 != num2) {
+                    return Integer.compare(num1, num2);
+                }
+            }
+
+            return 0;
+        }
+
+        private static int parseVersionPart(String part) {
+            try {
+                StringBuilder numeric = new StringBuilder();
+                for (char c : part.toCharArray()) {
+                    if (Character.isDigit(c)) {
+                        numeric.append(c);
+                    } else {
+                        break;
+                    }
+                }
+
+                if (numeric.length() > 0) {
+                    return Integer.parseInt(numeric.toString());
+                } else {
+                    return -1;
+                }
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.riskscanner.dependencyriskanalyzer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Shared scheduler for periodic background work: provider health probes, mirror syncs and index
+ * imports.
+ *
+ * <p>Services schedule their tasks on this bean instead of owning a thread each, and cancel them
+ * on shutdown; the pool itself is shut down with the application context. Several of the jobs
+ * block for minutes (feed imports, rate-limited syncs), so {@code buildaegis.scheduler.pool-size}
+ * defaults to one thread per job to keep them from delaying the health probes.
+ */
+@Configuration
+public class SchedulingConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskScheduler backgroundScheduler(@Value("${buildaegis.scheduler.pool-size:6}") int poolSize) {
+        return newScheduler(poolSize);
+    }
+
+    /**
+     * Creates an initialized scheduler with daemon threads.
+     */
+    public static ThreadPoolTaskScheduler newScheduler(int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(1, poolSize));
+        scheduler.setThreadNamePrefix("buildaegis-background-");
+        scheduler.setDaemon(true);
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.initialize();
+        return scheduler;
+    }
+}
@@ -3,6 +3,7 @@ package com.riskscanner.dependencyriskanalyzer.controller;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilityFinding;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilityExplanation;
+import com.riskscanner.dependencyriskanalyzer.service.execution.ScanExecutionService;
 import com.riskscanner.dependencyriskanalyzer.service.vulnerability.VulnerabilityMatchingService;
 import com.riskscanner.dependencyriskanalyzer.service.vulnerability.VulnerabilitySuppressionService;
 import com.riskscanner.dependencyriskanalyzer.service.vulnerability.VulnerabilityExplanationService;
@@ -10,6 +11,7 @@ import com.riskscanner.dependencyriskanalyzer.service.vulnerability.FalsePositiv
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -38,6 +40,12 @@ public class VulnerabilityAnalysisController {
     @Autowired
     private VulnerabilityExplanationService explanationService;
 
+    @Autowired
+    private ScanExecutionService scanExecution;
+
+    @Value("${buildaegis.scan.explanation-concurrency:4}")
+    private int explanationConcurrency;
+
     /**
      * Analyzes vulnerabilities for a single dependency with risk scoring and AI explanations.
      *
@@ -128,7 +136,7 @@ public class VulnerabilityAnalysisController {
     private Map<String, VulnerabilityExplanation> generateExplanations(List<VulnerabilityFinding> findings, List<String> dependencyPath) {
         Map<String, VulnerabilityExplanation> explanations = new java.util.concurrent.ConcurrentHashMap<>();
         
-        findings.parallelStream().forEach(finding -> {
+        scanExecution.forEach(findings, explanationConcurrency, finding -> {
             Optional<VulnerabilityExplanation> explanation = explanationService.explainVulnerability(finding, dependencyPath);
             explanation.ifPresent(exp -> explanations.put(finding.getId(), exp));
         });
@@ -137,20 +145,23 @@ public class VulnerabilityAnalysisController {
     }
 
     /**
-     * Generates AI explanations for batch analysis.
+     * Generates AI explanations for batch analysis. The findings of all dependencies share one
+     * explanation concurrency limit.
      */
     private Map<String, Map<String, VulnerabilityExplanation>> generateBatchExplanations(
             Map<DependencyCoordinate, List<VulnerabilityFinding>> findings) {
         
         Map<String, Map<String, VulnerabilityExplanation>> explanations = new java.util.concurrent.ConcurrentHashMap<>();
+        List<Map.Entry<DependencyCoordinate, VulnerabilityFinding>> allFindings = findings.entrySet().stream()
+            .flatMap(entry -> entry.getValue().stream().map(finding -> Map.entry(entry.getKey(), finding)))
+            .toList();
+        findings.keySet().forEach(dependency -> explanations.put(dependency.toString(), new java.util.concurrent.ConcurrentHashMap<>()));
         
-        findings.entrySet().parallelStream().forEach(entry -> {
-            DependencyCoordinate dependency = entry.getKey();
-            List<VulnerabilityFinding> dependencyFindings = entry.getValue();
-            List<String> dependencyPath = List.of(dependency.toString());
-            
-            Map<String, VulnerabilityExplanation> dependencyExplanations = generateExplanations(dependencyFindings, dependencyPath);
-            explanations.put(dependency.toString(), dependencyExplanations);
+        scanExecution.forEach(allFindings, explanationConcurrency, entry -> {
+            String dependency = entry.getKey().toString();
+            VulnerabilityFinding finding = entry.getValue();
+            explanationService.explainVulnerability(finding, List.of(dependency))
+                .ifPresent(exp -> explanations.get(dependency).put(finding.getId(), exp));
         });
         
         return explanations;
@@ -0,0 +1,130 @@
+package com.riskscanner.dependencyriskanalyzer.model;
+
+import jakarta.persistence.*;
+
+/**
+ * JPA entity for one vulnerable CPE match criterion of a mirrored CVE.
+ *
+ * <p>Vendor and product are split out of the CPE 2.3 criteria string and indexed, so lookups for a
+ * dependency are an index scan on {@code product}. Version bounds follow the NVD
+ * {@code versionStart*}/{@code versionEnd*} fields; {@code version} is the criteria's own version
+ * component ({@code *} when only bounds apply).
+ */
+@Entity
+@Table(
+        name = "nvd_cpe_match",
+        indexes = {
+                @Index(name = "idx_nvd_cpe_match_product", columnList = "product"),
+                @Index(name = "idx_nvd_cpe_match_cve", columnList = "cve_id")
+        }
+)
+public class NvdCpeMatchEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nvd_cpe_match_seq")
+    @SequenceGenerator(name = "nvd_cpe_match_seq", sequenceName = "nvd_cpe_match_seq", allocationSize = 500)
+    private Long id;
+
+    @Column(name = "cve_id", nullable = false, length = 32)
+    private String cveId;
+
+    @Column(nullable = false, length = 512)
+    private String criteria;
+
+    @Column(nullable = false)
+    private String vendor;
+
+    @Column(nullable = false)
+    private String product;
+
+    @Column(nullable = false)
+    private String version;
+
+    @Column(name = "version_start_including")
+    private String versionStartIncluding;
+
+    @Column(name = "version_start_excluding")
+    private String versionStartExcluding;
+
+    @Column(name = "version_end_including")
+    private String versionEndIncluding;
+
+    @Column(name = "version_end_excluding")
+    private String versionEndExcluding;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCveId() {
+        return cveId;
+    }
+
+    public void setCveId(String cveId) {
+        this.cveId = cveId;
+    }
+
+    public String getCriteria() {
+        return criteria;
+    }
+
+    public void setCriteria(String criteria) {
+        this.criteria = criteria;
+    }
+
+    public String getVendor() {
+        return vendor;
+    }
+
+    public void setVendor(String vendor) {
+        this.vendor = vendor;
+    }
+
+    public String getProduct() {
+        return product;
+    }
+
+    public void setProduct(String product) {
+        this.product = product;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public String getVersionStartIncluding() {
+        return versionStartIncluding;
+    }
+
+    public void setVersionStartIncluding(String versionStartIncluding) {
+        this.versionStartIncluding = versionStartIncluding;
+    }
+
+    public String getVersionStartExcluding() {
+        return versionStartExcluding;
+    }
+
+    public void setVersionStartExcluding(String versionStartExcluding) {
+        this.versionStartExcluding = versionStartExcluding;
+    }
+
+    public String getVersionEndIncluding() {
+        return versionEndIncluding;
+    }
+
+    public void setVersionEndIncluding(String versionEndIncluding) {
+        this.versionEndIncluding = versionEndIncluding;
+    }
+
+    public String getVersionEndExcluding() {
+        return versionEndExcluding;
+    }
+
+    public void setVersionEndExcluding(String versionEndExcluding) {
+        this.versionEndExcluding = versionEndExcluding;
+    }
+}
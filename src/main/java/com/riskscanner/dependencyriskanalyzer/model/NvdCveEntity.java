@@ -0,0 +1,141 @@
+package com.riskscanner.dependencyriskanalyzer.model;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for one CVE in the local NVD mirror.
+ *
+ * <p>Rows are replaced as a whole when NVD publishes a modification; the CPE match criteria
+ * of the CVE live in {@link NvdCpeMatchEntity}. New instances report themselves as new so that
+ * bulk imports insert without a select per row.
+ */
+@Entity
+@Table(name = "nvd_cve")
+public class NvdCveEntity implements Persistable<String> {
+
+    @Id
+    @Column(name = "cve_id", length = 32)
+    private String cveId;
+
+    @Lob
+    @Column(nullable = false)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Severity severity;
+
+    @Column(name = "cvss_score")
+    private Double cvssScore;
+
+    @Column(name = "cvss_vector")
+    private String cvssVector;
+
+    @Column(name = "cwe_id")
+    private String cweId;
+
+    @Lob
+    @Column(name = "references_json", nullable = false)
+    private String referencesJson;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    @Column(name = "last_modified_at")
+    private Instant lastModifiedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    @Override
+    public String getId() {
+        return cveId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public String getCveId() {
+        return cveId;
+    }
+
+    public void setCveId(String cveId) {
+        this.cveId = cveId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(Severity severity) {
+        this.severity = severity;
+    }
+
+    public Double getCvssScore() {
+        return cvssScore;
+    }
+
+    public void setCvssScore(Double cvssScore) {
+        this.cvssScore = cvssScore;
+    }
+
+    public String getCvssVector() {
+        return cvssVector;
+    }
+
+    public void setCvssVector(String cvssVector) {
+        this.cvssVector = cvssVector;
+    }
+
+    public String getCweId() {
+        return cweId;
+    }
+
+    public void setCweId(String cweId) {
+        this.cweId = cweId;
+    }
+
+    public String getReferencesJson() {
+        return referencesJson;
+    }
+
+    public void setReferencesJson(String referencesJson) {
+        this.referencesJson = referencesJson;
+    }
+
+    public Instant getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(Instant publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public Instant getLastModifiedAt() {
+        return lastModifiedAt;
+    }
+
+    public void setLastModifiedAt(Instant lastModifiedAt) {
+        this.lastModifiedAt = lastModifiedAt;
+    }
+}
@@ -0,0 +1,50 @@
+package com.riskscanner.dependencyriskanalyzer.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for the NVD mirror's sync state.
+ *
+ * <p>Single-row table (see {@code NvdMirrorService}). {@code lastModified} is the end of the last
+ * fully applied {@code lastModStartDate}/{@code lastModEndDate} window; the next incremental sync
+ * starts there.
+ */
+@Entity
+@Table(name = "nvd_mirror_state")
+public class NvdMirrorStateEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_modified", nullable = false)
+    private Instant lastModified;
+
+    @Column(name = "last_sync_at")
+    private Instant lastSyncAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Instant lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public Instant getLastSyncAt() {
+        return lastSyncAt;
+    }
+
+    public void setLastSyncAt(Instant lastSyncAt) {
+        this.lastSyncAt = lastSyncAt;
+    }
+}
@@ -0,0 +1,353 @@
+package com.riskscanner.dependencyriskanalyzer.model.vulnerability;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable, pre-tokenized Maven version with Maven's {@code ComparableVersion} ordering.
+ *
+ * <p>The version is split once into numeric, qualifier and nested list items:
+ * <ul>
+ *   <li>{@code .} and {@code -} separate items; a transition between digits and letters acts like
+ *       {@code -} (so {@code 1.0RC1} equals {@code 1.0-rc-1}).</li>
+ *   <li>Trailing zeros and release qualifiers are dropped, so {@code 1}, {@code 1.0.0},
+ *       {@code 1.0-ga} and {@code 1.0.Final} are equal.</li>
+ *   <li>Known qualifiers order as {@code alpha < beta < milestone < rc = cr < snapshot < release < sp};
+ *       unknown qualifiers sort after {@code sp}, alphabetically, and numbers sort after qualifiers.</li>
+ * </ul>
+ *
+ * <p>Instances are obtained through {@link #parse(String)}, which interns them in a bounded cache,
+ * so repeated comparisons against the same strings neither re-tokenize nor allocate.
+ */
+public final class MavenVersion implements Comparable<MavenVersion> {
+
+    private static final int CACHE_LIMIT = 50_000;
+    private static final ConcurrentMap<String, MavenVersion> CACHE = new ConcurrentHashMap<>();
+
+    private static final List<String> QUALIFIERS = List.of("alpha", "beta", "milestone", "rc", "snapshot", "", "sp");
+    private static final int RELEASE_QUALIFIER = QUALIFIERS.indexOf("");
+
+    private final String value;
+    private final ListItem items;
+    private final String canonical;
+
+    private MavenVersion(String value) {
+        this.value = value;
+        this.items = tokenize(value.toLowerCase(Locale.ROOT));
+        this.canonical = items.toString();
+    }
+
+    /**
+     * Gets the parsed form of a version string, from the interning cache when possible.
+     *
+     * @throws IllegalArgumentException if the version is null
+     */
+    public static MavenVersion parse(String version) {
+        if (version == null) {
+            throw new IllegalArgumentException("Version cannot be null");
+        }
+        MavenVersion cached = CACHE.get(version);
+        if (cached != null) {
+            return cached;
+        }
+        if (CACHE.size() >= CACHE_LIMIT) {
+            CACHE.clear(); // Versions seen in one scan are a small working set; start over rather than track recency
+        }
+        return CACHE.computeIfAbsent(version, MavenVersion::new);
+    }
+
+    /**
+     * Compares two version strings with Maven ordering.
+     */
+    public static int compare(String v1, String v2) {
+        return parse(v1).compareTo(parse(v2));
+    }
+
+    @Override
+    public int compareTo(MavenVersion other) {
+        return this == other ? 0 : items.compareTo(other.items);
+    }
+
+    /**
+     * Gets the version string as given.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the normalized form used for equality, e.g. {@code 1-rc-1} for {@code 1.0.0-RC1}.
+     */
+    public String getCanonical() {
+        return canonical;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MavenVersion that)) return false;
+        return canonical.equals(that.canonical);
+    }
+
+    @Override
+    public int hashCode() {
+        return canonical.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    private static ListItem tokenize(String version) {
+        List<ListBuilder> stack = new ArrayList<>();
+        ListBuilder root = new ListBuilder();
+        ListBuilder list = root;
+        stack.add(list);
+
+        boolean isDigit = false;
+        int start = 0;
+        for (int i = 0; i < version.length(); i++) {
+            char c = version.charAt(i);
+            if (c == '.') {
+                list.items.add(i == start ? IntItem.ZERO : parseItem(isDigit, false, version.substring(start, i)));
+                start = i + 1;
+            } else if (c == '-') {
+                list.items.add(i == start ? IntItem.ZERO : parseItem(isDigit, false, version.substring(start, i)));
+                start = i + 1;
+                list = list.child();
+                stack.add(list);
+            } else if (Character.isDigit(c)) {
+                if (!isDigit && i > start) {
+                    list.items.add(parseItem(false, true, version.substring(start, i)));
+                    start = i;
+                    list = list.child();
+                    stack.add(list);
+                }
+                isDigit = true;
+            } else {
+                if (isDigit && i > start) {
+                    list.items.add(parseItem(true, false, version.substring(start, i)));
+                    start = i;
+                    list = list.child();
+                    stack.add(list);
+                }
+                isDigit = false;
+            }
+        }
+        if (version.length() > start) {
+            list.items.add(parseItem(isDigit, false, version.substring(start)));
+        }
+
+        // Normalize innermost lists first, as Maven does
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            stack.get(i).normalize();
+        }
+        return root.build();
+    }
+
+    private static Item parseItem(boolean isDigit, boolean followedByDigit, String token) {
+        if (!isDigit) {
+            return new StringItem(token, followedByDigit);
+        }
+        String digits = stripLeadingZeros(token);
+        return digits.length() <= 18 ? IntItem.of(Long.parseLong(digits)) : new IntItem(new BigInteger(digits));
+    }
+
+    private static String stripLeadingZeros(String digits) {
+        int i = 0;
+        while (i < digits.length() - 1 && digits.charAt(i) == '0') {
+            i++;
+        }
+        return digits.substring(i);
+    }
+
+    private sealed interface Item permits IntItem, StringItem, ListItem {
+
+        /**
+         * Compares with another item; {@code null} stands for a missing item (padding).
+         */
+        int compareTo(Item other);
+
+        boolean isNull();
+    }
+
+    private record IntItem(long value, BigInteger big) implements Item {
+
+        static final IntItem ZERO = new IntItem(0, null);
+
+        IntItem(BigInteger big) {
+            this(0, big);
+        }
+
+        static IntItem of(long value) {
+            return value == 0 ? ZERO : new IntItem(value, null);
+        }
+
+        @Override
+        public int compareTo(Item other) {
+            if (other == null) {
+                return isNull() ? 0 : 1;
+            }
+            if (other instanceof IntItem that) {
+                if (big == null && that.big == null) {
+                    return Long.compare(value, that.value);
+                }
+                return toBigInteger().compareTo(that.toBigInteger());
+            }
+            return 1; // Numbers are newer than qualifiers and sub-lists
+        }
+
+        @Override
+        public boolean isNull() {
+            return big == null && value == 0;
+        }
+
+        private BigInteger toBigInteger() {
+            return big != null ? big : BigInteger.valueOf(value);
+        }
+
+        @Override
+        public String toString() {
+            return big != null ? big.toString() : Long.toString(value);
+        }
+    }
+
+    private record StringItem(String value, String comparable) implements Item {
+
+        StringItem(String token, boolean followedByDigit) {
+            this(normalize(token, followedByDigit));
+        }
+
+        private StringItem(String value) {
+            this(value, comparableQualifier(value));
+        }
+
+        private static String normalize(String token, boolean followedByDigit) {
+            if (followedByDigit && token.length() == 1) {
+                // a1 = alpha-1, b1 = beta-1, m1 = milestone-1
+                switch (token.charAt(0)) {
+                    case 'a' -> token = "alpha";
+                    case 'b' -> token = "beta";
+                    case 'm' -> token = "milestone";
+                    default -> { }
+                }
+            }
+            return switch (token) {
+                case "ga", "final", "release" -> "";
+                case "cr" -> "rc";
+                default -> token;
+            };
+        }
+
+        private static String comparableQualifier(String qualifier) {
+            int index = QUALIFIERS.indexOf(qualifier);
+            return index >= 0 ? String.valueOf(index) : QUALIFIERS.size() + "-" + qualifier;
+        }
+
+        @Override
+        public int compareTo(Item other) {
+            if (other == null) {
+                return comparable.compareTo(String.valueOf(RELEASE_QUALIFIER));
+            }
+            if (other instanceof StringItem that) {
+                return comparable.compareTo(that.comparable);
+            }
+            return -1; // Qualifiers are older than numbers and sub-lists
+        }
+
+        @Override
+        public boolean isNull() {
+            return value.isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    private record ListItem(Item[] items) implements Item {
+
+        @Override
+        public int compareTo(Item other) {
+            if (other == null) {
+                return items.length == 0 ? 0 : items[0].compareTo(null);
+            }
+            if (other instanceof IntItem) {
+                return -1;
+            }
+            if (other instanceof StringItem) {
+                return 1;
+            }
+            Item[] right = ((ListItem) other).items;
+            int length = Math.max(items.length, right.length);
+            for (int i = 0; i < length; i++) {
+                Item l = i < items.length ? items[i] : null;
+                Item r = i < right.length ? right[i] : null;
+                int result = l == null ? (r == null ? 0 : -r.compareTo(null)) : l.compareTo(r);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public boolean isNull() {
+            return items.length == 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (Item item : items) {
+                if (!builder.isEmpty()) {
+                    builder.append(item instanceof ListItem ? '-' : '.');
+                }
+                builder.append(item);
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Mutable list used while tokenizing; nested lists are built when their parent is.
+     */
+    private static final class ListBuilder {
+        private final List<Object> items = new ArrayList<>();
+
+        ListBuilder child() {
+            ListBuilder child = new ListBuilder();
+            items.add(child);
+            return child;
+        }
+
+        /**
+         * Drops trailing null items (zeros, release qualifiers, empty lists) up to the last sub-list.
+         */
+        void normalize() {
+            for (int i = items.size() - 1; i >= 0; i--) {
+                Object last = items.get(i);
+                if (last instanceof ListBuilder list ? list.items.isEmpty() : ((Item) last).isNull()) {
+                    items.remove(i);
+                } else if (!(last instanceof ListBuilder)) {
+                    break;
+                }
+            }
+        }
+
+        ListItem build() {
+            Item[] built = new Item[items.size()];
+            for (int i = 0; i < built.length; i++) {
+                Object item = items.get(i);
+                built[i] = item instanceof ListBuilder list ? list.build() : (Item) item;
+            }
+            return new ListItem(built);
+        }
+    }
+}
@@ -12,6 +12,9 @@ import java.util.Objects;
  *   <li>Minimum versions (>=1.0.0)</li>
  *   <li>Maximum versions (<2.0.0)</li>
  * </ul>
+ *
+ * <p>Bounds are parsed into {@link MavenVersion}s once, when the range is created, and compared
+ * with Maven version ordering.
  */
 public class VersionRange {
     
@@ -21,6 +24,8 @@ public class VersionRange {
     private final String maxVersion;
     private final boolean includeMin;
     private final boolean includeMax;
+    private final MavenVersion parsedMin;
+    private final MavenVersion parsedMax;
     
     private VersionRange(String rangeExpression, RangeType type, String minVersion, String maxVersion, 
                        boolean includeMin, boolean includeMax) {
@@ -30,6 +35,8 @@ public class VersionRange {
         this.maxVersion = maxVersion;
         this.includeMin = includeMin;
         this.includeMax = includeMax;
+        this.parsedMin = minVersion != null ? MavenVersion.parse(minVersion) : null;
+        this.parsedMax = maxVersion != null ? MavenVersion.parse(maxVersion) : null;
     }
     
     /**
@@ -112,65 +119,23 @@ public class VersionRange {
         if (version == null || version.isBlank()) {
             return false;
         }
-        
-        return switch (type) {
-            case EXACT -> version.equals(minVersion);
-            case MINIMUM -> compareVersions(version, minVersion) >= (includeMin ? 0 : 1);
-            case MAXIMUM -> compareVersions(version, maxVersion) <= (includeMax ? 0 : -1);
-            case RANGE -> compareVersions(version, minVersion) >= (includeMin ? 0 : 1) &&
-                         compareVersions(version, maxVersion) <= (includeMax ? 0 : -1);
-        };
-    }
-    
-    /**
-     * Compares two version strings using semantic versioning rules.
-     * 
-     * @param v1 first version
-     * @param v2 second version
-     * @return negative if v1 < v2, zero if v1 == v2, positive if v1 > v2
-     */
-    private int compareVersions(String v1, String v2) {
-        String[] parts1 = v1.split("\\.");
-        String[] parts2 = v2.split("\\.");
-        
-        int maxLength = Math.max(parts1.length, parts2.length);
-        
-        for (int i = 0; i < maxLength; i++) {
-            int num1 = i < parts1.length ? parseVersionPart(parts1[i]) : 0;
-            int num2 = i < parts2.length ? parseVersionPart(parts2[i]) : 0;
-            
-            if (num1 != num2) {
-                return Integer.compare(num1, num2);
-            }
-        }
-        
-        return 0;
+        return includes(MavenVersion.parse(version));
     }
-    
+
     /**
-     * Parses a version part, handling numeric and non-numeric components.
+     * Checks if the given parsed version is included in this range.
+     *
+     * @param version the version to check
+     * @return true if version is in range, false otherwise
      */
-    private int parseVersionPart(String part) {
-        try {
-            // Extract numeric part at the beginning
-            StringBuilder numeric = new StringBuilder();
-            for (char c : part.toCharArray()) {
-                if (Character.isDigit(c)) {
-                    numeric.append(c);
-                } else {
-                    break;
-                }
-            }
-            
-            if (numeric.length() > 0) {
-                return Integer.parseInt(numeric.toString());
-            } else {
-                // Non-numeric parts get lower priority than numeric parts
-                return -1;
-            }
-        } catch (NumberFormatException e) {
-            return -1;
-        }
+    public boolean includes(MavenVersion version) {
+        return switch (type) {
+            case EXACT -> version.compareTo(parsedMin) == 0;
+            case MINIMUM -> version.compareTo(parsedMin) >= (includeMin ? 0 : 1);
+            case MAXIMUM -> version.compareTo(parsedMax) <= (includeMax ? 0 : -1);
+            case RANGE -> version.compareTo(parsedMin) >= (includeMin ? 0 : 1) &&
+                         version.compareTo(parsedMax) <= (includeMax ? 0 : -1);
+        };
     }
     
     // Getters
@@ -14,11 +14,13 @@ public class Vulnerability {
 
     private final String id;
     private final VulnerabilitySource source;
+    private final List<VulnerabilitySource> sources; // Providers that reported it, when merged from aliases
     private final String title;
     private final String description;
     private final Severity severity;
     private final List<String> affectedVersions;
     private final VersionRange versionRange;
+    private final List<VersionRange> versionRanges; // All affected intervals, e.g. several introduced/fixed pairs
     private final List<String> references;
     private final List<String> aliases; // CVEs, GHSA IDs, etc.
     private final Instant publishedAt;
@@ -30,11 +32,18 @@ public class Vulnerability {
     private Vulnerability(Builder builder) {
         this.id = builder.id;
         this.source = builder.source;
+        this.sources = builder.sources.isEmpty() ? List.of(builder.source) : List.copyOf(builder.sources);
         this.title = builder.title;
         this.description = builder.description;
         this.severity = builder.severity;
         this.affectedVersions = List.copyOf(builder.affectedVersions);
-        this.versionRange = builder.versionRange;
+        if (builder.versionRanges.isEmpty()) {
+            this.versionRanges = builder.versionRange != null ? List.of(builder.versionRange) : List.of();
+        } else {
+            this.versionRanges = List.copyOf(builder.versionRanges);
+        }
+        this.versionRange = builder.versionRange != null ? builder.versionRange
+            : versionRanges.isEmpty() ? null : versionRanges.get(0);
         this.references = List.copyOf(builder.references);
         this.aliases = List.copyOf(builder.aliases);
         this.publishedAt = builder.publishedAt;
@@ -60,6 +69,14 @@ public class Vulnerability {
         return source;
     }
 
+    /**
+     * Gets every provider that reported this vulnerability, under its id or an alias; the
+     * {@link #getSource() source} first. A single-provider vulnerability has only its source.
+     */
+    public List<VulnerabilitySource> getSources() {
+        return sources;
+    }
+
     public String getTitle() {
         return title;
     }
@@ -76,10 +93,21 @@ public class Vulnerability {
         return affectedVersions;
     }
 
+    /**
+     * Gets the primary version range: the one matching the queried version when the provider knew it,
+     * otherwise the first of {@link #getVersionRanges()}.
+     */
     public Optional<VersionRange> getVersionRange() {
         return Optional.ofNullable(versionRange);
     }
 
+    /**
+     * Gets all affected version ranges; a version is affected if any of them includes it.
+     */
+    public List<VersionRange> getVersionRanges() {
+        return versionRanges;
+    }
+
     public List<String> getReferences() {
         return references;
     }
@@ -117,11 +145,22 @@ public class Vulnerability {
             return true;
         }
         
-        // Check version range if available
-        if (versionRange != null) {
-            return versionRange.includes(version);
+        return isInVersionRanges(version);
+    }
+
+    /**
+     * Checks if any of the affected version ranges includes the given version.
+     */
+    public boolean isInVersionRanges(String version) {
+        if (versionRanges.isEmpty() || version == null || version.isBlank()) {
+            return false;
+        }
+        MavenVersion parsed = MavenVersion.parse(version);
+        for (VersionRange range : versionRanges) {
+            if (range.includes(parsed)) {
+                return true;
+            }
         }
-        
         return false;
     }
 
@@ -140,7 +179,7 @@ public class Vulnerability {
             return 1.0; // Exact match
         }
         
-        if (versionRange != null && versionRange.includes(version)) {
+        if (isInVersionRanges(version)) {
             return 0.8; // Range match
         }
         
@@ -173,11 +212,13 @@ public class Vulnerability {
     public static class Builder {
         private String id;
         private VulnerabilitySource source;
+        private List<VulnerabilitySource> sources = List.of();
         private String title;
         private String description;
         private Severity severity;
         private List<String> affectedVersions = List.of();
         private VersionRange versionRange;
+        private List<VersionRange> versionRanges = List.of();
         private List<String> references = List.of();
         private List<String> aliases = List.of();
         private Instant publishedAt;
@@ -196,6 +237,14 @@ public class Vulnerability {
             return this;
         }
 
+        /**
+         * Sets the contributing providers; defaults to the {@link #source} alone.
+         */
+        public Builder sources(List<VulnerabilitySource> sources) {
+            this.sources = sources;
+            return this;
+        }
+
         public Builder title(String title) {
             this.title = title;
             return this;
@@ -221,6 +270,14 @@ public class Vulnerability {
             return this;
         }
 
+        /**
+         * Sets all affected ranges; when no primary {@link #versionRange} is set, the first one is used.
+         */
+        public Builder versionRanges(List<VersionRange> versionRanges) {
+            this.versionRanges = versionRanges;
+            return this;
+        }
+
         public Builder references(List<String> references) {
             this.references = references;
             return this;
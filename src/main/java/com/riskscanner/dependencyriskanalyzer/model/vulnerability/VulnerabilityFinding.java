@@ -11,6 +11,9 @@ import java.util.Optional;
  *
  * <p>Contains the raw vulnerability information plus computed risk metrics,
  * confidence levels, and optional suppression information.
+ *
+ * <p>Findings built from a cached lookup past its TTL are flagged {@link #isStale() stale};
+ * {@link #getDataAsOf()} tells when the advisory data was fetched.
  */
 public class VulnerabilityFinding {
 
@@ -26,6 +29,8 @@ public class VulnerabilityFinding {
     private final List<String> sources;
     private final Instant detectedAt;
     private final String analysisNotes;
+    private final boolean stale;
+    private final Instant dataAsOf;
 
     private VulnerabilityFinding(Builder builder) {
         this.id = builder.id;
@@ -40,6 +45,8 @@ public class VulnerabilityFinding {
         this.sources = List.copyOf(builder.sources);
         this.detectedAt = builder.detectedAt;
         this.analysisNotes = builder.analysisNotes;
+        this.stale = builder.stale;
+        this.dataAsOf = builder.dataAsOf;
     }
 
     /**
@@ -98,6 +105,20 @@ public class VulnerabilityFinding {
         return Optional.ofNullable(analysisNotes);
     }
 
+    /**
+     * Whether the finding was built from cached advisory data past its TTL, pending a background refresh.
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * When the advisory data was fetched, if it came from the cache.
+     */
+    public Optional<Instant> getDataAsOf() {
+        return Optional.ofNullable(dataAsOf);
+    }
+
     /**
      * Gets the effective severity considering suppression.
      */
@@ -148,6 +169,8 @@ public class VulnerabilityFinding {
         private List<String> sources = List.of();
         private Instant detectedAt;
         private String analysisNotes;
+        private boolean stale;
+        private Instant dataAsOf;
 
         public Builder id(String id) {
             this.id = id;
@@ -209,6 +232,16 @@ public class VulnerabilityFinding {
             return this;
         }
 
+        public Builder stale(boolean stale) {
+            this.stale = stale;
+            return this;
+        }
+
+        public Builder dataAsOf(Instant dataAsOf) {
+            this.dataAsOf = dataAsOf;
+            return this;
+        }
+
         public VulnerabilityFinding build() {
             if (id == null || id.isBlank()) {
                 throw new IllegalArgumentException("ID is required");
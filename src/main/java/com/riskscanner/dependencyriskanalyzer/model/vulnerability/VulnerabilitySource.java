@@ -15,6 +15,13 @@ public enum VulnerabilitySource {
      * with structured version ranges and ecosystem-specific information.
      */
     OSV("Open Source Vulnerability Database", "https://osv.dev"),
+
+    /**
+     * Local copy of the OSV Maven export.
+     *
+     * <p>Same records as {@link #OSV}, served offline and only as a stand-in when the OSV API cannot answer.
+     */
+    OSV_MIRROR("OSV Mirror", "https://osv.dev"),
     
     /**
      * National Vulnerability Database (NVD).
@@ -0,0 +1,19 @@
+package com.riskscanner.dependencyriskanalyzer.repository;
+
+import com.riskscanner.dependencyriskanalyzer.model.NvdCpeMatchEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface NvdCpeMatchRepository extends JpaRepository<NvdCpeMatchEntity, Long> {
+
+    List<NvdCpeMatchEntity> findByProductIn(Collection<String> products);
+
+    @Modifying
+    @Query("delete from NvdCpeMatchEntity m where m.cveId in :cveIds")
+    int deleteByCveIdIn(@Param("cveIds") Collection<String> cveIds);
+}
@@ -0,0 +1,7 @@
+package com.riskscanner.dependencyriskanalyzer.repository;
+
+import com.riskscanner.dependencyriskanalyzer.model.NvdCveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NvdCveRepository extends JpaRepository<NvdCveEntity, String> {
+}
@@ -0,0 +1,7 @@
+package com.riskscanner.dependencyriskanalyzer.repository;
+
+import com.riskscanner.dependencyriskanalyzer.model.NvdMirrorStateEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface NvdMirrorStateRepository extends JpaRepository<NvdMirrorStateEntity, Long> {
+}
@@ -4,10 +4,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.riskscanner.dependencyriskanalyzer.dto.DependencyEnrichmentDto;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.service.execution.SingleFlight;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Service;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Instant;
@@ -34,11 +36,13 @@ import java.util.List;
 public class MetadataEnrichmentService {
 
     private final ObjectMapper objectMapper;
-    private final HttpClient httpClient;
+    private final OutboundHttpClient httpClient;
+    private final SingleFlight<DependencyCoordinate, DependencyEnrichmentDto> inFlightEnrichments = new SingleFlight<>();
 
-    public MetadataEnrichmentService(ObjectMapper objectMapper) {
+    public MetadataEnrichmentService(ObjectMapper objectMapper, OutboundHttpClient httpClient, MeterRegistry meterRegistry) {
         this.objectMapper = objectMapper;
-        this.httpClient = HttpClient.newHttpClient();
+        this.httpClient = httpClient;
+        inFlightEnrichments.bindTo(meterRegistry, "metadata-enrichment");
     }
 
     /**
@@ -46,11 +50,17 @@ public class MetadataEnrichmentService {
      *
      * <p>Currently only Maven coordinates are enriched (because OSV and Maven Central use Maven identifiers).
      * Gradle dependencies that are not Maven coordinates return an object with mostly-null fields.
+     *
+     * <p>Concurrent calls for the same coordinate share one set of outbound requests.
      */
     public DependencyEnrichmentDto enrich(DependencyCoordinate dependency) {
         if (dependency == null) {
             throw new IllegalArgumentException("dependency must not be null");
         }
+        return inFlightEnrichments.execute(dependency, () -> doEnrich(dependency));
+    }
+
+    private DependencyEnrichmentDto doEnrich(DependencyCoordinate dependency) {
 
         if (!"maven".equalsIgnoreCase(dependency.buildTool())) {
             return new DependencyEnrichmentDto(
@@ -102,7 +112,7 @@ public class MetadataEnrichmentService {
                     .POST(HttpRequest.BodyPublishers.ofString(body))
                     .build();
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 return new OsvResult(null, List.of());
             }
@@ -141,7 +151,7 @@ public class MetadataEnrichmentService {
                     .GET()
                     .build();
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 return new ScmResult(null, null);
             }
@@ -168,7 +178,7 @@ public class MetadataEnrichmentService {
                     .GET()
                     .build();
 
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 return null;
             }
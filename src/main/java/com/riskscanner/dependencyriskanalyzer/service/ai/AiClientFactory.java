@@ -1,6 +1,7 @@
 package com.riskscanner.dependencyriskanalyzer.service.ai;
 
 import com.riskscanner.dependencyriskanalyzer.service.AiSettingsService;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
@@ -21,6 +22,9 @@ import org.springframework.stereotype.Component;
  * via {@code buildaegis.ai.azure-openai.endpoint}. For Ollama, the base URL defaults to
  * {@code http://localhost:11434} and can be overridden via {@code buildaegis.ai.ollama.base-url}.
  * For Custom provider, the endpoint must be provided via {@code buildaegis.ai.custom.endpoint}.
+ *
+ * <p>Clients that speak HTTP directly share the application's {@link OutboundHttpClient}; the
+ * OpenAI and Azure OpenAI clients use the OpenAI SDK's own transport.
  */
 @Lazy
 @Component
@@ -29,9 +33,11 @@ public class AiClientFactory {
     private final String ollamaBaseUrl;
     private final String azureOpenAiEndpoint;
     private final AiSettingsService aiSettingsService;
+    private final OutboundHttpClient httpClient;
 
-    public AiClientFactory(AiSettingsService aiSettingsService) {
+    public AiClientFactory(AiSettingsService aiSettingsService, OutboundHttpClient httpClient) {
         this.aiSettingsService = aiSettingsService;
+        this.httpClient = httpClient;
         this.ollamaBaseUrl = "http://localhost:11434";
         this.azureOpenAiEndpoint = "";
     }
@@ -49,9 +55,9 @@ public class AiClientFactory {
 
         return switch (provider.toLowerCase()) {
             case "openai" -> new OpenAiClient(apiKey, model);
-            case "gemini" -> new GeminiClient(apiKey, model);
-            case "claude" -> new ClaudeClient(apiKey, model);
-            case "ollama" -> new OllamaClient(model, ollamaBaseUrl);
+            case "gemini" -> new GeminiClient(httpClient, apiKey, model);
+            case "claude" -> new ClaudeClient(httpClient, apiKey, model);
+            case "ollama" -> new OllamaClient(httpClient, model, ollamaBaseUrl);
             case "azure-openai" -> {
                 if (azureOpenAiEndpoint == null || azureOpenAiEndpoint.isBlank()) {
                     throw new IllegalArgumentException("Azure OpenAI endpoint must be configured via buildaegis.ai.azure-openai.endpoint");
@@ -63,7 +69,7 @@ public class AiClientFactory {
                 if (customEndpoint == null || customEndpoint.isBlank()) {
                     throw new IllegalArgumentException("Custom AI endpoint must be configured");
                 }
-                yield new CustomAiClient(apiKey, customEndpoint, model);
+                yield new CustomAiClient(httpClient, apiKey, customEndpoint, model);
             }
             default -> throw new IllegalArgumentException("Unsupported AI provider: " + provider);
         };
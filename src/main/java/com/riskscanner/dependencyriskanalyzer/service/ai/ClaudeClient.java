@@ -3,10 +3,10 @@ package com.riskscanner.dependencyriskanalyzer.service.ai;
 import com.riskscanner.dependencyriskanalyzer.dto.DependencyEnrichmentDto;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.RiskLevel;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -21,12 +21,12 @@ import java.util.List;
  */
 public class ClaudeClient implements AiClient {
 
-    private final HttpClient httpClient;
+    private final OutboundHttpClient httpClient;
     private final String apiKey;
     private final String model;
 
-    public ClaudeClient(String apiKey, String model) {
-        this.httpClient = HttpClient.newHttpClient();
+    public ClaudeClient(OutboundHttpClient httpClient, String apiKey, String model) {
+        this.httpClient = httpClient;
         this.apiKey = apiKey;
         this.model = model;
     }
@@ -44,7 +44,7 @@ public class ClaudeClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Claude API error: " + response.statusCode() + " " + response.body());
             }
@@ -76,7 +76,7 @@ public class ClaudeClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Claude API error: " + response.statusCode() + " " + response.body());
             }
@@ -107,7 +107,7 @@ public class ClaudeClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Claude test failed: " + response.statusCode() + " " + response.body());
             }
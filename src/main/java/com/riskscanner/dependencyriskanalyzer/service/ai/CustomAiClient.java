@@ -3,11 +3,14 @@ package com.riskscanner.dependencyriskanalyzer.service.ai;
 import com.riskscanner.dependencyriskanalyzer.dto.DependencyEnrichmentDto;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.RiskLevel;
-import okhttp3.*;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import org.springframework.stereotype.Component;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.*;
 
@@ -26,24 +29,34 @@ import java.util.*;
  */
 public class CustomAiClient implements AiClient {
 
-    private final OkHttpClient httpClient;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(2);
+
+    private final OutboundHttpClient httpClient;
     private final String model;
     private final String endpoint;
     private final String apiKey;
     private final ObjectMapper objectMapper;
 
-    public CustomAiClient(String apiKey, String endpoint, String model) {
-        this.httpClient = new OkHttpClient.Builder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .readTimeout(Duration.ofMinutes(2))
-                .writeTimeout(Duration.ofMinutes(2))
-                .build();
+    public CustomAiClient(OutboundHttpClient httpClient, String apiKey, String endpoint, String model) {
+        this.httpClient = httpClient;
         this.model = model;
         this.endpoint = endpoint;
         this.apiKey = apiKey;
         this.objectMapper = new ObjectMapper();
     }
 
+    private HttpRequest chatCompletionRequest(String jsonRequest) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(endpoint))
+                .header("Authorization", "Bearer " + apiKey)
+                .header("Content-Type", "application/json")
+                .header("HTTP-Referer", "https://buildaegis.local")
+                .header("X-Title", "BuildAegis")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonRequest))
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
     private String extractAssistantText(JsonNode jsonResponse) {
         JsonNode message = jsonResponse.path("choices").path(0).path("message");
         String content = message.path("content").asText("");
@@ -77,32 +90,22 @@ public class CustomAiClient implements AiClient {
 
             String jsonRequest = objectMapper.writeValueAsString(requestBody);
             
-            Request request = new Request.Builder()
-                    .url(endpoint)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("HTTP-Referer", "https://buildaegis.local")
-                    .addHeader("X-Title", "BuildAegis")
-                    .post(RequestBody.create(MediaType.get("application/json"), jsonRequest))
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    throw new IllegalStateException("HTTP " + response.code() + ": " + response.body().string());
-                }
+            HttpResponse<String> response = httpClient.send(chatCompletionRequest(jsonRequest));
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+            }
 
-                String responseBody = response.body().string();
-                JsonNode jsonResponse = objectMapper.readTree(responseBody);
-                
-                if (jsonResponse.has("choices") && jsonResponse.get("choices").size() > 0) {
-                    String text = extractAssistantText(jsonResponse);
-                    if (text.isBlank()) {
-                        throw new IllegalStateException("Empty response from AI provider (content/reasoning missing)");
-                    }
-                    return parseResult(text);
-                } else {
-                    throw new IllegalStateException("Invalid response format from AI provider");
+            String responseBody = response.body();
+            JsonNode jsonResponse = objectMapper.readTree(responseBody);
+            
+            if (jsonResponse.has("choices") && jsonResponse.get("choices").size() > 0) {
+                String text = extractAssistantText(jsonResponse);
+                if (text.isBlank()) {
+                    throw new IllegalStateException("Empty response from AI provider (content/reasoning missing)");
                 }
+                return parseResult(text);
+            } else {
+                throw new IllegalStateException("Invalid response format from AI provider");
             }
         } catch (Exception e) {
             return new DependencyRiskAnalysisResult(
@@ -128,29 +131,19 @@ public class CustomAiClient implements AiClient {
 
             String jsonRequest = objectMapper.writeValueAsString(requestBody);
             
-            Request request = new Request.Builder()
-                    .url(endpoint)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("HTTP-Referer", "https://buildaegis.local")
-                    .addHeader("X-Title", "BuildAegis")
-                    .post(RequestBody.create(MediaType.get("application/json"), jsonRequest))
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    return "Error: HTTP " + response.code() + " - " + response.body().string();
-                }
+            HttpResponse<String> response = httpClient.send(chatCompletionRequest(jsonRequest));
+            if (response.statusCode() / 100 != 2) {
+                return "Error: HTTP " + response.statusCode() + " - " + response.body();
+            }
 
-                String responseBody = response.body().string();
-                JsonNode jsonResponse = objectMapper.readTree(responseBody);
-                
-                if (jsonResponse.has("choices") && jsonResponse.get("choices").size() > 0) {
-                    String text = extractAssistantText(jsonResponse);
-                    return text.isBlank() ? "Error: Empty response from AI provider" : text;
-                } else {
-                    return "Error: Invalid response format from AI provider";
-                }
+            String responseBody = response.body();
+            JsonNode jsonResponse = objectMapper.readTree(responseBody);
+            
+            if (jsonResponse.has("choices") && jsonResponse.get("choices").size() > 0) {
+                String text = extractAssistantText(jsonResponse);
+                return text.isBlank() ? "Error: Empty response from AI provider" : text;
+            } else {
+                return "Error: Invalid response format from AI provider";
             }
         } catch (Exception e) {
             return "Error: Failed to generate completion with custom AI provider: " + e.getMessage();
@@ -172,30 +165,20 @@ public class CustomAiClient implements AiClient {
 
             String jsonRequest = objectMapper.writeValueAsString(requestBody);
             
-            Request request = new Request.Builder()
-                    .url(endpoint)
-                    .addHeader("Authorization", "Bearer " + apiKey)
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("HTTP-Referer", "https://buildaegis.local")
-                    .addHeader("X-Title", "BuildAegis")
-                    .post(RequestBody.create(MediaType.get("application/json"), jsonRequest))
-                    .build();
-
-            try (Response response = httpClient.newCall(request).execute()) {
-                if (!response.isSuccessful()) {
-                    throw new IllegalStateException("HTTP " + response.code() + ": " + response.body().string());
-                }
+            HttpResponse<String> response = httpClient.send(chatCompletionRequest(jsonRequest));
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+            }
 
-                String responseBody = response.body().string();
-                JsonNode jsonResponse = objectMapper.readTree(responseBody);
-                
-                if (jsonResponse.has("choices") && jsonResponse.get("choices").size() > 0) {
-                    // We primarily validate that authentication + endpoint + model work.
-                    // Content may be empty for some models/providers; accept a successful response.
-                    extractAssistantText(jsonResponse);
-                } else {
-                    throw new IllegalStateException("Invalid response format from AI provider");
-                }
+            String responseBody = response.body();
+            JsonNode jsonResponse = objectMapper.readTree(responseBody);
+            
+            if (jsonResponse.has("choices") && jsonResponse.get("choices").size() > 0) {
+                // We primarily validate that authentication + endpoint + model work.
+                // Content may be empty for some models/providers; accept a successful response.
+                extractAssistantText(jsonResponse);
+            } else {
+                throw new IllegalStateException("Invalid response format from AI provider");
             }
         } catch (Exception e) {
             throw new IllegalStateException("Failed to connect to custom AI provider: " + e.getMessage(), e);
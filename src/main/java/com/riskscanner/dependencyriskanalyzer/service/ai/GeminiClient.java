@@ -3,10 +3,10 @@ package com.riskscanner.dependencyriskanalyzer.service.ai;
 import com.riskscanner.dependencyriskanalyzer.dto.DependencyEnrichmentDto;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.RiskLevel;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -21,12 +21,12 @@ import java.util.List;
  */
 public class GeminiClient implements AiClient {
 
-    private final HttpClient httpClient;
+    private final OutboundHttpClient httpClient;
     private final String apiKey;
     private final String model;
 
-    public GeminiClient(String apiKey, String model) {
-        this.httpClient = HttpClient.newHttpClient();
+    public GeminiClient(OutboundHttpClient httpClient, String apiKey, String model) {
+        this.httpClient = httpClient;
         this.apiKey = apiKey;
         this.model = model;
     }
@@ -42,7 +42,7 @@ public class GeminiClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Gemini API error: " + response.statusCode() + " " + response.body());
             }
@@ -72,7 +72,7 @@ public class GeminiClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Gemini API error: " + response.statusCode() + " " + response.body());
             }
@@ -101,7 +101,7 @@ public class GeminiClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Gemini test failed: " + response.statusCode() + " " + response.body());
             }
@@ -3,10 +3,10 @@ package com.riskscanner.dependencyriskanalyzer.service.ai;
 import com.riskscanner.dependencyriskanalyzer.dto.DependencyEnrichmentDto;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.RiskLevel;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
@@ -21,12 +21,12 @@ import java.util.List;
  */
 public class OllamaClient implements AiClient {
 
-    private final HttpClient httpClient;
+    private final OutboundHttpClient httpClient;
     private final String model;
     private final String baseUrl;
 
-    public OllamaClient(String model, String baseUrl) {
-        this.httpClient = HttpClient.newHttpClient();
+    public OllamaClient(OutboundHttpClient httpClient, String model, String baseUrl) {
+        this.httpClient = httpClient;
         this.model = model;
         this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
     }
@@ -42,7 +42,7 @@ public class OllamaClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Ollama API error: " + response.statusCode() + " " + response.body());
             }
@@ -70,7 +70,7 @@ public class OllamaClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Ollama API error: " + response.statusCode() + " " + response.body());
             }
@@ -97,7 +97,7 @@ public class OllamaClient implements AiClient {
                 .build();
 
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = httpClient.send(request);
             if (response.statusCode() / 100 != 2) {
                 throw new IllegalStateException("Ollama test failed: " + response.statusCode() + " " + response.body());
             }
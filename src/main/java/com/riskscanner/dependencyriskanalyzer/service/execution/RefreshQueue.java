@@ -0,0 +1,200 @@
+package com.riskscanner.dependencyriskanalyzer.service.execution;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded background queue for refreshing stale cache entries, most frequently requested keys first.
+ *
+ * <p>Callers report every request for a key with {@link #recordAccess}; the counts are halved
+ * whenever more than {@code maxTracked} keys are tracked, so popularity follows recent traffic.
+ * {@link #submit} queues a key at most once at a time and drops it when {@code capacity} keys are
+ * already pending: the stale entry keeps being served and the key is offered again on its next
+ * request. The queued keys are ordered by their count when submitted.
+ *
+ * @param <K> key type; must implement {@code equals}/{@code hashCode}
+ */
+public class RefreshQueue<K> {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshQueue.class);
+
+    private final Consumer<K> refresher;
+    private final int capacity;
+    private final int maxTracked;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<K, AtomicLong> accessCounts = new ConcurrentHashMap<>();
+    private final Set<K> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder refreshed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param name       thread name prefix
+     * @param threads    number of refresh threads
+     * @param capacity   maximum number of pending keys
+     * @param maxTracked number of keys whose request counts are tracked before they are aged
+     * @param refresher  refreshes the entry for a key; exceptions are logged and counted
+     */
+    public RefreshQueue(String name, int threads, int capacity, int maxTracked, Consumer<K> refresher) {
+        this.refresher = refresher;
+        this.capacity = capacity;
+        this.maxTracked = maxTracked;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            // Tasks are Comparable, so the queue hands out the most requested key first
+            new PriorityBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Counts a request for the key.
+     */
+    public void recordAccess(K key) {
+        accessCounts.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+        if (accessCounts.size() > maxTracked) {
+            age();
+        }
+    }
+
+    /**
+     * Queues a refresh for the key unless one is already pending or the queue is full.
+     *
+     * @return whether the key was queued
+     */
+    public boolean submit(K key) {
+        if (executor.isShutdown()) {
+            return false;
+        }
+        if (pending.size() >= capacity) {
+            dropped.increment();
+            return false;
+        }
+        if (!pending.add(key)) {
+            return false;
+        }
+        AtomicLong count = accessCounts.get(key);
+        executor.execute(new Task(key, count != null ? count.get() : 0, sequence.incrementAndGet()));
+        return true;
+    }
+
+    /**
+     * Number of keys waiting for or being refreshed.
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * Number of refreshes that completed.
+     */
+    public long getRefreshed() {
+        return refreshed.sum();
+    }
+
+    /**
+     * Number of refreshes that threw.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Number of keys not queued because the queue was full.
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Registers a {@code buildaegis.refresh.pending} gauge and {@code buildaegis.refresh.tasks}
+     * counters (tagged {@code outcome=refreshed|failed|dropped}) under the given name.
+     */
+    public RefreshQueue<K> bindTo(MeterRegistry registry, String name) {
+        Gauge.builder("buildaegis.refresh.pending", this, RefreshQueue::getPending)
+            .description("Stale entries waiting for a background refresh")
+            .tag("name", name)
+            .register(registry);
+        FunctionCounter.builder("buildaegis.refresh.tasks", this, RefreshQueue::getRefreshed)
+            .tag("name", name)
+            .tag("outcome", "refreshed")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.refresh.tasks", this, RefreshQueue::getFailed)
+            .tag("name", name)
+            .tag("outcome", "failed")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.refresh.tasks", this, RefreshQueue::getDropped)
+            .tag("name", name)
+            .tag("outcome", "dropped")
+            .register(registry);
+        return this;
+    }
+
+    /**
+     * Stops the refresh threads; pending refreshes are discarded.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        pending.clear();
+    }
+
+    private void age() {
+        synchronized (accessCounts) {
+            if (accessCounts.size() <= maxTracked) {
+                return;
+            }
+            accessCounts.entrySet().removeIf(entry -> entry.getValue().updateAndGet(count -> count / 2) == 0);
+        }
+    }
+
+    private final class Task implements Runnable, Comparable<Task> {
+
+        private final K key;
+        private final long priority;
+        private final long order;
+
+        private Task(K key, long priority, long order) {
+            this.key = key;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            try {
+                refresher.accept(key);
+                refreshed.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.warn("Background refresh of {} failed: {}", key, e.getMessage());
+            } finally {
+                pending.remove(key);
+            }
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            // Most requested first, then oldest first
+            int byPriority = Long.compare(other.priority, priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.riskscanner.dependencyriskanalyzer.service.execution;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Runs the per-item work of a scan (provider lookups, scoring, AI explanations) on virtual threads.
+ *
+ * <p>Blocking I/O must not run on the common {@code ForkJoinPool} behind {@code parallelStream()}:
+ * it is sized to the CPU count and shared by every parallel stream in the JVM. Here each scan gets
+ * its own concurrency limit ({@code buildaegis.scan.max-concurrency} items in flight by default),
+ * enforced by a semaphore the caller acquires before starting each item, so a large scan never
+ * holds more than its limit of threads.
+ *
+ * <p>The caller's MDC (correlation id) is copied into every worker. The first item that fails
+ * cancels the items still running or not yet started and its exception is rethrown to the caller;
+ * interrupting the caller cancels the scan the same way.
+ */
+@Service
+public class ScanExecutionService {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("scan-worker-", 0).factory());
+    private final int maxConcurrency;
+    private final AtomicInteger activeTasks = new AtomicInteger();
+
+    public ScanExecutionService(@Value("${buildaegis.scan.max-concurrency:16}") int maxConcurrency,
+                                MeterRegistry registry) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        Gauge.builder("buildaegis.scan.tasks.active", activeTasks, AtomicInteger::get)
+            .description("Scan items currently being processed")
+            .register(registry);
+    }
+
+    /**
+     * Applies {@code action} to every item with at most {@code buildaegis.scan.max-concurrency}
+     * items in flight, returning once all of them finished.
+     *
+     * @throws RuntimeException    the first exception thrown by {@code action}
+     * @throws CancellationException if the calling thread was interrupted
+     */
+    public <T> void forEach(Collection<? extends T> items, Consumer<? super T> action) {
+        forEach(items, maxConcurrency, action);
+    }
+
+    /**
+     * Applies {@code action} to every item with at most {@code concurrency} items in flight,
+     * returning once all of them finished.
+     *
+     * @throws RuntimeException    the first exception thrown by {@code action}
+     * @throws CancellationException if the calling thread was interrupted
+     */
+    public <T> void forEach(Collection<? extends T> items, int concurrency, Consumer<? super T> action) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Scan scan = new Scan(Math.max(1, concurrency), MDC.getCopyOfContextMap());
+        try {
+            for (T item : items) {
+                scan.permits.acquire();
+                if (scan.failure.get() != null) {
+                    break;
+                }
+                scan.start(() -> action.accept(item));
+            }
+            scan.await();
+        } catch (InterruptedException e) {
+            scan.cancel();
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Scan interrupted");
+        }
+
+        Throwable failure = scan.failure.get();
+        if (failure instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure != null) {
+            throw new IllegalStateException(failure);
+        }
+    }
+
+    /**
+     * Number of scan items currently being processed across all scans.
+     */
+    public int getActiveTasks() {
+        return activeTasks.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * The items of one {@link #forEach} call.
+     */
+    private final class Scan {
+
+        private final Semaphore permits;
+        private final Map<String, String> context;
+        private final Queue<FutureTask<Void>> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private Scan(int concurrency, Map<String, String> context) {
+            this.permits = new Semaphore(concurrency);
+            this.context = context;
+        }
+
+        private void start(Runnable work) {
+            // done() runs once whether the task completed or was cancelled before it started
+            FutureTask<Void> task = new FutureTask<>(() -> run(work), null) {
+                @Override
+                protected void done() {
+                    permits.release();
+                }
+            };
+            tasks.add(task);
+            executor.execute(task);
+        }
+
+        private void run(Runnable work) {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            activeTasks.incrementAndGet();
+            try {
+                work.run();
+            } catch (Throwable t) {
+                if (failure.compareAndSet(null, t)) {
+                    cancel();
+                }
+            } finally {
+                activeTasks.decrementAndGet();
+                MDC.clear();
+            }
+        }
+
+        private void await() throws InterruptedException {
+            for (FutureTask<Void> task : tasks) {
+                try {
+                    task.get();
+                } catch (CancellationException | ExecutionException e) {
+                    // Failures are recorded by run(); cancelled tasks belong to a failed scan
+                }
+            }
+        }
+
+        private void cancel() {
+            for (FutureTask<Void> task : tasks) {
+                task.cancel(true);
+            }
+        }
+    }
+}
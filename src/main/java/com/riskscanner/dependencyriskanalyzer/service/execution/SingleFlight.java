@@ -0,0 +1,108 @@
+package com.riskscanner.dependencyriskanalyzer.service.execution;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ *
+ * <p>The first caller for a key (the leader) runs the loader; callers arriving while it is
+ * in flight wait for and share the leader's result or exception. Once the leader finishes the
+ * key is released, so later calls run again (results are expected to be cached elsewhere).
+ *
+ * @param <K> key type; must implement {@code equals}/{@code hashCode}
+ * @param <V> result type; shared between callers, so treat it as read-only
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaderCalls = new LongAdder();
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    /**
+     * Returns the result of {@code loader}, sharing an execution already in flight for {@code key}.
+     *
+     * @throws RuntimeException whatever the leader's loader threw
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.increment();
+            return await(existing);
+        }
+
+        leaderCalls.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * Number of calls that ran the loader.
+     */
+    public long getLeaderCalls() {
+        return leaderCalls.sum();
+    }
+
+    /**
+     * Number of calls that joined an execution already in flight.
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls.sum();
+    }
+
+    /**
+     * Number of keys currently in flight.
+     */
+    public int getInFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Registers {@code buildaegis.singleflight.calls} counters (tagged {@code role=leader|coalesced})
+     * for this instance under the given name.
+     */
+    public SingleFlight<K, V> bindTo(MeterRegistry registry, String name) {
+        FunctionCounter.builder("buildaegis.singleflight.calls", this, SingleFlight::getLeaderCalls)
+            .description("Calls that executed the underlying lookup")
+            .tag("name", name)
+            .tag("role", "leader")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.singleflight.calls", this, SingleFlight::getCoalescedCalls)
+            .description("Calls that shared a lookup already in flight")
+            .tag("name", name)
+            .tag("role", "coalesced")
+            .register(registry);
+        return this;
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
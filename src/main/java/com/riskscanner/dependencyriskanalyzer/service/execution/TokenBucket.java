@@ -0,0 +1,133 @@
+package com.riskscanner.dependencyriskanalyzer.service.execution;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket that makes callers wait for a permit in arrival order.
+ *
+ * <p>The bucket holds up to {@code permits} tokens and refills them evenly over {@code period}, so
+ * a full bucket allows a burst of {@code permits} calls followed by one call per
+ * {@code period / permits}. Waiting callers queue on a fair lock: the head of the queue sleeps
+ * until its token is due while the others wait behind it, so nobody is overtaken.
+ *
+ * <p>{@link #pauseFor} empties the bucket and blocks it, e.g. when a server answered with
+ * {@code Retry-After}. {@link #refund} returns a token for a call the server did not count.
+ * An {@link #unlimited()} bucket only honors pauses.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+    private final long nanosPerToken;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final AtomicLong pausedUntil;
+    private final AtomicInteger refunds = new AtomicInteger();
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param permits calls allowed per period, and the burst size of a full bucket
+     * @param period  time over which {@code permits} tokens are refilled
+     */
+    public TokenBucket(int permits, Duration period) {
+        if (permits <= 0 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("permits and period must be positive");
+        }
+        this.capacity = permits;
+        this.nanosPerToken = Math.max(1, period.toNanos() / permits);
+        this.tokens = permits;
+        this.refilledAt = System.nanoTime();
+        this.pausedUntil = new AtomicLong(refilledAt);
+    }
+
+    private TokenBucket() {
+        this.capacity = 0;
+        this.nanosPerToken = 0;
+        this.refilledAt = System.nanoTime();
+        this.pausedUntil = new AtomicLong(refilledAt);
+    }
+
+    /**
+     * Creates a bucket without a rate limit that still honors {@link #pauseFor}.
+     */
+    public static TokenBucket unlimited() {
+        return new TokenBucket();
+    }
+
+    /**
+     * Takes a token, waiting behind earlier callers for at most {@code maxWait}.
+     *
+     * @return whether a token was taken; {@code false} if it would not be available within {@code maxWait}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire(Duration maxWait) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        if (!lock.tryLock(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                long wait = pausedUntil.get() - now;
+                if (wait > 0) {
+                    tokens = 0;
+                    refunds.set(0);
+                    refilledAt = pausedUntil.get();
+                } else if (nanosPerToken == 0) {
+                    return true;
+                } else {
+                    refill(now);
+                    tokens = Math.min(capacity, tokens + refunds.getAndSet(0));
+                    if (tokens >= 1) {
+                        tokens -= 1;
+                        return true;
+                    }
+                    wait = (long) Math.ceil((1 - tokens) * nanosPerToken);
+                }
+                if (now + wait - deadline > 0) {
+                    return false; // Fail now instead of sleeping for a token we could not take
+                }
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Empties the bucket and hands out no tokens for the given duration. Overlapping pauses keep the later end.
+     */
+    public void pauseFor(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        pausedUntil.accumulateAndGet(until, (current, requested) -> requested - current > 0 ? requested : current);
+    }
+
+    /**
+     * Returns a token taken for a call that did not count against the server's quota, e.g. a
+     * {@code 304 Not Modified} from GitHub. Does not wait for callers sleeping in {@link #acquire};
+     * the token is added when the bucket is next refilled.
+     */
+    public void refund() {
+        if (nanosPerToken > 0) {
+            refunds.incrementAndGet();
+        }
+    }
+
+    /**
+     * Time left until the current pause ends; zero if not paused.
+     */
+    public Duration getPausedFor() {
+        return Duration.ofNanos(Math.max(0, pausedUntil.get() - System.nanoTime()));
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + (double) elapsed / nanosPerToken);
+            refilledAt = now;
+        }
+    }
+}
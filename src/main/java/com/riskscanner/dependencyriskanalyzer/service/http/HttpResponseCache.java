@@ -0,0 +1,422 @@
+package com.riskscanner.dependencyriskanalyzer.service.http;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disk-backed cache of GET responses that carry validators, for conditional requests.
+ *
+ * <p>{@link OutboundHttpClient} looks up every GET here. With a stored entry it sends
+ * {@code If-None-Match} / {@code If-Modified-Since}; a {@code 304 Not Modified} is answered with the
+ * stored body, marked with {@link #CACHE_STATUS_HEADER}, so callers see a normal 200 but no body
+ * was transferred. Entries are never served without revalidation: freshness is decided by the
+ * callers' own caches (e.g. the vulnerability cache TTL), this cache only makes the refresh cheap.
+ *
+ * <p>Only 200 responses with an {@code ETag} or {@code Last-Modified}, without {@code no-store},
+ * and of at most {@code max-entry-size} are stored, keyed by URI ({@code Vary} is not honored, each
+ * caller sends the same headers for a URI). Bodies are stored decoded in {@code http-cache.mv.db}
+ * under {@code buildaegis.http.cache.dir}; when the total exceeds {@code max-size}, or an entry was not
+ * used for {@code max-idle}, the least recently used entries are evicted.
+ */
+@Component
+public class HttpResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpResponseCache.class);
+
+    /**
+     * Marks a response answered from the cache after a {@code 304 Not Modified}.
+     */
+    public static final String CACHE_STATUS_HEADER = "X-BuildAegis-Cache";
+    public static final String REVALIDATED = "revalidated";
+
+    private static final String STORE_FILE = "http-cache.mv.db";
+    private static final Set<String> STORED_HEADERS = Set.of("content-type", "etag", "last-modified");
+    private static final Set<String> REPLACED_HEADERS = Set.of("content-type", "content-length", "content-encoding",
+        "transfer-encoding", "etag", "last-modified", ":status");
+    private static final byte FORMAT_VERSION = 1;
+
+    private final boolean enabled;
+    private final long maxSize;
+    private final long maxEntrySize;
+    private final Duration maxIdle;
+    private final MVStore store;
+    private final MVMap<String, byte[]> metadata;
+    private final MVMap<String, byte[]> bodies;
+    /** Entry sizes and last use, least recently used first. */
+    private final LinkedHashMap<String, Slot> slots = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong modified = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public HttpResponseCache(@Value("${buildaegis.http.cache.enabled:true}") boolean enabled,
+                             @Value("${buildaegis.http.cache.dir:${user.home}/.buildaegis/http-cache}") String cacheDir,
+                             @Value("${buildaegis.http.cache.max-size:256MB}") DataSize maxSize,
+                             @Value("${buildaegis.http.cache.max-entry-size:4MB}") DataSize maxEntrySize,
+                             @Value("${buildaegis.http.cache.max-idle:P30D}") Duration maxIdle) {
+        this.enabled = enabled;
+        this.maxSize = maxSize.toBytes();
+        this.maxEntrySize = Math.min(maxEntrySize.toBytes(), this.maxSize);
+        this.maxIdle = maxIdle;
+        this.store = enabled ? openStore(Path.of(cacheDir)) : new MVStore.Builder().open();
+        this.metadata = store.openMap("metadata");
+        this.bodies = store.openMap("bodies");
+        loadSlots();
+    }
+
+    private static MVStore openStore(Path cacheDirectory) {
+        Path storeFile = cacheDirectory.resolve(STORE_FILE);
+        try {
+            Files.createDirectories(cacheDirectory);
+            MVStore opened = new MVStore.Builder().fileName(storeFile.toString()).compress().open();
+            logger.info("HTTP response cache store: {}", storeFile);
+            return opened;
+        } catch (Exception e) {
+            // e.g. locked by another running instance
+            logger.error("Failed to open HTTP cache store {}, caching in memory only: {}", storeFile, e.getMessage());
+            return new MVStore.Builder().open();
+        }
+    }
+
+    /**
+     * Rebuilds the recency order from the stored entries and drops those past {@code max-idle}.
+     */
+    private synchronized void loadSlots() {
+        List<Map.Entry<String, Slot>> loaded = new ArrayList<>();
+        for (Map.Entry<String, byte[]> entry : metadata.entrySet()) {
+            try {
+                Entry decoded = decode(entry.getValue());
+                loaded.add(Map.entry(entry.getKey(), new Slot(decoded.size(), decoded.lastUsed())));
+            } catch (RuntimeException e) {
+                metadata.remove(entry.getKey());
+                bodies.remove(entry.getKey());
+            }
+        }
+        loaded.sort(Comparator.comparingLong(entry -> entry.getValue().lastUsed()));
+        for (Map.Entry<String, Slot> entry : loaded) {
+            slots.put(entry.getKey(), entry.getValue());
+            totalSize += entry.getValue().size();
+        }
+        evict();
+    }
+
+    /**
+     * Publishes revalidation outcomes as {@code buildaegis.http.cache.requests} counters tagged by result,
+     * and the stored entries and bytes as gauges.
+     */
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("buildaegis.http.cache.requests", revalidated, AtomicLong::get)
+            .description("Conditional requests answered with 304 Not Modified and served from the cache")
+            .tag("result", "revalidated")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.http.cache.requests", modified, AtomicLong::get)
+            .description("Conditional requests answered with a new body")
+            .tag("result", "modified")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.http.cache.requests", misses, AtomicLong::get)
+            .description("Cacheable requests sent without a stored entry")
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.http.cache.evictions", evictions, AtomicLong::get)
+            .description("Entries evicted for size or idleness")
+            .register(registry);
+        Gauge.builder("buildaegis.http.cache.entries", this, HttpResponseCache::getEntryCount)
+            .description("Stored HTTP responses")
+            .register(registry);
+        Gauge.builder("buildaegis.http.cache.size", this, HttpResponseCache::getSize)
+            .description("Stored response bodies")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (!store.isClosed()) {
+            store.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Largest body that is stored; callers buffer responses up to this size.
+     */
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    public synchronized int getEntryCount() {
+        return slots.size();
+    }
+
+    public synchronized long getSize() {
+        return totalSize;
+    }
+
+    /**
+     * Looks up the stored response for a GET request.
+     *
+     * @return the entry, or null if the URI is not cached or the cache is disabled
+     */
+    public Entry get(URI uri) {
+        if (!enabled) {
+            return null;
+        }
+        String key = uri.toString();
+        byte[] encoded = metadata.get(key);
+        byte[] body = encoded == null ? null : bodies.get(key);
+        if (body == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        return decode(encoded).withBody(body);
+    }
+
+    /**
+     * Checks whether a 200 response with these headers may be stored.
+     *
+     * @param headers response headers, names in any case
+     */
+    public boolean isStorable(Map<String, List<String>> headers) {
+        if (!enabled) {
+            return false;
+        }
+        String cacheControl = first(headers, "cache-control");
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-store")) {
+            return false;
+        }
+        return first(headers, "etag") != null || first(headers, "last-modified") != null;
+    }
+
+    /**
+     * Stores a 200 response, replacing any earlier entry for the URI.
+     *
+     * @param previous the entry the request was made with, if any, which then counts as modified
+     */
+    public void put(URI uri, Map<String, List<String>> headers, byte[] body, Entry previous) {
+        if (!isStorable(headers) || body.length > maxEntrySize) {
+            discard(uri, previous);
+            return;
+        }
+        if (previous != null) {
+            modified.incrementAndGet();
+        }
+        Map<String, List<String>> stored = new TreeMap<>();
+        headers.forEach((name, values) -> {
+            if (name != null && STORED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                stored.put(name.toLowerCase(Locale.ROOT), List.copyOf(values));
+            }
+        });
+        write(uri.toString(), new Entry(stored, body.length, Instant.now().toEpochMilli(), null), body);
+    }
+
+    /**
+     * Records a new 200 response that is not stored, e.g. too large; an entry the request was made
+     * with is outdated and dropped.
+     */
+    public void discard(URI uri, Entry previous) {
+        if (previous != null) {
+            modified.incrementAndGet();
+            remove(uri.toString());
+        }
+    }
+
+    /**
+     * Records a {@code 304 Not Modified} for an entry: validators sent with the 304 replace the
+     * stored ones and the entry becomes the most recently used.
+     *
+     * @return the entry to answer with
+     */
+    public Entry revalidated(URI uri, Entry entry, Map<String, List<String>> notModifiedHeaders) {
+        revalidated.incrementAndGet();
+        Map<String, List<String>> headers = new TreeMap<>(entry.headers());
+        for (String name : List.of("etag", "last-modified")) {
+            String value = first(notModifiedHeaders, name);
+            if (value != null) {
+                headers.put(name, List.of(value));
+            }
+        }
+        Entry updated = new Entry(headers, entry.size(), Instant.now().toEpochMilli(), entry.body());
+        String key = uri.toString();
+        synchronized (this) {
+            if (slots.containsKey(key)) {
+                metadata.put(key, encode(updated));
+                slots.put(key, new Slot(updated.size(), updated.lastUsed()));
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * Headers to answer a {@code 304 Not Modified} with: those of the 304 itself, so e.g. current
+     * rate-limit headers pass through, with the stored content type and validators and
+     * {@link #CACHE_STATUS_HEADER}; body framing headers of the 304 are dropped.
+     */
+    public static Map<String, List<String>> replayHeaders(Map<String, List<String>> notModifiedHeaders, Entry entry) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        notModifiedHeaders.forEach((name, values) -> {
+            if (name != null && !REPLACED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, values);
+            }
+        });
+        headers.putAll(entry.headers());
+        headers.put(CACHE_STATUS_HEADER, List.of(REVALIDATED));
+        return headers;
+    }
+
+    /**
+     * Checks whether a response was answered from the cache after a {@code 304 Not Modified}.
+     */
+    public static boolean isRevalidated(org.springframework.http.HttpHeaders headers) {
+        return REVALIDATED.equals(headers.getFirst(CACHE_STATUS_HEADER));
+    }
+
+    private synchronized void write(String key, Entry entry, byte[] body) {
+        Slot previous = slots.remove(key);
+        if (previous != null) {
+            totalSize -= previous.size();
+        }
+        bodies.put(key, body);
+        metadata.put(key, encode(entry));
+        slots.put(key, new Slot(entry.size(), entry.lastUsed()));
+        totalSize += entry.size();
+        evict();
+    }
+
+    private synchronized void remove(String key) {
+        Slot slot = slots.remove(key);
+        if (slot != null) {
+            totalSize -= slot.size();
+        }
+        metadata.remove(key);
+        bodies.remove(key);
+    }
+
+    /**
+     * Evicts least recently used entries until the cache fits {@code max-size} and none is idle past {@code max-idle}.
+     */
+    private synchronized void evict() {
+        long idleBefore = Instant.now().minus(maxIdle).toEpochMilli();
+        Iterator<Map.Entry<String, Slot>> eldest = slots.entrySet().iterator();
+        while (eldest.hasNext()) {
+            Map.Entry<String, Slot> entry = eldest.next();
+            if (totalSize <= maxSize && entry.getValue().lastUsed() >= idleBefore) {
+                break;
+            }
+            eldest.remove();
+            totalSize -= entry.getValue().size();
+            metadata.remove(entry.getKey());
+            bodies.remove(entry.getKey());
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String first(Map<String, List<String>> headers, String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (name.equalsIgnoreCase(header.getKey()) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    private static byte[] encode(Entry entry) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(entry.lastUsed());
+            out.writeLong(entry.size());
+            out.writeShort(entry.headers().size());
+            for (Map.Entry<String, List<String>> header : entry.headers().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Entry decode(byte[] encoded) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+            if (in.readByte() != FORMAT_VERSION) {
+                throw new IllegalStateException("Unknown HTTP cache entry format");
+            }
+            long lastUsed = in.readLong();
+            long size = in.readLong();
+            Map<String, List<String>> headers = new TreeMap<>();
+            int headerCount = in.readUnsignedShort();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readUnsignedShort();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+            return new Entry(headers, size, lastUsed, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A stored response: its content type and validators (lower-case names), body size, last use and body.
+     */
+    public record Entry(Map<String, List<String>> headers, long size, long lastUsed, byte[] body) {
+
+        public String etag() {
+            return first(headers, "etag");
+        }
+
+        public String lastModified() {
+            return first(headers, "last-modified");
+        }
+
+        private Entry withBody(byte[] body) {
+            return new Entry(headers, size, lastUsed, body);
+        }
+    }
+
+    private record Slot(long size, long lastUsed) {}
+}
@@ -0,0 +1,535 @@
+package com.riskscanner.dependencyriskanalyzer.service.http;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import javax.net.ssl.SSLSession;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Shared client for all outbound HTTP calls: vulnerability providers, metadata enrichment and AI clients.
+ *
+ * <p>Wraps a single JDK {@link HttpClient} (HTTP/2 where the server supports it, pooled keep-alive
+ * connections, redirects followed) and adds what every caller needs:
+ * <ul>
+ *   <li>connect and read timeouts ({@code buildaegis.http.*}); a timeout set on a request wins</li>
+ *   <li>gzip: requests advertise it and compressed responses are decoded transparently</li>
+ *   <li>at most {@code max-concurrent-per-host} requests in flight per host; further callers wait
+ *       in arrival order for up to the read timeout</li>
+ *   <li>conditional GETs: responses with an {@code ETag} or {@code Last-Modified} are kept in the
+ *       {@link HttpResponseCache}, later GETs of the URI send its validators, and a
+ *       {@code 304 Not Modified} is answered as a 200 with the stored body. Callers that send
+ *       their own {@code If-None-Match} / {@code If-Modified-Since} bypass the cache.</li>
+ *   <li>a {@code buildaegis.http.client.requests} timer tagged by host and status, and a
+ *       {@code buildaegis.http.client.active} gauge per host</li>
+ * </ul>
+ *
+ * <p>JDK-client callers use {@link #send(HttpRequest)}; Spring callers get a {@link RestTemplate}
+ * on the same connection pool from {@link #restTemplate(ClientHttpRequestInterceptor...)}.
+ */
+@Component
+public class OutboundHttpClient {
+
+    private static final String GZIP = "gzip";
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final int maxConcurrentPerHost;
+    private final HttpResponseCache responseCache;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TimerKey, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    public OutboundHttpClient(@Value("${buildaegis.http.connect-timeout:PT10S}") Duration connectTimeout,
+                              @Value("${buildaegis.http.read-timeout:PT30S}") Duration readTimeout,
+                              @Value("${buildaegis.http.max-concurrent-per-host:16}") int maxConcurrentPerHost,
+                              HttpResponseCache responseCache,
+                              MeterRegistry meterRegistry) {
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+        this.readTimeout = readTimeout;
+        this.maxConcurrentPerHost = Math.max(1, maxConcurrentPerHost);
+        this.responseCache = responseCache;
+        this.meterRegistry = meterRegistry;
+        responseCache.bindTo(meterRegistry);
+    }
+
+    /**
+     * Sends a request and returns the (decompressed) body as a string, decoded with the charset of
+     * the response's {@code Content-Type} or UTF-8.
+     */
+    public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request, (name, value) -> true);
+        if (request.timeout().isEmpty()) {
+            builder.timeout(readTimeout);
+        }
+        if (request.headers().firstValue(HttpHeaders.ACCEPT_ENCODING).isEmpty()) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+
+        boolean cacheable = isCacheable(request.method(),
+            name -> request.headers().firstValue(name).isPresent());
+        HttpResponseCache.Entry cached = cacheable ? responseCache.get(request.uri()) : null;
+        if (cached != null) {
+            setValidators(cached, builder::setHeader);
+        }
+
+        String host = hostOf(request.uri());
+        Semaphore permits = acquire(host);
+        long start = System.nanoTime();
+        String status = "IO_ERROR";
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(builder.build(), OutboundHttpClient::decodingBodyHandler);
+            status = String.valueOf(response.statusCode());
+        } finally {
+            permits.release();
+            record(host, status, start);
+        }
+
+        if (cached != null && response.statusCode() == 304) {
+            HttpResponseCache.Entry entry = responseCache.revalidated(request.uri(), cached, response.headers().map());
+            java.net.http.HttpHeaders headers = java.net.http.HttpHeaders.of(
+                HttpResponseCache.replayHeaders(response.headers().map(), entry), (name, value) -> true);
+            return new DecodedResponse(response, 200, headers, entry.body());
+        }
+        if (cacheable && response.statusCode() == 200) {
+            responseCache.put(request.uri(), response.headers().map(), response.body(), cached);
+        }
+        return new DecodedResponse(response, response.statusCode(), response.headers(), response.body());
+    }
+
+    /**
+     * Creates a {@link RestTemplate} on the shared client. The given interceptors run first, in
+     * order, outside the per-host limit, so e.g. rate-limit waits do not hold a connection slot.
+     */
+    public RestTemplate restTemplate(ClientHttpRequestInterceptor... interceptors) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        RestTemplate restTemplate = new RestTemplate(requestFactory);
+        List<ClientHttpRequestInterceptor> chain = new ArrayList<>(List.of(interceptors));
+        chain.add(this::intercept);
+        restTemplate.setInterceptors(chain);
+        return restTemplate;
+    }
+
+    private ClientHttpResponse intercept(org.springframework.http.HttpRequest request, byte[] body,
+                                         ClientHttpRequestExecution execution) throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        boolean cacheable = isCacheable(request.getMethod().name(), request.getHeaders()::containsKey);
+        HttpResponseCache.Entry cached = cacheable ? responseCache.get(request.getURI()) : null;
+        if (cached != null) {
+            setValidators(cached, request.getHeaders()::set);
+        }
+        String host = hostOf(request.getURI());
+        Semaphore permits;
+        try {
+            permits = acquire(host);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a connection to " + host);
+        }
+        long start = System.nanoTime();
+        ReleasingResponse released;
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            released = new ReleasingResponse(response, () -> {
+                permits.release();
+                record(host, statusOf(response), start);
+            });
+        } catch (IOException | RuntimeException e) {
+            permits.release();
+            record(host, "IO_ERROR", start);
+            throw e;
+        }
+        return cacheable ? cache(request.getURI(), cached, released) : released;
+    }
+
+    /**
+     * Answers a 304 for a cached entry with the stored body, and stores a new 200 body that fits
+     * {@code max-entry-size}; larger bodies are passed on as they stream in, without being stored.
+     */
+    private ClientHttpResponse cache(URI uri, HttpResponseCache.Entry cached, ClientHttpResponse response) throws IOException {
+        try {
+            int status = response.getStatusCode().value();
+            if (cached != null && status == 304) {
+                HttpResponseCache.Entry entry = responseCache.revalidated(uri, cached, response.getHeaders());
+                HttpHeaders headers = new HttpHeaders();
+                HttpResponseCache.replayHeaders(response.getHeaders(), entry).forEach(headers::put);
+                response.close();
+                return new StoredResponse(HttpHeaders.readOnlyHttpHeaders(headers), entry.body());
+            }
+            if (status != 200) {
+                return response;
+            }
+            if (!responseCache.isStorable(response.getHeaders())) {
+                responseCache.discard(uri, cached);
+                return response;
+            }
+            int limit = (int) Math.min(responseCache.getMaxEntrySize(), Integer.MAX_VALUE - 8);
+            byte[] prefix = response.getBody().readNBytes(limit + 1);
+            if (prefix.length > limit) {
+                responseCache.discard(uri, cached);
+                return new BufferedResponse(response,
+                    new SequenceInputStream(new ByteArrayInputStream(prefix), response.getBody()));
+            }
+            responseCache.put(uri, response.getHeaders(), prefix, cached);
+            return new BufferedResponse(response, new ByteArrayInputStream(prefix));
+        } catch (IOException | RuntimeException e) {
+            response.close();
+            throw e;
+        }
+    }
+
+    /**
+     * GETs go through the response cache unless the caller makes its own conditional request.
+     */
+    private boolean isCacheable(String method, Predicate<String> hasHeader) {
+        return responseCache.isEnabled() && "GET".equals(method)
+            && !hasHeader.test(HttpHeaders.IF_NONE_MATCH) && !hasHeader.test(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    private static void setValidators(HttpResponseCache.Entry cached, BiConsumer<String, String> setHeader) {
+        if (cached.etag() != null) {
+            setHeader.accept(HttpHeaders.IF_NONE_MATCH, cached.etag());
+        }
+        if (cached.lastModified() != null) {
+            setHeader.accept(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified());
+        }
+    }
+
+    private Semaphore acquire(String host) throws InterruptedException, IOException {
+        Semaphore permits = hostPermits.computeIfAbsent(host, this::newPermits);
+        if (!permits.tryAcquire(readTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            throw new IOException("No connection slot for " + host + " within " + readTimeout.toMillis() + " ms ("
+                + maxConcurrentPerHost + " requests in flight)");
+        }
+        return permits;
+    }
+
+    private Semaphore newPermits(String host) {
+        Semaphore permits = new Semaphore(maxConcurrentPerHost, true);
+        Gauge.builder("buildaegis.http.client.active", permits, p -> maxConcurrentPerHost - p.availablePermits())
+            .description("Outbound HTTP requests in flight")
+            .tag("host", host)
+            .register(meterRegistry);
+        return permits;
+    }
+
+    private void record(String host, String status, long startNanos) {
+        requestTimers.computeIfAbsent(new TimerKey(host, status), this::newTimer)
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer newTimer(TimerKey key) {
+        return Timer.builder("buildaegis.http.client.requests")
+            .description("Outbound HTTP requests")
+            .tag("host", key.host())
+            .tag("status", key.status())
+            .register(meterRegistry);
+    }
+
+    private static String hostOf(URI uri) {
+        return uri.getHost() == null ? "unknown" : uri.getHost().toLowerCase(Locale.ROOT);
+    }
+
+    private static String statusOf(ClientHttpResponse response) {
+        try {
+            return String.valueOf(response.getStatusCode().value());
+        } catch (IOException e) {
+            return "IO_ERROR";
+        }
+    }
+
+    private static HttpResponse.BodySubscriber<byte[]> decodingBodyHandler(HttpResponse.ResponseInfo info) {
+        if (!isGzip(info.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null))) {
+            return HttpResponse.BodySubscribers.ofByteArray();
+        }
+        return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofByteArray(), bytes -> {
+            if (bytes.length == 0) {
+                return bytes; // 304 and HEAD responses may declare gzip without a body
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static boolean isGzip(String contentEncoding) {
+        return contentEncoding != null && contentEncoding.trim().equalsIgnoreCase(GZIP);
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String trimmed = parameter.trim();
+                if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                    try {
+                        return Charset.forName(trimmed.substring(8).replace("\"", ""));
+                    } catch (IllegalArgumentException ignored) {
+                        // Unknown charset, fall back to UTF-8
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Tags of one {@code buildaegis.http.client.requests} timer, so each is registered once.
+     */
+    private record TimerKey(String host, String status) {}
+
+    /**
+     * Response that decodes a gzip body and releases the host slot when closed.
+     */
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Runnable onClose;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private HttpHeaders headers;
+        private InputStream body;
+
+        private ReleasingResponse(ClientHttpResponse delegate, Runnable onClose) {
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders original = delegate.getHeaders();
+                if (isGzip(original.getFirst(HttpHeaders.CONTENT_ENCODING))) {
+                    HttpHeaders decoded = new HttpHeaders();
+                    decoded.putAll(original);
+                    decoded.remove(HttpHeaders.CONTENT_ENCODING);
+                    decoded.remove(HttpHeaders.CONTENT_LENGTH);
+                    headers = HttpHeaders.readOnlyHttpHeaders(decoded);
+                } else {
+                    headers = original;
+                }
+            }
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                if (isGzip(delegate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+                    // Error and HEAD responses may declare gzip without a body, which GZIPInputStream rejects
+                    PushbackInputStream raw = new PushbackInputStream(delegate.getBody(), 1);
+                    int first = raw.read();
+                    if (first == -1) {
+                        body = InputStream.nullInputStream();
+                    } else {
+                        raw.unread(first);
+                        body = new GZIPInputStream(raw);
+                    }
+                } else {
+                    body = delegate.getBody();
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (closed.compareAndSet(false, true)) {
+                    onClose.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * A {@link #send} response: the decoded body as a string in the charset of its {@code Content-Type}.
+     */
+    private static final class DecodedResponse implements HttpResponse<String> {
+
+        private final HttpResponse<byte[]> response;
+        private final int statusCode;
+        private final java.net.http.HttpHeaders headers;
+        private final String body;
+
+        private DecodedResponse(HttpResponse<byte[]> response, int statusCode, java.net.http.HttpHeaders headers, byte[] body) {
+            this.response = response;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = new String(body, charsetOf(headers.firstValue(HttpHeaders.CONTENT_TYPE).orElse(null)));
+        }
+
+        @Override
+        public int statusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public HttpRequest request() {
+            return response.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<String>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public java.net.http.HttpHeaders headers() {
+            return headers;
+        }
+
+        @Override
+        public String body() {
+            return body;
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return response.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return response.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return response.version();
+        }
+    }
+
+    /**
+     * Response whose body was (partly) read ahead for the cache.
+     */
+    private static final class BufferedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final InputStream body;
+
+        private BufferedResponse(ClientHttpResponse delegate, InputStream body) {
+            this.delegate = delegate;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+
+    /**
+     * A 200 answered from the cache after a {@code 304 Not Modified}.
+     */
+    private static final class StoredResponse implements ClientHttpResponse {
+
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        private StoredResponse(HttpHeaders headers, byte[] body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatus.OK;
+        }
+
+        @Override
+        public String getStatusText() {
+            return HttpStatus.OK.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import java.util.Set;
+
+/**
+ * Published when a local advisory feed import added, changed or removed advisories.
+ *
+ * <p>Lists the artifacts the changed advisories name, so cached results for them (in particular
+ * cached "no vulnerabilities" answers) can be dropped.
+ *
+ * @param feed     the importing feed, for logging
+ * @param packages Maven {@code groupId:artifactId}s named by OSV-format advisories
+ * @param products CPE product names named by NVD records, matched against artifactIds
+ */
+public record AdvisoryFeedImportedEvent(String feed, Set<String> packages, Set<String> products) {
+
+    public AdvisoryFeedImportedEvent {
+        packages = Set.copyOf(packages);
+        products = Set.copyOf(products);
+    }
+
+    public boolean isEmpty() {
+        return packages.isEmpty() && products.isEmpty();
+    }
+}
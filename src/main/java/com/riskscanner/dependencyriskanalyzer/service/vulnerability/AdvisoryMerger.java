@@ -0,0 +1,198 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Merges the advisories that several providers publish for one vulnerability under different ids
+ * (CVE, GHSA, OSV) into one advisory per vulnerability.
+ *
+ * <p>Advisories sharing an id or an alias are joined into equivalence classes with a union-find
+ * over their indexes, so transitive aliases (a GHSA aliasing a CVE that an OSV record also aliases)
+ * land in one class in near-linear time. Each class becomes one canonical advisory that lists every
+ * contributing provider in {@link Vulnerability#getSources()}.
+ */
+final class AdvisoryMerger {
+
+    private AdvisoryMerger() {
+    }
+
+    /**
+     * Merges the advisories of each alias class.
+     *
+     * @param vulnerabilities advisories in provider priority order
+     * @return one advisory per class, in the order of each class's first advisory; single-advisory
+     * classes are returned as is
+     */
+    static List<Vulnerability> merge(List<Vulnerability> vulnerabilities) {
+        if (vulnerabilities.size() < 2) {
+            return new ArrayList<>(vulnerabilities);
+        }
+
+        UnionFind classes = new UnionFind(vulnerabilities.size());
+        Map<String, Integer> firstWithId = new HashMap<>();
+        for (int i = 0; i < vulnerabilities.size(); i++) {
+            Vulnerability vulnerability = vulnerabilities.get(i);
+            join(classes, firstWithId, vulnerability.getId(), i);
+            for (String alias : vulnerability.getAliases()) {
+                join(classes, firstWithId, alias, i);
+            }
+        }
+
+        Map<Integer, List<Vulnerability>> members = new LinkedHashMap<>();
+        for (int i = 0; i < vulnerabilities.size(); i++) {
+            members.computeIfAbsent(classes.find(i), root -> new ArrayList<>()).add(vulnerabilities.get(i));
+        }
+        List<Vulnerability> merged = new ArrayList<>(members.size());
+        for (List<Vulnerability> advisories : members.values()) {
+            merged.add(advisories.size() == 1 ? advisories.get(0) : canonical(advisories));
+        }
+        return merged;
+    }
+
+    private static void join(UnionFind classes, Map<String, Integer> firstWithId, String id, int index) {
+        if (id == null || id.isBlank()) {
+            return;
+        }
+        Integer first = firstWithId.putIfAbsent(id.trim().toUpperCase(Locale.ROOT), index);
+        if (first != null) {
+            classes.union(first, index);
+        }
+    }
+
+    /**
+     * Builds the advisory of one class. The primary advisory is the first one with a CVE id (so the
+     * finding id stays the CVE whichever providers answered), else the first in priority order; it
+     * supplies the id, source and texts. Severity is the highest of the class, version ranges,
+     * references and aliases are united.
+     */
+    private static Vulnerability canonical(List<Vulnerability> advisories) {
+        Vulnerability primary = advisories.stream()
+            .filter(v -> v.getId().startsWith("CVE-"))
+            .findFirst()
+            .orElse(advisories.get(0));
+
+        Severity severity = primary.getSeverity();
+        Set<VulnerabilitySource> sources = new LinkedHashSet<>(primary.getSources());
+        Set<String> aliases = new LinkedHashSet<>();
+        Set<String> references = new LinkedHashSet<>(primary.getReferences());
+        Set<String> affectedVersions = new LinkedHashSet<>(primary.getAffectedVersions());
+        Set<VersionRange> versionRanges = new LinkedHashSet<>(primary.getVersionRanges());
+        String title = primary.getTitle();
+        String description = primary.getDescription();
+        String cweId = primary.getCweId().orElse(null);
+        Double cvssScore = primary.getCvssScore().orElse(null);
+        String cvssVector = primary.getCvssVector().orElse(null);
+        Instant publishedAt = primary.getPublishedAt();
+        Instant updatedAt = primary.getUpdatedAt();
+
+        for (Vulnerability advisory : advisories) {
+            // Severity constants are declared from most to least severe
+            if (advisory.getSeverity().ordinal() < severity.ordinal()) {
+                severity = advisory.getSeverity();
+            }
+            sources.addAll(advisory.getSources());
+            aliases.add(advisory.getId());
+            aliases.addAll(advisory.getAliases());
+            references.addAll(advisory.getReferences());
+            affectedVersions.addAll(advisory.getAffectedVersions());
+            versionRanges.addAll(advisory.getVersionRanges());
+            if (title == null || title.isBlank()) {
+                title = advisory.getTitle();
+            }
+            if (description == null || description.isBlank()) {
+                description = advisory.getDescription();
+            }
+            if (cweId == null) {
+                cweId = advisory.getCweId().orElse(null);
+            }
+            if (cvssScore == null) {
+                cvssScore = advisory.getCvssScore().orElse(null);
+                cvssVector = advisory.getCvssVector().orElse(cvssVector);
+            }
+            publishedAt = earliest(publishedAt, advisory.getPublishedAt());
+            updatedAt = latest(updatedAt, advisory.getUpdatedAt());
+        }
+        aliases.remove(primary.getId());
+
+        return Vulnerability.builder()
+            .id(primary.getId())
+            .source(primary.getSource())
+            .sources(List.copyOf(sources))
+            .title(title)
+            .description(description)
+            .severity(severity)
+            .affectedVersions(List.copyOf(affectedVersions))
+            .versionRange(primary.getVersionRange().orElse(null))
+            .versionRanges(List.copyOf(versionRanges))
+            .references(List.copyOf(references))
+            .aliases(List.copyOf(aliases))
+            .publishedAt(publishedAt)
+            .updatedAt(updatedAt)
+            .cweId(cweId)
+            .cvssScore(cvssScore)
+            .cvssVector(cvssVector)
+            .build();
+    }
+
+    private static Instant earliest(Instant a, Instant b) {
+        return a == null ? b : b == null || a.isBefore(b) ? a : b;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a == null ? b : b == null || a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Disjoint sets over {@code 0..n-1} with path halving and union by size.
+     */
+    private static final class UnionFind {
+
+        private final int[] parent;
+        private final int[] size;
+
+        private UnionFind(int n) {
+            parent = new int[n];
+            size = new int[n];
+            for (int i = 0; i < n; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+        }
+
+        private int find(int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        private void union(int a, int b) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return;
+            }
+            if (size[rootA] < size[rootB]) {
+                int swap = rootA;
+                rootA = rootB;
+                rootB = swap;
+            }
+            parent[rootB] = rootA;
+            size[rootA] += size[rootB];
+        }
+    }
+}
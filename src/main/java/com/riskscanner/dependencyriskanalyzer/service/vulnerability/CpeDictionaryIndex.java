@@ -0,0 +1,489 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ScheduledFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Resolves Maven coordinates to the CPE vendor/product names NVD actually lists them under.
+ *
+ * <p>Three sources are combined, later ones taking precedence for the same coordinate:
+ * <ul>
+ *   <li>{@code buildaegis.vulnerability.cpe.dictionary-file}: the NVD CPE dictionary, a
+ *       {@code nvdcpe-2.0-chunk-*.json} file (optionally gzipped) or a directory of them. Products
+ *       whose references link a Maven artifact page map that artifact; the other products are kept
+ *       as known vendor/product names to validate the groupId/artifactId naming heuristics.</li>
+ *   <li>The curated mapping bundled at {@code cpe/maven-cpe-mapping.txt}.</li>
+ *   <li>{@code buildaegis.vulnerability.cpe.mapping-file}: a local curated mapping in the same
+ *       {@code groupId:artifactId=vendor:product[,vendor:product]} format, where an artifactId of
+ *       {@code *} covers a whole group.</li>
+ * </ul>
+ *
+ * <p>Mappings and dictionary names are held in sorted arrays: coordinates are looked up by binary search for the exact
+ * {@code groupId:artifactId} key and then for its {@code groupId:} group prefix, so a snapshot of
+ * the full dictionary stays a few megabytes. Files are re-checked every {@code refresh-interval}
+ * and the snapshot is swapped atomically after each import. Resolutions are counted in
+ * {@code buildaegis.vulnerability.cpe.lookups} with an {@code outcome} of {@code hit} or {@code miss}.
+ */
+@Component
+public class CpeDictionaryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CpeDictionaryIndex.class);
+
+    static final String BUNDLED_MAPPING = "/cpe/maven-cpe-mapping.txt";
+
+    private static final Pattern MAVEN_ARTIFACT_URL = Pattern.compile(
+        "https?://(?:mvnrepository\\.com|search\\.maven\\.org|central\\.sonatype\\.com)/artifact/([\\w.\\-]+)/([\\w.\\-]+)");
+
+    private final String dictionaryFile;
+    private final String mappingFile;
+    private final Counter hits;
+    private final Counter misses;
+    private final ScheduledFuture<?> importer;
+    private volatile Snapshot snapshot;
+
+    public CpeDictionaryIndex(@Value("${buildaegis.vulnerability.cpe.dictionary-file:}") String dictionaryFile,
+                              @Value("${buildaegis.vulnerability.cpe.mapping-file:}") String mappingFile,
+                              @Value("${buildaegis.vulnerability.cpe.refresh-interval:PT6H}") Duration refreshInterval,
+                              MeterRegistry registry,
+                              TaskScheduler scheduler) {
+        this.dictionaryFile = dictionaryFile;
+        this.mappingFile = mappingFile;
+        this.hits = lookupCounter(registry, "hit");
+        this.misses = lookupCounter(registry, "miss");
+        this.snapshot = bundledSnapshot();
+        Gauge.builder("buildaegis.vulnerability.cpe.products", this, index -> index.snapshot.products().length)
+            .description("Vendor/product names in the CPE dictionary index")
+            .register(registry);
+        if (dictionaryFile == null || dictionaryFile.isBlank()) {
+            logger.warn("No CPE dictionary configured (buildaegis.vulnerability.cpe.dictionary-file): live NVD lookups only "
+                + "cover mapped coordinates, and results for other dependencies are not cached as clean");
+        }
+
+        Duration interval = Duration.ofMillis(Math.max(60_000, refreshInterval.toMillis()));
+        this.importer = scheduler.scheduleWithFixedDelay(this::refresh, Instant.now(), interval);
+    }
+
+    /**
+     * Resolves a dependency to the CPE products it is listed under: a mapping of its coordinates,
+     * else a mapping of its group, else the dictionary products matching its groupId/artifactId
+     * naming candidates.
+     *
+     * @return the products, or an empty list if the dependency has no known CPE
+     */
+    public List<CpeProduct> resolve(DependencyCoordinate dependency) {
+        Snapshot current = snapshot;
+        String groupId = dependency.groupId().toLowerCase(Locale.ROOT);
+        List<CpeProduct> products = current.coordinates().get(groupId + ":" + dependency.artifactId().toLowerCase(Locale.ROOT));
+        if (products == null) {
+            products = current.coordinates().get(groupId + ":");
+        }
+        if (products == null) {
+            products = current.candidates(dependency);
+        }
+        if (products.isEmpty()) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return products;
+    }
+
+    /**
+     * Gets the number of vendor/product names known from the CPE dictionary.
+     */
+    public int size() {
+        return snapshot.products().length;
+    }
+
+    /**
+     * Checks whether a CPE dictionary is loaded, i.e. whether a dependency that does not resolve
+     * can be trusted to have no CPE at all rather than just no mapping.
+     */
+    public boolean hasDictionary() {
+        return size() > 0;
+    }
+
+    /**
+     * Imports the CPE dictionary and curated mapping, on top of the bundled mapping, and swaps them
+     * in as the current snapshot.
+     *
+     * @param dictionary a CPE dictionary chunk or directory of chunks, or null for none
+     * @param mapping    a curated mapping file, or null for none
+     * @return counts of imported entries
+     * @throws IOException if a file cannot be read or parsed
+     */
+    public synchronized ImportResult importFiles(Path dictionary, Path mapping) throws IOException {
+        Set<String> products = new TreeSet<>();
+        Map<String, Set<CpeProduct>> coordinates = new HashMap<>();
+        int referenced = dictionary == null ? 0 : readDictionary(dictionary, products, coordinates);
+
+        // Curated mappings replace what the dictionary references say about a coordinate
+        Map<String, Set<CpeProduct>> curated = new HashMap<>();
+        readBundledMapping(curated);
+        int mapped = 0;
+        if (mapping != null) {
+            try (InputStream in = Files.newInputStream(mapping)) {
+                mapped = readMapping(in, curated);
+            }
+        }
+        coordinates.putAll(curated);
+
+        snapshot = new Snapshot(CoordinateIndex.of(coordinates), products.toArray(String[]::new),
+            dictionary == null ? null : dictionary.toString(), dictionary == null ? 0 : modifiedMillis(dictionary),
+            mapping == null ? null : mapping.toString(), mapping == null ? 0 : Files.getLastModifiedTime(mapping).toMillis());
+
+        ImportResult result = new ImportResult(products.size(), referenced, mapped);
+        logger.info("Imported CPE dictionary index for {} coordinates ({})", coordinates.size(), result);
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importer.cancel(true);
+    }
+
+    /**
+     * Imports the configured files if any of them changed since the last import.
+     */
+    void refresh() {
+        Path dictionary = configured(dictionaryFile);
+        Path mapping = configured(mappingFile);
+        if (dictionary == null && mapping == null) {
+            return;
+        }
+        try {
+            Snapshot current = snapshot;
+            if (!changed(dictionary, current.dictionaryFile(), current.dictionaryModifiedMillis())
+                && !changed(mapping, current.mappingFile(), current.mappingModifiedMillis())) {
+                return;
+            }
+            importFiles(dictionary, mapping);
+        } catch (Exception e) {
+            logger.error("Failed to import CPE dictionary index (dictionary {}, mapping {}): {}", dictionary, mapping, e.getMessage());
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("buildaegis.vulnerability.cpe.lookups")
+            .description("Dependency to CPE resolutions by whether a known CPE was found")
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static Snapshot bundledSnapshot() {
+        Map<String, Set<CpeProduct>> curated = new HashMap<>();
+        try {
+            readBundledMapping(curated);
+        } catch (IOException e) {
+            logger.warn("Failed to read bundled CPE mapping: {}", e.getMessage());
+        }
+        return new Snapshot(CoordinateIndex.of(curated), new String[0], null, 0, null, 0);
+    }
+
+    private static void readBundledMapping(Map<String, Set<CpeProduct>> mappings) throws IOException {
+        try (InputStream in = CpeDictionaryIndex.class.getResourceAsStream(BUNDLED_MAPPING)) {
+            if (in != null) {
+                readMapping(in, mappings);
+            }
+        }
+    }
+
+    private static Path configured(String file) {
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        Path path = Path.of(file);
+        if (!Files.exists(path)) {
+            logger.warn("CPE dictionary file not found: {}", path);
+            return null;
+        }
+        return path;
+    }
+
+    private static boolean changed(Path file, String importedFile, long importedModifiedMillis) throws IOException {
+        if (file == null) {
+            return importedFile != null;
+        }
+        return !file.toString().equals(importedFile) || modifiedMillis(file) != importedModifiedMillis;
+    }
+
+    /**
+     * Gets the last modification of a file, or of a directory and any of its chunks.
+     */
+    private static long modifiedMillis(Path file) throws IOException {
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        for (Path chunk : dictionaryChunks(file)) {
+            modified = Math.max(modified, Files.getLastModifiedTime(chunk).toMillis());
+        }
+        return modified;
+    }
+
+    private static List<Path> dictionaryChunks(Path dictionary) throws IOException {
+        if (!Files.isDirectory(dictionary)) {
+            return List.of(dictionary);
+        }
+        try (Stream<Path> listing = Files.list(dictionary)) {
+            return listing
+                .filter(p -> p.getFileName().toString().matches("nvdcpe-2\\.0-.*\\.json(\\.gz)?"))
+                .sorted()
+                .toList();
+        }
+    }
+
+    /**
+     * Reads the {@code products} of each dictionary chunk. Deprecated names and non-application
+     * CPEs are skipped.
+     *
+     * @return number of products whose references link a Maven artifact
+     */
+    private static int readDictionary(Path dictionary, Set<String> products, Map<String, Set<CpeProduct>> coordinates)
+        throws IOException {
+        int referenced = 0;
+        for (Path file : dictionaryChunks(dictionary)) {
+            try (InputStream raw = Files.newInputStream(file);
+                 InputStream in = file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+                 JsonParser parser = JsonStreams.open(in)) {
+                if (!JsonStreams.isObject(parser)) {
+                    throw new IOException("CPE dictionary is not a JSON object: " + file);
+                }
+                while (JsonStreams.nextField(parser)) {
+                    if (!"products".equals(parser.currentName()) || !JsonStreams.isArray(parser)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    while (JsonStreams.nextElement(parser)) {
+                        referenced += readProduct(parser, products, coordinates);
+                    }
+                }
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * Reads one {@code {"cpe": {...}}} element of the dictionary.
+     *
+     * @return 1 if its references linked a Maven artifact, else 0
+     */
+    private static int readProduct(JsonParser parser, Set<String> products, Map<String, Set<CpeProduct>> coordinates)
+        throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return 0;
+        }
+        String cpeName = null;
+        boolean deprecated = false;
+        List<String> refs = new ArrayList<>();
+        while (JsonStreams.nextField(parser)) {
+            if (!"cpe".equals(parser.currentName()) || !JsonStreams.isObject(parser)) {
+                parser.skipChildren();
+                continue;
+            }
+            while (JsonStreams.nextField(parser)) {
+                switch (parser.currentName()) {
+                    case "cpeName" -> cpeName = JsonStreams.string(parser);
+                    case "deprecated" -> deprecated = parser.currentToken() == JsonToken.VALUE_TRUE;
+                    case "refs" -> readRefs(parser, refs);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        CpeProduct product = deprecated ? null : CpeProduct.parse(cpeName);
+        if (product == null) {
+            return 0;
+        }
+        products.add(product.key());
+        int referenced = 0;
+        for (String ref : refs) {
+            Matcher matcher = MAVEN_ARTIFACT_URL.matcher(ref);
+            if (matcher.lookingAt()) {
+                String coordinate = (matcher.group(1) + ":" + matcher.group(2)).toLowerCase(Locale.ROOT);
+                coordinates.computeIfAbsent(coordinate, k -> new LinkedHashSet<>()).add(product);
+                referenced = 1;
+            }
+        }
+        return referenced;
+    }
+
+    private static void readRefs(JsonParser parser, List<String> refs) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return;
+        }
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            while (JsonStreams.nextField(parser)) {
+                if ("ref".equals(parser.currentName())) {
+                    String ref = JsonStreams.string(parser);
+                    if (ref != null) {
+                        refs.add(ref);
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads {@code groupId:artifactId=vendor:product[,vendor:product]} lines; blank lines, {@code #}
+     * comments and malformed lines are skipped. A later line for the same coordinate replaces an earlier one.
+     *
+     * @return number of mappings read
+     */
+    private static int readMapping(InputStream in, Map<String, Set<CpeProduct>> mappings) throws IOException {
+        int count = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            int equals = line.indexOf('=');
+            if (line.isEmpty() || line.startsWith("#") || equals < 0) {
+                continue;
+            }
+            String coordinate = line.substring(0, equals).trim().toLowerCase(Locale.ROOT);
+            int colon = coordinate.indexOf(':');
+            if (colon <= 0 || colon == coordinate.length() - 1) {
+                logger.debug("Skipping CPE mapping {}", line);
+                continue;
+            }
+            if (coordinate.endsWith(":*")) {
+                coordinate = coordinate.substring(0, coordinate.length() - 1);
+            }
+            Set<CpeProduct> products = new LinkedHashSet<>();
+            for (String target : line.substring(equals + 1).split(",")) {
+                CpeProduct product = CpeProduct.parse("cpe:2.3:a:" + target.trim());
+                if (product != null) {
+                    products.add(product);
+                }
+            }
+            if (!products.isEmpty()) {
+                mappings.put(coordinate, products);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * One CPE vendor/product name.
+     */
+    public record CpeProduct(String vendor, String product) {
+
+        /**
+         * Parses the vendor and product of an application CPE 2.3 name; null for other parts,
+         * wildcards and malformed names.
+         */
+        static CpeProduct parse(String cpeName) {
+            if (cpeName == null) {
+                return null;
+            }
+            // cpe:2.3:<part>:<vendor>:<product>:<version>:...
+            String[] parts = cpeName.split(":");
+            if (parts.length < 5 || !"cpe".equals(parts[0]) || !"a".equals(parts[2])) {
+                return null;
+            }
+            String vendor = parts[3].toLowerCase(Locale.ROOT);
+            String product = parts[4].toLowerCase(Locale.ROOT);
+            if (vendor.isEmpty() || product.isEmpty() || "*".equals(vendor) || "*".equals(product)) {
+                return null;
+            }
+            return new CpeProduct(vendor, product);
+        }
+
+        /**
+         * Gets the CPE match string for this product at any version, e.g. {@code cpe:2.3:a:apache:log4j}.
+         */
+        public String matchString() {
+            return "cpe:2.3:a:" + vendor + ":" + product;
+        }
+
+        String key() {
+            return vendor + ":" + product;
+        }
+    }
+
+    /**
+     * Outcome of one import.
+     */
+    public record ImportResult(int dictionaryProducts, int mavenReferences, int curatedMappings) {}
+
+    /**
+     * Immutable map from coordinate keys to products over two parallel sorted arrays.
+     */
+    private record CoordinateIndex(String[] keys, CpeProduct[][] products) {
+
+        private static CoordinateIndex of(Map<String, Set<CpeProduct>> mappings) {
+            String[] keys = mappings.keySet().toArray(String[]::new);
+            Arrays.sort(keys);
+            CpeProduct[][] products = new CpeProduct[keys.length][];
+            for (int i = 0; i < keys.length; i++) {
+                products[i] = mappings.get(keys[i]).toArray(CpeProduct[]::new);
+            }
+            return new CoordinateIndex(keys, products);
+        }
+
+        private List<CpeProduct> get(String key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i < 0 ? null : List.of(products[i]);
+        }
+    }
+
+    private record Snapshot(CoordinateIndex coordinates, String[] products,
+                            String dictionaryFile, long dictionaryModifiedMillis,
+                            String mappingFile, long mappingModifiedMillis) {
+
+        /**
+         * Gets the dictionary products named by the dependency's vendor and product candidates.
+         */
+        private List<CpeProduct> candidates(DependencyCoordinate dependency) {
+            if (products.length == 0) {
+                return List.of();
+            }
+            List<CpeProduct> found = new ArrayList<>();
+            for (String vendor : NvdCveParser.vendorCandidates(dependency)) {
+                for (String product : NvdCveParser.productCandidates(dependency)) {
+                    if (Arrays.binarySearch(products, vendor + ":" + product) >= 0) {
+                        found.add(new CpeProduct(vendor, product));
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * In-memory exploit intelligence per CVE, from local copies of the CISA Known Exploited
+ * Vulnerabilities catalog and the FIRST EPSS scores.
+ *
+ * <ul>
+ *   <li>{@code buildaegis.vulnerability.exploit-intel.kev-file}: the KEV catalog JSON
+ *       ({@code known_exploited_vulnerabilities.json})</li>
+ *   <li>{@code buildaegis.vulnerability.exploit-intel.epss-file}: the EPSS scores CSV
+ *       ({@code epss_scores-YYYY-MM-DD.csv}, optionally gzipped), {@code cve,epss,percentile}</li>
+ * </ul>
+ *
+ * <p>The files are re-checked every {@code refresh-interval} and re-imported when either changed.
+ * Lookups read an immutable CVE map that is swapped atomically after each import, so a scan never
+ * sees a half-loaded catalog.
+ */
+@Component
+public class ExploitIntelligenceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExploitIntelligenceIndex.class);
+
+    private final String kevFile;
+    private final String epssFile;
+    private final ScheduledFuture<?> importer;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public ExploitIntelligenceIndex(@Value("${buildaegis.vulnerability.exploit-intel.kev-file:}") String kevFile,
+                                    @Value("${buildaegis.vulnerability.exploit-intel.epss-file:}") String epssFile,
+                                    @Value("${buildaegis.vulnerability.exploit-intel.refresh-interval:PT1H}") Duration refreshInterval,
+                                    TaskScheduler scheduler) {
+        this.kevFile = kevFile;
+        this.epssFile = epssFile;
+
+        Duration interval = Duration.ofMillis(Math.max(60_000, refreshInterval.toMillis()));
+        this.importer = scheduler.scheduleWithFixedDelay(this::refresh, Instant.now(), interval);
+    }
+
+    /**
+     * Gets the exploit intelligence for a vulnerability by its id and aliases, combining the entries
+     * of all its CVEs.
+     *
+     * @return the intelligence, or null if none of its ids is known
+     */
+    public ExploitIntel lookup(Vulnerability vulnerability) {
+        Map<String, ExploitIntel> byCve = snapshot.byCve();
+        if (byCve.isEmpty()) {
+            return null;
+        }
+        ExploitIntel intel = byCve.get(vulnerability.getId());
+        for (String alias : vulnerability.getAliases()) {
+            ExploitIntel aliased = byCve.get(alias);
+            if (aliased != null) {
+                intel = intel == null ? aliased : intel.merge(aliased);
+            }
+        }
+        return intel;
+    }
+
+    /**
+     * Gets the exploit intelligence for a CVE id; null if it is neither in KEV nor scored by EPSS.
+     */
+    public ExploitIntel lookup(String cveId) {
+        return snapshot.byCve().get(cveId);
+    }
+
+    /**
+     * Gets the number of CVEs with exploit intelligence.
+     */
+    public int size() {
+        return snapshot.byCve().size();
+    }
+
+    /**
+     * Imports the KEV catalog and EPSS scores and swaps them in as the current snapshot.
+     *
+     * @param kev  the KEV catalog JSON, or null to import EPSS scores only
+     * @param epss the EPSS CSV (gzipped if it ends in {@code .gz}), or null to import KEV only
+     * @return counts of imported entries
+     * @throws IOException if a file cannot be read or parsed
+     */
+    public synchronized ImportResult importFiles(Path kev, Path epss) throws IOException {
+        Map<String, ExploitIntel> byCve = new HashMap<>();
+        int epssEntries = epss == null ? 0 : readEpss(epss, byCve);
+        int kevEntries = kev == null ? 0 : readKev(kev, byCve);
+
+        snapshot = new Snapshot(Map.copyOf(byCve),
+            kev == null ? null : kev.toString(), kev == null ? 0 : Files.getLastModifiedTime(kev).toMillis(),
+            epss == null ? null : epss.toString(), epss == null ? 0 : Files.getLastModifiedTime(epss).toMillis());
+
+        ImportResult result = new ImportResult(kevEntries, epssEntries);
+        logger.info("Imported exploit intelligence for {} CVEs ({})", byCve.size(), result);
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importer.cancel(true);
+    }
+
+    /**
+     * Imports the configured files if any of them changed since the last import.
+     */
+    void refresh() {
+        Path kev = configured(kevFile);
+        Path epss = configured(epssFile);
+        if (kev == null && epss == null) {
+            return;
+        }
+        try {
+            Snapshot current = snapshot;
+            if (!changed(kev, current.kevFile(), current.kevModifiedMillis())
+                && !changed(epss, current.epssFile(), current.epssModifiedMillis())) {
+                return;
+            }
+            importFiles(kev, epss);
+        } catch (Exception e) {
+            logger.error("Failed to import exploit intelligence (KEV {}, EPSS {}): {}", kev, epss, e.getMessage());
+        }
+    }
+
+    private static Path configured(String file) {
+        if (file == null || file.isBlank()) {
+            return null;
+        }
+        Path path = Path.of(file);
+        if (!Files.isRegularFile(path)) {
+            logger.warn("Exploit intelligence file not found: {}", path);
+            return null;
+        }
+        return path;
+    }
+
+    private static boolean changed(Path file, String importedFile, long importedModifiedMillis) throws IOException {
+        if (file == null) {
+            return importedFile != null;
+        }
+        return !file.toString().equals(importedFile) || Files.getLastModifiedTime(file).toMillis() != importedModifiedMillis;
+    }
+
+    /**
+     * Reads {@code cve,epss,percentile} rows; {@code #} comment lines (model version, score date)
+     * and the header are skipped.
+     */
+    private static int readEpss(Path file, Map<String, ExploitIntel> byCve) throws IOException {
+        int count = 0;
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("cve,")) {
+                    continue;
+                }
+                int first = line.indexOf(',');
+                int second = line.indexOf(',', first + 1);
+                if (first < 0 || second < 0) {
+                    continue;
+                }
+                try {
+                    float epss = Float.parseFloat(line.substring(first + 1, second));
+                    float percentile = Float.parseFloat(line.substring(second + 1).trim());
+                    byCve.put(normalize(line.substring(0, first)), new ExploitIntel(false, null, false, epss, percentile));
+                    count++;
+                } catch (NumberFormatException e) {
+                    logger.debug("Skipping EPSS row {}", line);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the {@code vulnerabilities} of the KEV catalog, merging them into the EPSS entries.
+     */
+    private static int readKev(Path file, Map<String, ExploitIntel> byCve) throws IOException {
+        int count = 0;
+        try (InputStream in = Files.newInputStream(file); JsonParser parser = JsonStreams.open(in)) {
+            if (!JsonStreams.isObject(parser)) {
+                throw new IOException("KEV catalog is not a JSON object: " + file);
+            }
+            while (JsonStreams.nextField(parser)) {
+                if (!"vulnerabilities".equals(parser.currentName()) || !JsonStreams.isArray(parser)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (JsonStreams.nextElement(parser)) {
+                    ExploitIntel kev = readKevEntry(parser, byCve);
+                    if (kev != null) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static ExploitIntel readKevEntry(JsonParser parser, Map<String, ExploitIntel> byCve) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return null;
+        }
+        String cveId = null;
+        LocalDate dateAdded = null;
+        boolean ransomware = false;
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "cveID" -> cveId = JsonStreams.string(parser);
+                case "dateAdded" -> dateAdded = date(JsonStreams.string(parser));
+                case "knownRansomwareCampaignUse" -> ransomware = "Known".equalsIgnoreCase(JsonStreams.string(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        if (cveId == null || cveId.isBlank()) {
+            return null;
+        }
+        ExploitIntel kev = new ExploitIntel(true, dateAdded, ransomware, Float.NaN, Float.NaN);
+        byCve.merge(normalize(cveId), kev, ExploitIntel::merge);
+        return kev;
+    }
+
+    private static LocalDate date(String value) {
+        try {
+            return value == null ? null : LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String normalize(String cveId) {
+        return cveId.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Exploit intelligence for one CVE.
+     *
+     * @param knownExploited        listed in the CISA KEV catalog
+     * @param kevDateAdded          when it was added to KEV; null if not listed or unknown
+     * @param ransomwareCampaignUse KEV reports use in ransomware campaigns
+     * @param epss                  EPSS probability of exploitation in the next 30 days; NaN if not scored
+     * @param percentile            EPSS percentile among all scored CVEs; NaN if not scored
+     */
+    public record ExploitIntel(boolean knownExploited, LocalDate kevDateAdded, boolean ransomwareCampaignUse,
+                               float epss, float percentile) {
+
+        public boolean hasEpss() {
+            return !Float.isNaN(epss);
+        }
+
+        /**
+         * Combines the entries of two CVEs of the same vulnerability, keeping the stronger signals.
+         */
+        ExploitIntel merge(ExploitIntel other) {
+            LocalDate added = kevDateAdded == null ? other.kevDateAdded
+                : other.kevDateAdded == null || kevDateAdded.isBefore(other.kevDateAdded) ? kevDateAdded : other.kevDateAdded;
+            return new ExploitIntel(knownExploited || other.knownExploited, added,
+                ransomwareCampaignUse || other.ransomwareCampaignUse,
+                hasEpss() && (!other.hasEpss() || epss >= other.epss) ? epss : other.epss,
+                hasEpss() && (!other.hasEpss() || epss >= other.epss) ? percentile : other.percentile);
+        }
+    }
+
+    /**
+     * Outcome of one import.
+     */
+    public record ImportResult(int kevEntries, int epssEntries) {}
+
+    private record Snapshot(Map<String, ExploitIntel> byCve, String kevFile, long kevModifiedMillis,
+                            String epssFile, long epssModifiedMillis) {
+
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), null, 0, null, 0);
+    }
+}
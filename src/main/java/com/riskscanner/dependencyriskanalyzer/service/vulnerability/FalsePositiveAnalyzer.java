@@ -4,13 +4,21 @@ import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.FalsePositiveAnalysis;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service for analyzing potential false positives in vulnerability detection.
@@ -18,6 +26,14 @@ import java.util.Set;
  * <p>This analyzer considers various factors that may reduce the actual risk
  * of a vulnerability, such as dependency scope, optional dependencies, shaded
  * packages, and code reachability.
+ *
+ * <p>Results are memoized per advisory id and source, dependency and context, together with the
+ * advisory's downgraded copy, so repeated cache hits neither re-run the analysis nor rebuild
+ * vulnerabilities. A result is only reused for the advisory instance it was computed from (as served
+ * from the vulnerability cache); a refreshed advisory is analyzed afresh and replaces it. The description
+ * keywords are found in a single {@link KeywordMatcher} pass per advisory description. Contexts of
+ * subclasses may override the marker hooks and are never memoized. At most {@code memo-size} results
+ * and as many advisory descriptions are kept.
  */
 @Service
 public class FalsePositiveAnalyzer {
@@ -33,6 +49,30 @@ public class FalsePositiveAnalyzer {
     // Common shading/relocation patterns
     private static final Set<String> SHADING_PATTERNS = Set.of("shaded", "relocated", "shadow", "relocate");
 
+    // Description keywords hinting at configuration-dependent and component-specific vulnerabilities
+    private static final List<String> CONFIGURATION_KEYWORDS = List.of("configuration", "enabled", "setting", "when");
+    private static final List<String> COMPONENT_KEYWORDS = List.of("module", "component", "feature");
+    private static final KeywordMatcher DESCRIPTION_KEYWORDS = new KeywordMatcher(
+        Stream.concat(CONFIGURATION_KEYWORDS.stream(), COMPONENT_KEYWORDS.stream()).toList());
+    private static final long CONFIGURATION_MASK = KeywordMatcher.mask(0, CONFIGURATION_KEYWORDS.size());
+    private static final long COMPONENT_MASK = KeywordMatcher.mask(CONFIGURATION_KEYWORDS.size(),
+        CONFIGURATION_KEYWORDS.size() + COMPONENT_KEYWORDS.size());
+
+    private final Cache<AnalysisKey, Analyzed> memo;
+    private final Cache<AdvisoryKey, DescriptionKeywords> descriptionKeywords;
+
+    public FalsePositiveAnalyzer(@Value("${buildaegis.vulnerability.false-positive.memo-size:20000}") long memoSize,
+                                 MeterRegistry meterRegistry) {
+        this.memo = Caffeine.newBuilder()
+            .maximumSize(memoSize)
+            .recordStats()
+            .build();
+        this.descriptionKeywords = Caffeine.newBuilder()
+            .maximumSize(memoSize)
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memo, "false-positive-analysis");
+    }
+
     /**
      * Analyzes a vulnerability for potential false positive indicators.
      *
@@ -42,6 +82,58 @@ public class FalsePositiveAnalyzer {
      * @return analysis result with adjusted severity and reasoning
      */
     public FalsePositiveAnalysis analyze(Vulnerability vulnerability, DependencyCoordinate dependency, AnalysisContext context) {
+        return analyzed(vulnerability, dependency, context).analysis();
+    }
+
+    /**
+     * Applies the analysis to vulnerabilities: downgraded ones are replaced by a copy with the adjusted
+     * severity and the reasoning appended to the description, the others are returned as is.
+     *
+     * @return the vulnerabilities in the same order; identical instances where nothing was downgraded
+     */
+    public List<Vulnerability> applyAnalysis(List<Vulnerability> vulnerabilities, DependencyCoordinate dependency,
+                                             AnalysisContext context) {
+        List<Vulnerability> adjusted = new ArrayList<>(vulnerabilities.size());
+        for (Vulnerability vulnerability : vulnerabilities) {
+            try {
+                adjusted.add(analyzed(vulnerability, dependency, context).adjusted());
+            } catch (Exception e) {
+                logger.warn("Failed to analyze vulnerability {} for false positives: {}",
+                    vulnerability.getId(), e.getMessage());
+                adjusted.add(vulnerability);
+            }
+        }
+        return adjusted;
+    }
+
+    private Analyzed analyzed(Vulnerability vulnerability, DependencyCoordinate dependency, AnalysisContext context) {
+        if (context.getClass() != AnalysisContext.class) {
+            return runAnalysis(vulnerability, DESCRIPTION_KEYWORDS.match(vulnerability.getDescription()), dependency, context);
+        }
+        AnalysisKey key = new AnalysisKey(vulnerability.getId(), vulnerability.getSource(), dependency, context);
+        Analyzed cached = memo.getIfPresent(key);
+        if (cached != null && cached.advisory() == vulnerability) {
+            return cached;
+        }
+        Analyzed analyzed = runAnalysis(vulnerability, descriptionKeywords(vulnerability), dependency, context);
+        memo.put(key, analyzed);
+        return analyzed;
+    }
+
+    private long descriptionKeywords(Vulnerability vulnerability) {
+        AdvisoryKey key = new AdvisoryKey(vulnerability.getId(), vulnerability.getSource());
+        String description = vulnerability.getDescription();
+        DescriptionKeywords cached = descriptionKeywords.getIfPresent(key);
+        if (cached != null && Objects.equals(cached.description(), description)) {
+            return cached.keywords();
+        }
+        long keywords = DESCRIPTION_KEYWORDS.match(description);
+        descriptionKeywords.put(key, new DescriptionKeywords(description, keywords));
+        return keywords;
+    }
+
+    private Analyzed runAnalysis(Vulnerability vulnerability, long descriptionKeywords, DependencyCoordinate dependency,
+                                 AnalysisContext context) {
         logger.debug("Analyzing vulnerability {} in dependency {} for false positives", 
             vulnerability.getId(), dependency);
 
@@ -83,7 +175,7 @@ public class FalsePositiveAnalyzer {
         }
 
         // Additional analysis based on vulnerability characteristics
-        analyzeVulnerabilityCharacteristics(vulnerability, dependency, reasoning, context);
+        analyzeVulnerabilityCharacteristics(vulnerability, descriptionKeywords, dependency, reasoning, context);
 
         // Build analysis metadata
         FalsePositiveAnalysis.AnalysisMetadata metadata = new FalsePositiveAnalysis.AnalysisMetadata(
@@ -93,7 +185,7 @@ public class FalsePositiveAnalyzer {
         logger.info("False positive analysis completed for {} in {}: {} -> {} (downgraded: {})",
             vulnerability.getId(), dependency, originalSeverity, adjustedSeverity, downgraded);
 
-        return FalsePositiveAnalysis.builder()
+        FalsePositiveAnalysis analysis = FalsePositiveAnalysis.builder()
             .dependency(dependency)
             .vulnerabilityId(vulnerability.getId())
             .originalSeverity(originalSeverity)
@@ -102,6 +194,34 @@ public class FalsePositiveAnalyzer {
             .reasoning(reasoning)
             .metadata(metadata)
             .build();
+        return new Analyzed(vulnerability, analysis, downgraded ? downgrade(vulnerability, analysis) : vulnerability);
+    }
+
+    /**
+     * Copies a vulnerability with the adjusted severity of a downgrading analysis.
+     */
+    private static Vulnerability downgrade(Vulnerability original, FalsePositiveAnalysis analysis) {
+        return Vulnerability.builder()
+            .id(original.getId())
+            .source(original.getSource())
+            .sources(original.getSources())
+            .title(original.getTitle() + " [DOWNGRADED]")
+            .description(original.getDescription() +
+                "\n\nFalse Positive Analysis: " + String.join("; ", analysis.getReasoning()) +
+                "\nOriginal severity: " + original.getSeverity() +
+                ", Adjusted severity: " + analysis.getAdjustedSeverity())
+            .severity(analysis.getAdjustedSeverity())
+            .affectedVersions(original.getAffectedVersions())
+            .versionRange(original.getVersionRange().orElse(null))
+            .versionRanges(original.getVersionRanges())
+            .references(original.getReferences())
+            .aliases(original.getAliases())
+            .publishedAt(original.getPublishedAt())
+            .updatedAt(original.getUpdatedAt())
+            .cweId(original.getCweId().orElse(null))
+            .cvssScore(original.getCvssScore().orElse(null))
+            .cvssVector(original.getCvssVector().orElse(null))
+            .build();
     }
 
     /**
@@ -210,22 +330,22 @@ public class FalsePositiveAnalyzer {
     /**
      * Analyzes vulnerability-specific characteristics for false positive indicators.
      */
-    private void analyzeVulnerabilityCharacteristics(Vulnerability vulnerability, DependencyCoordinate dependency, 
-                                                     List<String> reasoning, AnalysisContext context) {
+    private void analyzeVulnerabilityCharacteristics(Vulnerability vulnerability, long descriptionKeywords,
+                                                     DependencyCoordinate dependency, List<String> reasoning,
+                                                     AnalysisContext context) {
         
         // Check if vulnerability requires specific configuration that may not be present
-        if (requiresSpecificConfiguration(vulnerability) && !context.hasRequiredConfiguration(vulnerability)) {
+        if ((descriptionKeywords & CONFIGURATION_MASK) != 0 && !context.hasRequiredConfiguration(vulnerability)) {
             reasoning.add("Vulnerability requires specific configuration that may not be present");
         }
 
         // Check if vulnerability affects a version range that doesn't include our version
-        if (vulnerability.getVersionRange().isPresent() && 
-            !vulnerability.getVersionRange().get().includes(dependency.version())) {
+        if (!vulnerability.getVersionRanges().isEmpty() && !vulnerability.isInVersionRanges(dependency.version())) {
             reasoning.add("Vulnerability version range does not include the actual dependency version");
         }
 
         // Check if vulnerability is in a component that's not used
-        if (affectsUnusedComponent(vulnerability, context)) {
+        if ((descriptionKeywords & COMPONENT_MASK) != 0) {
             reasoning.add("Vulnerability affects a component that is not used in this context");
         }
     }
@@ -275,27 +395,6 @@ public class FalsePositiveAnalyzer {
         return values[newIndex];
     }
 
-    /**
-     * Checks if vulnerability requires specific configuration.
-     */
-    private boolean requiresSpecificConfiguration(Vulnerability vulnerability) {
-        String description = vulnerability.getDescription().toLowerCase();
-        return description.contains("configuration") || 
-               description.contains("enabled") || 
-               description.contains("setting") ||
-               description.contains("when");
-    }
-
-    /**
-     * Checks if vulnerability affects an unused component.
-     */
-    private boolean affectsUnusedComponent(Vulnerability vulnerability, AnalysisContext context) {
-        String description = vulnerability.getDescription().toLowerCase();
-        return description.contains("module") || 
-               description.contains("component") ||
-               description.contains("feature");
-    }
-
     /**
      * Creates a no-op analysis when analysis fails.
      */
@@ -311,6 +410,21 @@ public class FalsePositiveAnalyzer {
             .build();
     }
 
+    private record AdvisoryKey(String id, VulnerabilitySource source) {}
+
+    private record AnalysisKey(String id, VulnerabilitySource source, DependencyCoordinate dependency,
+                               AnalysisContext context) {}
+
+    /**
+     * The description keywords of an advisory, valid while its description is unchanged.
+     */
+    private record DescriptionKeywords(String description, long keywords) {}
+
+    /**
+     * An analysis of an advisory with the vulnerability to report: the advisory itself, or its downgraded copy.
+     */
+    private record Analyzed(Vulnerability advisory, FalsePositiveAnalysis analysis, Vulnerability adjusted) {}
+
     /**
      * Context information for false positive analysis.
      */
@@ -338,6 +452,20 @@ public class FalsePositiveAnalyzer {
         public boolean hasNoUsageIndicators(DependencyCoordinate dependency) { return false; }
         public boolean hasRequiredConfiguration(Vulnerability vulnerability) { return false; }
 
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AnalysisContext that = (AnalysisContext) o;
+            return testScope == that.testScope && optionalDependency == that.optionalDependency
+                && shadedOrRelocated == that.shadedOrRelocated && unreachable == that.unreachable;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(testScope, optionalDependency, shadedOrRelocated, unreachable);
+        }
+
         /**
          * Creates a default context with no false positive indicators.
          */
@@ -0,0 +1,305 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
+
+/**
+ * Local index of a {@code github/advisory-database} checkout.
+ *
+ * <p>Walks the OSV-format {@code GHSA-*.json} files under {@code advisories/github-reviewed} of the
+ * checkout configured in {@code buildaegis.vulnerability.github-advisory.checkout} and keeps the
+ * pre-parsed advisories indexed by Maven {@code groupId:artifactId}:
+ * <ul>
+ *   <li>The index is persisted as JSON under {@code index-dir} and loaded on startup.</li>
+ *   <li>The checkout is re-walked every {@code refresh-interval}. Files whose size and mtime match
+ *       the index are skipped without being read; for the others the git blob id is computed and
+ *       the file is parsed again only if it differs (a fresh clone touches every mtime but few blobs).</li>
+ *   <li>Advisories without Maven packages are tracked for change detection but not indexed by package.</li>
+ * </ul>
+ *
+ * <p>Lookups read an immutable snapshot that is swapped atomically after each import.
+ */
+@Component
+public class GitHubAdvisoryIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubAdvisoryIndex.class);
+
+    private static final String INDEX_FILE = "ghsa-index.json";
+    private static final Path REVIEWED_DIR = Path.of("advisories", "github-reviewed");
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String checkout;
+    private final Path indexFile;
+    private final ScheduledFuture<?> importer;
+    private boolean persistedIndexLoaded; // only touched by the scheduled import
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public GitHubAdvisoryIndex(ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${buildaegis.vulnerability.github-advisory.checkout:}") String checkout,
+                               @Value("${buildaegis.vulnerability.github-advisory.index-dir:${user.home}/.buildaegis/github-advisory}") String indexDir,
+                               @Value("${buildaegis.vulnerability.github-advisory.refresh-interval:PT1H}") Duration refreshInterval,
+                               TaskScheduler scheduler) {
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.checkout = checkout;
+        this.indexFile = Path.of(indexDir).resolve(INDEX_FILE);
+
+        Duration interval = Duration.ofMillis(Math.max(60_000, refreshInterval.toMillis()));
+        this.importer = scheduler.scheduleWithFixedDelay(this::importOnSchedule, Instant.now(), interval);
+    }
+
+    /**
+     * Gets the advisories listing the given Maven package.
+     *
+     * @param packageName {@code groupId:artifactId}
+     */
+    public List<OsvAdvisory> findByPackage(String packageName) {
+        return snapshot.packages().findByPackage(packageName);
+    }
+
+    /**
+     * Gets the advisories whose affected ranges or versions of the given Maven package contain the version.
+     *
+     * @param packageName {@code groupId:artifactId}
+     */
+    public List<OsvAdvisory> findAffecting(String packageName, String version) {
+        return snapshot.packages().findAffecting(packageName, version);
+    }
+
+    /**
+     * Checks whether any advisories are indexed.
+     */
+    public boolean isLoaded() {
+        return !snapshot.byFile().isEmpty();
+    }
+
+    /**
+     * Gets the number of indexed advisory files.
+     */
+    public int size() {
+        return snapshot.byFile().size();
+    }
+
+    /**
+     * Imports the reviewed advisories of a checkout, re-parsing only files whose content changed.
+     *
+     * @param checkoutRoot root of the {@code advisory-database} working tree
+     * @return counts of added, updated, unchanged, removed and skipped files
+     * @throws IOException if the advisory directory cannot be walked
+     */
+    public synchronized ImportResult importCheckout(Path checkoutRoot) throws IOException {
+        Path reviewed = checkoutRoot.resolve(REVIEWED_DIR);
+        if (!Files.isDirectory(reviewed)) {
+            throw new IOException("Not an advisory-database checkout: " + reviewed + " is missing");
+        }
+
+        Snapshot current = snapshot;
+        Map<String, IndexEntry> entries = new HashMap<>();
+        int added = 0;
+        int updated = 0;
+        int unchanged = 0;
+        int skipped = 0;
+        int retouched = 0;
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(reviewed)) {
+            files = walk.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith("GHSA-") && name.endsWith(".json");
+            }).toList();
+        }
+
+        for (Path file : files) {
+            String relative = checkoutRoot.relativize(file).toString().replace('\\', '/');
+            IndexEntry previous = current.byFile().get(relative);
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                long modifiedMillis = attributes.lastModifiedTime().toMillis();
+                if (previous != null && previous.size() == attributes.size() && previous.modifiedMillis() == modifiedMillis) {
+                    entries.put(relative, previous);
+                    unchanged++;
+                    continue;
+                }
+
+                byte[] content = Files.readAllBytes(file);
+                String blobId = gitBlobId(content);
+                if (previous != null && previous.blobId().equals(blobId)) {
+                    entries.put(relative, new IndexEntry(relative, content.length, modifiedMillis, blobId, previous.advisory()));
+                    unchanged++;
+                    retouched++;
+                    continue;
+                }
+
+                OsvAdvisory advisory = OsvRecordParser.parse(objectMapper.readTree(content));
+                entries.put(relative, new IndexEntry(relative, content.length, modifiedMillis, blobId, advisory));
+                if (previous == null) {
+                    added++;
+                } else {
+                    updated++;
+                }
+            } catch (Exception e) {
+                logger.warn("Skipping GitHub advisory {}: {}", relative, e.getMessage());
+                if (previous != null) {
+                    entries.put(relative, previous);
+                }
+                skipped++;
+            }
+        }
+
+        Set<String> touched = new HashSet<>();
+        current.byFile().forEach((name, previous) -> {
+            IndexEntry entry = entries.get(name);
+            if (entry == null || entry.advisory() != previous.advisory()) {
+                touched.addAll(packageNames(previous.advisory()));
+            }
+        });
+        entries.forEach((name, entry) -> {
+            IndexEntry previous = current.byFile().get(name);
+            if (previous == null || previous.advisory() != entry.advisory()) {
+                touched.addAll(packageNames(entry.advisory()));
+            }
+        });
+
+        int removed = (int) current.byFile().keySet().stream().filter(name -> !entries.containsKey(name)).count();
+        Snapshot next = Snapshot.of(entries, checkoutRoot.toString(), Instant.now());
+        snapshot = next;
+        if (added + updated + removed + retouched > 0 || !checkoutRoot.toString().equals(current.checkout())) {
+            persist(next);
+        }
+
+        ImportResult result = new ImportResult(added, updated, unchanged, removed, skipped);
+        logger.info("Imported GitHub advisories from {}: {} files, {} Maven packages ({})",
+            checkoutRoot, next.byFile().size(), next.packages().packageCount(), result);
+        if (!touched.isEmpty()) {
+            eventPublisher.publishEvent(new AdvisoryFeedImportedEvent("GitHub advisory database", touched, Set.of()));
+        }
+        return result;
+    }
+
+    private static Set<String> packageNames(OsvAdvisory advisory) {
+        Set<String> names = new HashSet<>();
+        advisory.affected().forEach(affected -> names.add(affected.name()));
+        return names;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importer.cancel(true);
+    }
+
+    private void importOnSchedule() {
+        if (!persistedIndexLoaded) {
+            loadPersistedIndex();
+            persistedIndexLoaded = true;
+        }
+        refresh();
+    }
+
+    /**
+     * Re-imports the configured checkout.
+     */
+    void refresh() {
+        if (checkout == null || checkout.isBlank()) {
+            return;
+        }
+        try {
+            importCheckout(Path.of(checkout));
+        } catch (Exception e) {
+            logger.error("Failed to import GitHub advisory checkout {}: {}", checkout, e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the git blob id of a file's content ({@code sha1("blob <size>\0" + content)}), the
+     * same id {@code git ls-files -s} reports, without needing git on the host.
+     */
+    static String gitBlobId(byte[] content) {
+        try {
+            MessageDigest sha1 = MessageDigest.getInstance("SHA-1");
+            sha1.update(("blob " + content.length + "\0").getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(sha1.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 not available", e);
+        }
+    }
+
+    private void loadPersistedIndex() {
+        if (!Files.isRegularFile(indexFile)) {
+            return;
+        }
+        try {
+            PersistedIndex persisted = objectMapper.readValue(indexFile.toFile(), PersistedIndex.class);
+            Map<String, IndexEntry> entries = new HashMap<>();
+            for (IndexEntry entry : persisted.entries()) {
+                entries.put(entry.path(), entry);
+            }
+            snapshot = Snapshot.of(entries, persisted.checkout(), persisted.importedAt());
+            logger.info("Loaded GitHub advisory index with {} files from {}", entries.size(), indexFile);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable GitHub advisory index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    private void persist(Snapshot snapshot) {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tmp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), new PersistedIndex(snapshot.checkout(), snapshot.importedAt(),
+                new ArrayList<>(snapshot.byFile().values())));
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("Failed to persist GitHub advisory index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of one checkout import.
+     */
+    public record ImportResult(int added, int updated, int unchanged, int removed, int skipped) {}
+
+    /**
+     * One advisory file with the size, mtime and git blob id it was parsed from.
+     */
+    record IndexEntry(String path, long size, long modifiedMillis, String blobId, OsvAdvisory advisory) {}
+
+    record PersistedIndex(String checkout, Instant importedAt, List<IndexEntry> entries) {}
+
+    private record Snapshot(Map<String, IndexEntry> byFile, OsvPackageIndex packages,
+                            String checkout, Instant importedAt) {
+
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), OsvPackageIndex.EMPTY, null, null);
+
+        private static Snapshot of(Map<String, IndexEntry> entries, String checkout, Instant importedAt) {
+            OsvPackageIndex packages = OsvPackageIndex.of(entries.values().stream().map(IndexEntry::advisory).toList());
+            return new Snapshot(Map.copyOf(entries), packages, checkout, importedAt);
+        }
+    }
+}
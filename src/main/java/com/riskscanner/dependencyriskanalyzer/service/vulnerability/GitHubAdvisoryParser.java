@@ -0,0 +1,365 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses GitHub Advisory API responses with a streaming parser, straight from the response body.
+ *
+ * <p>Field names are accepted both as the REST API writes them ({@code ghsa_id}, {@code published_at})
+ * and in the GraphQL style ({@code ghsaId}, {@code publishedAt}). Fields the scanner does not use,
+ * such as the advisory's full credit and reference lists, are skipped without being materialized.
+ */
+public final class GitHubAdvisoryParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(GitHubAdvisoryParser.class);
+
+    private GitHubAdvisoryParser() {
+    }
+
+    /**
+     * Reads an advisory list response and converts the advisories that affect the dependency.
+     * Advisories that cannot be parsed are skipped.
+     *
+     * @throws IOException if the body is not well-formed JSON
+     */
+    public static List<Vulnerability> parse(InputStream body, DependencyCoordinate dependency) throws IOException {
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        try (JsonParser parser = JsonStreams.open(body)) {
+            // GitHub API returns an array of advisories
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                return vulnerabilities;
+            }
+            while (JsonStreams.nextElement(parser)) {
+                try {
+                    Vulnerability vulnerability = parse(parser, dependency);
+                    if (vulnerability != null) {
+                        vulnerabilities.add(vulnerability);
+                    }
+                } catch (RuntimeException e) {
+                    // Advisory already read to its end, go on with the next one
+                    logger.warn("Failed to parse GitHub advisory: {}", e.getMessage());
+                }
+            }
+        }
+        return vulnerabilities;
+    }
+
+    /**
+     * Parses the advisory the parser is positioned on, reading up to its end.
+     *
+     * @return the vulnerability, or null if the value is not an advisory
+     * @throws IllegalArgumentException if the advisory has no GHSA id
+     */
+    public static Vulnerability parse(JsonParser parser, DependencyCoordinate dependency) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return null;
+        }
+
+        String ghsaId = null;
+        String summary = null;
+        String description = null;
+        String severity = null;
+        Double cvssScore = null;
+        String cvssVector = null;
+        String cweId = null;
+        String permalink = null;
+        List<String> identifiers = new ArrayList<>();
+        String publishedAt = null;
+        String updatedAt = null;
+        List<String> affectedVersions = new ArrayList<>();
+        VersionRange versionRange = null;
+
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "ghsaId", "ghsa_id" -> ghsaId = JsonStreams.text(parser);
+                case "summary" -> summary = JsonStreams.text(parser);
+                case "description" -> description = JsonStreams.text(parser);
+                case "severity" -> severity = JsonStreams.text(parser);
+                case "permalink", "html_url" -> permalink = JsonStreams.text(parser);
+                case "publishedAt", "published_at" -> publishedAt = JsonStreams.text(parser);
+                case "updatedAt", "updated_at" -> updatedAt = JsonStreams.text(parser);
+                case "identifiers" -> readIdentifiers(parser, identifiers);
+                case "cvss" -> {
+                    if (JsonStreams.isObject(parser)) {
+                        while (JsonStreams.nextField(parser)) {
+                            switch (parser.currentName()) {
+                                case "score" -> cvssScore = JsonStreams.number(parser);
+                                case "vectorString", "vector_string" -> cvssVector = JsonStreams.text(parser);
+                                default -> parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+                case "cwes" -> {
+                    // First CWE only
+                    if (JsonStreams.isArray(parser)) {
+                        boolean first = true;
+                        while (JsonStreams.nextElement(parser)) {
+                            String cwe = readCweId(parser);
+                            if (first) {
+                                cweId = cwe;
+                                first = false;
+                            }
+                        }
+                    }
+                }
+                case "vulnerabilities" -> {
+                    if (JsonStreams.isArray(parser)) {
+                        while (JsonStreams.nextElement(parser)) {
+                            AffectedPackage affected = readAffectedPackage(parser);
+                            if (affected == null || !affected.isFor(dependency)) {
+                                continue;
+                            }
+                            if (affected.vulnerableVersionRange() != null) {
+                                versionRange = parseVersionRange(affected.vulnerableVersionRange());
+                            }
+                            // Patched versions are kept for reference
+                            if (affected.firstPatchedVersion() != null && !affected.firstPatchedVersion().isBlank()) {
+                                affectedVersions.add(affected.firstPatchedVersion());
+                            }
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (ghsaId == null) {
+            throw new IllegalArgumentException("GitHub advisory without GHSA id");
+        }
+        if (summary == null) {
+            summary = ghsaId;
+        }
+
+        List<String> aliases = new ArrayList<>();
+        aliases.add(ghsaId); // GHSA ID is always an alias
+        aliases.addAll(identifiers);
+
+        return Vulnerability.builder()
+            .id(ghsaId)
+            .source(VulnerabilitySource.GITHUB)
+            .title(summary)
+            .description(description != null ? description : summary)
+            .severity(extractSeverity(cvssScore, severity))
+            .affectedVersions(affectedVersions)
+            .versionRange(versionRange)
+            .references(permalink != null ? List.of(permalink) : List.of())
+            .aliases(aliases)
+            .publishedAt(publishedAt != null ? Instant.parse(publishedAt) : null)
+            .updatedAt(updatedAt != null ? Instant.parse(updatedAt) : null)
+            .cweId(cweId)
+            .cvssScore(cvssScore)
+            .cvssVector(cvssVector)
+            .build();
+    }
+
+    /**
+     * Maps build tool to GitHub ecosystem name.
+     */
+    static String ecosystem(String buildTool) {
+        if (buildTool == null) {
+            return "maven";
+        }
+        return switch (buildTool.toLowerCase()) {
+            case "maven" -> "maven";
+            case "gradle" -> "maven"; // Gradle uses Maven ecosystem
+            case "npm" -> "npm";
+            case "pip" -> "pip";
+            case "rubygems" -> "rubygems";
+            case "nuget" -> "nuget";
+            case "go" -> "go";
+            case "rust" -> "rust";
+            default -> "maven"; // Default to Maven for Java projects
+        };
+    }
+
+    /**
+     * Collects the non-GHSA identifiers (CVEs, etc.) of an advisory.
+     */
+    private static void readIdentifiers(JsonParser parser, List<String> identifiers) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return;
+        }
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            String type = null;
+            String value = null;
+            while (JsonStreams.nextField(parser)) {
+                switch (parser.currentName()) {
+                    case "type" -> type = JsonStreams.text(parser);
+                    case "value" -> value = JsonStreams.text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (value != null && !"GHSA".equals(type)) {
+                identifiers.add(value);
+            }
+        }
+    }
+
+    private static String readCweId(JsonParser parser) throws IOException {
+        String cweId = null;
+        if (JsonStreams.isObject(parser)) {
+            while (JsonStreams.nextField(parser)) {
+                switch (parser.currentName()) {
+                    case "cweId", "cwe_id" -> cweId = JsonStreams.text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return cweId;
+    }
+
+    /**
+     * Reads one entry of an advisory's {@code vulnerabilities}; the first patched version is an
+     * object in the GraphQL style and a plain string in the REST API.
+     */
+    private static AffectedPackage readAffectedPackage(JsonParser parser) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return null;
+        }
+        String ecosystem = "";
+        String name = "";
+        String vulnerableVersionRange = null;
+        String firstPatchedVersion = null;
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "package" -> {
+                    if (JsonStreams.isObject(parser)) {
+                        while (JsonStreams.nextField(parser)) {
+                            switch (parser.currentName()) {
+                                case "ecosystem" -> ecosystem = JsonStreams.text(parser);
+                                case "name" -> name = JsonStreams.text(parser);
+                                default -> parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+                case "vulnerableVersionRange", "vulnerable_version_range" -> vulnerableVersionRange = JsonStreams.text(parser);
+                case "firstPatchedVersion", "first_patched_version" -> {
+                    if (parser.currentToken() == JsonToken.START_OBJECT) {
+                        while (JsonStreams.nextField(parser)) {
+                            if ("identifier".equals(parser.currentName())) {
+                                firstPatchedVersion = JsonStreams.text(parser);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        firstPatchedVersion = JsonStreams.text(parser);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return new AffectedPackage(ecosystem, name, vulnerableVersionRange, firstPatchedVersion);
+    }
+
+    /**
+     * Extracts severity from GitHub advisory data.
+     */
+    private static Severity extractSeverity(Double cvssScore, String severity) {
+        // Try CVSS score first
+        if (cvssScore != null) {
+            return Severity.fromCvssScore(cvssScore);
+        }
+
+        // Fall back to severity field
+        if (severity != null) {
+            try {
+                return Severity.valueOf(severity.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                // Fall through to default
+            }
+        }
+
+        // Default to medium if no severity information
+        return Severity.MEDIUM;
+    }
+
+    /**
+     * Parses GitHub version range format.
+     */
+    private static VersionRange parseVersionRange(String rangeStr) {
+        try {
+            // GitHub uses various formats like ">= 1.0.0, < 2.0.0"
+            if (rangeStr.contains(",")) {
+                String[] parts = rangeStr.split(",");
+                String minPart = parts[0].trim();
+                String maxPart = parts[1].trim();
+
+                String minVersion = extractVersionFromPart(minPart);
+
+                String maxVersion = extractVersionFromPart(maxPart);
+                boolean includeMax = maxPart.startsWith("<=");
+
+                if (minVersion != null && maxVersion != null) {
+                    return VersionRange.between(minVersion, maxVersion, includeMax);
+                } else if (minVersion != null) {
+                    return VersionRange.minimum(minVersion);
+                } else if (maxVersion != null) {
+                    return VersionRange.maximum(maxVersion, includeMax);
+                }
+            } else if (rangeStr.startsWith(">=")) {
+                String version = extractVersionFromPart(rangeStr);
+                if (version != null) {
+                    return VersionRange.minimum(version);
+                }
+            } else if (rangeStr.startsWith("<")) {
+                String version = extractVersionFromPart(rangeStr);
+                boolean include = rangeStr.startsWith("<=");
+                if (version != null) {
+                    return VersionRange.maximum(version, include);
+                }
+            }
+
+        } catch (Exception e) {
+            logger.debug("Failed to parse GitHub version range '{}': {}", rangeStr, e.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Extracts version number from a version range part.
+     */
+    private static String extractVersionFromPart(String part) {
+        if (part.startsWith(">=") || part.startsWith("<=")) {
+            return part.substring(2).trim();
+        } else if (part.startsWith("<") || part.startsWith(">") || part.startsWith("=")) {
+            return part.substring(1).trim();
+        } else {
+            return part.trim();
+        }
+    }
+
+    /**
+     * Package entry of an advisory, with the fields needed to match it to a dependency.
+     */
+    private record AffectedPackage(String ecosystem, String name, String vulnerableVersionRange, String firstPatchedVersion) {
+
+        /**
+         * Checks if this entry is relevant to our dependency.
+         */
+        boolean isFor(DependencyCoordinate dependency) {
+            String expectedPackageName = dependency.groupId() + ":" + dependency.artifactId();
+            return expectedPackageName.equals(name) && GitHubAdvisoryParser.ecosystem(dependency.buildTool()).equals(ecosystem);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Small helpers for reading provider JSON with Jackson's streaming {@link JsonParser}.
+ *
+ * <p>Parsers walk an object with {@code while (nextField(parser)) switch (parser.currentName())}
+ * and must leave the parser on the last token of every value they read; fields they do not map
+ * are passed over with {@link JsonParser#skipChildren()} without being materialized.
+ */
+final class JsonStreams {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Adapts a body reader for {@code RestTemplate.execute}, so the response is parsed as it streams in.
+     *
+     * <p>{@code RestTemplate} reports any {@link IOException} as a {@code ResourceAccessException},
+     * which providers treat as "unavailable"; malformed JSON is a bad response rather than an
+     * unreachable server, so it is rethrown unchecked instead.
+     */
+    static <T> ResponseExtractor<T> reading(BodyReader<T> reader) {
+        return response -> {
+            try {
+                return reader.read(response.getBody());
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Opens a parser on a response body and moves it to the first token (null for an empty body).
+     */
+    static JsonParser open(InputStream body) throws IOException {
+        JsonParser parser = FACTORY.createParser(body);
+        try {
+            parser.nextToken();
+        } catch (IOException e) {
+            parser.close();
+            throw e;
+        }
+        return parser;
+    }
+
+    /**
+     * Checks that the parser is on the start of an object; any other value is skipped.
+     */
+    static boolean isObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Checks that the parser is on the start of an array; any other value is skipped.
+     */
+    static boolean isArray(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.START_ARRAY) {
+            return true;
+        }
+        parser.skipChildren();
+        return false;
+    }
+
+    /**
+     * Moves to the value of the next field of the current object.
+     *
+     * @return false at the end of the object
+     */
+    static boolean nextField(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.FIELD_NAME) {
+            return false;
+        }
+        parser.nextToken();
+        return true;
+    }
+
+    /**
+     * Moves to the next element of the current array.
+     *
+     * @return false at the end of the array
+     */
+    static boolean nextElement(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        return token != null && token != JsonToken.END_ARRAY;
+    }
+
+    /**
+     * Reads a scalar as text, like {@code JsonNode.asText(null)}; null for JSON null and for
+     * objects and arrays, which are skipped.
+     */
+    static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == null || token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * Reads a numeric value; null for any other value, which is skipped.
+     */
+    static Double number(JsonParser parser) throws IOException {
+        if (parser.currentToken() != null && parser.currentToken().isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Reads a string value; null for any other value, which is skipped.
+     */
+    static String string(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    /**
+     * Reads a value from a response body stream.
+     */
+    @FunctionalInterface
+    interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+}
@@ -0,0 +1,128 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+
+/**
+ * Case-insensitive substring search for a fixed set of ASCII keywords in one pass (Aho–Corasick).
+ *
+ * <p>The keywords are compiled into a deterministic automaton over ASCII, so matching reads every
+ * character of the text once, whatever the number of keywords, and allocates nothing. Non-ASCII
+ * characters cannot be part of a keyword and reset the automaton.
+ */
+final class KeywordMatcher {
+
+    private static final int ALPHABET = 128;
+
+    private final int[][] transitions;
+    private final long[] matches;
+    private final long allKeywords;
+
+    /**
+     * @param keywords at most 64 non-empty ASCII keywords; keyword {@code i} is reported as bit {@code i}
+     */
+    KeywordMatcher(List<String> keywords) {
+        if (keywords.size() > Long.SIZE) {
+            throw new IllegalArgumentException("At most 64 keywords are supported");
+        }
+        List<int[]> gotos = new ArrayList<>();
+        List<Long> outputs = new ArrayList<>();
+        gotos.add(newState());
+        outputs.add(0L);
+        for (int i = 0; i < keywords.size(); i++) {
+            String keyword = keywords.get(i).toLowerCase(Locale.ROOT);
+            if (keyword.isEmpty() || !keyword.chars().allMatch(c -> c < ALPHABET)) {
+                throw new IllegalArgumentException("Keywords must be non-empty ASCII: " + keywords.get(i));
+            }
+            int state = 0;
+            for (int j = 0; j < keyword.length(); j++) {
+                char c = keyword.charAt(j);
+                if (gotos.get(state)[c] < 0) {
+                    gotos.get(state)[c] = gotos.size();
+                    gotos.add(newState());
+                    outputs.add(0L);
+                }
+                state = gotos.get(state)[c];
+            }
+            outputs.set(state, outputs.get(state) | 1L << i);
+        }
+
+        // Breadth-first: complete every state's transitions with those of its failure state
+        transitions = gotos.toArray(new int[0][]);
+        matches = outputs.stream().mapToLong(Long::longValue).toArray();
+        int[] failure = new int[transitions.length];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = transitions[0][c];
+            if (next < 0) {
+                transitions[0][c] = 0;
+            } else {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            matches[state] |= matches[failure[state]];
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = transitions[state][c];
+                if (next < 0) {
+                    transitions[state][c] = transitions[failure[state]][c];
+                } else {
+                    failure[next] = transitions[failure[state]][c];
+                    queue.add(next);
+                }
+            }
+        }
+        allKeywords = keywords.size() == Long.SIZE ? -1L : (1L << keywords.size()) - 1;
+    }
+
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * Finds which keywords occur in the text, ignoring ASCII case.
+     *
+     * @return a bit set of the keywords found, bit {@code i} for keyword {@code i}; 0 for null text
+     */
+    long match(CharSequence text) {
+        if (text == null) {
+            return 0;
+        }
+        long found = 0;
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= ALPHABET) {
+                state = 0;
+                continue;
+            }
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            state = transitions[state][c];
+            found |= matches[state];
+            if (found == allKeywords) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Bit set selecting the given keyword indexes, for testing {@link #match} results.
+     */
+    static long mask(int fromIndex, int toIndex) {
+        long mask = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            mask |= 1L << i;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,63 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Deadline of the provider lookup running on the current thread.
+ *
+ * <p>Bound by {@link VulnerabilityPipelineMetrics.ProviderCall} while a provider runs, so that
+ * {@link ProviderRateLimiter} keeps a request queued for a permit until the caller stops waiting for
+ * the answer, and the caller can tell a lookup that ran out of time still queued behind our own rate
+ * limit from a provider that did not answer.
+ */
+final class LookupDeadline {
+
+    private static final ThreadLocal<LookupDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private volatile boolean awaitingPermit;
+
+    LookupDeadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * Gets the deadline of the lookup running on this thread; null outside a provider lookup.
+     */
+    static LookupDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Gets the time left until the deadline; zero once it has passed.
+     */
+    Duration remaining() {
+        return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+    }
+
+    boolean isAwaitingPermit() {
+        return awaitingPermit;
+    }
+
+    void setAwaitingPermit(boolean awaitingPermit) {
+        this.awaitingPermit = awaitingPermit;
+    }
+
+    /**
+     * Runs a provider call with this deadline bound to the current thread.
+     */
+    <T> T run(Callable<T> call) throws Exception {
+        LookupDeadline previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,8 +35,8 @@ public class MavenCentralVulnerabilityProvider implements VulnerabilityProvider
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
     
-    public MavenCentralVulnerabilityProvider() {
-        this.restTemplate = new RestTemplate();
+    public MavenCentralVulnerabilityProvider(OutboundHttpClient httpClient, ProviderRateLimiter rateLimiter) {
+        this.restTemplate = httpClient.restTemplate(rateLimiter.interceptor(VulnerabilitySource.MAVEN_CENTRAL));
         this.objectMapper = new ObjectMapper();
     }
     
@@ -64,8 +65,11 @@ public class MavenCentralVulnerabilityProvider implements VulnerabilityProvider
             
             logger.info("Found {} vulnerabilities from Maven Central for {}", vulnerabilities.size(), dependency);
             
+        } catch (ProviderUnavailableException | ProviderLookupException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Failed to query Maven Central for dependency {}: {}", dependency, e.getMessage());
+            throw new ProviderLookupException(getSource(), e.getMessage(), e);
         }
         
         return vulnerabilities;
@@ -82,7 +86,7 @@ public class MavenCentralVulnerabilityProvider implements VulnerabilityProvider
     }
     
     @Override
-    public boolean isHealthy() {
+    public boolean probe() {
         try {
             // Simple health check - try to query a known package
             String testUrl = MAVEN_CENTRAL_SEARCH_API + "?q=g:org.apache.commons+a:commons-lang3&rows=1&wt=json";
@@ -122,8 +126,13 @@ public class MavenCentralVulnerabilityProvider implements VulnerabilityProvider
                 }
             }
             
+        } catch (ProviderUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            logger.debug("Failed to get package metadata for {}: {}", dependency, e.getMessage());
+            if (ProviderUnavailableException.isAvailabilityFailure(e)) {
+                throw new ProviderUnavailableException(getSource(), e.getMessage(), e);
+            }
+            throw new ProviderLookupException(getSource(), "package metadata: " + e.getMessage(), e);
         }
         
         return null;
@@ -204,6 +213,8 @@ public class MavenCentralVulnerabilityProvider implements VulnerabilityProvider
                 vulnerabilities.addAll(extractVulnerabilitiesFromPom(dependency, pomContent));
             }
             
+        } catch (ProviderThrottledException e) {
+            throw e;
         } catch (Exception e) {
             logger.debug("Failed to get POM file for {}: {}", dependency, e.getMessage());
         }
@@ -0,0 +1,487 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Parses NVD 2.0 CVE records, as returned by the CVE API and contained in the JSON data feeds.
+ *
+ * <p>Only vulnerable application CPEs ({@code cpe:2.3:a:...}) are kept from the configurations.
+ * Records are read with a streaming parser, so API responses are parsed straight from the body
+ * stream and fields the scanner does not use are skipped rather than built into a tree.
+ */
+public final class NvdCveParser {
+
+    private static final Set<String> GENERIC_GROUP_SEGMENTS = Set.of("org", "com", "io", "net", "dev", "de", "me");
+    private static final List<String> CVSS_METRICS = List.of("cvssMetricV31", "cvssMetricV30", "cvssMetricV2");
+
+    private NvdCveParser() {
+    }
+
+    /**
+     * Parses the {@code cve} object of an NVD record.
+     *
+     * @throws IllegalArgumentException if the record has no id
+     */
+    public static NvdCveRecord parse(JsonNode cveNode) {
+        try (JsonParser parser = cveNode.traverse()) {
+            parser.nextToken();
+            return parse(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the {@code cve} object the parser is positioned on, reading up to its end even when
+     * the record turns out to be invalid, so the caller can carry on with the next one.
+     *
+     * @throws IllegalArgumentException if the record has no id
+     */
+    public static NvdCveRecord parse(JsonParser parser) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            throw new IllegalArgumentException("NVD record without id");
+        }
+
+        String id = null;
+        String description = null;
+        Map<String, Cvss> cvssByMetric = new HashMap<>();
+        String cweId = null;
+        List<String> references = new ArrayList<>();
+        String published = null;
+        String lastModified = null;
+        List<NvdCveRecord.CpeMatch> cpeMatches = new ArrayList<>();
+
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "id" -> id = JsonStreams.text(parser);
+                case "published" -> published = JsonStreams.string(parser);
+                case "lastModified" -> lastModified = JsonStreams.string(parser);
+                case "descriptions" -> {
+                    // First English description
+                    String english = englishValue(parser);
+                    if (description == null) {
+                        description = english;
+                    }
+                }
+                case "metrics" -> readMetrics(parser, cvssByMetric);
+                case "weaknesses" -> {
+                    if (JsonStreams.isArray(parser)) {
+                        while (JsonStreams.nextElement(parser)) {
+                            String cwe = readWeakness(parser);
+                            if (cweId == null) {
+                                cweId = cwe;
+                            }
+                        }
+                    }
+                }
+                case "references" -> readReferenceUrls(parser, references);
+                case "configurations" -> readConfigurations(parser, cpeMatches);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("NVD record without id");
+        }
+
+        // CVSS score, preferring v3.1, then v3.0, then v2.0
+        Cvss cvss = CVSS_METRICS.stream().map(cvssByMetric::get).filter(c -> c != null && c.score() != null)
+            .findFirst().orElse(new Cvss(null, null));
+
+        return new NvdCveRecord(
+            id,
+            description != null ? description : "",
+            cvss.score() != null ? Severity.fromCvssScore(cvss.score()) : Severity.MEDIUM,
+            cvss.score(),
+            cvss.vector(),
+            cweId,
+            references,
+            parseTimestamp(published),
+            parseTimestamp(lastModified),
+            cpeMatches
+        );
+    }
+
+    /**
+     * Reads a CVE API 2.0 response (or a 2.0 data feed, which has the same shape) from a body stream,
+     * without holding the whole document in memory. Invalid records are counted and skipped.
+     *
+     * @return the page, or null if the body holds no JSON object
+     * @throws IOException if the body is not well-formed JSON
+     */
+    public static Page parsePage(InputStream body) throws IOException {
+        try (JsonParser parser = JsonStreams.open(body)) {
+            Integer resultsPerPage = null;
+            int totalResults = 0;
+            List<NvdCveRecord> records = new ArrayList<>();
+            int skipped = 0;
+
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (JsonStreams.nextField(parser)) {
+                switch (parser.currentName()) {
+                    case "resultsPerPage" -> resultsPerPage = parser.getValueAsInt(0);
+                    case "totalResults" -> totalResults = parser.getValueAsInt(0);
+                    case "vulnerabilities" -> {
+                        if (JsonStreams.isArray(parser)) {
+                            while (JsonStreams.nextElement(parser)) {
+                                try {
+                                    records.add(parseItem(parser));
+                                } catch (RuntimeException e) {
+                                    skipped++;
+                                }
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            return new Page(resultsPerPage != null ? resultsPerPage : records.size(), totalResults, records, skipped);
+        }
+    }
+
+    /**
+     * Parses one element of a {@code vulnerabilities} array, a wrapper object around the {@code cve}.
+     *
+     * @throws IllegalArgumentException if the element holds no valid record
+     */
+    static NvdCveRecord parseItem(JsonParser parser) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            throw new IllegalArgumentException("NVD record without id");
+        }
+        NvdCveRecord record = null;
+        RuntimeException failure = null;
+        while (JsonStreams.nextField(parser)) {
+            if ("cve".equals(parser.currentName())) {
+                try {
+                    record = parse(parser);
+                } catch (RuntimeException e) {
+                    failure = e; // Finish the wrapper first so the array stays in step
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        if (record == null) {
+            throw new IllegalArgumentException("NVD record without id");
+        }
+        return record;
+    }
+
+    /**
+     * Converts a CVE into a vulnerability for the given dependency, using the CPE criteria that
+     * name the dependency's vendor and product.
+     *
+     * <p>Exact-version criteria become affected versions and bounded criteria become version ranges;
+     * the one containing the dependency version, if any, is the primary range.
+     */
+    public static Vulnerability toVulnerability(NvdCveRecord record, DependencyCoordinate dependency) {
+        return toVulnerability(record, dependency, vendorCandidates(dependency), productCandidates(dependency));
+    }
+
+    /**
+     * Converts a CVE into a vulnerability for the given dependency, using the CPE criteria that
+     * name one of the given vendors and products (e.g. those a CPE dictionary resolved it to).
+     */
+    public static Vulnerability toVulnerability(NvdCveRecord record, DependencyCoordinate dependency,
+                                                Set<String> vendors, Set<String> products) {
+        List<String> affectedVersions = new ArrayList<>();
+        List<VersionRange> versionRanges = new ArrayList<>();
+        VersionRange versionRange = null;
+
+        for (NvdCveRecord.CpeMatch match : record.cpeMatches()) {
+            if (!vendors.contains(match.vendor()) || !products.contains(match.product())) {
+                continue;
+            }
+            if (match.isExactVersion()) {
+                affectedVersions.add(match.version());
+            } else {
+                VersionRange candidate = match.toVersionRange();
+                versionRanges.add(candidate);
+                if (versionRange == null && match.includes(dependency.version())) {
+                    versionRange = candidate;
+                }
+            }
+        }
+
+        return Vulnerability.builder()
+            .id(record.id())
+            .source(VulnerabilitySource.NVD)
+            .title(record.id()) // NVD doesn't have titles, use CVE ID
+            .description(record.description())
+            .severity(record.severity())
+            .affectedVersions(affectedVersions)
+            .versionRange(versionRange)
+            .versionRanges(versionRanges)
+            .references(record.references())
+            .aliases(List.of(record.id())) // CVE ID is the primary alias
+            .publishedAt(record.published())
+            .updatedAt(record.lastModified())
+            .cweId(record.cweId())
+            .cvssScore(record.cvssScore())
+            .cvssVector(record.cvssVector())
+            .build();
+    }
+
+    /**
+     * CPE products a Maven artifact may be listed under: the artifactId as is and with dashes as underscores.
+     */
+    public static Set<String> productCandidates(DependencyCoordinate dependency) {
+        String artifactId = dependency.artifactId().toLowerCase();
+        return Set.copyOf(List.of(artifactId, artifactId.replace('-', '_')));
+    }
+
+    /**
+     * CPE vendors a Maven group may be listed under: the whole groupId with dots as underscores,
+     * and each non-generic segment of it (e.g. {@code apache} for {@code org.apache.commons}).
+     */
+    public static Set<String> vendorCandidates(DependencyCoordinate dependency) {
+        String groupId = dependency.groupId().toLowerCase();
+        Set<String> vendors = new LinkedHashSet<>();
+        vendors.add(groupId.replace('.', '_'));
+        for (String segment : groupId.split("\\.")) {
+            if (!segment.isEmpty() && !GENERIC_GROUP_SEGMENTS.contains(segment)) {
+                vendors.add(segment);
+            }
+        }
+        return vendors;
+    }
+
+    private static void readMetrics(JsonParser parser, Map<String, Cvss> cvssByMetric) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return;
+        }
+        while (JsonStreams.nextField(parser)) {
+            String metric = parser.currentName();
+            if (!CVSS_METRICS.contains(metric) || !JsonStreams.isArray(parser)) {
+                parser.skipChildren();
+                continue;
+            }
+            // Only the first entry of each metric counts
+            boolean first = true;
+            while (JsonStreams.nextElement(parser)) {
+                if (first) {
+                    cvssByMetric.put(metric, readCvssEntry(parser));
+                    first = false;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static Cvss readCvssEntry(JsonParser parser) throws IOException {
+        Double score = null;
+        String vector = null;
+        if (JsonStreams.isObject(parser)) {
+            while (JsonStreams.nextField(parser)) {
+                if (!"cvssData".equals(parser.currentName()) || !JsonStreams.isObject(parser)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (JsonStreams.nextField(parser)) {
+                    switch (parser.currentName()) {
+                        case "baseScore" -> score = parser.getValueAsDouble();
+                        case "vectorString" -> vector = JsonStreams.text(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+            }
+        }
+        return new Cvss(score, vector);
+    }
+
+    /**
+     * Reads one {@code weaknesses} entry and returns its English CWE value, if any.
+     */
+    private static String readWeakness(JsonParser parser) throws IOException {
+        String cweId = null;
+        if (JsonStreams.isObject(parser)) {
+            while (JsonStreams.nextField(parser)) {
+                if ("description".equals(parser.currentName())) {
+                    cweId = englishValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return cweId;
+    }
+
+    /**
+     * Reads an array of {@code {lang, value}} objects and returns the first English value.
+     */
+    private static String englishValue(JsonParser parser) throws IOException {
+        String english = null;
+        if (JsonStreams.isArray(parser)) {
+            while (JsonStreams.nextElement(parser)) {
+                if (!JsonStreams.isObject(parser)) {
+                    continue;
+                }
+                String lang = null;
+                String value = null;
+                while (JsonStreams.nextField(parser)) {
+                    switch (parser.currentName()) {
+                        case "lang" -> lang = JsonStreams.text(parser);
+                        case "value" -> value = JsonStreams.text(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (english == null && "en".equals(lang)) {
+                    english = value;
+                }
+            }
+        }
+        return english;
+    }
+
+    private static void readReferenceUrls(JsonParser parser, List<String> references) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return;
+        }
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            while (JsonStreams.nextField(parser)) {
+                String url = "url".equals(parser.currentName()) ? JsonStreams.text(parser) : null;
+                if (url != null) {
+                    references.add(url);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static void readConfigurations(JsonParser parser, List<NvdCveRecord.CpeMatch> matches) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return;
+        }
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            while (JsonStreams.nextField(parser)) {
+                if (!"nodes".equals(parser.currentName()) || !JsonStreams.isArray(parser)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (JsonStreams.nextElement(parser)) {
+                    readNode(parser, matches);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads one configuration node; its matches are kept only if the node is not negated,
+     * which may be stated after the {@code cpeMatch} array.
+     */
+    private static void readNode(JsonParser parser, List<NvdCveRecord.CpeMatch> matches) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return;
+        }
+        boolean negate = false;
+        List<NvdCveRecord.CpeMatch> nodeMatches = new ArrayList<>();
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "negate" -> negate = parser.getValueAsBoolean(false);
+                case "cpeMatch" -> {
+                    if (JsonStreams.isArray(parser)) {
+                        while (JsonStreams.nextElement(parser)) {
+                            NvdCveRecord.CpeMatch match = readCpeMatch(parser);
+                            if (match != null) {
+                                nodeMatches.add(match);
+                            }
+                        }
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        if (!negate) {
+            matches.addAll(nodeMatches);
+        }
+    }
+
+    /**
+     * Reads one {@code cpeMatch} criterion; null unless it is a vulnerable application CPE.
+     */
+    private static NvdCveRecord.CpeMatch readCpeMatch(JsonParser parser) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return null;
+        }
+        boolean vulnerable = false;
+        String criteria = "";
+        String startIncluding = null;
+        String startExcluding = null;
+        String endIncluding = null;
+        String endExcluding = null;
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "vulnerable" -> vulnerable = parser.getValueAsBoolean(false);
+                case "criteria" -> criteria = Objects.requireNonNullElse(JsonStreams.text(parser), "");
+                case "versionStartIncluding" -> startIncluding = JsonStreams.text(parser);
+                case "versionStartExcluding" -> startExcluding = JsonStreams.text(parser);
+                case "versionEndIncluding" -> endIncluding = JsonStreams.text(parser);
+                case "versionEndExcluding" -> endExcluding = JsonStreams.text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        if (!vulnerable) {
+            return null;
+        }
+        // cpe:2.3:<part>:<vendor>:<product>:<version>:...
+        String[] parts = criteria.split(":");
+        if (parts.length < 6 || !"a".equals(parts[2])) {
+            return null;
+        }
+        return new NvdCveRecord.CpeMatch(criteria, parts[3], parts[4], parts[5],
+            startIncluding, startExcluding, endIncluding, endExcluding);
+    }
+
+    /**
+     * Parses NVD timestamps, which carry no zone (e.g. {@code 2021-12-10T10:15:09.143}) and are UTC.
+     */
+    private static Instant parseTimestamp(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.endsWith("Z") ? Instant.parse(value) : LocalDateTime.parse(value).toInstant(ZoneOffset.UTC);
+    }
+
+    private record Cvss(Double score, String vector) {}
+
+    /**
+     * One page of a CVE API response.
+     *
+     * @param skipped records that could not be parsed and are not in {@code records}
+     */
+    public record Page(int resultsPerPage, int totalResults, List<NvdCveRecord> records, int skipped) {}
+}
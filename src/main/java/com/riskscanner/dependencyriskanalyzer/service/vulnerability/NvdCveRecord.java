@@ -0,0 +1,95 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.MavenVersion;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Parsed NVD 2.0 CVE record with its vulnerable application CPE match criteria.
+ */
+public record NvdCveRecord(
+    String id,
+    String description,
+    Severity severity,
+    Double cvssScore,
+    String cvssVector,
+    String cweId,
+    List<String> references,
+    Instant published,
+    Instant lastModified,
+    List<CpeMatch> cpeMatches
+) {
+
+    /**
+     * One vulnerable {@code cpeMatch} criterion, with vendor/product/version split out of the CPE string.
+     */
+    public record CpeMatch(
+        String criteria,
+        String vendor,
+        String product,
+        String version,
+        String versionStartIncluding,
+        String versionStartExcluding,
+        String versionEndIncluding,
+        String versionEndExcluding
+    ) {
+
+        /**
+         * Checks whether the criterion names a single version rather than bounds.
+         */
+        public boolean isExactVersion() {
+            return !"*".equals(version) && !"-".equals(version) && !hasBounds();
+        }
+
+        public boolean hasBounds() {
+            return versionStartIncluding != null || versionStartExcluding != null
+                || versionEndIncluding != null || versionEndExcluding != null;
+        }
+
+        /**
+         * Checks whether the given version satisfies this criterion, honoring exclusive bounds.
+         */
+        public boolean includes(String candidate) {
+            if (candidate == null || candidate.isBlank() || "-".equals(version)) {
+                return false;
+            }
+            MavenVersion parsed = MavenVersion.parse(candidate);
+            if (isExactVersion()) {
+                return parsed.compareTo(MavenVersion.parse(version)) == 0;
+            }
+            if (versionStartIncluding != null && parsed.compareTo(MavenVersion.parse(versionStartIncluding)) < 0) {
+                return false;
+            }
+            if (versionStartExcluding != null && parsed.compareTo(MavenVersion.parse(versionStartExcluding)) <= 0) {
+                return false;
+            }
+            if (versionEndIncluding != null && parsed.compareTo(MavenVersion.parse(versionEndIncluding)) > 0) {
+                return false;
+            }
+            return versionEndExcluding == null || parsed.compareTo(MavenVersion.parse(versionEndExcluding)) < 0;
+        }
+
+        /**
+         * Converts the criterion to the closest {@link VersionRange}; an exclusive lower bound is
+         * widened to inclusive, so use {@link #includes(String)} for the exact decision.
+         */
+        public VersionRange toVersionRange() {
+            if (isExactVersion()) {
+                return VersionRange.exact(version);
+            }
+            String start = versionStartIncluding != null ? versionStartIncluding : versionStartExcluding;
+            String end = versionEndIncluding != null ? versionEndIncluding : versionEndExcluding;
+            boolean includeEnd = versionEndIncluding != null;
+
+            if (start != null && end != null) {
+                return VersionRange.between(start, end, includeEnd);
+            } else if (end != null) {
+                return VersionRange.maximum(end, includeEnd);
+            }
+            return VersionRange.minimum(start != null ? start : "0");
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.NvdCpeMatchEntity;
+import com.riskscanner.dependencyriskanalyzer.model.NvdCveEntity;
+import com.riskscanner.dependencyriskanalyzer.model.NvdMirrorStateEntity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.repository.NvdCpeMatchRepository;
+import com.riskscanner.dependencyriskanalyzer.repository.NvdCveRepository;
+import com.riskscanner.dependencyriskanalyzer.repository.NvdMirrorStateRepository;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Local mirror of the NVD CVE database.
+ *
+ * <p>Data flow:
+ * <ul>
+ *   <li>Bootstrap: NVD 2.0 JSON data feeds ({@code nvdcve-2.0-*.json[.gz]}) in
+ *       {@code buildaegis.vulnerability.nvd.feed-dir} are bulk-imported when the mirror is empty.</li>
+ *   <li>Incremental sync: every {@code sync-interval} the CVE API at {@code base-url} is paged through
+ *       in {@code lastModStartDate}/{@code lastModEndDate} windows (at most 120 days each, an API limit)
+ *       starting at the last applied window; modified CVEs replace their stored rows.</li>
+ *   <li>Lookups: vulnerable CPE criteria are indexed by product, so a lookup is one indexed query
+ *       plus a primary key fetch of the matching CVEs. Criteria are matched against the (vendor, product)
+ *       pairs {@link CpeDictionaryIndex} resolved, falling back to names guessed from the coordinates.</li>
+ * </ul>
+ *
+ * <p>Until the mirror is populated {@link NvdVulnerabilityProvider} keeps querying the API live.
+ */
+@Service
+public class NvdMirrorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NvdMirrorService.class);
+
+    private static final long STATE_ID = 1L;
+    private static final int STORE_BATCH_SIZE = 1000;
+    private static final int RESULTS_PER_PAGE = 2000;
+    private static final Duration MAX_SYNC_WINDOW = Duration.ofDays(120);
+    private static final DateTimeFormatter NVD_DATE_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final NvdCveRepository cveRepository;
+    private final NvdCpeMatchRepository cpeMatchRepository;
+    private final NvdMirrorStateRepository stateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final String apiKey;
+    private final String feedDir;
+    private final Duration pageDelay;
+    private final ScheduledFuture<?> syncTask;
+    private boolean bootstrapped; // only touched by the scheduled sync
+    private volatile Boolean populated;
+
+    public NvdMirrorService(NvdCveRepository cveRepository,
+                            NvdCpeMatchRepository cpeMatchRepository,
+                            NvdMirrorStateRepository stateRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            OutboundHttpClient httpClient,
+                            @Value("${buildaegis.vulnerability.nvd.base-url:https://services.nvd.nist.gov/rest/json/cves/2.0}") String baseUrl,
+                            @Value("${buildaegis.vulnerability.nvd.api-key:}") String apiKey,
+                            @Value("${buildaegis.vulnerability.nvd.feed-dir:}") String feedDir,
+                            @Value("${buildaegis.vulnerability.nvd.sync-interval:PT2H}") Duration syncInterval,
+                            @Value("${buildaegis.vulnerability.nvd.sync-page-delay:PT6S}") Duration pageDelay,
+                            TaskScheduler scheduler) {
+        this.cveRepository = cveRepository;
+        this.cpeMatchRepository = cpeMatchRepository;
+        this.stateRepository = stateRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.restTemplate = httpClient.restTemplate();
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.feedDir = feedDir;
+        this.pageDelay = pageDelay;
+
+        Duration interval = Duration.ofMillis(Math.max(60_000, syncInterval.toMillis()));
+        this.syncTask = scheduler.scheduleWithFixedDelay(this::syncOnSchedule, Instant.now(), interval);
+    }
+
+    /**
+     * Checks whether the mirror holds data and can answer lookups.
+     */
+    public boolean isPopulated() {
+        Boolean current = populated;
+        if (current == null) {
+            current = stateRepository.existsById(STATE_ID);
+            populated = current;
+        }
+        return current;
+    }
+
+    /**
+     * Gets the NVD vulnerabilities whose CPE criteria match the dependency and its version.
+     *
+     * @param cpeProducts the CPE products the dependency resolved to; when empty, the vendors and
+     *                    products guessed from its coordinates are matched instead
+     */
+    public List<Vulnerability> findVulnerabilities(DependencyCoordinate dependency,
+                                                   List<CpeDictionaryIndex.CpeProduct> cpeProducts) {
+        Set<String> vendors;
+        Set<String> products;
+        Predicate<NvdCpeMatchEntity> matches;
+        if (cpeProducts.isEmpty()) {
+            vendors = NvdCveParser.vendorCandidates(dependency);
+            products = NvdCveParser.productCandidates(dependency);
+            matches = entity -> vendors.contains(entity.getVendor());
+        } else {
+            vendors = cpeProducts.stream().map(CpeDictionaryIndex.CpeProduct::vendor).collect(Collectors.toSet());
+            products = cpeProducts.stream().map(CpeDictionaryIndex.CpeProduct::product).collect(Collectors.toSet());
+            Set<CpeDictionaryIndex.CpeProduct> resolved = Set.copyOf(cpeProducts);
+            matches = entity -> resolved.contains(new CpeDictionaryIndex.CpeProduct(entity.getVendor(), entity.getProduct()));
+        }
+        Map<String, List<NvdCveRecord.CpeMatch>> matchesByCve = new LinkedHashMap<>();
+
+        for (NvdCpeMatchEntity entity : cpeMatchRepository.findByProductIn(products)) {
+            if (!matches.test(entity)) {
+                continue;
+            }
+            matchesByCve.computeIfAbsent(entity.getCveId(), k -> new ArrayList<>()).add(toCpeMatch(entity));
+        }
+
+        // Keep only CVEs with at least one criterion covering the version
+        matchesByCve.values().removeIf(matches -> matches.stream().noneMatch(m -> m.includes(dependency.version())));
+        if (matchesByCve.isEmpty()) {
+            return List.of();
+        }
+
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        for (NvdCveEntity cve : cveRepository.findAllById(matchesByCve.keySet())) {
+            vulnerabilities.add(NvdCveParser.toVulnerability(toRecord(cve, matchesByCve.get(cve.getCveId())), dependency,
+                vendors, products));
+        }
+        return vulnerabilities;
+    }
+
+    /**
+     * Bulk-imports NVD 2.0 JSON data feeds.
+     *
+     * @param feeds a feed file or a directory of {@code nvdcve-2.0-*.json} / {@code .json.gz} files
+     * @return number of files and CVEs imported
+     * @throws IOException if a feed cannot be read
+     */
+    public synchronized ImportResult importFeeds(Path feeds) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(feeds)) {
+            try (Stream<Path> listing = Files.list(feeds)) {
+                files = listing
+                    .filter(p -> p.getFileName().toString().matches("nvdcve-2\\.0-.*\\.json(\\.gz)?"))
+                    .sorted()
+                    .toList();
+            }
+        } else {
+            files = List.of(feeds);
+        }
+
+        int cves = 0;
+        Instant maxLastModified = null;
+        Set<String> products = new HashSet<>();
+        for (Path file : files) {
+            List<NvdCveRecord> batch = new ArrayList<>(STORE_BATCH_SIZE);
+            try (InputStream raw = Files.newInputStream(file);
+                 InputStream in = file.toString().endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+                 JsonParser parser = objectMapper.getFactory().createParser(in)) {
+                if (!advanceToArray(parser, "vulnerabilities")) {
+                    logger.warn("No vulnerabilities array in NVD feed {}", file);
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    try {
+                        batch.add(NvdCveParser.parseItem(parser));
+                    } catch (RuntimeException e) {
+                        logger.debug("Skipping unparsable NVD record in {}: {}", file, e.getMessage());
+                    }
+                    if (batch.size() == STORE_BATCH_SIZE) {
+                        maxLastModified = latest(maxLastModified, store(batch, products));
+                        cves += batch.size();
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                maxLastModified = latest(maxLastModified, store(batch, products));
+                cves += batch.size();
+            }
+            logger.info("Imported NVD feed {}", file.getFileName());
+        }
+
+        if (maxLastModified != null) {
+            advanceState(maxLastModified, false);
+        }
+        publishImported(products);
+        ImportResult result = new ImportResult(files.size(), cves);
+        logger.info("NVD feed import finished: {}", result);
+        return result;
+    }
+
+    /**
+     * Applies CVE modifications since the last sync from the CVE API.
+     *
+     * @return number of windows and CVEs applied
+     * @throws IOException if the API returned no body
+     * @throws IllegalStateException if the mirror has not been bootstrapped
+     */
+    public synchronized SyncResult sync() throws IOException, InterruptedException {
+        NvdMirrorStateEntity state = stateRepository.findById(STATE_ID)
+            .orElseThrow(() -> new IllegalStateException("NVD mirror is empty; import the data feeds first"));
+
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Instant windowStart = state.getLastModified();
+        int windows = 0;
+        int cves = 0;
+        Set<String> products = new HashSet<>();
+
+        while (windowStart.isBefore(now)) {
+            Instant windowEnd = windowStart.plus(MAX_SYNC_WINDOW).isBefore(now) ? windowStart.plus(MAX_SYNC_WINDOW) : now;
+            int startIndex = 0;
+            int totalResults;
+            do {
+                if (startIndex > 0 || windows > 0) {
+                    Thread.sleep(pageDelay.toMillis()); // NVD public rate limit
+                }
+                NvdCveParser.Page page = fetchPage(windowStart, windowEnd, startIndex);
+                totalResults = page.totalResults();
+
+                List<NvdCveRecord> records = page.records();
+                if (page.skipped() > 0) {
+                    logger.debug("Skipped {} unparsable NVD records", page.skipped());
+                }
+                if (!records.isEmpty()) {
+                    store(records, products);
+                }
+                cves += records.size();
+                startIndex += Math.max(page.resultsPerPage(), 1);
+            } while (startIndex < totalResults);
+
+            advanceState(windowEnd, true);
+            windows++;
+            windowStart = windowEnd;
+        }
+
+        publishImported(products);
+        SyncResult result = new SyncResult(windows, cves);
+        logger.info("NVD mirror sync finished: {}", result);
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        syncTask.cancel(true);
+    }
+
+    private void syncOnSchedule() {
+        if (!bootstrapped) {
+            bootstrapped = true;
+            bootstrap();
+        } else {
+            syncIfPopulated();
+        }
+    }
+
+    private void bootstrap() {
+        try {
+            if (feedDir != null && !feedDir.isBlank() && !isPopulated()) {
+                importFeeds(Path.of(feedDir));
+            }
+        } catch (Exception e) {
+            logger.error("Failed to import NVD feeds from {}: {}", feedDir, e.getMessage());
+        }
+        syncIfPopulated();
+    }
+
+    private void syncIfPopulated() {
+        try {
+            if (isPopulated()) {
+                sync();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("NVD mirror sync failed, will retry next interval: {}", e.getMessage());
+        }
+    }
+
+    private NvdCveParser.Page fetchPage(Instant start, Instant end, int startIndex) throws IOException {
+        URI uri = UriComponentsBuilder.fromHttpUrl(baseUrl)
+            .queryParam("lastModStartDate", NVD_DATE_FORMAT.format(start))
+            .queryParam("lastModEndDate", NVD_DATE_FORMAT.format(end))
+            .queryParam("startIndex", startIndex)
+            .queryParam("resultsPerPage", RESULTS_PER_PAGE)
+            .build()
+            .toUri();
+
+        // Pages hold up to 2000 CVEs with their configurations; parse them as the body streams in
+        NvdCveParser.Page page = restTemplate.execute(uri, HttpMethod.GET, request -> {
+            if (apiKey != null && !apiKey.isBlank()) {
+                request.getHeaders().set("apiKey", apiKey);
+            }
+        }, JsonStreams.reading(NvdCveParser::parsePage));
+        if (page == null) {
+            throw new IOException("empty NVD response for " + uri);
+        }
+        return page;
+    }
+
+    /**
+     * Replaces the given CVEs and their CPE criteria in one transaction.
+     *
+     * @param products collects the CPE products the stored records name
+     * @return the latest lastModified timestamp in the batch
+     */
+    private Instant store(List<NvdCveRecord> records, Set<String> products) {
+        Map<String, NvdCveRecord> byId = new HashMap<>();
+        records.forEach(record -> byId.put(record.id(), record));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            cpeMatchRepository.deleteByCveIdIn(byId.keySet());
+            cveRepository.deleteAllByIdInBatch(byId.keySet());
+
+            List<NvdCveEntity> cves = new ArrayList<>(byId.size());
+            List<NvdCpeMatchEntity> matches = new ArrayList<>();
+            for (NvdCveRecord record : byId.values()) {
+                cves.add(toEntity(record));
+                for (NvdCveRecord.CpeMatch match : record.cpeMatches()) {
+                    matches.add(toEntity(record.id(), match));
+                    products.add(match.product());
+                }
+            }
+            cveRepository.saveAll(cves);
+            cpeMatchRepository.saveAll(matches);
+        });
+
+        return records.stream().map(NvdCveRecord::lastModified).reduce(null, NvdMirrorService::latest);
+    }
+
+    private void publishImported(Set<String> products) {
+        if (!products.isEmpty()) {
+            eventPublisher.publishEvent(new AdvisoryFeedImportedEvent("NVD mirror", Set.of(), products));
+        }
+    }
+
+    private void advanceState(Instant lastModified, boolean synced) {
+        NvdMirrorStateEntity state = stateRepository.findById(STATE_ID).orElseGet(NvdMirrorStateEntity::new);
+        state.setId(STATE_ID);
+        state.setLastModified(latest(state.getLastModified(), lastModified));
+        if (synced) {
+            state.setLastSyncAt(Instant.now());
+        }
+        stateRepository.save(state);
+        populated = true;
+    }
+
+    private NvdCveEntity toEntity(NvdCveRecord record) {
+        NvdCveEntity entity = new NvdCveEntity();
+        entity.setCveId(record.id());
+        entity.setDescription(record.description());
+        entity.setSeverity(record.severity());
+        entity.setCvssScore(record.cvssScore());
+        entity.setCvssVector(record.cvssVector());
+        entity.setCweId(record.cweId());
+        entity.setPublishedAt(record.published());
+        entity.setLastModifiedAt(record.lastModified());
+        try {
+            entity.setReferencesJson(objectMapper.writeValueAsString(record.references()));
+        } catch (IOException e) {
+            entity.setReferencesJson("[]");
+        }
+        return entity;
+    }
+
+    private static NvdCpeMatchEntity toEntity(String cveId, NvdCveRecord.CpeMatch match) {
+        NvdCpeMatchEntity entity = new NvdCpeMatchEntity();
+        entity.setCveId(cveId);
+        entity.setCriteria(match.criteria());
+        entity.setVendor(match.vendor());
+        entity.setProduct(match.product());
+        entity.setVersion(match.version());
+        entity.setVersionStartIncluding(match.versionStartIncluding());
+        entity.setVersionStartExcluding(match.versionStartExcluding());
+        entity.setVersionEndIncluding(match.versionEndIncluding());
+        entity.setVersionEndExcluding(match.versionEndExcluding());
+        return entity;
+    }
+
+    private NvdCveRecord toRecord(NvdCveEntity entity, List<NvdCveRecord.CpeMatch> matches) {
+        List<String> references;
+        try {
+            references = objectMapper.readValue(entity.getReferencesJson(), new TypeReference<List<String>>() {});
+        } catch (IOException e) {
+            references = List.of();
+        }
+        return new NvdCveRecord(entity.getCveId(), entity.getDescription(), entity.getSeverity(), entity.getCvssScore(),
+            entity.getCvssVector(), entity.getCweId(), references, entity.getPublishedAt(), entity.getLastModifiedAt(), matches);
+    }
+
+    private static NvdCveRecord.CpeMatch toCpeMatch(NvdCpeMatchEntity entity) {
+        return new NvdCveRecord.CpeMatch(entity.getCriteria(), entity.getVendor(), entity.getProduct(), entity.getVersion(),
+            entity.getVersionStartIncluding(), entity.getVersionStartExcluding(),
+            entity.getVersionEndIncluding(), entity.getVersionEndExcluding());
+    }
+
+    /**
+     * Positions the parser on the start of a top-level array field.
+     */
+    private static boolean advanceToArray(JsonParser parser, String fieldName) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (fieldName.equals(name) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Outcome of a feed import.
+     */
+    public record ImportResult(int files, int cves) {}
+
+    /**
+     * Outcome of an incremental sync.
+     */
+    public record SyncResult(int windows, int cves) {}
+}
@@ -1,20 +1,21 @@
 package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
-import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
-import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Instant;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * NVD (National Vulnerability Database) vulnerability provider.
@@ -22,20 +23,32 @@ import java.util.List;
  * <p>Queries the NVD API for CVE vulnerability information. NVD provides
  * comprehensive CVE data with CVSS scores, detailed analysis, and security
  * impact assessments from the US government repository.
+ *
+ * <p>Dependencies are first resolved to CPE products through {@link CpeDictionaryIndex}. Once the
+ * local {@link NvdMirrorService} is populated, lookups are answered from the mirror instead of the
+ * rate-limited API, matching the resolved products, or names guessed from the coordinates when
+ * nothing resolved. Live API calls go through {@link ProviderRateLimiter} and are only made for
+ * dependencies that resolve to a known CPE; the others cannot match any NVD criteria and are answered
+ * empty without a round-trip. Without a CPE dictionary an unmapped dependency has no answer, so its
+ * result is not cached as clean.
  */
 @Component
 public class NvdVulnerabilityProvider implements VulnerabilityProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(NvdVulnerabilityProvider.class);
     
-    private static final String NVD_API_BASE = "https://services.nvd.nist.gov/rest/json/cves/2.0";
-    
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private final NvdMirrorService mirror;
+    private final CpeDictionaryIndex cpeDictionary;
+    private final String baseUrl;
     
-    public NvdVulnerabilityProvider() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    public NvdVulnerabilityProvider(NvdMirrorService mirror, CpeDictionaryIndex cpeDictionary, OutboundHttpClient httpClient,
+                                    ProviderRateLimiter rateLimiter,
+                                    @Value("${buildaegis.vulnerability.nvd.base-url:https://services.nvd.nist.gov/rest/json/cves/2.0}") String baseUrl) {
+        this.restTemplate = httpClient.restTemplate(rateLimiter.interceptor(VulnerabilitySource.NVD));
+        this.mirror = mirror;
+        this.cpeDictionary = cpeDictionary;
+        this.baseUrl = baseUrl;
     }
     
     @Override
@@ -45,48 +58,69 @@ public class NvdVulnerabilityProvider implements VulnerabilityProvider {
     
     @Override
     public List<Vulnerability> getVulnerabilities(DependencyCoordinate dependency) {
-        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        List<CpeDictionaryIndex.CpeProduct> cpeProducts = cpeDictionary.resolve(dependency);
+        if (mirror.isPopulated()) {
+            List<Vulnerability> mirrored = mirror.findVulnerabilities(dependency, cpeProducts);
+            logger.debug("Found {} vulnerabilities in NVD mirror for {}", mirrored.size(), dependency);
+            return mirrored;
+        }
+
+        if (cpeProducts.isEmpty()) {
+            if (!cpeDictionary.hasDictionary()) {
+                // Without the dictionary a miss only means the coordinate is not mapped
+                throw new ProviderLookupException(getSource(), "no CPE mapping for " + dependency
+                    + " and no CPE dictionary to rule one out", null);
+            }
+            logger.debug("No known CPE for {}, skipping NVD", dependency);
+            return List.of();
+        }
+        Set<String> vendors = cpeProducts.stream().map(CpeDictionaryIndex.CpeProduct::vendor).collect(Collectors.toSet());
+        Set<String> products = cpeProducts.stream().map(CpeDictionaryIndex.CpeProduct::product).collect(Collectors.toSet());
+        Map<String, Vulnerability> vulnerabilities = new LinkedHashMap<>();
         
         try {
-            // Build NVD search query - search by CPE (Common Platform Enumeration)
-            String cpeString = buildCpeString(dependency);
-            String searchUrl = NVD_API_BASE + "?cpeName=" + cpeString;
-            
-            logger.debug("Querying NVD for dependency: {} (CPE: {})", dependency, cpeString);
-            
-            // Make API request
-            String response = restTemplate.getForObject(searchUrl, String.class);
-            
-            if (response != null) {
-                JsonNode responseNode = objectMapper.readTree(response);
-                JsonNode vulnerabilitiesNode = responseNode.get("vulnerabilities");
+            for (CpeDictionaryIndex.CpeProduct cpeProduct : cpeProducts) {
+                // Match the product's CPE criteria at any version; the version filter runs on the results
+                String searchUrl = baseUrl + "?virtualMatchString=" + cpeProduct.matchString();
+                
+                logger.debug("Querying NVD for dependency: {} (CPE: {})", dependency, cpeProduct.matchString());
                 
-                if (vulnerabilitiesNode != null && vulnerabilitiesNode.isArray()) {
-                    for (JsonNode vulnNode : vulnerabilitiesNode) {
-                        try {
-                            Vulnerability vulnerability = parseVulnerability(vulnNode, dependency);
-                            if (vulnerability != null) {
-                                vulnerabilities.add(vulnerability);
-                            }
-                        } catch (Exception e) {
-                            logger.warn("Failed to parse NVD vulnerability: {}", e.getMessage());
-                        }
+                // Make API request, parsing the CVEs as the body streams in
+                NvdCveParser.Page page = restTemplate.execute(searchUrl, HttpMethod.GET, null, JsonStreams.reading(NvdCveParser::parsePage));
+                
+                if (page == null) {
+                    continue;
+                }
+                if (page.skipped() > 0) {
+                    logger.warn("Skipped {} unparsable NVD records for {}", page.skipped(), dependency);
+                }
+                for (NvdCveRecord record : page.records()) {
+                    try {
+                        vulnerabilities.putIfAbsent(record.id(), NvdCveParser.toVulnerability(record, dependency, vendors, products));
+                    } catch (Exception e) {
+                        logger.warn("Failed to parse NVD vulnerability: {}", e.getMessage());
                     }
                 }
             }
             
             logger.info("Found {} vulnerabilities from NVD for {}", vulnerabilities.size(), dependency);
             
+        } catch (ProviderUnavailableException e) {
+            throw e;
         } catch (Exception e) {
+            if (ProviderUnavailableException.isAvailabilityFailure(e)) {
+                throw new ProviderUnavailableException(getSource(), e.getMessage(), e);
+            }
             logger.error("Failed to query NVD for dependency {}: {}", dependency, e.getMessage());
+            throw new ProviderLookupException(getSource(), e.getMessage(), e);
         }
         
-        return vulnerabilities;
+        return List.copyOf(vulnerabilities.values());
     }
     
     @Override
     public boolean supportsOffline() {
-        return false; // NVD requires network access
+        return mirror.isPopulated(); // Live NVD queries need network access
     }
     
     @Override
@@ -95,10 +129,10 @@ public class NvdVulnerabilityProvider implements VulnerabilityProvider {
     }
     
     @Override
-    public boolean isHealthy() {
+    public boolean probe() {
         try {
             // Simple health check - try to query a known CVE
-            String testUrl = NVD_API_BASE + "?cveId=CVE-2021-44228";
+            String testUrl = baseUrl + "?cveId=CVE-2021-44228";
             String response = restTemplate.getForObject(testUrl, String.class);
             return response != null && !response.contains("\"error\"");
         } catch (Exception e) {
@@ -111,223 +145,4 @@ public class NvdVulnerabilityProvider implements VulnerabilityProvider {
     public String getDescription() {
         return "National Vulnerability Database provider with authoritative CVE data and CVSS scores";
     }
-    
-    /**
-     * Builds a CPE string for the given dependency.
-     */
-    private String buildCpeString(DependencyCoordinate dependency) {
-        // CPE format: cpe:2.3:a:vendor:product:version:*:*:*:*:*:*:*:*
-        // For Maven packages, we use groupId as vendor and artifactId as product
-        String vendor = dependency.groupId().replace(".", "_");
-        String product = dependency.artifactId();
-        String version = dependency.version();
-        
-        return String.format("cpe:2.3:a:%s:%s:%s:*:*:*:*:*:*:*:*", vendor, product, version);
-    }
-    
-    /**
-     * Parses a vulnerability from NVD API response.
-     */
-    private Vulnerability parseVulnerability(JsonNode vulnNode, DependencyCoordinate dependency) {
-        try {
-            JsonNode cveNode = vulnNode.get("cve");
-            if (cveNode == null) {
-                return null;
-            }
-            
-            String id = cveNode.get("id").asText();
-            
-            // Extract description
-            String description = "";
-            JsonNode descriptionsNode = cveNode.get("descriptions");
-            if (descriptionsNode != null && descriptionsNode.isArray()) {
-                for (JsonNode descNode : descriptionsNode) {
-                    if ("en".equals(descNode.get("lang").asText())) {
-                        description = descNode.get("value").asText();
-                        break;
-                    }
-                }
-            }
-            
-            // Extract CVSS score and severity
-            Double cvssScore = null;
-            String cvssVector = null;
-            Severity severity = Severity.MEDIUM;
-            
-            JsonNode metricsNode = cveNode.get("metrics");
-            if (metricsNode != null) {
-                // Try CVSS v3.1 first
-                JsonNode cvss31Node = metricsNode.get("cvssMetricV31");
-                if (cvss31Node != null && cvss31Node.isArray() && cvss31Node.size() > 0) {
-                    JsonNode cvssDataNode = cvss31Node.get(0).get("cvssData");
-                    if (cvssDataNode != null) {
-                        cvssScore = cvssDataNode.get("baseScore").asDouble();
-                        cvssVector = cvssDataNode.get("vectorString").asText();
-                        severity = Severity.fromCvssScore(cvssScore);
-                    }
-                }
-                
-                // Fall back to CVSS v3.0
-                if (cvssScore == null) {
-                    JsonNode cvss30Node = metricsNode.get("cvssMetricV30");
-                    if (cvss30Node != null && cvss30Node.isArray() && cvss30Node.size() > 0) {
-                        JsonNode cvssDataNode = cvss30Node.get(0).get("cvssData");
-                        if (cvssDataNode != null) {
-                            cvssScore = cvssDataNode.get("baseScore").asDouble();
-                            cvssVector = cvssDataNode.get("vectorString").asText();
-                            severity = Severity.fromCvssScore(cvssScore);
-                        }
-                    }
-                }
-                
-                // Fall back to CVSS v2.0
-                if (cvssScore == null) {
-                    JsonNode cvss20Node = metricsNode.get("cvssMetricV2");
-                    if (cvss20Node != null && cvss20Node.isArray() && cvss20Node.size() > 0) {
-                        JsonNode cvssDataNode = cvss20Node.get(0).get("cvssData");
-                        if (cvssDataNode != null) {
-                            cvssScore = cvssDataNode.get("baseScore").asDouble();
-                            cvssVector = cvssDataNode.get("vectorString").asText();
-                            severity = Severity.fromCvssScore(cvssScore);
-                        }
-                    }
-                }
-            }
-            
-            // Extract CWE ID
-            String cweId = null;
-            JsonNode weakenssesNode = cveNode.get("weaknesses");
-            if (weakenssesNode != null && weakenssesNode.isArray()) {
-                for (JsonNode weaknessNode : weakenssesNode) {
-                    JsonNode descriptionNode = weaknessNode.get("description");
-                    if (descriptionNode != null && descriptionNode.isArray()) {
-                        for (JsonNode descNode : descriptionNode) {
-                            if ("en".equals(descNode.get("lang").asText())) {
-                                cweId = descNode.get("value").asText();
-                                break;
-                            }
-                        }
-                        if (cweId != null) break;
-                    }
-                }
-            }
-            
-            // Extract references
-            List<String> references = new ArrayList<>();
-            JsonNode referencesNode = cveNode.get("references");
-            if (referencesNode != null && referencesNode.isArray()) {
-                for (JsonNode refNode : referencesNode) {
-                    if (refNode.has("url")) {
-                        references.add(refNode.get("url").asText());
-                    }
-                }
-            }
-            
-            // Extract timestamps
-            Instant publishedAt = null;
-            Instant updatedAt = null;
-            
-            if (cveNode.has("published")) {
-                publishedAt = Instant.parse(cveNode.get("published").asText());
-            }
-            
-            if (cveNode.has("lastModified")) {
-                updatedAt = Instant.parse(cveNode.get("lastModified").asText());
-            }
-            
-            // Extract version information from configurations
-            List<String> affectedVersions = new ArrayList<>();
-            VersionRange versionRange = null;
-            
-            JsonNode configurationsNode = cveNode.get("configurations");
-            if (configurationsNode != null && configurationsNode.isArray()) {
-                for (JsonNode configNode : configurationsNode) {
-                    if (isConfigurationRelevant(configNode, dependency)) {
-                        extractVersionInfo(configNode, dependency, affectedVersions);
-                        // NVD doesn't typically provide structured version ranges like OSV
-                        // We'll rely on affected versions list
-                    }
-                }
-            }
-            
-            return Vulnerability.builder()
-                .id(id)
-                .source(VulnerabilitySource.NVD)
-                .title(id) // NVD doesn't have titles, use CVE ID
-                .description(description)
-                .severity(severity)
-                .affectedVersions(affectedVersions)
-                .versionRange(versionRange)
-                .references(references)
-                .aliases(List.of(id)) // CVE ID is the primary alias
-                .publishedAt(publishedAt)
-                .updatedAt(updatedAt)
-                .cweId(cweId)
-                .cvssScore(cvssScore)
-                .cvssVector(cvssVector)
-                .build();
-                
-        } catch (Exception e) {
-            logger.warn("Failed to parse NVD vulnerability: {}", e.getMessage());
-            return null;
-        }
-    }
-    
-    /**
-     * Checks if a configuration is relevant to our dependency.
-     */
-    private boolean isConfigurationRelevant(JsonNode configNode, DependencyCoordinate dependency) {
-        JsonNode nodesNode = configNode.get("nodes");
-        if (nodesNode == null || !nodesNode.isArray()) {
-            return false;
-        }
-        
-        for (JsonNode nodeNode : nodesNode) {
-            if (isNodeRelevant(nodeNode, dependency)) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
-    /**
-     * Checks if an individual node is relevant to our dependency.
-     */
-    private boolean isNodeRelevant(JsonNode nodeNode, DependencyCoordinate dependency) {
-        if (!"cpeMatch".equals(nodeNode.get("negate").asText("false"))) {
-            JsonNode cpeMatchNode = nodeNode.get("cpeMatch");
-            if (cpeMatchNode != null) {
-                String cpe23Uri = cpeMatchNode.get("cpe23Uri").asText();
-                return cpe23Uri.contains(dependency.groupId().replace(".", "_")) && 
-                       cpe23Uri.contains(dependency.artifactId());
-            }
-        }
-        return false;
-    }
-    
-    /**
-     * Extracts version information from configuration nodes.
-     */
-    private void extractVersionInfo(JsonNode configNode, DependencyCoordinate dependency, List<String> affectedVersions) {
-        JsonNode nodesNode = configNode.get("nodes");
-        if (nodesNode == null || !nodesNode.isArray()) {
-            return;
-        }
-        
-        for (JsonNode nodeNode : nodesNode) {
-            JsonNode cpeMatchNode = nodeNode.get("cpeMatch");
-            if (cpeMatchNode != null) {
-                // Extract version from CPE if it contains a specific version
-                String cpe23Uri = cpeMatchNode.get("cpe23Uri").asText();
-                String[] cpeParts = cpe23Uri.split(":");
-                if (cpeParts.length > 6) {
-                    String version = cpeParts[6];
-                    if (!"*".equals(version) && !"-".equals(version)) {
-                        affectedVersions.add(version);
-                    }
-                }
-            }
-        }
-    }
 }
@@ -0,0 +1,54 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Pre-parsed OSV advisory record.
+ *
+ * <p>Holds the fields of an OSV JSON record that the scanner uses, with affected ranges already
+ * flattened into intervals, so it can be persisted in local indexes and turned into a
+ * {@link com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability} without re-reading the JSON.
+ */
+public record OsvAdvisory(
+    String id,
+    String summary,
+    String details,
+    Severity severity,
+    List<String> aliases,
+    List<String> references,
+    Instant published,
+    Instant modified,
+    boolean withdrawn,
+    String cweId,
+    Double cvssScore,
+    String cvssVector,
+    List<AffectedPackage> affected
+) {
+
+    /**
+     * Affected versions of one package, keyed by its Maven {@code groupId:artifactId}.
+     */
+    public record AffectedPackage(String name, List<String> versions, List<AffectedRange> ranges) {}
+
+    /**
+     * One affected interval: from {@code introduced} (inclusive, null for "all versions") up to
+     * {@code fixed} (exclusive) or {@code lastAffected} (inclusive); both null means unbounded.
+     */
+    public record AffectedRange(String introduced, String fixed, String lastAffected) {
+
+        public VersionRange toVersionRange() {
+            boolean fromStart = introduced == null || "0".equals(introduced);
+            String end = fixed != null ? fixed : lastAffected;
+            boolean includeEnd = fixed == null;
+
+            if (end == null) {
+                return VersionRange.minimum(fromStart ? "0" : introduced);
+            }
+            return fromStart ? VersionRange.maximum(end, includeEnd) : VersionRange.between(introduced, end, includeEnd);
+        }
+    }
+}
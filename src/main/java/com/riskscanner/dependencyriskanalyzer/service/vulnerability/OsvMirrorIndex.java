@@ -0,0 +1,278 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Local index of the OSV Maven ecosystem export.
+ *
+ * <p>Imports the OSV {@code all.zip} for the Maven ecosystem (one OSV JSON record per entry) from
+ * {@code buildaegis.vulnerability.osv-mirror.archive} and keeps the pre-parsed advisories indexed by
+ * {@code groupId:artifactId}:
+ * <ul>
+ *   <li>The index is persisted as JSON under {@code index-dir} and loaded on startup, so an
+ *       air-gapped host can run from an index built elsewhere.</li>
+ *   <li>The archive is re-checked every {@code refresh-interval}; on change only entries whose
+ *       CRC differs from the indexed one are parsed again.</li>
+ *   <li>Withdrawn advisories are kept in the index but never returned by lookups.</li>
+ * </ul>
+ *
+ * <p>Lookups read an immutable snapshot that is swapped atomically after each import.
+ */
+@Component
+public class OsvMirrorIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OsvMirrorIndex.class);
+
+    private static final String INDEX_FILE = "osv-maven-index.json";
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String archive;
+    private final Path indexFile;
+    private final ScheduledFuture<?> importer;
+    private boolean persistedIndexLoaded; // only touched by the scheduled import
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public OsvMirrorIndex(ObjectMapper objectMapper,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${buildaegis.vulnerability.osv-mirror.archive:}") String archive,
+                          @Value("${buildaegis.vulnerability.osv-mirror.index-dir:${user.home}/.buildaegis/osv-mirror}") String indexDir,
+                          @Value("${buildaegis.vulnerability.osv-mirror.refresh-interval:PT1H}") Duration refreshInterval,
+                          TaskScheduler scheduler) {
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.archive = archive;
+        this.indexFile = Path.of(indexDir).resolve(INDEX_FILE);
+
+        Duration interval = Duration.ofMillis(Math.max(60_000, refreshInterval.toMillis()));
+        this.importer = scheduler.scheduleWithFixedDelay(this::importOnSchedule, Instant.now(), interval);
+    }
+
+    /**
+     * Gets the advisories listing the given Maven package.
+     *
+     * @param packageName {@code groupId:artifactId}
+     */
+    public List<OsvAdvisory> findByPackage(String packageName) {
+        return snapshot.packages().findByPackage(packageName);
+    }
+
+    /**
+     * Gets the advisories whose affected ranges or versions of the given Maven package contain the version.
+     *
+     * @param packageName {@code groupId:artifactId}
+     */
+    public List<OsvAdvisory> findAffecting(String packageName, String version) {
+        return snapshot.packages().findAffecting(packageName, version);
+    }
+
+    /**
+     * Checks whether any advisories are indexed.
+     */
+    public boolean isLoaded() {
+        return !snapshot.byEntry().isEmpty();
+    }
+
+    /**
+     * Gets the number of indexed advisories.
+     */
+    public int size() {
+        return snapshot.byEntry().size();
+    }
+
+    /**
+     * Imports an OSV export archive, re-parsing only entries that changed since the last import.
+     *
+     * @param archivePath the {@code all.zip} to import
+     * @return counts of added, updated, unchanged, removed and skipped records
+     * @throws IOException if the archive cannot be read
+     */
+    public synchronized ImportResult importArchive(Path archivePath) throws IOException {
+        Snapshot current = snapshot;
+        Map<String, IndexEntry> entries = new HashMap<>();
+        int added = 0;
+        int updated = 0;
+        int unchanged = 0;
+        int skipped = 0;
+
+        try (ZipFile zip = new ZipFile(archivePath.toFile())) {
+            Enumeration<? extends ZipEntry> zipEntries = zip.entries();
+            while (zipEntries.hasMoreElements()) {
+                ZipEntry zipEntry = zipEntries.nextElement();
+                if (zipEntry.isDirectory() || !zipEntry.getName().endsWith(".json")) {
+                    continue;
+                }
+
+                IndexEntry previous = current.byEntry().get(zipEntry.getName());
+                if (previous != null && previous.crc() == zipEntry.getCrc()) {
+                    entries.put(zipEntry.getName(), previous);
+                    unchanged++;
+                    continue;
+                }
+
+                try (InputStream in = zip.getInputStream(zipEntry)) {
+                    OsvAdvisory advisory = OsvRecordParser.parse(objectMapper.readTree(in));
+                    entries.put(zipEntry.getName(), new IndexEntry(zipEntry.getName(), zipEntry.getCrc(), advisory));
+                    if (previous == null) {
+                        added++;
+                    } else {
+                        updated++;
+                    }
+                } catch (Exception e) {
+                    logger.warn("Skipping OSV record {}: {}", zipEntry.getName(), e.getMessage());
+                    if (previous != null) {
+                        entries.put(zipEntry.getName(), previous);
+                    }
+                    skipped++;
+                }
+            }
+        }
+
+        Set<String> touched = new HashSet<>();
+        current.byEntry().forEach((name, previous) -> {
+            IndexEntry entry = entries.get(name);
+            if (entry == null || entry.advisory() != previous.advisory()) {
+                touched.addAll(packageNames(previous.advisory()));
+            }
+        });
+        entries.forEach((name, entry) -> {
+            IndexEntry previous = current.byEntry().get(name);
+            if (previous == null || previous.advisory() != entry.advisory()) {
+                touched.addAll(packageNames(entry.advisory()));
+            }
+        });
+
+        int removed = (int) current.byEntry().keySet().stream().filter(name -> !entries.containsKey(name)).count();
+        Snapshot next = Snapshot.of(entries, archivePath.toString(), Files.getLastModifiedTime(archivePath).toMillis(), Instant.now());
+        snapshot = next;
+        persist(next);
+
+        ImportResult result = new ImportResult(added, updated, unchanged, removed, skipped);
+        logger.info("Imported OSV mirror from {}: {} advisories for {} packages ({})",
+            archivePath, next.byEntry().size(), next.packages().packageCount(), result);
+        if (!touched.isEmpty()) {
+            eventPublisher.publishEvent(new AdvisoryFeedImportedEvent("OSV mirror", touched, Set.of()));
+        }
+        return result;
+    }
+
+    private static Set<String> packageNames(OsvAdvisory advisory) {
+        Set<String> names = new HashSet<>();
+        advisory.affected().forEach(affected -> names.add(affected.name()));
+        return names;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importer.cancel(true);
+    }
+
+    private void importOnSchedule() {
+        if (!persistedIndexLoaded) {
+            loadPersistedIndex();
+            persistedIndexLoaded = true;
+        }
+        refresh();
+    }
+
+    /**
+     * Imports the configured archive if it changed since the last import.
+     */
+    void refresh() {
+        if (archive == null || archive.isBlank()) {
+            return;
+        }
+        Path archivePath = Path.of(archive);
+        try {
+            if (!Files.isRegularFile(archivePath)) {
+                logger.warn("OSV mirror archive not found: {}", archivePath);
+                return;
+            }
+            Snapshot current = snapshot;
+            if (archivePath.toString().equals(current.archive())
+                && Files.getLastModifiedTime(archivePath).toMillis() == current.archiveModifiedMillis()) {
+                return;
+            }
+            importArchive(archivePath);
+        } catch (Exception e) {
+            logger.error("Failed to import OSV mirror archive {}: {}", archivePath, e.getMessage());
+        }
+    }
+
+    private void loadPersistedIndex() {
+        if (!Files.isRegularFile(indexFile)) {
+            return;
+        }
+        try {
+            PersistedIndex persisted = objectMapper.readValue(indexFile.toFile(), PersistedIndex.class);
+            Map<String, IndexEntry> entries = new HashMap<>();
+            for (IndexEntry entry : persisted.entries()) {
+                entries.put(entry.entryName(), entry);
+            }
+            snapshot = Snapshot.of(entries, persisted.archive(), persisted.archiveModifiedMillis(), persisted.importedAt());
+            logger.info("Loaded OSV mirror index with {} advisories from {}", entries.size(), indexFile);
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable OSV mirror index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    private void persist(Snapshot snapshot) {
+        try {
+            Files.createDirectories(indexFile.getParent());
+            Path tmp = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), new PersistedIndex(snapshot.archive(), snapshot.archiveModifiedMillis(),
+                snapshot.importedAt(), new ArrayList<>(snapshot.byEntry().values())));
+            Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.error("Failed to persist OSV mirror index {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Outcome of one archive import.
+     */
+    public record ImportResult(int added, int updated, int unchanged, int removed, int skipped) {}
+
+    /**
+     * One archive entry with the CRC it was parsed from.
+     */
+    record IndexEntry(String entryName, long crc, OsvAdvisory advisory) {}
+
+    record PersistedIndex(String archive, long archiveModifiedMillis, Instant importedAt, List<IndexEntry> entries) {}
+
+    private record Snapshot(Map<String, IndexEntry> byEntry, OsvPackageIndex packages,
+                            String archive, long archiveModifiedMillis, Instant importedAt) {
+
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), OsvPackageIndex.EMPTY, null, 0, null);
+
+        private static Snapshot of(Map<String, IndexEntry> entries, String archive, long archiveModifiedMillis, Instant importedAt) {
+            OsvPackageIndex packages = OsvPackageIndex.of(entries.values().stream().map(IndexEntry::advisory).toList());
+            return new Snapshot(Map.copyOf(entries), packages, archive, archiveModifiedMillis, importedAt);
+        }
+    }
+}
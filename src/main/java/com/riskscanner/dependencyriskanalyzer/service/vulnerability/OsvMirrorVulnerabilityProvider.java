@@ -0,0 +1,70 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Offline OSV provider answering from the local {@link OsvMirrorIndex}.
+ *
+ * <p>The mirror stands in for {@link OsvVulnerabilityProvider}: it is not part of the online fan-out
+ * and is only asked for a dependency when the OSV API was unavailable or failed. It reports unhealthy
+ * until an index has been loaded or imported.
+ */
+@Component
+public class OsvMirrorVulnerabilityProvider implements VulnerabilityProvider {
+
+    private final OsvMirrorIndex index;
+
+    public OsvMirrorVulnerabilityProvider(OsvMirrorIndex index) {
+        this.index = index;
+    }
+
+    @Override
+    public VulnerabilitySource getSource() {
+        return VulnerabilitySource.OSV_MIRROR;
+    }
+
+    @Override
+    public Optional<VulnerabilitySource> getMirroredSource() {
+        return Optional.of(VulnerabilitySource.OSV);
+    }
+
+    @Override
+    public List<Vulnerability> getVulnerabilities(DependencyCoordinate dependency) {
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        String packageName = dependency.groupId() + ":" + dependency.artifactId();
+        for (OsvAdvisory advisory : index.findAffecting(packageName, dependency.version())) {
+            Vulnerability vulnerability = OsvRecordParser.toVulnerability(advisory, getSource(), dependency);
+            if (vulnerability != null) {
+                vulnerabilities.add(vulnerability);
+            }
+        }
+        return vulnerabilities;
+    }
+
+    @Override
+    public boolean supportsOffline() {
+        return true; // Served from the local OSV export
+    }
+
+    @Override
+    public int getPriority() {
+        return 1; // Same data as the OSV API
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return index.isLoaded();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Local OSV Maven mirror (" + index.size() + " advisories)";
+    }
+}
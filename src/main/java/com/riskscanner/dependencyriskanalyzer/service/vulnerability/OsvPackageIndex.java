@@ -0,0 +1,72 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-package view over a set of OSV advisories, shared by the local advisory indexes.
+ *
+ * <p>Besides the advisories listing each Maven {@code groupId:artifactId}, keeps a
+ * {@link VersionIntervalIndex} of their affected intervals and versions, so looking up the
+ * advisories affecting one version does not scan every advisory of the package. Withdrawn
+ * advisories are left out.
+ */
+final class OsvPackageIndex {
+
+    static final OsvPackageIndex EMPTY = new OsvPackageIndex(Map.of(), Map.of());
+
+    private final Map<String, List<OsvAdvisory>> byPackage;
+    private final Map<String, VersionIntervalIndex<OsvAdvisory>> byVersion;
+
+    private OsvPackageIndex(Map<String, List<OsvAdvisory>> byPackage, Map<String, VersionIntervalIndex<OsvAdvisory>> byVersion) {
+        this.byPackage = byPackage;
+        this.byVersion = byVersion;
+    }
+
+    static OsvPackageIndex of(Collection<OsvAdvisory> advisories) {
+        Map<String, List<OsvAdvisory>> byPackage = new HashMap<>();
+        Map<String, VersionIntervalIndex.Builder<OsvAdvisory>> builders = new HashMap<>();
+        for (OsvAdvisory advisory : advisories) {
+            if (advisory.withdrawn()) {
+                continue;
+            }
+            for (OsvAdvisory.AffectedPackage affected : advisory.affected()) {
+                List<OsvAdvisory> listed = byPackage.computeIfAbsent(affected.name(), k -> new ArrayList<>());
+                if (listed.isEmpty() || listed.get(listed.size() - 1) != advisory) {
+                    listed.add(advisory);
+                }
+                VersionIntervalIndex.Builder<OsvAdvisory> builder =
+                    builders.computeIfAbsent(affected.name(), k -> VersionIntervalIndex.builder());
+                affected.versions().forEach(version -> builder.addExact(version, advisory));
+                affected.ranges().forEach(range -> builder.add(range.toVersionRange(), advisory));
+            }
+        }
+
+        byPackage.replaceAll((name, listed) -> List.copyOf(listed));
+        Map<String, VersionIntervalIndex<OsvAdvisory>> byVersion = new HashMap<>();
+        builders.forEach((name, builder) -> byVersion.put(name, builder.build()));
+        return new OsvPackageIndex(Map.copyOf(byPackage), Map.copyOf(byVersion));
+    }
+
+    /**
+     * Gets the advisories listing the given package.
+     */
+    List<OsvAdvisory> findByPackage(String packageName) {
+        return byPackage.getOrDefault(packageName, List.of());
+    }
+
+    /**
+     * Gets the advisories whose affected ranges or versions of the package contain the version.
+     */
+    List<OsvAdvisory> findAffecting(String packageName, String version) {
+        VersionIntervalIndex<OsvAdvisory> index = byVersion.get(packageName);
+        return index != null ? index.find(version) : List.of();
+    }
+
+    int packageCount() {
+        return byPackage.size();
+    }
+}
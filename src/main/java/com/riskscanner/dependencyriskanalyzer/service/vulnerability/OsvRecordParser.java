@@ -0,0 +1,482 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses OSV-format advisory records (OSV API responses, OSV ecosystem exports and the
+ * GitHub advisory database all use this schema).
+ *
+ * <p>Only Maven packages are kept; {@code SEMVER} and {@code ECOSYSTEM} ranges are flattened
+ * into {@link OsvAdvisory.AffectedRange} intervals, {@code GIT} ranges are ignored. Records are read
+ * with a streaming parser; fields the scanner does not use are skipped without being materialized.
+ */
+public final class OsvRecordParser {
+
+    private static final String MAVEN_PURL_PREFIX = "pkg:maven/";
+
+    private OsvRecordParser() {
+    }
+
+    /**
+     * Parses one OSV record.
+     *
+     * @throws IllegalArgumentException if the record has no id
+     */
+    public static OsvAdvisory parse(JsonNode vulnNode) {
+        try (JsonParser parser = vulnNode.traverse()) {
+            parser.nextToken();
+            return parse(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the OSV record the parser is positioned on, reading up to its end even when the
+     * record turns out to be invalid, so the caller can carry on with the next one.
+     *
+     * @throws IllegalArgumentException if the record has no id
+     */
+    public static OsvAdvisory parse(JsonParser parser) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            throw new IllegalArgumentException("OSV record without id");
+        }
+
+        String id = null;
+        String summary = null;
+        String details = null;
+        SeverityEntry cvss = null;
+        DatabaseSpecific databaseSpecific = new DatabaseSpecific();
+        List<String> aliases = List.of();
+        List<String> references = new ArrayList<>();
+        String published = null;
+        String modified = null;
+        boolean withdrawn = false;
+        List<OsvAdvisory.AffectedPackage> affected = new ArrayList<>();
+
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "id" -> id = JsonStreams.text(parser);
+                case "summary" -> summary = JsonStreams.text(parser);
+                case "details" -> details = JsonStreams.text(parser);
+                case "severity" -> cvss = readSeverity(parser);
+                case "database_specific" -> readDatabaseSpecific(parser, databaseSpecific);
+                case "aliases" -> aliases = textList(parser);
+                case "references" -> readReferenceUrls(parser, references);
+                case "published" -> published = JsonStreams.string(parser);
+                case "modified" -> modified = JsonStreams.string(parser);
+                case "withdrawn" -> {
+                    withdrawn = parser.currentToken() != JsonToken.VALUE_NULL;
+                    parser.skipChildren();
+                }
+                case "affected" -> readAffected(parser, affected);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("OSV record without id");
+        }
+
+        // OSV carries either a numeric score or a CVSS vector in "score"
+        Double cvssScore = null;
+        String cvssVector = null;
+        if (cvss != null) {
+            if (cvss.score().startsWith("CVSS:")) {
+                cvssVector = cvss.score();
+            } else {
+                try {
+                    cvssScore = Double.parseDouble(cvss.score());
+                    cvssVector = cvss.vector();
+                } catch (NumberFormatException e) {
+                    cvssVector = cvss.score();
+                }
+            }
+        }
+
+        return new OsvAdvisory(
+            id,
+            summary,
+            details != null ? details : "",
+            extractSeverity(cvssScore, databaseSpecific.severity),
+            aliases,
+            references,
+            published != null ? Instant.parse(published) : null,
+            modified != null ? Instant.parse(modified) : null,
+            withdrawn,
+            databaseSpecific.cwe != null ? databaseSpecific.cwe : databaseSpecific.firstCweId,
+            cvssScore,
+            cvssVector,
+            affected
+        );
+    }
+
+    /**
+     * Reads the {@code vulns} array of an OSV {@code /v1/query} response straight from the body
+     * stream. Invalid records are skipped.
+     *
+     * @throws IOException if the body is not well-formed JSON
+     */
+    public static List<OsvAdvisory> parseVulns(InputStream body) throws IOException {
+        List<OsvAdvisory> advisories = new ArrayList<>();
+        try (JsonParser parser = JsonStreams.open(body)) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return advisories;
+            }
+            while (JsonStreams.nextField(parser)) {
+                if (!"vulns".equals(parser.currentName()) || !JsonStreams.isArray(parser)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (JsonStreams.nextElement(parser)) {
+                    try {
+                        advisories.add(parse(parser));
+                    } catch (RuntimeException e) {
+                        // Record already read to its end, go on with the next one
+                    }
+                }
+            }
+        }
+        return advisories;
+    }
+
+    /**
+     * Reads a single OSV record, the body of a {@code /v1/vulns/{id}} response.
+     *
+     * @throws IOException if the body is not well-formed JSON
+     * @throws IllegalArgumentException if the record has no id
+     */
+    public static OsvAdvisory parseRecord(InputStream body) throws IOException {
+        try (JsonParser parser = JsonStreams.open(body)) {
+            return parse(parser);
+        }
+    }
+
+    /**
+     * Converts an advisory into a vulnerability for the given dependency.
+     *
+     * <p>All affected intervals of the package become the vulnerability's ranges; the one containing
+     * the dependency version, if any, is its primary range.
+     *
+     * @return the vulnerability, or null if the advisory does not list the dependency's package
+     */
+    public static Vulnerability toVulnerability(OsvAdvisory advisory, VulnerabilitySource source,
+                                                DependencyCoordinate dependency) {
+        String packageName = dependency.groupId() + ":" + dependency.artifactId();
+        List<String> affectedVersions = new ArrayList<>();
+        List<VersionRange> versionRanges = new ArrayList<>();
+        VersionRange versionRange = null;
+        boolean listed = false;
+
+        for (OsvAdvisory.AffectedPackage affected : advisory.affected()) {
+            if (!packageName.equals(affected.name())) {
+                continue;
+            }
+            listed = true;
+            affectedVersions.addAll(affected.versions());
+            for (OsvAdvisory.AffectedRange range : affected.ranges()) {
+                VersionRange candidate = range.toVersionRange();
+                versionRanges.add(candidate);
+                if (versionRange == null && candidate.includes(dependency.version())) {
+                    versionRange = candidate;
+                }
+            }
+        }
+
+        if (!listed) {
+            return null;
+        }
+
+        return Vulnerability.builder()
+            .id(advisory.id())
+            .source(source)
+            .title(advisory.summary() != null ? advisory.summary() : advisory.id())
+            .description(advisory.details())
+            .severity(advisory.severity())
+            .affectedVersions(affectedVersions)
+            .versionRange(versionRange)
+            .versionRanges(versionRanges)
+            .references(advisory.references())
+            .aliases(advisory.aliases())
+            .publishedAt(advisory.published())
+            .updatedAt(advisory.modified())
+            .cweId(advisory.cweId())
+            .cvssScore(advisory.cvssScore())
+            .cvssVector(advisory.cvssVector())
+            .build();
+    }
+
+    /**
+     * Gets the Maven {@code groupId:artifactId} of an OSV package, from its name or purl.
+     *
+     * @return the package name, or null for non-Maven packages
+     */
+    static String mavenPackageName(String ecosystem, String name, String purl) {
+        if ("Maven".equalsIgnoreCase(ecosystem) && name != null && !name.isEmpty()) {
+            return name;
+        }
+
+        // OSV identifies Maven packages as pkg:maven/<groupId>/<artifactId>, regardless of build tool
+        if (purl != null && purl.startsWith(MAVEN_PURL_PREFIX)) {
+            String path = purl.substring(MAVEN_PURL_PREFIX.length());
+            int end = indexOfAny(path, '@', '?', '#');
+            String[] parts = (end < 0 ? path : path.substring(0, end)).split("/");
+            if (parts.length == 2) {
+                return parts[0] + ":" + parts[1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the first {@code severity} entry with a score.
+     */
+    private static SeverityEntry readSeverity(JsonParser parser) throws IOException {
+        SeverityEntry cvss = null;
+        if (JsonStreams.isArray(parser)) {
+            while (JsonStreams.nextElement(parser)) {
+                if (!JsonStreams.isObject(parser)) {
+                    continue;
+                }
+                String score = null;
+                String vector = null;
+                while (JsonStreams.nextField(parser)) {
+                    switch (parser.currentName()) {
+                        case "score" -> score = JsonStreams.text(parser);
+                        case "vector" -> vector = JsonStreams.text(parser);
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (cvss == null && score != null) {
+                    cvss = new SeverityEntry(score, vector);
+                }
+            }
+        }
+        return cvss;
+    }
+
+    private static void readDatabaseSpecific(JsonParser parser, DatabaseSpecific databaseSpecific) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return;
+        }
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "cwe" -> databaseSpecific.cwe = JsonStreams.text(parser);
+                case "cwe_ids" -> {
+                    List<String> cweIds = textList(parser);
+                    databaseSpecific.firstCweId = cweIds.isEmpty() ? null : cweIds.get(0);
+                }
+                case "severity" -> databaseSpecific.severity = JsonStreams.text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readAffected(JsonParser parser, List<OsvAdvisory.AffectedPackage> affected) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return;
+        }
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            String name = null;
+            List<String> versions = List.of();
+            List<OsvAdvisory.AffectedRange> ranges = new ArrayList<>();
+            while (JsonStreams.nextField(parser)) {
+                switch (parser.currentName()) {
+                    case "package" -> name = readPackageName(parser);
+                    case "versions" -> versions = textList(parser);
+                    case "ranges" -> readRanges(parser, ranges);
+                    default -> parser.skipChildren();
+                }
+            }
+            if (name != null) {
+                affected.add(new OsvAdvisory.AffectedPackage(name, versions, ranges));
+            }
+        }
+    }
+
+    private static String readPackageName(JsonParser parser) throws IOException {
+        if (!JsonStreams.isObject(parser)) {
+            return null;
+        }
+        String ecosystem = null;
+        String name = null;
+        String purl = null;
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "ecosystem" -> ecosystem = JsonStreams.text(parser);
+                case "name" -> name = JsonStreams.text(parser);
+                case "purl" -> purl = JsonStreams.text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return mavenPackageName(ecosystem, name, purl);
+    }
+
+    /**
+     * Reads the {@code SEMVER} and {@code ECOSYSTEM} ranges of a package; the type may follow the events.
+     */
+    private static void readRanges(JsonParser parser, List<OsvAdvisory.AffectedRange> ranges) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return;
+        }
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            String type = null;
+            List<OsvAdvisory.AffectedRange> intervals = List.of();
+            while (JsonStreams.nextField(parser)) {
+                switch (parser.currentName()) {
+                    case "type" -> type = JsonStreams.text(parser);
+                    case "events" -> intervals = readEvents(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+            if ("SEMVER".equals(type) || "ECOSYSTEM".equals(type)) {
+                ranges.addAll(intervals);
+            }
+        }
+    }
+
+    /**
+     * Pairs OSV range events into intervals; events are ordered per the OSV schema.
+     */
+    private static List<OsvAdvisory.AffectedRange> readEvents(JsonParser parser) throws IOException {
+        List<OsvAdvisory.AffectedRange> ranges = new ArrayList<>();
+        if (!JsonStreams.isArray(parser)) {
+            return ranges;
+        }
+        String introduced = null;
+        boolean open = false;
+
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            String eventIntroduced = null;
+            String fixed = null;
+            String lastAffected = null;
+            while (JsonStreams.nextField(parser)) {
+                switch (parser.currentName()) {
+                    case "introduced" -> eventIntroduced = JsonStreams.text(parser);
+                    case "fixed" -> fixed = JsonStreams.text(parser);
+                    case "last_affected" -> lastAffected = JsonStreams.text(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (eventIntroduced != null) {
+                if (open) {
+                    ranges.add(new OsvAdvisory.AffectedRange(introduced, null, null));
+                }
+                introduced = eventIntroduced;
+                open = true;
+            } else if (fixed != null) {
+                ranges.add(new OsvAdvisory.AffectedRange(open ? introduced : null, fixed, null));
+                open = false;
+            } else if (lastAffected != null) {
+                ranges.add(new OsvAdvisory.AffectedRange(open ? introduced : null, null, lastAffected));
+                open = false;
+            }
+        }
+        if (open) {
+            ranges.add(new OsvAdvisory.AffectedRange(introduced, null, null));
+        }
+        return ranges;
+    }
+
+    private static Severity extractSeverity(Double cvssScore, String databaseSeverity) {
+        if (cvssScore != null) {
+            return Severity.fromCvssScore(cvssScore);
+        }
+
+        // Fall back to database_specific severity if available (GHSA uses MODERATE for medium)
+        String severity = databaseSeverity != null ? databaseSeverity.toUpperCase() : "";
+        if ("MODERATE".equals(severity)) {
+            return Severity.MEDIUM;
+        }
+        try {
+            return Severity.valueOf(severity);
+        } catch (IllegalArgumentException e) {
+            // Default to medium if no severity information
+            return Severity.MEDIUM;
+        }
+    }
+
+    /**
+     * Reads an array of scalars as distinct strings, in order.
+     */
+    private static List<String> textList(JsonParser parser) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return List.of();
+        }
+        Set<String> values = new LinkedHashSet<>();
+        while (JsonStreams.nextElement(parser)) {
+            String value = JsonStreams.text(parser);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return List.copyOf(values);
+    }
+
+    private static void readReferenceUrls(JsonParser parser, List<String> references) throws IOException {
+        if (!JsonStreams.isArray(parser)) {
+            return;
+        }
+        while (JsonStreams.nextElement(parser)) {
+            if (!JsonStreams.isObject(parser)) {
+                continue;
+            }
+            while (JsonStreams.nextField(parser)) {
+                String url = "url".equals(parser.currentName()) ? JsonStreams.text(parser) : null;
+                if (url != null) {
+                    references.add(url);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private static int indexOfAny(String value, char... chars) {
+        for (int i = 0; i < value.length(); i++) {
+            for (char c : chars) {
+                if (value.charAt(i) == c) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private record SeverityEntry(String score, String vector) {}
+
+    /**
+     * Fields of {@code database_specific}, which may come before or after the ones they qualify.
+     */
+    private static final class DatabaseSpecific {
+        private String cwe;
+        private String firstCweId;
+        private String severity;
+    }
+}
@@ -1,20 +1,41 @@
 package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
-import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
-import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Instant;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 
 /**
  * OSV (Open Source Vulnerability) vulnerability provider.
@@ -29,13 +50,22 @@ public class OsvVulnerabilityProvider implements VulnerabilityProvider {
     private static final Logger logger = LoggerFactory.getLogger(OsvVulnerabilityProvider.class);
     
     private static final String OSV_API_BASE = "https://api.osv.dev/v1/query";
+    private static final String OSV_BATCH_API = "https://api.osv.dev/v1/querybatch";
     private static final String OSV_VULN_API = "https://api.osv.dev/v1/vulns/";
+    private static final String OSV_ECOSYSTEM = "Maven";
+    private static final int MAX_BATCH_SIZE = 1000; // OSV querybatch limit
+    private static final int HYDRATION_CONCURRENCY = 8;
     
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
     
-    public OsvVulnerabilityProvider() {
-        this.restTemplate = new RestTemplate();
+    @Autowired
+    public OsvVulnerabilityProvider(OutboundHttpClient httpClient, ProviderRateLimiter rateLimiter) {
+        this(httpClient.restTemplate(rateLimiter.interceptor(VulnerabilitySource.OSV)));
+    }
+
+    OsvVulnerabilityProvider(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
         this.objectMapper = new ObjectMapper();
     }
     
@@ -50,41 +80,107 @@ public class OsvVulnerabilityProvider implements VulnerabilityProvider {
         
         try {
             // Build OSV query
-            OsvQuery query = new OsvQuery(dependency);
-            String requestBody = objectMapper.writeValueAsString(query);
+            String requestBody = objectMapper.writeValueAsString(buildQuery(dependency));
             
             logger.debug("Querying OSV for dependency: {}", dependency);
             
-            // Make API request
-            String response = restTemplate.postForObject(OSV_API_BASE, requestBody, String.class);
+            // Make API request, parsing the advisories as the body streams in
+            List<OsvAdvisory> advisories = restTemplate.execute(OSV_API_BASE, HttpMethod.POST, jsonRequest(requestBody),
+                JsonStreams.reading(OsvRecordParser::parseVulns));
             
-            if (response != null) {
-                JsonNode responseNode = objectMapper.readTree(response);
-                JsonNode vulnsNode = responseNode.get("vulns");
-                
-                if (vulnsNode != null && vulnsNode.isArray()) {
-                    for (JsonNode vulnNode : vulnsNode) {
-                        try {
-                            Vulnerability vulnerability = parseVulnerability(vulnNode, dependency);
-                            if (vulnerability != null) {
-                                vulnerabilities.add(vulnerability);
-                            }
-                        } catch (Exception e) {
-                            logger.warn("Failed to parse OSV vulnerability: {}", e.getMessage());
-                        }
+            if (advisories != null) {
+                for (OsvAdvisory advisory : advisories) {
+                    Vulnerability vulnerability = toVulnerability(advisory, dependency);
+                    if (vulnerability != null) {
+                        vulnerabilities.add(vulnerability);
                     }
                 }
             }
             
             logger.info("Found {} vulnerabilities from OSV for {}", vulnerabilities.size(), dependency);
             
+        } catch (ProviderUnavailableException e) {
+            throw e;
         } catch (Exception e) {
+            if (ProviderUnavailableException.isAvailabilityFailure(e)) {
+                throw new ProviderUnavailableException(getSource(), e.getMessage(), e);
+            }
             logger.error("Failed to query OSV for dependency {}: {}", dependency, e.getMessage());
+            throw new ProviderLookupException(getSource(), e.getMessage(), e);
         }
         
         return vulnerabilities;
     }
     
+    /**
+     * Looks up many dependencies with {@code /v1/querybatch}.
+     *
+     * <p>The batch endpoint only returns advisory IDs, so each distinct ID is then hydrated
+     * once through {@code /v1/vulns/{id}} and shared by every dependency it was reported for.
+     * Dependencies whose batch result is paginated, or that name an advisory that could not be
+     * hydrated, are re-queried individually so they never get a partial answer.
+     */
+    @Override
+    public Map<DependencyCoordinate, List<Vulnerability>> getVulnerabilities(List<DependencyCoordinate> dependencies) {
+        Map<DependencyCoordinate, List<Vulnerability>> results = new LinkedHashMap<>();
+        Map<DependencyCoordinate, List<String>> idsByDependency = new LinkedHashMap<>();
+        List<DependencyCoordinate> paginated = new ArrayList<>();
+        List<DependencyCoordinate> singleLookups = new ArrayList<>();
+
+        try {
+            for (int from = 0; from < dependencies.size(); from += MAX_BATCH_SIZE) {
+                List<DependencyCoordinate> chunk = dependencies.subList(from, Math.min(from + MAX_BATCH_SIZE, dependencies.size()));
+                queryBatch(chunk, idsByDependency, paginated);
+            }
+
+            Set<String> uniqueIds = new LinkedHashSet<>();
+            idsByDependency.values().forEach(uniqueIds::addAll);
+            Map<String, OsvAdvisory> hydrated = hydrate(uniqueIds);
+
+            for (Map.Entry<DependencyCoordinate, List<String>> entry : idsByDependency.entrySet()) {
+                DependencyCoordinate dependency = entry.getKey();
+                if (!hydrated.keySet().containsAll(entry.getValue())) {
+                    singleLookups.add(dependency);
+                    continue;
+                }
+                List<Vulnerability> vulnerabilities = new ArrayList<>();
+                for (String id : entry.getValue()) {
+                    Vulnerability vulnerability = toVulnerability(hydrated.get(id), dependency);
+                    if (vulnerability != null) {
+                        vulnerabilities.add(vulnerability);
+                    }
+                }
+                results.put(dependency, vulnerabilities);
+            }
+
+            logger.info("OSV batch lookup: {} dependencies, {} of {} distinct advisories hydrated, {} paginated, {} re-queried",
+                dependencies.size(), hydrated.size(), uniqueIds.size(), paginated.size(), singleLookups.size());
+            singleLookups.addAll(paginated);
+
+        } catch (ProviderUnavailableException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderUnavailableException(getSource(), "batch lookup interrupted", e);
+        } catch (Exception e) {
+            if (ProviderUnavailableException.isAvailabilityFailure(e)) {
+                throw new ProviderUnavailableException(getSource(), e.getMessage(), e);
+            }
+            logger.warn("OSV batch query failed, falling back to single lookups: {}", e.getMessage());
+            return VulnerabilityProvider.super.getVulnerabilities(dependencies);
+        }
+
+        for (DependencyCoordinate dependency : singleLookups) {
+            results.put(dependency, getVulnerabilities(dependency));
+        }
+        return results;
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
     @Override
     public boolean supportsOffline() {
         return false; // OSV requires network access
@@ -96,12 +192,12 @@ public class OsvVulnerabilityProvider implements VulnerabilityProvider {
     }
     
     @Override
-    public boolean isHealthy() {
+    public boolean probe() {
         try {
             // Simple health check - try to query a known package
-            OsvQuery query = new OsvQuery("pkg:maven/org.apache.commons/commons-lang3@3.12.0");
-            String requestBody = objectMapper.writeValueAsString(query);
-            String response = restTemplate.postForObject(OSV_API_BASE, requestBody, String.class);
+            DependencyCoordinate known = new DependencyCoordinate("org.apache.commons", "commons-lang3", "3.12.0", "maven", null);
+            String requestBody = objectMapper.writeValueAsString(buildQuery(known));
+            String response = restTemplate.postForObject(OSV_API_BASE, jsonEntity(requestBody), String.class);
             return response != null && !response.contains("\"error\"");
         } catch (Exception e) {
             logger.debug("OSV health check failed: {}", e.getMessage());
@@ -115,259 +211,178 @@ public class OsvVulnerabilityProvider implements VulnerabilityProvider {
     }
     
     /**
-     * Parses a vulnerability from OSV API response.
+     * Runs one {@code /v1/querybatch} request and collects the advisory IDs per dependency.
      */
-    private Vulnerability parseVulnerability(JsonNode vulnNode, DependencyCoordinate dependency) {
-        try {
-            String id = vulnNode.get("id").asText();
-            
-            // Extract summary/title
-            String title = vulnNode.has("summary") ? vulnNode.get("summary").asText() : id;
-            
-            // Extract description
-            String description = vulnNode.has("details") ? vulnNode.get("details").asText() : "";
-            
-            // Extract severity
-            Severity severity = extractSeverity(vulnNode);
-            
-            // Extract version information
-            List<String> affectedVersions = new ArrayList<>();
-            VersionRange versionRange = null;
-            
-            JsonNode affectedNode = vulnNode.get("affected");
-            if (affectedNode != null && affectedNode.isArray()) {
-                for (JsonNode affected : affectedNode) {
-                    // Check if this affects our package
-                    if (isPackageAffected(affected, dependency)) {
-                        // Extract affected versions
-                        JsonNode versionsNode = affected.get("versions");
-                        if (versionsNode != null && versionsNode.isArray()) {
-                            for (JsonNode versionNode : versionsNode) {
-                                affectedVersions.add(versionNode.asText());
+    private void queryBatch(List<DependencyCoordinate> chunk, Map<DependencyCoordinate, List<String>> idsByDependency,
+                            List<DependencyCoordinate> paginated) throws Exception {
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode queries = body.putArray("queries");
+        chunk.forEach(dependency -> queries.add(buildQuery(dependency)));
+
+        logger.debug("Querying OSV batch for {} dependencies", chunk.size());
+        List<BatchResult> results = restTemplate.execute(OSV_BATCH_API, HttpMethod.POST,
+            jsonRequest(objectMapper.writeValueAsString(body)), JsonStreams.reading(OsvVulnerabilityProvider::readBatchResults));
+        if (results == null) {
+            throw new IllegalStateException("empty querybatch response");
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            DependencyCoordinate dependency = chunk.get(i);
+            BatchResult result = i < results.size() ? results.get(i) : new BatchResult(List.of(), false);
+            if (result.paginated()) {
+                paginated.add(dependency);
+                continue;
+            }
+            idsByDependency.put(dependency, result.ids());
+        }
+    }
+
+    /**
+     * Reads the advisory IDs of each querybatch result, in query order.
+     */
+    private static List<BatchResult> readBatchResults(InputStream body) throws IOException {
+        List<BatchResult> results = new ArrayList<>();
+        try (JsonParser parser = JsonStreams.open(body)) {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return results;
+            }
+            while (JsonStreams.nextField(parser)) {
+                if (!"results".equals(parser.currentName()) || !JsonStreams.isArray(parser)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (JsonStreams.nextElement(parser)) {
+                    results.add(readBatchResult(parser));
+                }
+            }
+        }
+        return results;
+    }
+
+    private static BatchResult readBatchResult(JsonParser parser) throws IOException {
+        List<String> ids = new ArrayList<>();
+        boolean paginated = false;
+        if (!JsonStreams.isObject(parser)) {
+            return new BatchResult(ids, false);
+        }
+        while (JsonStreams.nextField(parser)) {
+            switch (parser.currentName()) {
+                case "next_page_token" -> paginated = JsonStreams.text(parser) != null;
+                case "vulns" -> {
+                    if (JsonStreams.isArray(parser)) {
+                        while (JsonStreams.nextElement(parser)) {
+                            if (!JsonStreams.isObject(parser)) {
+                                continue;
                             }
-                        }
-                        
-                        // Extract version ranges
-                        JsonNode rangesNode = affected.get("ranges");
-                        if (rangesNode != null && rangesNode.isArray()) {
-                            for (JsonNode rangeNode : rangesNode) {
-                                if ("SEMVER".equals(rangeNode.get("type").asText())) {
-                                    versionRange = extractVersionRange(rangeNode);
-                                    break; // Use first range found
+                            while (JsonStreams.nextField(parser)) {
+                                String id = "id".equals(parser.currentName()) ? JsonStreams.text(parser) : null;
+                                if (id != null) {
+                                    ids.add(id);
+                                } else {
+                                    parser.skipChildren();
                                 }
                             }
                         }
                     }
                 }
+                default -> parser.skipChildren();
             }
-            
-            // Extract references
-            List<String> references = new ArrayList<>();
-            JsonNode referencesNode = vulnNode.get("references");
-            if (referencesNode != null && referencesNode.isArray()) {
-                for (JsonNode refNode : referencesNode) {
-                    if (refNode.has("url")) {
-                        references.add(refNode.get("url").asText());
+        }
+        return new BatchResult(ids, paginated);
+    }
+
+    /**
+     * Fetches full advisory records for the given IDs, each ID exactly once, under the deadline of the
+     * calling lookup.
+     *
+     * @return the hydrated advisories; IDs that could not be fetched or parsed are missing
+     */
+    private Map<String, OsvAdvisory> hydrate(Set<String> ids) throws InterruptedException {
+        Map<String, OsvAdvisory> hydrated = new ConcurrentHashMap<>();
+        Semaphore permits = new Semaphore(HYDRATION_CONCURRENCY);
+        List<Future<?>> futures = new ArrayList<>();
+        LookupDeadline deadline = LookupDeadline.current();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String id : ids) {
+                Callable<OsvAdvisory> fetch = () -> restTemplate.execute(OSV_VULN_API + id, HttpMethod.GET,
+                    jsonRequest(null), JsonStreams.reading(OsvRecordParser::parseRecord));
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        OsvAdvisory advisory = deadline == null ? fetch.call() : deadline.run(fetch);
+                        if (advisory != null) {
+                            hydrated.put(id, advisory);
+                        }
+                    } finally {
+                        permits.release();
                     }
-                }
-            }
-            
-            // Extract aliases (CVEs, etc.)
-            List<String> aliases = new ArrayList<>();
-            JsonNode aliasesNode = vulnNode.get("aliases");
-            if (aliasesNode != null && aliasesNode.isArray()) {
-                for (JsonNode aliasNode : aliasesNode) {
-                    aliases.add(aliasNode.asText());
-                }
-            }
-            
-            // Extract timestamps
-            Instant publishedAt = null;
-            Instant updatedAt = null;
-            
-            if (vulnNode.has("published")) {
-                publishedAt = Instant.parse(vulnNode.get("published").asText());
-            }
-            
-            if (vulnNode.has("modified")) {
-                updatedAt = Instant.parse(vulnNode.get("modified").asText());
+                    return null;
+                }));
             }
-            
-            // Extract CVSS score
-            Double cvssScore = null;
-            String cvssVector = null;
-            
-            JsonNode severityNode = vulnNode.get("severity");
-            if (severityNode != null && severityNode.isArray()) {
-                for (JsonNode sevNode : severityNode) {
-                    if (sevNode.has("score")) {
-                        cvssScore = sevNode.get("score").asDouble();
-                        if (sevNode.has("vector")) {
-                            cvssVector = sevNode.get("vector").asText();
-                        }
-                        break;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof ProviderUnavailableException unavailable) {
+                        throw unavailable;
                     }
+                    if (cause instanceof Exception ex && ProviderUnavailableException.isAvailabilityFailure(ex)) {
+                        throw new ProviderUnavailableException(getSource(), ex.getMessage(), ex);
+                    }
+                    logger.warn("Failed to hydrate OSV advisory: {}", cause == null ? e.getMessage() : cause.getMessage());
                 }
             }
-            
-            // Extract CWE ID
-            String cweId = null;
-            JsonNode databaseSpecificNode = vulnNode.get("database_specific");
-            if (databaseSpecificNode != null && databaseSpecificNode.has("cwe")) {
-                cweId = databaseSpecificNode.get("cwe").asText();
-            }
-            
-            return Vulnerability.builder()
-                .id(id)
-                .source(VulnerabilitySource.OSV)
-                .title(title)
-                .description(description)
-                .severity(severity)
-                .affectedVersions(affectedVersions)
-                .versionRange(versionRange)
-                .references(references)
-                .aliases(aliases)
-                .publishedAt(publishedAt)
-                .updatedAt(updatedAt)
-                .cweId(cweId)
-                .cvssScore(cvssScore)
-                .cvssVector(cvssVector)
-                .build();
-                
-        } catch (Exception e) {
-            logger.warn("Failed to parse OSV vulnerability: {}", e.getMessage());
-            return null;
         }
+        return hydrated;
     }
-    
+
     /**
-     * Extracts severity from OSV vulnerability data.
+     * Builds an OSV query object for a Maven coordinate.
      */
-    private Severity extractSeverity(JsonNode vulnNode) {
-        // Try to get CVSS score first
-        JsonNode severityNode = vulnNode.get("severity");
-        if (severityNode != null && severityNode.isArray()) {
-            for (JsonNode sevNode : severityNode) {
-                if (sevNode.has("score")) {
-                    double score = sevNode.get("score").asDouble();
-                    return Severity.fromCvssScore(score);
-                }
-            }
-        }
-        
-        // Fall back to database_specific severity if available
-        JsonNode databaseSpecificNode = vulnNode.get("database_specific");
-        if (databaseSpecificNode != null && databaseSpecificNode.has("severity")) {
-            String severityStr = databaseSpecificNode.get("severity").asText().toUpperCase();
-            try {
-                return Severity.valueOf(severityStr);
-            } catch (IllegalArgumentException e) {
-                // Fall through to default
-            }
-        }
-        
-        // Default to medium if no severity information
-        return Severity.MEDIUM;
+    private ObjectNode buildQuery(DependencyCoordinate dependency) {
+        ObjectNode query = objectMapper.createObjectNode();
+        ObjectNode packageNode = query.putObject("package");
+        packageNode.put("name", dependency.groupId() + ":" + dependency.artifactId());
+        packageNode.put("ecosystem", OSV_ECOSYSTEM); // Gradle dependencies are Maven coordinates too
+        query.put("version", dependency.version());
+        return query;
     }
-    
+
+    private HttpEntity<String> jsonEntity(String body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new HttpEntity<>(body, headers);
+    }
+
     /**
-     * Checks if the affected entry matches our dependency.
+     * Writes an optional JSON body and asks for a JSON response.
      */
-    private boolean isPackageAffected(JsonNode affected, DependencyCoordinate dependency) {
-        if (!affected.has("package")) {
-            return false;
-        }
-        
-        JsonNode packageNode = affected.get("package");
-        String purl = packageNode.has("purl") ? packageNode.get("purl").asText() : "";
-        
-        // Convert our dependency to PURL format for comparison
-        String expectedPurl = String.format("pkg:%s/%s/%s", 
-            dependency.buildTool(), 
-            dependency.groupId(), 
-            dependency.artifactId());
-        
-        return purl.startsWith(expectedPurl);
+    private static RequestCallback jsonRequest(String body) {
+        return request -> {
+            request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+            if (body != null) {
+                request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                request.getBody().write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        };
     }
-    
+
     /**
-     * Extracts version range from OSV range data.
+     * Converts a parsed OSV advisory into a vulnerability for the dependency.
      */
-    private VersionRange extractVersionRange(JsonNode rangeNode) {
+    private Vulnerability toVulnerability(OsvAdvisory advisory, DependencyCoordinate dependency) {
         try {
-            JsonNode eventsNode = rangeNode.get("events");
-            if (eventsNode == null || !eventsNode.isArray()) {
-                return null;
-            }
-            
-            String minVersion = null;
-            String maxVersion = null;
-            boolean includeMin = false;
-            boolean includeMax = false;
-            
-            for (JsonNode eventNode : eventsNode) {
-                if (eventNode.has("introduced")) {
-                    String introduced = eventNode.get("introduced").asText();
-                    if (!"0".equals(introduced)) {
-                        minVersion = introduced;
-                        includeMin = true;
-                    }
-                } else if (eventNode.has("fixed")) {
-                    maxVersion = eventNode.get("fixed").asText();
-                    includeMax = false; // Fixed versions are exclusive
-                } else if (eventNode.has("last_affected")) {
-                    maxVersion = eventNode.get("last_affected").asText();
-                    includeMax = true; // Last affected versions are inclusive
-                }
-            }
-            
-            if (minVersion != null && maxVersion != null) {
-                return VersionRange.between(minVersion, maxVersion, includeMax);
-            } else if (minVersion != null) {
-                return VersionRange.minimum(minVersion);
-            } else if (maxVersion != null) {
-                return VersionRange.maximum(maxVersion, includeMax);
-            }
-            
+            return OsvRecordParser.toVulnerability(advisory, getSource(), dependency);
         } catch (Exception e) {
-            logger.debug("Failed to extract version range: {}", e.getMessage());
+            logger.warn("Failed to parse OSV vulnerability: {}", e.getMessage());
+            return null;
         }
-        
-        return null;
     }
-    
+
     /**
-     * OSV query request structure.
+     * Advisory IDs reported for one querybatch query; paginated results are re-queried individually.
      */
-    private static class OsvQuery {
-        private final String packageType;
-        private final String packageName;
-        private final String ecosystem;
-        
-        public OsvQuery(DependencyCoordinate dependency) {
-            this.ecosystem = dependency.buildTool();
-            this.packageType = "maven"; // OSV uses "maven" for Maven packages
-            this.packageName = dependency.groupId() + ":" + dependency.artifactId();
-        }
-        
-        public OsvQuery(String purl) {
-            // For PURL-based queries
-            this.ecosystem = null;
-            this.packageType = null;
-            this.packageName = null;
-        }
-        
-        // Getters for JSON serialization
-        public String getPackage() {
-            return packageName;
-        }
-        
-        public String getEcosystem() {
-            return ecosystem;
-        }
-        
-        public String getPackage_type() {
-            return packageType;
-        }
-    }
+    private record BatchResult(List<String> ids, boolean paginated) {}
 }
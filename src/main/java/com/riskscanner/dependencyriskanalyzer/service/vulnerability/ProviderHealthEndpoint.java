@@ -0,0 +1,45 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing vulnerability provider circuit breakers.
+ *
+ * <p>Available at {@code /actuator/providerhealth}; returns the current state of each
+ * breaker, the most recent state transitions and the sources currently paused by a server rate limit.
+ */
+@Component
+@Endpoint(id = "providerhealth")
+public class ProviderHealthEndpoint {
+
+    private final ProviderHealthRegistry healthRegistry;
+    private final ProviderRateLimiter rateLimiter;
+
+    public ProviderHealthEndpoint(ProviderHealthRegistry healthRegistry, ProviderRateLimiter rateLimiter) {
+        this.healthRegistry = healthRegistry;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> providerHealth() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("providers", healthRegistry.getProviderHealth());
+        body.put("transitions", healthRegistry.getRecentTransitions());
+        Map<VulnerabilitySource, Duration> paused = new LinkedHashMap<>();
+        for (VulnerabilitySource source : VulnerabilitySource.values()) {
+            Duration pausedFor = rateLimiter.getPausedFor(source);
+            if (!pausedFor.isZero()) {
+                paused.put(source, pausedFor);
+            }
+        }
+        body.put("rateLimitPauses", paused);
+        return body;
+    }
+}
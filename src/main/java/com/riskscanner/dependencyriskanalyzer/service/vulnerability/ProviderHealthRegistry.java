@@ -0,0 +1,253 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the health of vulnerability providers with one circuit breaker per provider.
+ *
+ * <p>Health is derived from the outcome of real lookups instead of a live probe per
+ * dependency:
+ * <ul>
+ *   <li>CLOSED: provider is used normally; consecutive failures are counted.</li>
+ *   <li>OPEN: reached after {@code failure-threshold} consecutive failures; provider is skipped.</li>
+ *   <li>HALF_OPEN: after {@code open-duration} a single trial call, the background probe
+ *       ({@link VulnerabilityProvider#probe()}), is let through; real lookups are still rejected until its
+ *       outcome closes or re-opens the breaker.</li>
+ * </ul>
+ *
+ * <p>{@link #isHealthy(VulnerabilityProvider)} is a map lookup plus a volatile read, so it is safe
+ * to call once per provider per dependency.
+ */
+@Component
+public class ProviderHealthRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderHealthRegistry.class);
+
+    private static final int MAX_TRANSITIONS = 100;
+
+    private final Map<VulnerabilityProvider, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Deque<StateTransition> transitions = new ArrayDeque<>();
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final ScheduledFuture<?> prober;
+
+    public ProviderHealthRegistry(List<VulnerabilityProvider> providers,
+                                  @Value("${buildaegis.vulnerability.health.failure-threshold:3}") int failureThreshold,
+                                  @Value("${buildaegis.vulnerability.health.open-duration:PT1M}") Duration openDuration,
+                                  @Value("${buildaegis.vulnerability.health.probe-interval:PT30S}") Duration probeInterval,
+                                  TaskScheduler scheduler) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        for (VulnerabilityProvider provider : providers) {
+            breakers.put(provider, new CircuitBreaker(nameOf(provider)));
+        }
+
+        Duration interval = Duration.ofMillis(Math.max(1000, probeInterval.toMillis()));
+        this.prober = scheduler.scheduleWithFixedDelay(this::probeOpenBreakers, Instant.now().plus(interval), interval);
+    }
+
+    /**
+     * Returns whether lookups should be sent to the provider. Never performs I/O.
+     *
+     * <p>Only a CLOSED breaker admits lookups; a HALF_OPEN breaker is waiting for its trial call.
+     */
+    public boolean isHealthy(VulnerabilityProvider provider) {
+        CircuitBreaker breaker = breakers.get(provider);
+        return breaker == null || breaker.state == BreakerState.CLOSED;
+    }
+
+    /**
+     * Records a successful real call to the provider.
+     */
+    public void recordSuccess(VulnerabilityProvider provider) {
+        CircuitBreaker breaker = breakers.get(provider);
+        if (breaker == null) {
+            return;
+        }
+        breaker.consecutiveFailures.set(0);
+        breaker.lastSuccessAt = Instant.now();
+        if (breaker.state != BreakerState.CLOSED) {
+            transition(breaker, BreakerState.CLOSED, "call succeeded");
+        }
+    }
+
+    /**
+     * Records a failed real call to the provider.
+     */
+    public void recordFailure(VulnerabilityProvider provider, Throwable error) {
+        CircuitBreaker breaker = breakers.get(provider);
+        if (breaker == null) {
+            return;
+        }
+        int failures = breaker.consecutiveFailures.incrementAndGet();
+        breaker.lastFailureAt = Instant.now();
+        breaker.lastError = error == null ? null : error.getMessage();
+
+        if (breaker.state == BreakerState.HALF_OPEN
+            || (breaker.state == BreakerState.CLOSED && failures >= failureThreshold)) {
+            open(breaker, failures + " consecutive failures, last: " + breaker.lastError);
+        }
+    }
+
+    /**
+     * Gets the current state of the provider's breaker.
+     */
+    public BreakerState getState(VulnerabilityProvider provider) {
+        CircuitBreaker breaker = breakers.get(provider);
+        return breaker == null ? BreakerState.CLOSED : breaker.state;
+    }
+
+    /**
+     * Gets a snapshot of every breaker, keyed by provider name.
+     */
+    public Map<String, ProviderHealth> getProviderHealth() {
+        Map<String, ProviderHealth> snapshot = new LinkedHashMap<>();
+        breakers.values().stream()
+            .sorted((a, b) -> a.name.compareTo(b.name))
+            .forEach(breaker -> snapshot.put(breaker.name, new ProviderHealth(
+                breaker.state,
+                breaker.consecutiveFailures.get(),
+                breaker.lastSuccessAt,
+                breaker.lastFailureAt,
+                breaker.lastError,
+                breaker.retryAt)));
+        return snapshot;
+    }
+
+    /**
+     * Gets the most recent breaker state transitions, oldest first.
+     */
+    public List<StateTransition> getRecentTransitions() {
+        synchronized (transitions) {
+            return new ArrayList<>(transitions);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prober.cancel(true);
+    }
+
+    /**
+     * Moves OPEN breakers whose wait has elapsed to HALF_OPEN and probes the provider as their one trial call.
+     */
+    void probeOpenBreakers() {
+        Instant now = Instant.now();
+        breakers.forEach((provider, breaker) -> {
+            if (breaker.state != BreakerState.OPEN || breaker.retryAt == null || now.isBefore(breaker.retryAt)) {
+                return;
+            }
+            if (!breaker.trialInFlight.compareAndSet(false, true)) {
+                return; // Another caller is already running the trial
+            }
+            try {
+                transition(breaker, BreakerState.HALF_OPEN, "open duration elapsed");
+                if (provider.probe()) {
+                    recordSuccess(provider);
+                } else {
+                    recordFailure(provider, new IllegalStateException("probe returned unhealthy"));
+                }
+            } catch (Exception e) {
+                recordFailure(provider, e);
+            } finally {
+                breaker.trialInFlight.set(false);
+            }
+        });
+    }
+
+    private void open(CircuitBreaker breaker, String reason) {
+        breaker.retryAt = Instant.now().plus(openDuration);
+        transition(breaker, BreakerState.OPEN, reason);
+    }
+
+    private void transition(CircuitBreaker breaker, BreakerState to, String reason) {
+        BreakerState from;
+        synchronized (breaker) {
+            from = breaker.state;
+            if (from == to) {
+                return;
+            }
+            breaker.state = to;
+            if (to == BreakerState.CLOSED) {
+                breaker.retryAt = null;
+            }
+        }
+
+        StateTransition entry = new StateTransition(breaker.name, from, to, reason, Instant.now());
+        synchronized (transitions) {
+            if (transitions.size() >= MAX_TRANSITIONS) {
+                transitions.removeFirst();
+            }
+            transitions.addLast(entry);
+        }
+
+        if (to == BreakerState.OPEN) {
+            logger.warn("Circuit breaker for {} opened: {}", breaker.name, reason);
+        } else {
+            logger.info("Circuit breaker for {} moved {} -> {}: {}", breaker.name, from, to, reason);
+        }
+    }
+
+    private static String nameOf(VulnerabilityProvider provider) {
+        return provider.getClass().getSimpleName();
+    }
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum BreakerState {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Point-in-time view of one provider's breaker.
+     */
+    public record ProviderHealth(
+        BreakerState state,
+        int consecutiveFailures,
+        Instant lastSuccessAt,
+        Instant lastFailureAt,
+        String lastError,
+        Instant retryAt
+    ) {}
+
+    /**
+     * A recorded breaker state change.
+     */
+    public record StateTransition(String provider, BreakerState from, BreakerState to, String reason, Instant at) {}
+
+    private static class CircuitBreaker {
+        private final String name;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean trialInFlight = new AtomicBoolean();
+        private volatile BreakerState state = BreakerState.CLOSED;
+        private volatile Instant retryAt;
+        private volatile Instant lastSuccessAt;
+        private volatile Instant lastFailureAt;
+        private volatile String lastError;
+
+        private CircuitBreaker(String name) {
+            this.name = name;
+        }
+    }
+}
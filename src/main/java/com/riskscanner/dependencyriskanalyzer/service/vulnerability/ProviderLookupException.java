@@ -0,0 +1,25 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+
+/**
+ * Signals that a vulnerability provider was reached but its answer for one lookup could not be
+ * used, e.g. an unexpected 4xx or a payload that failed to parse.
+ *
+ * <p>Like {@link ProviderUnavailableException}, the lookup has no answer and must not be cached as
+ * "no vulnerabilities". Unlike it, the failure is specific to the request and does not count
+ * against the provider's circuit breaker.
+ */
+public class ProviderLookupException extends RuntimeException {
+
+    private final VulnerabilitySource source;
+
+    public ProviderLookupException(VulnerabilitySource source, String message, Throwable cause) {
+        super(source.getDisplayName() + " lookup failed: " + message, cause);
+        this.source = source;
+    }
+
+    public VulnerabilitySource getSource() {
+        return source;
+    }
+}
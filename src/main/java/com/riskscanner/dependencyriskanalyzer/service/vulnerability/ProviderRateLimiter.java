@@ -0,0 +1,170 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import com.riskscanner.dependencyriskanalyzer.service.execution.TokenBucket;
+import com.riskscanner.dependencyriskanalyzer.service.http.HttpResponseCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Client-side rate limits for the remote vulnerability providers, one {@link TokenBucket} per source.
+ *
+ * <p>Providers route their HTTP calls through {@link #interceptor(VulnerabilitySource)}. Each call
+ * waits in line for a permit until the deadline of the lookup it belongs to ({@link LookupDeadline}),
+ * or for up to {@code max-wait} outside a lookup (probes, mirror syncs). When a server still throttles
+ * (429, or GitHub's 403 with {@code X-RateLimit-Remaining: 0}), the source's bucket is paused for
+ * the time given by {@code Retry-After} or {@code X-RateLimit-Reset} and the call fails with
+ * {@link ProviderThrottledException}, never with an empty result. A successful response that reports
+ * an exhausted quota pauses the bucket the same way before the next call is rejected. GitHub does
+ * not count conditional requests answered with {@code 304 Not Modified}, so their permit is refunded.
+ *
+ * <p>Sources configured with {@code requests=0} are not limited locally but still honor server pauses.
+ */
+@Component
+public class ProviderRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderRateLimiter.class);
+
+    private static final String RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
+    private static final String RATE_LIMIT_RESET = "X-RateLimit-Reset";
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final Map<VulnerabilitySource, TokenBucket> buckets = new EnumMap<>(VulnerabilitySource.class);
+    private final Duration maxWait;
+
+    public ProviderRateLimiter(@Value("${buildaegis.vulnerability.rate-limit.nvd.requests:5}") int nvdRequests,
+                               @Value("${buildaegis.vulnerability.rate-limit.nvd.period:PT30S}") Duration nvdPeriod,
+                               @Value("${buildaegis.vulnerability.rate-limit.github.requests:60}") int githubRequests,
+                               @Value("${buildaegis.vulnerability.rate-limit.github.period:PT1H}") Duration githubPeriod,
+                               @Value("${buildaegis.vulnerability.rate-limit.osv.requests:0}") int osvRequests,
+                               @Value("${buildaegis.vulnerability.rate-limit.osv.period:PT1S}") Duration osvPeriod,
+                               @Value("${buildaegis.vulnerability.rate-limit.maven-central.requests:0}") int mavenCentralRequests,
+                               @Value("${buildaegis.vulnerability.rate-limit.maven-central.period:PT1S}") Duration mavenCentralPeriod,
+                               @Value("${buildaegis.vulnerability.rate-limit.max-wait:PT10S}") Duration maxWait) {
+        this.maxWait = maxWait;
+        buckets.put(VulnerabilitySource.NVD, bucket(nvdRequests, nvdPeriod));
+        buckets.put(VulnerabilitySource.GITHUB, bucket(githubRequests, githubPeriod));
+        buckets.put(VulnerabilitySource.OSV, bucket(osvRequests, osvPeriod));
+        buckets.put(VulnerabilitySource.MAVEN_CENTRAL, bucket(mavenCentralRequests, mavenCentralPeriod));
+    }
+
+    /**
+     * Creates an interceptor that applies the source's rate limit to every request of a {@code RestTemplate}.
+     */
+    public ClientHttpRequestInterceptor interceptor(VulnerabilitySource source) {
+        return (request, body, execution) -> {
+            acquire(source);
+            ClientHttpResponse response = execution.execute(request, body);
+            HttpHeaders headers = response.getHeaders();
+            int status = response.getStatusCode().value();
+            boolean quotaExhausted = "0".equals(headers.getFirst(RATE_LIMIT_REMAINING));
+
+            if (status == 429 || (status == 403 && quotaExhausted)) {
+                Duration retryAfter = retryAfter(headers);
+                pause(source, retryAfter, status);
+                response.close();
+                throw new ProviderThrottledException(source,
+                    "rate limited by server (HTTP " + status + "), retry after " + retryAfter.toSeconds() + "s", retryAfter);
+            }
+            if (source == VulnerabilitySource.GITHUB && HttpResponseCache.isRevalidated(headers)) {
+                buckets.get(source).refund();
+            }
+            if (quotaExhausted || (status == 503 && headers.containsKey(HttpHeaders.RETRY_AFTER))) {
+                pause(source, retryAfter(headers), status);
+            }
+            return response;
+        };
+    }
+
+    /**
+     * Takes a request permit for the source, waiting behind earlier callers until the current
+     * lookup's deadline, or for at most {@code max-wait} outside a lookup.
+     *
+     * @throws ProviderThrottledException if no permit became available in time
+     */
+    public void acquire(VulnerabilitySource source) {
+        TokenBucket bucket = buckets.get(source);
+        LookupDeadline deadline = LookupDeadline.current();
+        Duration wait = deadline == null ? maxWait : deadline.remaining();
+        if (deadline != null) {
+            deadline.setAwaitingPermit(true);
+        }
+        try {
+            if (!bucket.acquire(wait)) {
+                throw new ProviderThrottledException(source,
+                    "rate limited, no request permit within " + wait.toMillis() + " ms", bucket.getPausedFor());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProviderThrottledException(source, "interrupted while waiting for a request permit", bucket.getPausedFor());
+        } finally {
+            if (deadline != null) {
+                deadline.setAwaitingPermit(false);
+            }
+        }
+    }
+
+    /**
+     * Time left until the source's server-requested pause ends; zero if it is not paused or has no remote API.
+     */
+    public Duration getPausedFor(VulnerabilitySource source) {
+        TokenBucket bucket = buckets.get(source);
+        return bucket == null ? Duration.ZERO : bucket.getPausedFor();
+    }
+
+    private void pause(VulnerabilitySource source, Duration duration, int status) {
+        buckets.get(source).pauseFor(duration);
+        logger.warn("{} rate limit reached (HTTP {}), pausing requests for {}s",
+            source.getDisplayName(), status, duration.toSeconds());
+    }
+
+    /**
+     * Reads how long to back off from {@code Retry-After} (seconds or HTTP date) or
+     * {@code X-RateLimit-Reset} (epoch seconds).
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return nonNegative(Duration.ofSeconds(Long.parseLong(retryAfter.trim())));
+            } catch (NumberFormatException e) {
+                try {
+                    Instant at = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                    return nonNegative(Duration.between(Instant.now(), at));
+                } catch (DateTimeParseException ignored) {
+                    // Fall through to the other headers
+                }
+            }
+        }
+        String reset = headers.getFirst(RATE_LIMIT_RESET);
+        if (reset != null) {
+            try {
+                return nonNegative(Duration.between(Instant.now(), Instant.ofEpochSecond(Long.parseLong(reset.trim()))));
+            } catch (NumberFormatException ignored) {
+                // Fall through to the default
+            }
+        }
+        return DEFAULT_RETRY_AFTER;
+    }
+
+    private static Duration nonNegative(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    private static TokenBucket bucket(int requests, Duration period) {
+        return requests > 0 ? new TokenBucket(requests, period) : TokenBucket.unlimited();
+    }
+}
@@ -0,0 +1,53 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing provider routing decisions.
+ *
+ * <p>Available at {@code /actuator/providerrouting}: a GET returns the per-provider, per-ecosystem
+ * statistics and decisions; a POST with an optional {@code {"duration": "PT1H"}} body queries every
+ * provider for that long (one hour by default), e.g. for an audit; a DELETE ends that full-query mode.
+ */
+@Component
+@Endpoint(id = "providerrouting")
+public class ProviderRoutingEndpoint {
+
+    private static final Duration DEFAULT_FULL_QUERY = Duration.ofHours(1);
+
+    private final ProviderRoutingPolicy routingPolicy;
+
+    public ProviderRoutingEndpoint(ProviderRoutingPolicy routingPolicy) {
+        this.routingPolicy = routingPolicy;
+    }
+
+    @ReadOperation
+    public Map<String, Object> providerRouting() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("enabled", routingPolicy.isEnabled());
+        body.put("fullQueryUntil", routingPolicy.getFullQueryUntil());
+        body.put("routes", routingPolicy.getRoutes());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> forceFullQuery(@Nullable String duration) {
+        routingPolicy.forceFullQuery(duration == null || duration.isBlank() ? DEFAULT_FULL_QUERY : Duration.parse(duration));
+        return providerRouting();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> endFullQuery() {
+        routingPolicy.forceFullQuery(Duration.ZERO);
+        return providerRouting();
+    }
+}
@@ -0,0 +1,372 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Learns which vulnerability providers contribute findings per ecosystem and skips those that
+ * practically never do.
+ *
+ * <p>For every provider lookup that answered, the matching service records whether the provider
+ * reported a matched vulnerability (yield), whether it reported one no other queried provider did
+ * (unique contribution, after alias merging) and how long it took. Per provider and ecosystem:
+ * <ul>
+ *   <li>fewer than {@code min-lookups} recorded lookups: {@link Decision#LEARNING}, always queried</li>
+ *   <li>unique-contribution rate of at least {@code min-contribution}: {@link Decision#QUERY}</li>
+ *   <li>otherwise {@link Decision#SKIP}, except for an {@code explore-rate} share of lookups that still
+ *       query it ({@link Decision#EXPLORE}) so the statistics follow changes in the provider's data</li>
+ * </ul>
+ *
+ * <p>A forced full-query mode (for audits) queries every provider for a while, and at least one
+ * provider is always queried. Counts are halved every {@code decay-after} lookups so old behavior
+ * fades, and the statistics are kept in {@code provider-routing.mv.db} under
+ * {@code buildaegis.vulnerability.routing.dir} across runs.
+ */
+@Component
+public class ProviderRoutingPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProviderRoutingPolicy.class);
+
+    private static final String STORE_FILE = "provider-routing.mv.db";
+    /** Upper bounds of the latency buckets in milliseconds; the last bucket is unbounded. */
+    private static final long[] LATENCY_BOUNDS_MILLIS = {
+        5, 10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000, Long.MAX_VALUE};
+
+    /**
+     * Routing decision for one provider and ecosystem.
+     */
+    public enum Decision {
+        /** Not enough lookups recorded yet; queried. */
+        LEARNING,
+        /** Contributes enough unique findings; queried. */
+        QUERY,
+        /** Below the contribution threshold but sampled to keep the statistics current; queried. */
+        EXPLORE,
+        /** Below the contribution threshold; not queried. */
+        SKIP,
+        /** Full-query mode or routing disabled; queried. */
+        FULL_QUERY;
+
+        public boolean queries() {
+            return this != SKIP;
+        }
+    }
+
+    private final boolean enabled;
+    private final long minLookups;
+    private final double minContribution;
+    private final double exploreRate;
+    private final long decayAfter;
+    private final Map<VulnerabilitySource, Map<Decision, Counter>> decisionCounters = new EnumMap<>(VulnerabilitySource.class);
+    private final MVStore store;
+    private final MVMap<String, long[]> saved;
+    private final Map<String, ProviderStats> stats = new ConcurrentHashMap<>();
+    private volatile Instant fullQueryUntil = Instant.MIN;
+
+    public ProviderRoutingPolicy(@Value("${buildaegis.vulnerability.routing.enabled:true}") boolean enabled,
+                                 @Value("${buildaegis.vulnerability.routing.dir:${user.home}/.buildaegis/routing}") String routingDir,
+                                 @Value("${buildaegis.vulnerability.routing.min-lookups:200}") long minLookups,
+                                 @Value("${buildaegis.vulnerability.routing.min-contribution:0.005}") double minContribution,
+                                 @Value("${buildaegis.vulnerability.routing.explore-rate:0.05}") double exploreRate,
+                                 @Value("${buildaegis.vulnerability.routing.decay-after:10000}") long decayAfter,
+                                 MeterRegistry registry) {
+        this.enabled = enabled;
+        this.minLookups = Math.max(1, minLookups);
+        this.minContribution = minContribution;
+        this.exploreRate = exploreRate;
+        this.decayAfter = Math.max(this.minLookups * 2, decayAfter);
+        for (VulnerabilitySource source : VulnerabilitySource.values()) {
+            Map<Decision, Counter> counters = new EnumMap<>(Decision.class);
+            for (Decision decision : Decision.values()) {
+                counters.put(decision, Counter.builder("buildaegis.vulnerability.routing.decisions")
+                    .description("Provider routing decisions per dependency lookup")
+                    .tag("source", source.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                    .tag("decision", decision.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                    .register(registry));
+            }
+            decisionCounters.put(source, counters);
+        }
+        this.store = openStore(Path.of(routingDir));
+        this.saved = store.openMap("stats");
+        for (Map.Entry<String, long[]> entry : saved.entrySet()) {
+            ProviderStats loaded = ProviderStats.decode(entry.getValue());
+            if (loaded != null) {
+                stats.put(entry.getKey(), loaded);
+            }
+        }
+    }
+
+    private static MVStore openStore(Path directory) {
+        Path storeFile = directory.resolve(STORE_FILE);
+        try {
+            Files.createDirectories(directory);
+            MVStore opened = new MVStore.Builder().fileName(storeFile.toString()).open();
+            logger.info("Provider routing statistics store: {}", storeFile);
+            return opened;
+        } catch (Exception e) {
+            // e.g. locked by another running instance
+            logger.error("Failed to open provider routing store {}, keeping statistics in memory only: {}",
+                storeFile, e.getMessage());
+            return new MVStore.Builder().open();
+        }
+    }
+
+    /**
+     * Selects the providers to query for a dependency.
+     *
+     * @param available  providers that could be queried, in priority order
+     * @param prefetched providers already answered by a batch lookup; always kept, they cost nothing more
+     * @return the providers to query; never empty when {@code available} is not
+     */
+    public List<VulnerabilityProvider> route(List<VulnerabilityProvider> available, DependencyCoordinate dependency,
+                                             Set<VulnerabilityProvider> prefetched) {
+        String ecosystem = ecosystemOf(dependency);
+        List<VulnerabilityProvider> selected = new ArrayList<>(available.size());
+        for (VulnerabilityProvider provider : available) {
+            Decision decision = prefetched.contains(provider) ? Decision.QUERY : decide(provider.getSource(), ecosystem);
+            decisionCounters.get(provider.getSource()).get(decision).increment();
+            if (decision.queries()) {
+                selected.add(provider);
+            } else {
+                logger.debug("Routing skips {} for {}: unique contribution below {}",
+                    provider.getSource().getDisplayName(), dependency, minContribution);
+            }
+        }
+        return selected.isEmpty() ? available : selected;
+    }
+
+    /**
+     * Decides whether to query a provider for an ecosystem.
+     */
+    public Decision decide(VulnerabilitySource source, String ecosystem) {
+        if (!enabled || isFullQuery()) {
+            return Decision.FULL_QUERY;
+        }
+        ProviderStats provider = stats.get(key(source, ecosystem));
+        if (provider == null || provider.lookups() < minLookups) {
+            return Decision.LEARNING;
+        }
+        if (provider.uniqueRate() >= minContribution) {
+            return Decision.QUERY;
+        }
+        return ThreadLocalRandom.current().nextDouble() < exploreRate ? Decision.EXPLORE : Decision.SKIP;
+    }
+
+    /**
+     * Records the outcome of one online lookup.
+     *
+     * @param latencies answering providers with their latency in nanoseconds, or a negative latency
+     *                  when answered from a batch prefetch
+     * @param matched   the matched vulnerabilities after alias merging
+     */
+    public void record(DependencyCoordinate dependency, Map<VulnerabilitySource, Long> latencies,
+                       Collection<Vulnerability> matched) {
+        if (latencies.isEmpty()) {
+            return;
+        }
+        Set<VulnerabilitySource> yielding = EnumSet.noneOf(VulnerabilitySource.class);
+        Set<VulnerabilitySource> unique = EnumSet.noneOf(VulnerabilitySource.class);
+        for (Vulnerability vulnerability : matched) {
+            yielding.addAll(vulnerability.getSources());
+            if (vulnerability.getSources().size() == 1) {
+                unique.add(vulnerability.getSources().get(0));
+            }
+        }
+        String ecosystem = ecosystemOf(dependency);
+        for (Map.Entry<VulnerabilitySource, Long> answered : latencies.entrySet()) {
+            VulnerabilitySource source = answered.getKey();
+            String key = key(source, ecosystem);
+            ProviderStats provider = stats.computeIfAbsent(key, k -> new ProviderStats());
+            long[] snapshot = provider.record(yielding.contains(source), unique.contains(source), answered.getValue(), decayAfter);
+            saved.put(key, snapshot);
+        }
+    }
+
+    /**
+     * Queries every provider until the given time, e.g. for an audit.
+     *
+     * @param duration how long to stay in full-query mode; zero or negative ends it
+     */
+    public void forceFullQuery(Duration duration) {
+        fullQueryUntil = duration.isNegative() || duration.isZero() ? Instant.MIN : Instant.now().plus(duration);
+        logger.info("Provider routing full-query mode {}", isFullQuery() ? "until " + fullQueryUntil : "ended");
+    }
+
+    public boolean isFullQuery() {
+        return Instant.now().isBefore(fullQueryUntil);
+    }
+
+    public Instant getFullQueryUntil() {
+        return isFullQuery() ? fullQueryUntil : null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the statistics and current decision of every provider and ecosystem seen so far.
+     */
+    public List<Route> getRoutes() {
+        List<Route> routes = new ArrayList<>();
+        for (Map.Entry<String, ProviderStats> entry : stats.entrySet()) {
+            String[] key = entry.getKey().split("/", 2);
+            VulnerabilitySource source = VulnerabilitySource.valueOf(key[0]);
+            ProviderStats provider = entry.getValue();
+            Decision decision = decide(source, key[1]);
+            if (decision == Decision.EXPLORE) {
+                decision = Decision.SKIP; // sampled queries are not the standing decision
+            }
+            routes.add(new Route(source, key[1], decision, provider.lookups(), provider.yieldRate(),
+                provider.uniqueRate(), provider.p95LatencyMillis()));
+        }
+        routes.sort(Comparator.comparing(Route::ecosystem).thenComparing(Route::source));
+        return routes;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        store.close();
+    }
+
+    /**
+     * Ecosystem of a dependency; Gradle resolves Maven artifacts, so both count as {@code maven}.
+     */
+    static String ecosystemOf(DependencyCoordinate dependency) {
+        String buildTool = dependency.buildTool();
+        if (buildTool == null || buildTool.isBlank() || buildTool.equalsIgnoreCase("gradle")) {
+            return "maven";
+        }
+        return buildTool.toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(VulnerabilitySource source, String ecosystem) {
+        return source.name() + "/" + ecosystem;
+    }
+
+    /**
+     * Statistics and decision of one provider for one ecosystem.
+     *
+     * @param yieldRate        share of lookups that reported a matched vulnerability
+     * @param uniqueRate       share of lookups that reported a vulnerability no other provider did
+     * @param p95LatencyMillis upper bound of the 95th percentile latency bucket (30 s for slower
+     *                         lookups); null without timed lookups
+     */
+    public record Route(VulnerabilitySource source, String ecosystem, Decision decision, long lookups,
+                        double yieldRate, double uniqueRate, Long p95LatencyMillis) {}
+
+    /**
+     * Running counts of one provider and ecosystem: lookups, yielding and unique lookups and a
+     * latency histogram. Persisted as one {@code long[]} in that order.
+     */
+    private static final class ProviderStats {
+
+        private static final int HEADER = 3;
+
+        private long lookups;
+        private long yielding;
+        private long unique;
+        private final long[] latencyBuckets = new long[LATENCY_BOUNDS_MILLIS.length];
+
+        private static ProviderStats decode(long[] saved) {
+            if (saved == null || saved.length != HEADER + LATENCY_BOUNDS_MILLIS.length) {
+                return null;
+            }
+            ProviderStats stats = new ProviderStats();
+            stats.lookups = saved[0];
+            stats.yielding = saved[1];
+            stats.unique = saved[2];
+            System.arraycopy(saved, HEADER, stats.latencyBuckets, 0, stats.latencyBuckets.length);
+            return stats;
+        }
+
+        synchronized long[] record(boolean yielded, boolean uniquelyYielded, long latencyNanos, long decayAfter) {
+            lookups++;
+            if (yielded) {
+                yielding++;
+            }
+            if (uniquelyYielded) {
+                unique++;
+            }
+            if (latencyNanos >= 0) {
+                long millis = latencyNanos / 1_000_000;
+                int bucket = 0;
+                while (millis > LATENCY_BOUNDS_MILLIS[bucket]) {
+                    bucket++;
+                }
+                latencyBuckets[bucket]++;
+            }
+            if (lookups >= decayAfter) {
+                lookups /= 2;
+                yielding /= 2;
+                unique /= 2;
+                for (int i = 0; i < latencyBuckets.length; i++) {
+                    latencyBuckets[i] /= 2;
+                }
+            }
+            long[] snapshot = new long[HEADER + latencyBuckets.length];
+            snapshot[0] = lookups;
+            snapshot[1] = yielding;
+            snapshot[2] = unique;
+            System.arraycopy(latencyBuckets, 0, snapshot, HEADER, latencyBuckets.length);
+            return snapshot;
+        }
+
+        synchronized long lookups() {
+            return lookups;
+        }
+
+        synchronized double yieldRate() {
+            return lookups == 0 ? 0 : (double) yielding / lookups;
+        }
+
+        synchronized double uniqueRate() {
+            return lookups == 0 ? 0 : (double) unique / lookups;
+        }
+
+        synchronized Long p95LatencyMillis() {
+            long total = 0;
+            for (long count : latencyBuckets) {
+                total += count;
+            }
+            if (total == 0) {
+                return null;
+            }
+            long threshold = (long) Math.ceil(total * 0.95);
+            long cumulative = 0;
+            for (int i = 0; i < latencyBuckets.length; i++) {
+                cumulative += latencyBuckets[i];
+                if (cumulative >= threshold) {
+                    return LATENCY_BOUNDS_MILLIS[i] == Long.MAX_VALUE ? LATENCY_BOUNDS_MILLIS[i - 1] : LATENCY_BOUNDS_MILLIS[i];
+                }
+            }
+            return null;
+        }
+    }
+}
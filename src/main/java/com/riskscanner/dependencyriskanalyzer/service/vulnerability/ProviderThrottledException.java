@@ -0,0 +1,30 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+
+import java.time.Duration;
+
+/**
+ * Signals that a lookup was not sent, or was rejected, because of the provider's rate limit.
+ *
+ * <p>Thrown by {@link ProviderRateLimiter} when the server answered 429 (or GitHub's 403 with an
+ * exhausted quota) or when no request permit became available before the lookup's deadline. Like
+ * any {@link ProviderUnavailableException}, the lookup has no answer and must not be treated as clean;
+ * unlike other unavailability it is our own limit at work, so it does not open the circuit breaker.
+ */
+public class ProviderThrottledException extends ProviderUnavailableException {
+
+    private final Duration retryAfter;
+
+    public ProviderThrottledException(VulnerabilitySource source, String message, Duration retryAfter) {
+        super(source, message, null);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the provider is expected to stay throttled; zero if unknown.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,39 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Signals that a vulnerability provider could not be reached or did not answer.
+ *
+ * <p>Providers throw this instead of returning an empty list when the failure is
+ * about availability (I/O errors, 5xx, throttling), so callers can tell
+ * "no vulnerabilities" apart from "no answer" and feed the provider's circuit breaker.
+ */
+public class ProviderUnavailableException extends RuntimeException {
+
+    private final VulnerabilitySource source;
+
+    public ProviderUnavailableException(VulnerabilitySource source, String message, Throwable cause) {
+        super(source.getDisplayName() + " unavailable: " + message, cause);
+        this.source = source;
+    }
+
+    public VulnerabilitySource getSource() {
+        return source;
+    }
+
+    /**
+     * Checks whether an exception raised by an outbound call means the remote service is unavailable,
+     * as opposed to a request the service understood and rejected (4xx other than 429).
+     */
+    public static boolean isAvailabilityFailure(Exception e) {
+        if (e instanceof ResourceAccessException || e instanceof HttpServerErrorException) {
+            return true;
+        }
+        return e instanceof HttpStatusCodeException statusException
+            && statusException.getStatusCode().value() == 429;
+    }
+}
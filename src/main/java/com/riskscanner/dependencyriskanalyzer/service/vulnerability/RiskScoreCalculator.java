@@ -43,6 +43,12 @@ public class RiskScoreCalculator {
     // Common test scopes
     private static final Set<String> TEST_SCOPES = Set.of("test", "test-compile", "test-runtime");
 
+    private final ExploitIntelligenceIndex exploitIntelligence;
+
+    public RiskScoreCalculator(ExploitIntelligenceIndex exploitIntelligence) {
+        this.exploitIntelligence = exploitIntelligence;
+    }
+
     /**
      * Calculates a risk score for a vulnerability finding.
      *
@@ -50,11 +56,10 @@ public class RiskScoreCalculator {
      * @param dependency the affected dependency
      * @param sources list of sources confirming the vulnerability
      * @param dependencyDepth depth of dependency (0 = direct)
-     * @param hasKnownExploit whether the vulnerability has known exploits
      * @return calculated risk score with explanation
      */
     public RiskScore calculateRiskScore(Vulnerability vulnerability, DependencyCoordinate dependency,
-                                      List<String> sources, int dependencyDepth, boolean hasKnownExploit) {
+                                      List<String> sources, int dependencyDepth) {
         
         StringBuilder explanation = new StringBuilder("Risk score calculation:\n");
 
@@ -71,7 +76,7 @@ public class RiskScoreCalculator {
         double depthComponent = calculateDepthComponent(dependencyDepth, explanation);
 
         // Calculate exploit component
-        double exploitComponent = calculateExploitComponent(hasKnownExploit, explanation);
+        double exploitComponent = calculateExploitComponent(vulnerability, explanation);
 
         // Calculate total score
         double totalScore = severityComponent + scopeComponent + depthComponent + exploitComponent;
@@ -161,13 +166,13 @@ public class RiskScoreCalculator {
         double scopeScore;
         if (TEST_SCOPES.contains(scope.toLowerCase())) {
             scopeScore = 10; // Low risk for test dependencies
-            explanation.append(String.format("- Scope (%s): %d × %.1f = %.1f\n", scope, scopeScore, SCOPE_WEIGHT, scopeScore * SCOPE_WEIGHT));
+            explanation.append(String.format("- Scope (%s): %.0f × %.1f = %.1f\n", scope, scopeScore, SCOPE_WEIGHT, scopeScore * SCOPE_WEIGHT));
         } else if (RUNTIME_SCOPES.contains(scope.toLowerCase())) {
             scopeScore = 80; // High risk for runtime dependencies
-            explanation.append(String.format("- Scope (%s): %d × %.1f = %.1f\n", scope, scopeScore, SCOPE_WEIGHT, scopeScore * SCOPE_WEIGHT));
+            explanation.append(String.format("- Scope (%s): %.0f × %.1f = %.1f\n", scope, scopeScore, SCOPE_WEIGHT, scopeScore * SCOPE_WEIGHT));
         } else {
             scopeScore = 50; // Medium risk for other scopes
-            explanation.append(String.format("- Scope (%s): %d × %.1f = %.1f\n", scope, scopeScore, SCOPE_WEIGHT, scopeScore * SCOPE_WEIGHT));
+            explanation.append(String.format("- Scope (%s): %.0f × %.1f = %.1f\n", scope, scopeScore, SCOPE_WEIGHT, scopeScore * SCOPE_WEIGHT));
         }
 
         return scopeScore * SCOPE_WEIGHT;
@@ -185,12 +190,27 @@ public class RiskScoreCalculator {
     }
 
     /**
-     * Calculates exploit component of risk score.
+     * Calculates exploit component of risk score from the exploit intelligence of the
+     * vulnerability's CVEs: 100 if listed in CISA KEV, else 50 raised by the EPSS probability,
+     * else 50 when nothing is known.
      */
-    private double calculateExploitComponent(boolean hasKnownExploit, StringBuilder explanation) {
-        double exploitScore = hasKnownExploit ? 100 : 50;
-        explanation.append(String.format("- Known exploit (%s): %.0f × %.1f = %.1f\n", 
-            hasKnownExploit ? "yes" : "no", exploitScore, EXPLOIT_WEIGHT, exploitScore * EXPLOIT_WEIGHT));
+    private double calculateExploitComponent(Vulnerability vulnerability, StringBuilder explanation) {
+        ExploitIntelligenceIndex.ExploitIntel intel = exploitIntelligence.lookup(vulnerability);
+        double exploitScore;
+        String evidence;
+        if (intel != null && intel.knownExploited()) {
+            exploitScore = 100;
+            evidence = "CISA KEV" + (intel.kevDateAdded() != null ? " since " + intel.kevDateAdded() : "")
+                + (intel.ransomwareCampaignUse() ? ", ransomware use" : "");
+        } else if (intel != null && intel.hasEpss()) {
+            exploitScore = 50 + 50 * intel.epss();
+            evidence = String.format("EPSS %.3f, percentile %.2f", intel.epss(), intel.percentile());
+        } else {
+            exploitScore = 50;
+            evidence = "no exploit intelligence";
+        }
+        explanation.append(String.format("- Known exploit (%s): %.0f × %.1f = %.1f\n",
+            evidence, exploitScore, EXPLOIT_WEIGHT, exploitScore * EXPLOIT_WEIGHT));
         return exploitScore * EXPLOIT_WEIGHT;
     }
 
@@ -206,7 +226,7 @@ public class RiskScoreCalculator {
                 totalWeight += switch (vs) {
                     case NVD -> SOURCE_WEIGHT_NVD;
                     case GITHUB -> SOURCE_WEIGHT_GITHUB;
-                    case OSV -> SOURCE_WEIGHT_OSV;
+                    case OSV, OSV_MIRROR -> SOURCE_WEIGHT_OSV;
                     case MAVEN_CENTRAL -> SOURCE_WEIGHT_MAVEN_CENTRAL;
                 };
             } catch (IllegalArgumentException e) {
@@ -0,0 +1,201 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.MavenVersion;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable index answering "which values have a version interval containing version X".
+ *
+ * <p>Intervals are sorted by lower bound into an implicit balanced tree whose nodes carry the
+ * highest upper bound of their subtree, so a point query visits O(log n + k) nodes. Exact versions
+ * are kept in a hash map keyed by the normalized {@link MavenVersion}. A value with several
+ * intervals is returned once (compared by identity).
+ *
+ * @param <T> the indexed value, e.g. an advisory
+ */
+public final class VersionIntervalIndex<T> {
+
+    private static final VersionIntervalIndex<?> EMPTY = new VersionIntervalIndex<>(new Interval[0], Map.of());
+
+    private final Interval<T>[] intervals;
+    private final Bound[] subtreeMaxEnd;
+    private final Map<MavenVersion, List<T>> exact;
+
+    private VersionIntervalIndex(Interval<T>[] intervals, Map<MavenVersion, List<T>> exact) {
+        this.intervals = intervals;
+        this.subtreeMaxEnd = new Bound[intervals.length];
+        this.exact = exact;
+        computeMaxEnd(0, intervals.length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> VersionIntervalIndex<T> empty() {
+        return (VersionIntervalIndex<T>) EMPTY;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Gets the values whose intervals or exact versions contain the given version.
+     */
+    public List<T> find(String version) {
+        if (version == null || version.isBlank()) {
+            return List.of();
+        }
+        MavenVersion parsed = MavenVersion.parse(version);
+        List<T> found = new ArrayList<>(exact.getOrDefault(parsed, List.of()));
+        collect(0, intervals.length - 1, parsed, found);
+        return found;
+    }
+
+    /**
+     * Gets the number of indexed intervals, not counting exact versions.
+     */
+    public int intervalCount() {
+        return intervals.length;
+    }
+
+    private void collect(int from, int to, MavenVersion version, List<T> found) {
+        if (from > to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        if (!subtreeMaxEnd[mid].isAbove(version)) {
+            return; // Every interval in this subtree ends before the version
+        }
+        collect(from, mid - 1, version, found);
+        Interval<T> interval = intervals[mid];
+        if (!interval.startsAfter(version)) {
+            if (interval.end().isAbove(version) && !containsSame(found, interval.value())) {
+                found.add(interval.value());
+            }
+            collect(mid + 1, to, version, found);
+        }
+        // Otherwise the right subtree starts even later
+    }
+
+    /**
+     * Identity check over the few matches of one query; avoids hashing deep values such as records.
+     */
+    private static <T> boolean containsSame(List<T> found, T value) {
+        for (T existing : found) {
+            if (existing == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Bound computeMaxEnd(int from, int to) {
+        if (from > to) {
+            return null;
+        }
+        int mid = (from + to) >>> 1;
+        Bound max = intervals[mid].end();
+        Bound left = computeMaxEnd(from, mid - 1);
+        Bound right = computeMaxEnd(mid + 1, to);
+        if (left != null && left.compareTo(max) > 0) {
+            max = left;
+        }
+        if (right != null && right.compareTo(max) > 0) {
+            max = right;
+        }
+        subtreeMaxEnd[mid] = max;
+        return max;
+    }
+
+    /**
+     * Upper bound of an interval; a null version means unbounded.
+     */
+    private record Bound(MavenVersion version, boolean inclusive) implements Comparable<Bound> {
+
+        boolean isAbove(MavenVersion candidate) {
+            if (version == null) {
+                return true;
+            }
+            int comparison = candidate.compareTo(version);
+            return comparison < 0 || (comparison == 0 && inclusive);
+        }
+
+        @Override
+        public int compareTo(Bound other) {
+            if (version == null || other.version == null) {
+                return version == null ? (other.version == null ? 0 : 1) : -1;
+            }
+            int comparison = version.compareTo(other.version);
+            return comparison != 0 ? comparison : Boolean.compare(inclusive, other.inclusive);
+        }
+    }
+
+    /**
+     * One interval; a null start means unbounded below.
+     */
+    private record Interval<T>(MavenVersion start, boolean startInclusive, Bound end, T value) {
+
+        boolean startsAfter(MavenVersion candidate) {
+            if (start == null) {
+                return false;
+            }
+            int comparison = candidate.compareTo(start);
+            return comparison < 0 || (comparison == 0 && !startInclusive);
+        }
+    }
+
+    /**
+     * Collects intervals and exact versions before building the index.
+     */
+    public static final class Builder<T> {
+        private final List<Interval<T>> intervals = new ArrayList<>();
+        private final Map<MavenVersion, List<T>> exact = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a version range for a value; exact ranges are indexed as exact versions.
+         */
+        public Builder<T> add(VersionRange range, T value) {
+            if (range.getType() == VersionRange.RangeType.EXACT) {
+                return addExact(range.getMinVersion(), value);
+            }
+            MavenVersion start = range.getMinVersion() != null ? MavenVersion.parse(range.getMinVersion()) : null;
+            MavenVersion end = range.getMaxVersion() != null ? MavenVersion.parse(range.getMaxVersion()) : null;
+            intervals.add(new Interval<>(start, range.isIncludeMin(), new Bound(end, range.isIncludeMax()), value));
+            return this;
+        }
+
+        /**
+         * Adds a single affected version for a value.
+         */
+        public Builder<T> addExact(String version, T value) {
+            if (version != null && !version.isBlank()) {
+                exact.computeIfAbsent(MavenVersion.parse(version), k -> new ArrayList<>()).add(value);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public VersionIntervalIndex<T> build() {
+            if (intervals.isEmpty() && exact.isEmpty()) {
+                return empty();
+            }
+            Interval<T>[] sorted = intervals.toArray(new Interval[0]);
+            // Inclusive starts sort before exclusive ones at the same version, so a query can stop
+            // descending right at the first interval starting after the version
+            Arrays.sort(sorted, Comparator.comparing(Interval<T>::start, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(interval -> !interval.startInclusive()));
+            Map<MavenVersion, List<T>> exactCopy = new HashMap<>();
+            exact.forEach((version, values) -> exactCopy.put(version, List.copyOf(values)));
+            return new VersionIntervalIndex<>(sorted, Map.copyOf(exactCopy));
+        }
+    }
+}
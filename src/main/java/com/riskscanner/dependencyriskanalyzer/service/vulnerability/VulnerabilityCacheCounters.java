@@ -0,0 +1,172 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Running totals for {@link VulnerabilityCacheService}, updated on every store write, removal and
+ * lookup so statistics never have to scan the store.
+ *
+ * <p>The totals are checkpointed to a map of the store while running and saved on shutdown together
+ * with a clean flag that is cleared again on the next startup. If the process died without saving,
+ * {@link #load} returns {@code null}; the content totals are then recounted from the entry headers
+ * once, and the lookup totals continue from the last checkpoint.
+ */
+final class VulnerabilityCacheCounters {
+
+    private static final String CLEAN = "clean";
+
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong vulnerabilities = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong negativeHits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * Loads the totals saved by a clean shutdown and clears the clean flag.
+     *
+     * @return the saved totals, or {@code null} if there are none or the last shutdown was not clean
+     */
+    static VulnerabilityCacheCounters load(Map<String, Long> saved) {
+        boolean clean = saved.getOrDefault(CLEAN, 0L) == 1L;
+        saved.put(CLEAN, 0L);
+        if (!clean) {
+            return null;
+        }
+        VulnerabilityCacheCounters counters = new VulnerabilityCacheCounters();
+        counters.forEach((name, counter) -> counter.set(saved.getOrDefault(name, 0L)));
+        return counters;
+    }
+
+    /**
+     * Rebuilds the content totals from the stored entries; lookup totals continue from the last checkpoint.
+     */
+    static VulnerabilityCacheCounters recount(Iterable<byte[]> values, Map<String, Long> saved) {
+        VulnerabilityCacheCounters counters = new VulnerabilityCacheCounters();
+        counters.forEachLookupTotal((name, counter) -> counter.set(saved.getOrDefault(name, 0L)));
+        values.forEach(value -> counters.stored(null, value));
+        return counters;
+    }
+
+    /**
+     * Saves the totals that changed since the last save without marking them clean, so an idle
+     * cache does not dirty the store.
+     */
+    void checkpoint(Map<String, Long> saved) {
+        forEach((name, counter) -> {
+            long value = counter.get();
+            Long previous = saved.get(name);
+            if (previous == null || previous != value) {
+                saved.put(name, value);
+            }
+        });
+    }
+
+    /**
+     * Saves the totals and marks them clean.
+     */
+    void save(Map<String, Long> saved) {
+        checkpoint(saved);
+        saved.put(CLEAN, 1L);
+    }
+
+    void stored(byte[] previous, byte[] value) {
+        if (previous == null) {
+            entries.incrementAndGet();
+        } else {
+            subtract(previous);
+        }
+        vulnerabilities.addAndGet(count(value));
+        bytes.addAndGet(value.length);
+    }
+
+    void removed(byte[] value) {
+        entries.decrementAndGet();
+        subtract(value);
+    }
+
+    void cleared() {
+        entries.set(0);
+        vulnerabilities.set(0);
+        bytes.set(0);
+    }
+
+    void hit(boolean negative, boolean stale) {
+        (negative ? negativeHits : hits).incrementAndGet();
+        if (stale) {
+            staleHits.incrementAndGet();
+        }
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    void expired() {
+        expirations.incrementAndGet();
+    }
+
+    long entries() {
+        return entries.get();
+    }
+
+    long vulnerabilities() {
+        return vulnerabilities.get();
+    }
+
+    long bytes() {
+        return bytes.get();
+    }
+
+    long hits() {
+        return hits.get();
+    }
+
+    long negativeHits() {
+        return negativeHits.get();
+    }
+
+    long staleHits() {
+        return staleHits.get();
+    }
+
+    long misses() {
+        return misses.get();
+    }
+
+    long expirations() {
+        return expirations.get();
+    }
+
+    private void subtract(byte[] value) {
+        vulnerabilities.addAndGet(-count(value));
+        bytes.addAndGet(-value.length);
+    }
+
+    private static int count(byte[] value) {
+        try {
+            return VulnerabilityCodec.count(value);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private void forEach(BiConsumer<String, AtomicLong> action) {
+        action.accept("entries", entries);
+        action.accept("vulnerabilities", vulnerabilities);
+        action.accept("bytes", bytes);
+        forEachLookupTotal(action);
+    }
+
+    private void forEachLookupTotal(BiConsumer<String, AtomicLong> action) {
+        action.accept("hits", hits);
+        action.accept("negativeHits", negativeHits);
+        action.accept("staleHits", staleHits);
+        action.accept("misses", misses);
+        action.accept("expirations", expirations);
+    }
+}
@@ -1,290 +1,566 @@
 package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Stream;
 
 /**
  * Service for caching vulnerability data to support offline operation.
  *
  * <p>This service provides:
  * <ul>
- *   <li>Persistent caching of vulnerability data to local filesystem</li>
- *   <li>Cache expiration and cleanup</li>
+ *   <li>A bounded in-memory cache in front of the store, weighed by the estimated size of the
+ *       cached vulnerabilities ({@code buildaegis.vulnerability.cache.memory-max-size}), with
+ *       Caffeine's frequency-aware admission and each entry expiring when its store entry does</li>
+ *   <li>Persistent caching of vulnerability data in a single embedded MVStore file</li>
+ *   <li>Negative entries for dependencies with no known vulnerabilities, with their own TTL
+ *       ({@code buildaegis.vulnerability.cache.negative-ttl}), so clean dependencies are not
+ *       re-queried on every scan</li>
+ *   <li>Cache expiration and cleanup; expired entries are still served, flagged stale, for up to
+ *       {@code buildaegis.vulnerability.cache.max-stale} so callers can refresh them in the background</li>
+ *   <li>Invalidation of an artifact's entries when a local advisory feed import touches it</li>
  *   <li>Offline fallback when network providers are unavailable</li>
- *   <li>Cache statistics and management</li>
+ *   <li>Cache statistics and management, from running totals kept by {@link VulnerabilityCacheCounters}
+ *       and saved in the store every second, so reading them never scans the cache and a crash
+ *       loses no more lookup totals than lookups</li>
  * </ul>
+ *
+ * <p>Entries are stored in {@code vulnerability-cache.mv.db} under the cache directory, keyed by
+ * {@link #buildCacheKey(DependencyCoordinate)}, with values encoded by {@link VulnerabilityCodec}.
+ * Each value carries its lookup time, so expiry needs no file metadata; an empty value is a negative
+ * entry. MVStore writes are copy-on-write and committed in the background, so a crash loses at most
+ * the last second of lookups but never leaves a half-written entry. Per-dependency JSON files left by
+ * earlier versions are migrated into the store on startup and removed.
  */
 @Service
 public class VulnerabilityCacheService {
 
     private static final Logger logger = LoggerFactory.getLogger(VulnerabilityCacheService.class);
     
-    private static final String CACHE_DIR = System.getProperty("user.home") + "/.buildaegis/vulnerability-cache";
-    private static final long CACHE_EXPIRY_HOURS = 24; // Cache expires after 24 hours
+    private static final String STORE_FILE = "vulnerability-cache.mv.db";
+    private static final String LEGACY_RESULT_SUFFIX = ".json";
+    private static final String LEGACY_NEGATIVE_SUFFIX = ".negative";
+    private static final Duration COUNTER_SAVE_INTERVAL = Duration.ofSeconds(1);
     
-    private final ObjectMapper objectMapper;
-    private final Map<String, List<Vulnerability>> memoryCache = new ConcurrentHashMap<>();
+    private final Cache<String, CacheEntry> memoryCache;
     private final Path cacheDirectory;
+    private final Path storeFile;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Duration maxStale;
+    private final MVStore store;
+    private final MVMap<String, byte[]> entries;
+    private final MVMap<String, Long> savedCounters;
+    private final VulnerabilityCacheCounters counters;
+    private final ScheduledFuture<?> counterSaver;
     
-    public VulnerabilityCacheService() {
-        this.objectMapper = new ObjectMapper();
-        this.cacheDirectory = Path.of(CACHE_DIR);
-        
+    public VulnerabilityCacheService(@Value("${buildaegis.vulnerability.cache.dir:${user.home}/.buildaegis/vulnerability-cache}") String cacheDir,
+                                     @Value("${buildaegis.vulnerability.cache.ttl:PT24H}") Duration ttl,
+                                     @Value("${buildaegis.vulnerability.cache.negative-ttl:PT6H}") Duration negativeTtl,
+                                     @Value("${buildaegis.vulnerability.cache.max-stale:PT72H}") Duration maxStale,
+                                     @Value("${buildaegis.vulnerability.cache.memory-max-size:64MB}") DataSize memoryMaxSize,
+                                     TaskScheduler scheduler) {
+        this.memoryCache = Caffeine.newBuilder()
+            .maximumWeight(memoryMaxSize.toBytes())
+            .weigher((String key, CacheEntry entry) -> entry.weight())
+            .expireAfter(new Expiry<String, CacheEntry>() {
+                @Override
+                public long expireAfterCreate(String key, CacheEntry entry, long currentTime) {
+                    return Math.max(0, Duration.between(Instant.now(), entry.staleUntil()).toNanos());
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, CacheEntry entry, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, entry, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, CacheEntry entry, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        this.cacheDirectory = Path.of(cacheDir);
+        this.storeFile = cacheDirectory.resolve(STORE_FILE);
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.maxStale = maxStale;
+        this.store = openStore();
+        this.entries = store.openMap("vulnerabilities");
+        this.savedCounters = store.openMap("statistics");
+        VulnerabilityCacheCounters loaded = VulnerabilityCacheCounters.load(savedCounters);
+        if (loaded == null) {
+            loaded = VulnerabilityCacheCounters.recount(entries.values(), savedCounters);
+            logger.info("Recounted cache statistics over {} entries", loaded.entries());
+        }
+        this.counters = loaded;
+        migrateLegacyFiles();
+        // Checkpoints are committed with the entries by the store's background commit
+        this.counterSaver = scheduler.scheduleWithFixedDelay(this::saveCounters,
+            Instant.now().plus(COUNTER_SAVE_INTERVAL), COUNTER_SAVE_INTERVAL);
+    }
+    
+    private MVStore openStore() {
         try {
             // Create cache directory if it doesn't exist
             Files.createDirectories(cacheDirectory);
-            logger.info("Vulnerability cache directory: {}", cacheDirectory);
-        } catch (IOException e) {
-            logger.error("Failed to create cache directory: {}", e.getMessage());
+            MVStore opened = new MVStore.Builder().fileName(storeFile.toString()).compress().open();
+            logger.info("Vulnerability cache store: {}", storeFile);
+            return opened;
+        } catch (Exception e) {
+            // e.g. locked by another running instance
+            logger.error("Failed to open cache store {}, caching in memory only: {}", storeFile, e.getMessage());
+            return new MVStore.Builder().open();
         }
     }
     
     /**
-     * Gets cached vulnerabilities for the given dependency.
+     * Publishes the in-memory cache's size, hit, miss and eviction counters as {@code cache.*}
+     * meters tagged {@code cache=vulnerability-l1}, and the store totals as
+     * {@code buildaegis.vulnerability.cache.*} gauges and counters.
+     */
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, memoryCache, "vulnerability-l1");
+        Gauge.builder("buildaegis.vulnerability.cache.entries", counters, VulnerabilityCacheCounters::entries)
+            .description("Cached lookup results, including negative entries")
+            .register(registry);
+        Gauge.builder("buildaegis.vulnerability.cache.vulnerabilities", counters, VulnerabilityCacheCounters::vulnerabilities)
+            .description("Vulnerabilities across all cached lookup results")
+            .register(registry);
+        Gauge.builder("buildaegis.vulnerability.cache.size", counters, VulnerabilityCacheCounters::bytes)
+            .description("Encoded size of the cached lookup results")
+            .baseUnit("bytes")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.vulnerability.cache.lookups", counters, VulnerabilityCacheCounters::hits)
+            .description("Cache lookups answered with cached vulnerabilities")
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.vulnerability.cache.lookups", counters, VulnerabilityCacheCounters::negativeHits)
+            .description("Cache lookups answered by a negative entry")
+            .tag("result", "negative")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.vulnerability.cache.lookups", counters, VulnerabilityCacheCounters::misses)
+            .description("Cache lookups that had to query the providers")
+            .tag("result", "miss")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.vulnerability.cache.stale", counters, VulnerabilityCacheCounters::staleHits)
+            .description("Cache hits served past their TTL while a refresh is pending")
+            .register(registry);
+        FunctionCounter.builder("buildaegis.vulnerability.cache.expirations", counters, VulnerabilityCacheCounters::expirations)
+            .description("Stored entries removed after the maximum staleness")
+            .register(registry);
+    }
+    
+    @PreDestroy
+    synchronized void shutdown() {
+        counterSaver.cancel(false);
+        if (!store.isClosed()) {
+            counters.save(savedCounters);
+            store.close();
+        }
+    }
+    
+    synchronized void saveCounters() {
+        if (!store.isClosed()) {
+            counters.checkpoint(savedCounters);
+        }
+    }
+    
+    /**
+     * Looks up the cached result for the given dependency.
      *
      * @param dependency the dependency to check
-     * @return cached vulnerabilities, or empty list if none found or cache expired
+     * @return a hit with the cached vulnerabilities, a negative hit for a dependency cached as clean,
+     *         either flagged {@link CacheLookup#stale()} once past its TTL, or a miss if it was never
+     *         looked up or is older than the maximum staleness
      */
-    public List<Vulnerability> getCachedVulnerabilities(DependencyCoordinate dependency) {
+    public CacheLookup lookup(DependencyCoordinate dependency) {
+        return find(dependency, true);
+    }
+    
+    /**
+     * Looks up the cached result like {@link #lookup(DependencyCoordinate)}, without counting it as a
+     * hit or miss. For internal re-checks of a coordinate the caller's lookup already counted.
+     */
+    public CacheLookup peek(DependencyCoordinate dependency) {
+        return find(dependency, false);
+    }
+    
+    private CacheLookup find(DependencyCoordinate dependency, boolean counted) {
         String cacheKey = buildCacheKey(dependency);
+        Instant now = Instant.now();
         
-        // Check memory cache first
-        List<Vulnerability> cached = memoryCache.get(cacheKey);
-        if (cached != null) {
-            logger.debug("Found cached vulnerabilities in memory for {}", dependency);
-            return new ArrayList<>(cached);
+        // Check memory cache first; entries past the maximum staleness are never returned
+        CacheEntry entry = counted ? memoryCache.getIfPresent(cacheKey) : memoryCache.asMap().get(cacheKey);
+        if (entry != null) {
+            if (counted) {
+                counters.hit(entry.isNegative(), entry.isStale(now));
+            }
+            logger.debug("Found cached {} entry in memory for {}", entry.isNegative() ? "negative" : "result", dependency);
+            return entry.toLookup(now);
         }
         
-        // Check file cache
+        // Check the store
+        byte[] stored = entries.get(cacheKey);
+        if (stored == null) {
+            if (counted) {
+                counters.miss();
+            }
+            return CacheLookup.MISS;
+        }
         try {
-            Path cacheFile = getCacheFile(dependency);
-            if (Files.exists(cacheFile)) {
-                // Check if cache is expired
-                Instant lastModified = Files.getLastModifiedTime(cacheFile).toInstant();
-                if (lastModified.plus(CACHE_EXPIRY_HOURS, ChronoUnit.HOURS).isAfter(Instant.now())) {
-                    // Load from file
-                    cached = loadFromFile(cacheFile);
-                    if (cached != null) {
-                        // Store in memory cache for faster access
-                        memoryCache.put(cacheKey, cached);
-                        logger.debug("Loaded {} cached vulnerabilities from file for {}", cached.size(), dependency);
-                        return new ArrayList<>(cached);
-                    }
-                } else {
-                    logger.debug("Cache expired for {}, removing file", dependency);
-                    Files.deleteIfExists(cacheFile);
+            Instant cachedAt = VulnerabilityCodec.cachedAt(stored);
+            Instant expiresAt = cachedAt.plus(VulnerabilityCodec.count(stored) == 0 ? negativeTtl : ttl);
+            if (expiresAt.plus(maxStale).isAfter(now)) {
+                entry = new CacheEntry(VulnerabilityCodec.decode(stored), cachedAt, expiresAt, expiresAt.plus(maxStale));
+                memoryCache.put(cacheKey, entry);
+                if (counted) {
+                    counters.hit(entry.isNegative(), entry.isStale(now));
                 }
+                logger.debug("Loaded cached {} entry from store for {}", entry.isNegative() ? "negative" : "result", dependency);
+                return entry.toLookup(now);
             }
-        } catch (IOException e) {
-            logger.warn("Failed to load cached vulnerabilities for {}: {}", dependency, e.getMessage());
+            logger.debug("Cache expired for {}, removing entry", dependency);
+            if (removeEntry(cacheKey)) {
+                counters.expired();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Dropping unreadable cache entry for {}: {}", dependency, e.getMessage());
+            removeEntry(cacheKey);
         }
-        
-        return List.of();
+        if (counted) {
+            counters.miss();
+        }
+        return CacheLookup.MISS;
+    }
+    
+    /**
+     * Gets cached vulnerabilities for the given dependency.
+     *
+     * @param dependency the dependency to check
+     * @return cached vulnerabilities, or empty list if none found, cached as clean, or cache expired;
+     *         use {@link #lookup(DependencyCoordinate)} to tell these apart
+     */
+    public List<Vulnerability> getCachedVulnerabilities(DependencyCoordinate dependency) {
+        return new ArrayList<>(lookup(dependency).vulnerabilities());
     }
     
     /**
      * Caches vulnerabilities for the given dependency.
      *
+     * <p>An empty list is stored as a negative entry: callers must only pass one when the
+     * providers actually answered, not when they failed.
+     *
      * @param dependency the dependency
      * @param vulnerabilities the vulnerabilities to cache
      */
     public void cacheVulnerabilities(DependencyCoordinate dependency, List<Vulnerability> vulnerabilities) {
-        if (vulnerabilities == null || vulnerabilities.isEmpty()) {
+        if (vulnerabilities == null) {
             return;
         }
         
         String cacheKey = buildCacheKey(dependency);
+        Instant now = Instant.now();
+        boolean negative = vulnerabilities.isEmpty();
         
-        // Store in memory cache
-        memoryCache.put(cacheKey, new ArrayList<>(vulnerabilities));
+        Instant expiresAt = now.plus(negative ? negativeTtl : ttl);
+        memoryCache.put(cacheKey, new CacheEntry(List.copyOf(vulnerabilities), now, expiresAt, expiresAt.plus(maxStale)));
+        byte[] value = VulnerabilityCodec.encode(now, vulnerabilities);
+        counters.stored(entries.put(cacheKey, value), value);
+        logger.debug("Cached {} for {}", negative ? "negative entry" : vulnerabilities.size() + " vulnerabilities", dependency);
+    }
+    
+    /**
+     * Drops cached entries, positive and negative, for every version of the artifacts a local
+     * feed import touched.
+     */
+    @EventListener
+    public void onAdvisoryFeedImported(AdvisoryFeedImportedEvent event) {
+        if (event.isEmpty()) {
+            return;
+        }
         
-        // Store in file cache
-        try {
-            Path cacheFile = getCacheFile(dependency);
-            saveToFile(cacheFile, vulnerabilities);
-            logger.debug("Cached {} vulnerabilities for {}", vulnerabilities.size(), dependency);
-        } catch (IOException e) {
-            logger.warn("Failed to cache vulnerabilities for {}: {}", dependency, e.getMessage());
+        memoryCache.asMap().keySet().removeIf(cacheKey -> touches(event, cacheKey));
+        int invalidated = 0;
+        for (String cacheKey : entries.keySet()) {
+            if (touches(event, cacheKey) && removeEntry(cacheKey)) {
+                invalidated++;
+            }
         }
+        
+        logger.info("Invalidated {} cache entries after {} import touched {} packages and {} products",
+            invalidated, event.feed(), event.packages().size(), event.products().size());
     }
     
     /**
      * Clears all cached vulnerability data.
      */
     public void clearCache() {
-        // Clear memory cache
-        memoryCache.clear();
-        
-        // Clear file cache
-        try {
-            if (Files.exists(cacheDirectory)) {
-                Files.walk(cacheDirectory)
-                    .filter(Files::isRegularFile)
-                    .forEach(file -> {
-                        try {
-                            Files.delete(file);
-                        } catch (IOException e) {
-                            logger.warn("Failed to delete cache file {}: {}", file, e.getMessage());
-                        }
-                    });
-            }
-            logger.info("Cleared all vulnerability cache data");
-        } catch (IOException e) {
-            logger.error("Failed to clear file cache: {}", e.getMessage());
-        }
+        memoryCache.invalidateAll();
+        entries.clear();
+        counters.cleared();
+        logger.info("Cleared all vulnerability cache data");
     }
     
     /**
-     * Cleans up expired cache entries.
+     * Cleans up cache entries past the maximum staleness.
      */
     public void cleanupExpiredCache() {
-        try {
-            if (Files.exists(cacheDirectory)) {
-                Instant cutoff = Instant.now().minus(CACHE_EXPIRY_HOURS, ChronoUnit.HOURS);
-                
-                Files.walk(cacheDirectory)
-                    .filter(Files::isRegularFile)
-                    .forEach(file -> {
-                        try {
-                            Instant lastModified = Files.getLastModifiedTime(file).toInstant();
-                            if (lastModified.isBefore(cutoff)) {
-                                Files.delete(file);
-                                logger.debug("Deleted expired cache file: {}", file);
-                            }
-                        } catch (IOException e) {
-                            logger.warn("Failed to process cache file {}: {}", file, e.getMessage());
-                        }
-                    });
+        Instant now = Instant.now();
+        int removed = 0;
+        for (Map.Entry<String, byte[]> stored : entries.entrySet()) {
+            boolean expired;
+            try {
+                Duration entryTtl = VulnerabilityCodec.count(stored.getValue()) == 0 ? negativeTtl : ttl;
+                expired = !VulnerabilityCodec.cachedAt(stored.getValue()).plus(entryTtl).plus(maxStale).isAfter(now);
+            } catch (RuntimeException e) {
+                expired = true;
+            }
+            if (expired && removeEntry(stored.getKey())) {
+                counters.expired();
+                removed++;
             }
-            
-            // Also clean memory cache of expired entries
-            memoryCache.entrySet().removeIf(entry -> {
-                // For memory cache, we don't have timestamps, so we keep it
-                // Memory cache will be cleared when the application restarts
-                return false;
-            });
-            
-            logger.info("Cleaned up expired cache entries");
-            
-        } catch (IOException e) {
-            logger.error("Failed to cleanup expired cache: {}", e.getMessage());
         }
+        
+        memoryCache.cleanUp();
+        
+        logger.info("Cleaned up {} expired cache entries", removed);
     }
     
     /**
      * Gets cache statistics.
      */
     public CacheStatistics getCacheStatistics() {
-        int memoryCacheSize = memoryCache.size();
-        int memoryCacheVulnerabilities = memoryCache.values().stream()
-            .mapToInt(List::size)
+        int memoryCacheSize = memoryCache.asMap().size();
+        int memoryCacheVulnerabilities = memoryCache.asMap().values().stream()
+            .mapToInt(entry -> entry.vulnerabilities().size())
             .sum();
-        
-        int fileCacheSize = 0;
-        int fileCacheVulnerabilities = 0;
-        long totalCacheSize = 0;
-        
-        try {
-            if (Files.exists(cacheDirectory)) {
-                List<Path> cacheFiles = Files.walk(cacheDirectory)
-                    .filter(Files::isRegularFile)
-                    .toList();
-                
-                fileCacheSize = cacheFiles.size();
-                
-                for (Path cacheFile : cacheFiles) {
-                    try {
-                        List<Vulnerability> vulns = loadFromFile(cacheFile);
-                        if (vulns != null) {
-                            fileCacheVulnerabilities += vulns.size();
-                        }
-                        totalCacheSize += Files.size(cacheFile);
-                    } catch (IOException e) {
-                        logger.debug("Failed to read cache file {}: {}", cacheFile, e.getMessage());
-                    }
-                }
-            }
-        } catch (IOException e) {
-            logger.warn("Failed to calculate file cache statistics: {}", e.getMessage());
-        }
+        CacheStats memoryStats = memoryCache.stats();
         
         return new CacheStatistics(
             memoryCacheSize, memoryCacheVulnerabilities,
-            fileCacheSize, fileCacheVulnerabilities,
-            totalCacheSize
+            (int) counters.entries(), (int) counters.vulnerabilities(),
+            counters.bytes(),
+            memoryStats.hitCount(), memoryStats.missCount(), memoryStats.evictionCount(),
+            counters.hits(), counters.negativeHits(), counters.staleHits(), counters.misses(), counters.expirations()
         );
     }
     
     /**
-     * Checks if cache is available for the given dependency.
+     * Checks if cache is available for the given dependency, including a negative entry.
      */
     public boolean hasCachedData(DependencyCoordinate dependency) {
-        String cacheKey = buildCacheKey(dependency);
-        
-        // Check memory cache
-        if (memoryCache.containsKey(cacheKey)) {
-            return true;
-        }
-        
-        // Check file cache
-        try {
-            Path cacheFile = getCacheFile(dependency);
-            if (Files.exists(cacheFile)) {
-                Instant lastModified = Files.getLastModifiedTime(cacheFile).toInstant();
-                return lastModified.plus(CACHE_EXPIRY_HOURS, ChronoUnit.HOURS).isAfter(Instant.now());
-            }
-        } catch (IOException e) {
-            logger.debug("Failed to check cache file for {}: {}", dependency, e.getMessage());
-        }
-        
-        return false;
+        return lookup(dependency).status() != CacheStatus.MISS;
     }
     
     /**
      * Builds cache key for dependency.
      */
-    private String buildCacheKey(DependencyCoordinate dependency) {
+    public String buildCacheKey(DependencyCoordinate dependency) {
         return String.format("%s:%s:%s:%s", 
             dependency.groupId(), dependency.artifactId(), 
             dependency.version(), dependency.buildTool());
     }
     
+    private boolean removeEntry(String cacheKey) {
+        byte[] removed = entries.remove(cacheKey);
+        if (removed != null) {
+            counters.removed(removed);
+        }
+        return removed != null;
+    }
+    
+    private static boolean touches(AdvisoryFeedImportedEvent event, String cacheKey) {
+        // groupId:artifactId:version:buildTool
+        String[] parts = cacheKey.split(":", 4);
+        if (parts.length != 4) {
+            return false;
+        }
+        if (event.packages().contains(parts[0] + ":" + parts[1])) {
+            return true;
+        }
+        String product = parts[1].toLowerCase();
+        return event.products().contains(product) || event.products().contains(product.replace('-', '_'));
+    }
+    
+    /**
+     * Moves the per-dependency {@code <key>.json} and {@code <key>.negative} files written by earlier
+     * versions into the store, keeping their modification time as the lookup time. Those files
+     * named the key with every separator replaced by {@code _}; names that do not split back into
+     * exactly four parts, and results that no longer parse, are dropped, which only costs a re-query.
+     */
+    private void migrateLegacyFiles() {
+        List<Path> legacyFiles;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            legacyFiles = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(LEGACY_RESULT_SUFFIX) || name.endsWith(LEGACY_NEGATIVE_SUFFIX);
+            }).toList();
+        } catch (IOException e) {
+            return;
+        }
+        if (legacyFiles.isEmpty()) {
+            return;
+        }
+        
+        ObjectMapper objectMapper = new ObjectMapper();
+        int migrated = 0;
+        for (Path file : legacyFiles) {
+            String name = file.getFileName().toString();
+            boolean negative = name.endsWith(LEGACY_NEGATIVE_SUFFIX);
+            String[] parts = name.substring(0, name.lastIndexOf('.')).split("_");
+            try {
+                if (parts.length == 4) {
+                    Instant cachedAt = Files.getLastModifiedTime(file).toInstant();
+                    List<Vulnerability> vulnerabilities = new ArrayList<>();
+                    if (!negative) {
+                        for (JsonNode node : objectMapper.readTree(file.toFile())) {
+                            vulnerabilities.add(fromLegacyJson(node));
+                        }
+                    }
+                    byte[] value = VulnerabilityCodec.encode(cachedAt, vulnerabilities);
+                    if (entries.putIfAbsent(String.join(":", parts), value) == null) {
+                        counters.stored(null, value);
+                        migrated++;
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Dropping legacy cache file {}: {}", file, e.getMessage());
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("Failed to delete legacy cache file {}: {}", file, e.getMessage());
+            }
+        }
+        store.commit();
+        logger.info("Migrated {} of {} legacy cache files into {}", migrated, legacyFiles.size(), storeFile);
+    }
+    
     /**
-     * Gets cache file path for dependency.
+     * Rebuilds a vulnerability from the bean JSON earlier versions wrote. Only plain properties
+     * survived that format; {@code Optional} ones (version range, CWE, CVSS) were written as empty
+     * objects, so {@code affectedVersions} is the only version data left.
      */
-    private Path getCacheFile(DependencyCoordinate dependency) {
-        String filename = buildCacheKey(dependency).replaceAll("[^a-zA-Z0-9._-]", "_") + ".json";
-        return cacheDirectory.resolve(filename);
+    private static Vulnerability fromLegacyJson(JsonNode node) {
+        return Vulnerability.builder()
+            .id(node.path("id").asText(null))
+            .source(VulnerabilitySource.valueOf(node.path("source").asText()))
+            .title(node.path("title").asText(null))
+            .description(node.path("description").asText(null))
+            .severity(Severity.valueOf(node.path("severity").asText()))
+            .affectedVersions(legacyStrings(node.path("affectedVersions")))
+            .references(legacyStrings(node.path("references")))
+            .aliases(legacyStrings(node.path("aliases")))
+            .build();
+    }
+    
+    private static List<String> legacyStrings(JsonNode array) {
+        List<String> values = new ArrayList<>();
+        array.forEach(value -> values.add(value.asText()));
+        return values;
     }
     
     /**
-     * Saves vulnerabilities to file.
+     * Outcome of a cache lookup.
      */
-    private void saveToFile(Path file, List<Vulnerability> vulnerabilities) throws IOException {
-        objectMapper.writeValue(file.toFile(), vulnerabilities);
+    public enum CacheStatus {
+        /** Cached vulnerabilities were found. */
+        HIT,
+        /** The dependency was looked up recently and had no vulnerabilities. */
+        NEGATIVE,
+        /** Never looked up, or the entry is older than the maximum staleness. */
+        MISS
     }
     
     /**
-     * Loads vulnerabilities from file.
+     * Result of {@link #lookup(DependencyCoordinate)}.
      */
-    @SuppressWarnings("unchecked")
-    private List<Vulnerability> loadFromFile(Path file) throws IOException {
-        return objectMapper.readValue(file.toFile(), List.class);
+    public record CacheLookup(CacheStatus status, List<Vulnerability> vulnerabilities, boolean stale, Instant cachedAt) {
+        
+        static final CacheLookup MISS = new CacheLookup(CacheStatus.MISS, List.of(), false, null);
+        
+        /**
+         * Checks whether the lookup can be answered from the cache, with or without vulnerabilities.
+         */
+        public boolean isCached() {
+            return status != CacheStatus.MISS;
+        }
+    }
+    
+    private record CacheEntry(List<Vulnerability> vulnerabilities, Instant cachedAt, Instant expiresAt, Instant staleUntil) {
+        
+        boolean isNegative() {
+            return vulnerabilities.isEmpty();
+        }
+        
+        boolean isStale(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+        
+        /**
+         * Estimates the retained size in bytes: a fixed overhead per entry and per vulnerability,
+         * plus two bytes per character of its text fields.
+         */
+        int weight() {
+            long weight = 96;
+            for (Vulnerability vulnerability : vulnerabilities) {
+                weight += 256 + 64L * vulnerability.getVersionRanges().size();
+                weight += 2L * (length(vulnerability.getId()) + length(vulnerability.getTitle())
+                    + length(vulnerability.getDescription()));
+                for (String text : vulnerability.getReferences()) {
+                    weight += 40 + 2L * text.length();
+                }
+                for (String text : vulnerability.getAliases()) {
+                    weight += 40 + 2L * text.length();
+                }
+                for (String text : vulnerability.getAffectedVersions()) {
+                    weight += 40 + 2L * text.length();
+                }
+            }
+            return (int) Math.min(Integer.MAX_VALUE, weight);
+        }
+        
+        private static int length(String text) {
+            return text != null ? text.length() : 0;
+        }
+        
+        CacheLookup toLookup(Instant now) {
+            return new CacheLookup(isNegative() ? CacheStatus.NEGATIVE : CacheStatus.HIT, vulnerabilities, isStale(now), cachedAt);
+        }
     }
     
     /**
@@ -296,15 +572,33 @@ public class VulnerabilityCacheService {
         private final int fileCacheEntries;
         private final int fileCacheVulnerabilities;
         private final long totalCacheSizeBytes;
+        private final long memoryCacheHits;
+        private final long memoryCacheMisses;
+        private final long memoryCacheEvictions;
+        private final long hits;
+        private final long negativeHits;
+        private final long staleHits;
+        private final long misses;
+        private final long expirations;
         
         public CacheStatistics(int memoryCacheEntries, int memoryCacheVulnerabilities,
                              int fileCacheEntries, int fileCacheVulnerabilities,
-                             long totalCacheSizeBytes) {
+                             long totalCacheSizeBytes,
+                             long memoryCacheHits, long memoryCacheMisses, long memoryCacheEvictions,
+                             long hits, long negativeHits, long staleHits, long misses, long expirations) {
             this.memoryCacheEntries = memoryCacheEntries;
             this.memoryCacheVulnerabilities = memoryCacheVulnerabilities;
             this.fileCacheEntries = fileCacheEntries;
             this.fileCacheVulnerabilities = fileCacheVulnerabilities;
             this.totalCacheSizeBytes = totalCacheSizeBytes;
+            this.memoryCacheHits = memoryCacheHits;
+            this.memoryCacheMisses = memoryCacheMisses;
+            this.memoryCacheEvictions = memoryCacheEvictions;
+            this.hits = hits;
+            this.negativeHits = negativeHits;
+            this.staleHits = staleHits;
+            this.misses = misses;
+            this.expirations = expirations;
         }
         
         public int getMemoryCacheEntries() { return memoryCacheEntries; }
@@ -312,6 +606,14 @@ public class VulnerabilityCacheService {
         public int getFileCacheEntries() { return fileCacheEntries; }
         public int getFileCacheVulnerabilities() { return fileCacheVulnerabilities; }
         public long getTotalCacheSizeBytes() { return totalCacheSizeBytes; }
+        public long getMemoryCacheHits() { return memoryCacheHits; }
+        public long getMemoryCacheMisses() { return memoryCacheMisses; }
+        public long getMemoryCacheEvictions() { return memoryCacheEvictions; }
+        public long getHits() { return hits; }
+        public long getNegativeHits() { return negativeHits; }
+        public long getStaleHits() { return staleHits; }
+        public long getMisses() { return misses; }
+        public long getExpirations() { return expirations; }
         
         public String getTotalCacheSizeHumanReadable() {
             if (totalCacheSizeBytes < 1024) {
@@ -0,0 +1,232 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of cached lookup results for {@link VulnerabilityCacheService}.
+ *
+ * <p>Layout: a format byte, the lookup time in epoch millis and the vulnerability count, followed
+ * by the vulnerabilities. The fixed-size header lets expiry and statistics read an entry without
+ * decoding it. Enums are written by name and version ranges by their bounds, so entries survive
+ * enum reordering and are rebuilt through the {@link VersionRange} factories.
+ *
+ * <p>Format 2 added the contributing sources of alias-merged advisories; format 1 entries hold
+ * unmerged results and are dropped as unreadable, so they are looked up again.
+ */
+final class VulnerabilityCodec {
+
+    static final byte FORMAT = 2;
+    private static final int HEADER_SIZE = 1 + Long.BYTES + Integer.BYTES;
+
+    private VulnerabilityCodec() {
+    }
+
+    /**
+     * Encodes a lookup result.
+     *
+     * @param cachedAt        lookup time
+     * @param vulnerabilities the vulnerabilities found; empty for a negative entry
+     */
+    static byte[] encode(Instant cachedAt, List<Vulnerability> vulnerabilities) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + 512 * vulnerabilities.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT);
+            out.writeLong(cachedAt.toEpochMilli());
+            out.writeInt(vulnerabilities.size());
+            for (Vulnerability vulnerability : vulnerabilities) {
+                writeVulnerability(out, vulnerability);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the lookup time from an encoded entry's header.
+     */
+    static Instant cachedAt(byte[] encoded) {
+        checkFormat(encoded);
+        return Instant.ofEpochMilli(ByteBuffer.wrap(encoded, 1, Long.BYTES).getLong());
+    }
+
+    /**
+     * Reads the vulnerability count from an encoded entry's header.
+     */
+    static int count(byte[] encoded) {
+        checkFormat(encoded);
+        return ByteBuffer.wrap(encoded, 1 + Long.BYTES, Integer.BYTES).getInt();
+    }
+
+    /**
+     * Decodes the vulnerabilities of an encoded entry.
+     *
+     * @throws IllegalArgumentException if the entry is truncated or of an unknown format
+     */
+    static List<Vulnerability> decode(byte[] encoded) {
+        checkFormat(encoded);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded, HEADER_SIZE - Integer.BYTES,
+                encoded.length))) {
+            int count = in.readInt();
+            List<Vulnerability> vulnerabilities = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                vulnerabilities.add(readVulnerability(in));
+            }
+            return List.copyOf(vulnerabilities);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated cache entry", e);
+        }
+    }
+
+    private static void checkFormat(byte[] encoded) {
+        if (encoded == null || encoded.length < HEADER_SIZE || encoded[0] != FORMAT) {
+            throw new IllegalArgumentException("Unknown cache entry format");
+        }
+    }
+
+    private static void writeVulnerability(DataOutputStream out, Vulnerability vulnerability) throws IOException {
+        writeString(out, vulnerability.getId());
+        writeString(out, vulnerability.getSource().name());
+        writeString(out, vulnerability.getTitle());
+        writeString(out, vulnerability.getDescription());
+        writeString(out, vulnerability.getSeverity().name());
+        writeStrings(out, vulnerability.getAffectedVersions());
+        writeRange(out, vulnerability.getVersionRange().orElse(null));
+        out.writeInt(vulnerability.getVersionRanges().size());
+        for (VersionRange range : vulnerability.getVersionRanges()) {
+            writeRange(out, range);
+        }
+        writeStrings(out, vulnerability.getReferences());
+        writeStrings(out, vulnerability.getAliases());
+        writeInstant(out, vulnerability.getPublishedAt());
+        writeInstant(out, vulnerability.getUpdatedAt());
+        writeString(out, vulnerability.getCweId().orElse(null));
+        Double cvssScore = vulnerability.getCvssScore().orElse(null);
+        out.writeBoolean(cvssScore != null);
+        if (cvssScore != null) {
+            out.writeDouble(cvssScore);
+        }
+        writeString(out, vulnerability.getCvssVector().orElse(null));
+        writeStrings(out, vulnerability.getSources().stream().map(Enum::name).toList());
+    }
+
+    private static Vulnerability readVulnerability(DataInputStream in) throws IOException {
+        Vulnerability.Builder builder = Vulnerability.builder()
+            .id(readString(in))
+            .source(VulnerabilitySource.valueOf(readString(in)))
+            .title(readString(in))
+            .description(readString(in))
+            .severity(Severity.valueOf(readString(in)))
+            .affectedVersions(readStrings(in))
+            .versionRange(readRange(in));
+        int rangeCount = in.readInt();
+        List<VersionRange> ranges = new ArrayList<>(rangeCount);
+        for (int i = 0; i < rangeCount; i++) {
+            ranges.add(readRange(in));
+        }
+        builder.versionRanges(ranges)
+            .references(readStrings(in))
+            .aliases(readStrings(in))
+            .publishedAt(readInstant(in))
+            .updatedAt(readInstant(in))
+            .cweId(readString(in));
+        if (in.readBoolean()) {
+            builder.cvssScore(in.readDouble());
+        }
+        builder.cvssVector(readString(in));
+        return builder.sources(readStrings(in).stream().map(VulnerabilitySource::valueOf).toList()).build();
+    }
+
+    private static void writeRange(DataOutputStream out, VersionRange range) throws IOException {
+        out.writeBoolean(range != null);
+        if (range != null) {
+            writeString(out, range.getType().name());
+            writeString(out, range.getMinVersion());
+            writeString(out, range.getMaxVersion());
+            out.writeBoolean(range.isIncludeMax());
+        }
+    }
+
+    private static VersionRange readRange(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        VersionRange.RangeType type = VersionRange.RangeType.valueOf(readString(in));
+        String min = readString(in);
+        String max = readString(in);
+        boolean includeMax = in.readBoolean();
+        return switch (type) {
+            case EXACT -> VersionRange.exact(min);
+            case MINIMUM -> VersionRange.minimum(min);
+            case MAXIMUM -> VersionRange.maximum(max, includeMax);
+            case RANGE -> VersionRange.between(min, max, includeMax);
+        };
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    // Length-prefixed UTF-8 rather than writeUTF, which is limited to 64 KB per string
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeBoolean(instant != null);
+        if (instant != null) {
+            out.writeLong(instant.getEpochSecond());
+            out.writeInt(instant.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -6,13 +6,19 @@ import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilityE
 import com.riskscanner.dependencyriskanalyzer.service.AiSettingsService;
 import com.riskscanner.dependencyriskanalyzer.service.ai.AiClient;
 import com.riskscanner.dependencyriskanalyzer.service.ai.AiClientFactory;
+import com.riskscanner.dependencyriskanalyzer.service.execution.ScanExecutionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 /**
  * Service for generating AI-powered explanations of vulnerability findings.
@@ -32,6 +38,12 @@ public class VulnerabilityExplanationService {
     @Autowired(required = false)
     private AiClientFactory aiClientFactory;
 
+    @Autowired
+    private ScanExecutionService scanExecution;
+
+    @Value("${buildaegis.scan.explanation-concurrency:4}")
+    private int explanationConcurrency;
+
     /**
      * Generates an AI explanation for a vulnerability finding.
      *
@@ -69,12 +81,14 @@ public class VulnerabilityExplanationService {
      * @return list of explanations (empty for failed AI calls)
      */
     public List<VulnerabilityExplanation> explainVulnerabilities(List<VulnerabilityFinding> findings,
-                                                               java.util.Map<String, List<String>> dependencyPaths) {
-        return findings.parallelStream()
-            .map(finding -> explainVulnerability(finding, dependencyPaths.getOrDefault(finding.getId(), List.of())))
-            .filter(Optional::isPresent)
-            .map(Optional::get)
-            .toList();
+                                                               Map<String, List<String>> dependencyPaths) {
+        // Explanations by finding position, in the order of the findings
+        VulnerabilityExplanation[] explanations = new VulnerabilityExplanation[findings.size()];
+        scanExecution.forEach(IntStream.range(0, findings.size()).boxed().toList(), explanationConcurrency, i -> {
+            VulnerabilityFinding finding = findings.get(i);
+            explanations[i] = explainVulnerability(finding, dependencyPaths.getOrDefault(finding.getId(), List.of())).orElse(null);
+        });
+        return Arrays.stream(explanations).filter(Objects::nonNull).toList();
     }
 
     /**
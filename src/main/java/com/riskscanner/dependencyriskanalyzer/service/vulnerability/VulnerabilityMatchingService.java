@@ -5,27 +5,53 @@ import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilityFinding;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.RiskScore;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.ConfidenceLevel;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.FalsePositiveAnalysis;
+import com.riskscanner.dependencyriskanalyzer.service.execution.RefreshQueue;
+import com.riskscanner.dependencyriskanalyzer.service.execution.ScanExecutionService;
+import com.riskscanner.dependencyriskanalyzer.service.execution.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 /**
  * Service for matching vulnerabilities to dependencies.
  *
- * <p>This service orchestrates multiple vulnerability providers and performs
- * intelligent matching using exact version matches and version range analysis.
+ * <p>This service orchestrates multiple vulnerability providers, queried concurrently
+ * on virtual threads, and performs intelligent matching using exact version matches
+ * and version range analysis.
  * Results are cached for performance and deduplicated across providers.
+ * Cached results past their TTL are served immediately, flagged stale, and refreshed on a bounded
+ * background queue that takes the most frequently requested coordinates first.
  */
 @Service
 public class VulnerabilityMatchingService {
@@ -36,19 +62,47 @@ public class VulnerabilityMatchingService {
     private final VulnerabilityCacheService cacheService;
     private final FalsePositiveAnalyzer falsePositiveAnalyzer;
     private final RiskScoreCalculator riskScoreCalculator;
-    private final Map<String, List<Vulnerability>> memoryCache = new ConcurrentHashMap<>();
+    private final ProviderHealthRegistry healthRegistry;
+    private final VulnerabilityPipelineMetrics pipelineMetrics;
+    private final ScanExecutionService scanExecution;
+    private final ProviderRoutingPolicy routingPolicy;
+    private final Duration providerTimeout;
+    private final Duration batchTimeout;
+    private final ExecutorService providerExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SingleFlight<String, List<Vulnerability>> inFlightLookups = new SingleFlight<>();
+    private final RefreshQueue<DependencyCoordinate> staleRefreshes;
 
     @Autowired
     public VulnerabilityMatchingService(List<VulnerabilityProvider> providers, 
                                        VulnerabilityCacheService cacheService,
                                        FalsePositiveAnalyzer falsePositiveAnalyzer,
-                                       RiskScoreCalculator riskScoreCalculator) {
+                                       RiskScoreCalculator riskScoreCalculator,
+                                       ProviderHealthRegistry healthRegistry,
+                                       VulnerabilityPipelineMetrics pipelineMetrics,
+                                       ScanExecutionService scanExecution,
+                                       ProviderRoutingPolicy routingPolicy,
+                                       @Value("${buildaegis.vulnerability.provider-timeout:PT10S}") Duration providerTimeout,
+                                       @Value("${buildaegis.vulnerability.batch-timeout:PT2M}") Duration batchTimeout,
+                                       @Value("${buildaegis.vulnerability.cache.refresh-threads:2}") int refreshThreads,
+                                       @Value("${buildaegis.vulnerability.cache.refresh-queue-size:1000}") int refreshQueueSize,
+                                       MeterRegistry meterRegistry) {
         this.providers = providers.stream()
             .sorted(Comparator.comparingInt(VulnerabilityProvider::getPriority))
             .collect(Collectors.toList());
         this.cacheService = cacheService;
         this.falsePositiveAnalyzer = falsePositiveAnalyzer;
         this.riskScoreCalculator = riskScoreCalculator;
+        this.healthRegistry = healthRegistry;
+        this.pipelineMetrics = pipelineMetrics;
+        this.scanExecution = scanExecution;
+        this.routingPolicy = routingPolicy;
+        this.providerTimeout = providerTimeout;
+        this.batchTimeout = batchTimeout;
+        inFlightLookups.bindTo(meterRegistry, "vulnerability-lookup");
+        cacheService.bindTo(meterRegistry);
+        this.staleRefreshes = new RefreshQueue<DependencyCoordinate>("vulnerability-refresh", refreshThreads,
+            refreshQueueSize, 10_000, dependency -> lookupMatched(dependency, BatchPrefetch.NONE))
+            .bindTo(meterRegistry, "vulnerability-cache");
         
         logger.info("Initialized vulnerability matching service with {} providers: {}", 
             providers.size(), 
@@ -74,70 +128,91 @@ public class VulnerabilityMatchingService {
      */
     public List<Vulnerability> getVulnerabilities(DependencyCoordinate dependency, 
                                                  FalsePositiveAnalyzer.AnalysisContext analysisContext) {
-        // Check cache first
-        List<Vulnerability> cached = cacheService.getCachedVulnerabilities(dependency);
-        if (!cached.isEmpty()) {
-            logger.debug("Returning cached vulnerabilities for {}", dependency);
+        return resolve(dependency, analysisContext).vulnerabilities();
+    }
+
+    private ResolvedVulnerabilities resolve(DependencyCoordinate dependency,
+                                            FalsePositiveAnalyzer.AnalysisContext analysisContext) {
+        // Check cache first; a negative entry means the dependency was recently found clean
+        VulnerabilityCacheService.CacheLookup cached = cachedLookup(dependency);
+        if (cached.isCached()) {
+            logger.debug("Returning cached ({}{}) vulnerabilities for {}", cached.status(), cached.stale() ? ", stale" : "", dependency);
             // Apply false positive analysis to cached results
-            return applyFalsePositiveAnalysis(cached, dependency, analysisContext);
+            return new ResolvedVulnerabilities(
+                sortResults(applyFalsePositiveAnalysis(cached.vulnerabilities(), dependency, analysisContext)),
+                true, cached.stale(), cached.cachedAt());
         }
 
-        List<Vulnerability> allVulnerabilities = new ArrayList<>();
-        boolean hasOfflineProviders = false;
-        
-        // Query all providers
-        for (VulnerabilityProvider provider : providers) {
-            if (provider.isHealthy()) {
-                try {
-                    logger.debug("Querying {} for vulnerabilities", provider.getSource().getDisplayName());
-                    List<Vulnerability> providerVulns = provider.getVulnerabilities(dependency);
-                    allVulnerabilities.addAll(providerVulns);
-                    
-                    logger.debug("Found {} vulnerabilities from {}", 
-                        providerVulns.size(), provider.getSource().getDisplayName());
-                        
-                } catch (Exception e) {
-                    logger.warn("Failed to query {} for {}: {}", 
-                        provider.getSource().getDisplayName(), dependency, e.getMessage());
-                }
-            } else {
-                logger.debug("Skipping unhealthy provider: {}", provider.getSource().getDisplayName());
-                if (provider.supportsOffline()) {
-                    hasOfflineProviders = true;
-                }
-            }
+        List<Vulnerability> matchedVulnerabilities = lookupMatched(dependency, BatchPrefetch.NONE);
+        return new ResolvedVulnerabilities(finishLookup(dependency, matchedVulnerabilities, analysisContext), false, false, null);
+    }
+
+    /**
+     * Checks the cache for a requested dependency. A stale entry is returned as is and its
+     * coordinate queued for a background refresh.
+     */
+    private VulnerabilityCacheService.CacheLookup cachedLookup(DependencyCoordinate dependency) {
+        staleRefreshes.recordAccess(dependency);
+        VulnerabilityCacheService.CacheLookup cached = cacheService.lookup(dependency);
+        if (cached.stale() && staleRefreshes.submit(dependency)) {
+            logger.debug("Queued background refresh of stale cache entry for {} (cached at {})", dependency, cached.cachedAt());
         }
+        return cached;
+    }
 
-        // If no online providers worked and we have offline capability, try offline providers
-        if (allVulnerabilities.isEmpty() && hasOfflineProviders) {
-            logger.info("No online providers available, trying offline providers for {}", dependency);
-            for (VulnerabilityProvider provider : providers) {
-                if (!provider.isHealthy() && provider.supportsOffline()) {
-                    try {
-                        logger.debug("Querying offline provider {} for vulnerabilities", provider.getSource().getDisplayName());
-                        List<Vulnerability> providerVulns = provider.getVulnerabilities(dependency);
-                        allVulnerabilities.addAll(providerVulns);
-                        
-                        logger.debug("Found {} vulnerabilities from offline provider {}", 
-                            providerVulns.size(), provider.getSource().getDisplayName());
-                            
-                    } catch (Exception e) {
-                        logger.warn("Failed to query offline provider {} for {}: {}", 
-                            provider.getSource().getDisplayName(), dependency, e.getMessage());
-                    }
-                }
+    /**
+     * Queries providers for a cache miss and caches the matched result.
+     *
+     * <p>Concurrent misses for the same coordinate share one lookup. The result is the raw match,
+     * before false positive analysis, so callers with different analysis contexts can share it.
+     */
+    private List<Vulnerability> lookupMatched(DependencyCoordinate dependency, BatchPrefetch prefetch) {
+        return inFlightLookups.execute(cacheService.buildCacheKey(dependency), () -> {
+            // A lookup for this coordinate may have completed since the caller's cache check, which
+            // already counted it; refreshes are not lookups at all
+            VulnerabilityCacheService.CacheLookup cached = cacheService.peek(dependency);
+            if (cached.isCached() && !cached.stale()) {
+                return cached.vulnerabilities();
             }
-        }
 
-        // Filter and match vulnerabilities
-        List<Vulnerability> matchedVulnerabilities = filterAndMatchVulnerabilities(dependency, allVulnerabilities);
-        
+            // Filter and match vulnerabilities
+            ProviderAnswers answers = lookupProviders(dependency, prefetch);
+            List<Vulnerability> matchedVulnerabilities = filterAndMatchVulnerabilities(dependency, answers.vulnerabilities());
+            routingPolicy.record(dependency, answers.latencies(), matchedVulnerabilities);
+
+            // Cache results (before false positive analysis to preserve original data). A clean result
+            // is only cached when every queried provider answered, not when they failed or timed out.
+            if (!matchedVulnerabilities.isEmpty() || answers.isConclusive()) {
+                cacheService.cacheVulnerabilities(dependency, matchedVulnerabilities);
+            }
+            return List.copyOf(matchedVulnerabilities);
+        });
+    }
+
+    /**
+     * Applies false positive analysis to matched vulnerabilities and sorts them.
+     */
+    private List<Vulnerability> finishLookup(DependencyCoordinate dependency, List<Vulnerability> matchedVulnerabilities,
+                                             FalsePositiveAnalyzer.AnalysisContext analysisContext) {
         // Apply false positive analysis
-        List<Vulnerability> analyzedVulnerabilities = applyFalsePositiveAnalysis(matchedVulnerabilities, dependency, analysisContext);
-        
-        // Sort by severity (highest first) and then by source priority
-        analyzedVulnerabilities.sort((v1, v2) -> {
-            int severityCompare = v2.getSeverity().ordinal() - v1.getSeverity().ordinal();
+        List<Vulnerability> analyzedVulnerabilities = sortResults(
+            applyFalsePositiveAnalysis(matchedVulnerabilities, dependency, analysisContext));
+
+        logger.info("Found {} total vulnerabilities affecting {} (from {} providers)", 
+            analyzedVulnerabilities.size(), dependency, 
+            analyzedVulnerabilities.stream().map(v -> v.getSource().getDisplayName()).distinct().count());
+
+        return analyzedVulnerabilities;
+    }
+
+    /**
+     * Sorts results by severity (highest first) and then by source priority, whether they came
+     * from the cache or from the providers.
+     */
+    private List<Vulnerability> sortResults(List<Vulnerability> vulnerabilities) {
+        vulnerabilities.sort((v1, v2) -> {
+            // Severity constants are declared from CRITICAL down to INFO
+            int severityCompare = Integer.compare(v1.getSeverity().ordinal(), v2.getSeverity().ordinal());
             if (severityCompare != 0) {
                 return severityCompare;
             }
@@ -147,15 +222,7 @@ public class VulnerabilityMatchingService {
             int priority2 = getProviderPriority(v2.getSource());
             return Integer.compare(priority1, priority2);
         });
-
-        // Cache results (before false positive analysis to preserve original data)
-        cacheService.cacheVulnerabilities(dependency, matchedVulnerabilities);
-        
-        logger.info("Found {} total vulnerabilities affecting {} (from {} providers)", 
-            analyzedVulnerabilities.size(), dependency, 
-            analyzedVulnerabilities.stream().map(v -> v.getSource().getDisplayName()).distinct().count());
-
-        return analyzedVulnerabilities;
+        return vulnerabilities;
     }
 
     /**
@@ -178,10 +245,27 @@ public class VulnerabilityMatchingService {
     public Map<DependencyCoordinate, List<Vulnerability>> getVulnerabilities(List<DependencyCoordinate> dependencies, 
                                                                             FalsePositiveAnalyzer.AnalysisContext analysisContext) {
         Map<DependencyCoordinate, List<Vulnerability>> results = new ConcurrentHashMap<>();
+        List<DependencyCoordinate> misses = new ArrayList<>();
+
+        for (DependencyCoordinate dependency : new LinkedHashSet<>(dependencies)) {
+            VulnerabilityCacheService.CacheLookup cached = cachedLookup(dependency);
+            if (cached.isCached()) {
+                results.put(dependency, sortResults(applyFalsePositiveAnalysis(cached.vulnerabilities(), dependency, analysisContext)));
+            } else {
+                misses.add(dependency);
+            }
+        }
+
+        if (misses.isEmpty()) {
+            return results;
+        }
+
+        // One bulk request per batch-capable provider, then per-dependency lookups for the rest
+        BatchPrefetch prefetch = prefetchBatchProviders(misses);
         
-        // Process dependencies in parallel for better performance
-        dependencies.parallelStream().forEach(dependency -> {
-            results.put(dependency, getVulnerabilities(dependency, analysisContext));
+        scanExecution.forEach(misses, dependency -> {
+            List<Vulnerability> matchedVulnerabilities = lookupMatched(dependency, prefetch);
+            results.put(dependency, finishLookup(dependency, matchedVulnerabilities, analysisContext));
         });
         
         return results;
@@ -253,10 +337,15 @@ public class VulnerabilityMatchingService {
             correlationId, dependency, dependencyDepth, analysisContext);
         
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        String cacheResult = "miss";
+        boolean success = false;
         
         try {
             // Get all vulnerabilities from multiple sources
-            List<Vulnerability> allVulnerabilities = getVulnerabilities(dependency, analysisContext);
+            ResolvedVulnerabilities resolved = resolve(dependency, analysisContext);
+            cacheResult = resolved.cacheResult();
+            List<Vulnerability> allVulnerabilities = resolved.vulnerabilities();
             logger.debug("correlationId={}, action=VULNERABILITIES_FOUND, count={}, sources={}", 
                 correlationId, allVulnerabilities.size(), 
                 allVulnerabilities.stream().map(v -> v.getSource()).distinct().toList());
@@ -267,8 +356,9 @@ public class VulnerabilityMatchingService {
             for (Vulnerability vulnerability : allVulnerabilities) {
                 try {
                     VulnerabilityFinding finding = createVulnerabilityFinding(
-                        dependency, vulnerability, dependencyDepth, analysisContext);
+                        dependency, vulnerability, dependencyDepth, analysisContext, resolved);
                     findings.add(finding);
+                    pipelineMetrics.recordFinding(vulnerability.getSeverity());
                     
                     logger.debug("correlationId={}, action=FINDING_CREATED, vulnerabilityId={}, riskScore={}, confidence={}", 
                         correlationId, vulnerability.getId(), finding.getRiskScore().getScore(), finding.getConfidenceLevel());
@@ -291,6 +381,7 @@ public class VulnerabilityMatchingService {
                 correlationId, findings.size(), duration, 
                 findings.stream().collect(Collectors.groupingBy(f -> f.getRiskScore().getRiskLevel(), Collectors.counting())));
             
+            success = true;
             return findings;
             
         } catch (Exception e) {
@@ -299,6 +390,7 @@ public class VulnerabilityMatchingService {
                 correlationId, dependency, duration, e.getMessage(), e);
             throw new RuntimeException("Failed to analyze vulnerabilities for " + dependency, e);
         } finally {
+            pipelineMetrics.recordAnalysis(cacheResult, success, System.nanoTime() - startNanos);
             LoggingConfig.CorrelationIdUtils.clearCorrelationId();
         }
     }
@@ -318,7 +410,7 @@ public class VulnerabilityMatchingService {
         
         Map<DependencyCoordinate, List<VulnerabilityFinding>> results = new ConcurrentHashMap<>();
         
-        dependencies.parallelStream().forEach(dependency -> {
+        scanExecution.forEach(new LinkedHashSet<>(dependencies), dependency -> {
             int depth = dependencyDepths.getOrDefault(dependency, 0);
             results.put(dependency, getVulnerabilityFindings(dependency, depth, analysisContext));
         });
@@ -332,22 +424,21 @@ public class VulnerabilityMatchingService {
     private VulnerabilityFinding createVulnerabilityFinding(DependencyCoordinate dependency, 
                                                               Vulnerability vulnerability, 
                                                               int dependencyDepth,
-                                                              FalsePositiveAnalyzer.AnalysisContext analysisContext) {
+                                                              FalsePositiveAnalyzer.AnalysisContext analysisContext,
+                                                              ResolvedVulnerabilities resolved) {
+        Timer.Sample scoring = Timer.start();
+
         // Calculate confidence
         boolean exactMatch = vulnerability.affectsVersionExact(dependency.version());
         double versionMatchQuality = vulnerability.getVersionMatchQuality(dependency.version());
-        List<String> sources = List.of(vulnerability.getSource().getDisplayName());
+        List<String> sources = vulnerability.getSources().stream().map(VulnerabilitySource::getDisplayName).toList();
         
         RiskScoreCalculator.ConfidenceCalculation confidenceCalc = 
             riskScoreCalculator.calculateConfidence(vulnerability, dependency, sources, exactMatch, versionMatchQuality);
 
         // Calculate risk score
-        boolean hasKnownExploit = vulnerability.getDescription().toLowerCase().contains("exploit") ||
-                                 vulnerability.getReferences().stream().anyMatch(ref -> 
-                                     ref.toLowerCase().contains("exploit") || ref.toLowerCase().contains("cve"));
-
-        RiskScore riskScore = riskScoreCalculator.calculateRiskScore(
-            vulnerability, dependency, sources, dependencyDepth, hasKnownExploit);
+        RiskScore riskScore = riskScoreCalculator.calculateRiskScore(vulnerability, dependency, sources, dependencyDepth);
+        scoring.stop(pipelineMetrics.riskScoring());
 
         // Create finding
         return VulnerabilityFinding.builder()
@@ -363,6 +454,8 @@ public class VulnerabilityMatchingService {
             .detectedAt(java.time.Instant.now())
             .analysisNotes("Risk score: " + riskScore.getCalculationExplanation() + 
                           "\nConfidence: " + confidenceCalc.getExplanation())
+            .stale(resolved.stale())
+            .dataAsOf(resolved.dataAsOf())
             .build();
     }
 
@@ -371,7 +464,6 @@ public class VulnerabilityMatchingService {
      */
     public void clearCache() {
         cacheService.clearCache();
-        memoryCache.clear();
         logger.info("Cleared vulnerability cache");
     }
 
@@ -384,7 +476,13 @@ public class VulnerabilityMatchingService {
             cacheStats.getMemoryCacheEntries(),
             cacheStats.getMemoryCacheVulnerabilities(),
             cacheStats.getFileCacheEntries(),
-            cacheStats.getFileCacheVulnerabilities()
+            cacheStats.getFileCacheVulnerabilities(),
+            cacheStats.getMemoryCacheHits(),
+            cacheStats.getMemoryCacheMisses(),
+            cacheStats.getMemoryCacheEvictions(),
+            cacheStats.getHits() + cacheStats.getNegativeHits(),
+            cacheStats.getMisses(),
+            cacheStats.getExpirations()
         );
     }
 
@@ -394,25 +492,15 @@ public class VulnerabilityMatchingService {
     private List<Vulnerability> filterAndMatchVulnerabilities(DependencyCoordinate dependency, 
                                                               List<Vulnerability> allVulnerabilities) {
         List<Vulnerability> matched = new ArrayList<>();
-        
-        // Deduplicate by ID (same vulnerability from multiple sources)
-        Map<String, Vulnerability> deduplicated = new ConcurrentHashMap<>();
-        
         for (Vulnerability vulnerability : allVulnerabilities) {
             // Check if vulnerability affects this dependency version
             if (vulnerability.affectsVersion(dependency.version())) {
-                String dedupKey = vulnerability.getId();
-                
-                // Keep the highest severity version if duplicates exist
-                Vulnerability existing = deduplicated.get(dedupKey);
-                if (existing == null || vulnerability.getSeverity().ordinal() > existing.getSeverity().ordinal()) {
-                    deduplicated.put(dedupKey, vulnerability);
-                }
+                matched.add(vulnerability);
             }
         }
         
-        matched.addAll(deduplicated.values());
-        return matched;
+        // One advisory per vulnerability: merge the same id and its aliases (CVE, GHSA, OSV) across sources
+        return AdvisoryMerger.merge(matched);
     }
 
     /**
@@ -421,40 +509,15 @@ public class VulnerabilityMatchingService {
     private List<Vulnerability> applyFalsePositiveAnalysis(List<Vulnerability> vulnerabilities, 
                                                           DependencyCoordinate dependency,
                                                           FalsePositiveAnalyzer.AnalysisContext analysisContext) {
-        List<FalsePositiveAnalysis> analyses = falsePositiveAnalyzer.analyze(vulnerabilities, dependency, analysisContext);
-        List<Vulnerability> adjustedVulnerabilities = new ArrayList<>();
+        List<Vulnerability> adjustedVulnerabilities = falsePositiveAnalyzer.applyAnalysis(vulnerabilities, dependency, analysisContext);
         
         for (int i = 0; i < vulnerabilities.size(); i++) {
             Vulnerability original = vulnerabilities.get(i);
-            FalsePositiveAnalysis analysis = analyses.get(i);
-            
-            if (analysis.isDowngraded()) {
-                // Create a new vulnerability with adjusted severity
-                Vulnerability adjusted = Vulnerability.builder()
-                    .id(original.getId())
-                    .source(original.getSource())
-                    .title(original.getTitle() + " [DOWNGRADED]")
-                    .description(original.getDescription() + 
-                        "\n\nFalse Positive Analysis: " + String.join("; ", analysis.getReasoning()) +
-                        "\nOriginal severity: " + original.getSeverity() + 
-                        ", Adjusted severity: " + analysis.getAdjustedSeverity())
-                    .severity(analysis.getAdjustedSeverity())
-                    .affectedVersions(original.getAffectedVersions())
-                    .versionRange(original.getVersionRange().orElse(null))
-                    .references(original.getReferences())
-                    .aliases(original.getAliases())
-                    .publishedAt(original.getPublishedAt())
-                    .updatedAt(original.getUpdatedAt())
-                    .cweId(original.getCweId().orElse(null))
-                    .cvssScore(original.getCvssScore().orElse(null))
-                    .cvssVector(original.getCvssVector().orElse(null))
-                    .build();
-                
-                adjustedVulnerabilities.add(adjusted);
+            Vulnerability adjusted = adjustedVulnerabilities.get(i);
+            if (adjusted != original) {
+                pipelineMetrics.recordDowngrade(original.getSeverity(), adjusted.getSeverity());
                 logger.debug("Downgraded vulnerability {} from {} to {} for {}", 
-                    original.getId(), original.getSeverity(), analysis.getAdjustedSeverity(), dependency);
-            } else {
-                adjustedVulnerabilities.add(original);
+                    original.getId(), original.getSeverity(), adjusted.getSeverity(), dependency);
             }
         }
         
@@ -462,12 +525,238 @@ public class VulnerabilityMatchingService {
     }
 
     /**
-     * Builds cache key for dependency.
+     * Queries the available providers for one dependency. Local mirrors stand in for online sources
+     * that could not answer, and offline providers are tried when no online provider produced results.
+     */
+    private ProviderAnswers lookupProviders(DependencyCoordinate dependency, BatchPrefetch prefetch) {
+        List<VulnerabilityProvider> onlineProviders = new ArrayList<>();
+        List<VulnerabilityProvider> offlineProviders = new ArrayList<>();
+        List<VulnerabilityProvider> mirrors = new ArrayList<>();
+        int unavailable = 0;
+        for (VulnerabilityProvider provider : providers) {
+            if (provider.getMirroredSource().isPresent() && provider.isHealthy()) {
+                mirrors.add(provider);
+            } else if (isAvailable(provider) && !prefetch.failed().contains(provider)) {
+                onlineProviders.add(provider);
+            } else {
+                if (provider.isHealthy()) {
+                    unavailable++; // Open breaker or failed batch: it might have reported something
+                }
+                logger.debug("Skipping unhealthy provider: {}", provider.getSource().getDisplayName());
+                if (provider.supportsOffline()) {
+                    offlineProviders.add(provider);
+                }
+            }
+        }
+
+        // Query the providers routing expects to contribute, concurrently. A provider routing skips was
+        // not asked, so like an unavailable one it keeps a clean result from being cached.
+        List<VulnerabilityProvider> routedProviders = routingPolicy.route(onlineProviders, dependency, prefetch.answered().keySet());
+        int skipped = onlineProviders.size() - routedProviders.size();
+        ProviderAnswers answers = queryProviders(routedProviders, dependency, true, prefetch);
+        answers = new ProviderAnswers(answers.vulnerabilities(), answers.answered(), answers.failed() + unavailable + skipped,
+            answers.latencies());
+
+        // A mirror answers in place of its source when that source was unavailable or failed; a source
+        // routing skipped was not expected to contribute, so neither is its mirror. The failure still
+        // keeps a clean result from being cached.
+        Set<VulnerabilitySource> routedAway = onlineProviders.stream()
+            .filter(provider -> !routedProviders.contains(provider))
+            .map(VulnerabilityProvider::getSource)
+            .collect(Collectors.toSet());
+        Map<VulnerabilitySource, Long> answeredSources = answers.latencies();
+        List<VulnerabilityProvider> standIns = mirrors.stream()
+            .filter(mirror -> {
+                VulnerabilitySource mirrored = mirror.getMirroredSource().orElseThrow();
+                return !answeredSources.containsKey(mirrored) && !routedAway.contains(mirrored);
+            })
+            .toList();
+        if (!standIns.isEmpty()) {
+            logger.info("Using local mirrors {} for {}", standIns.stream().map(p -> p.getSource().getDisplayName()).toList(), dependency);
+            ProviderAnswers local = queryProviders(standIns, dependency, false, BatchPrefetch.NONE);
+            List<Vulnerability> merged = new ArrayList<>(answers.vulnerabilities());
+            merged.addAll(local.vulnerabilities());
+            answers = new ProviderAnswers(merged, answers.answered() + local.answered(), answers.failed() + local.failed(),
+                answers.latencies());
+        }
+
+        // If no online providers worked and we have offline capability, try offline providers
+        if (answers.vulnerabilities().isEmpty() && !offlineProviders.isEmpty()) {
+            logger.info("No online providers available, trying offline providers for {}", dependency);
+            ProviderAnswers offline = queryProviders(offlineProviders, dependency, false, BatchPrefetch.NONE);
+            answers = new ProviderAnswers(offline.vulnerabilities(), answers.answered() + offline.answered(),
+                answers.failed() + offline.failed(), answers.latencies());
+        }
+        return answers;
+    }
+
+    /**
+     * Runs one bulk lookup per available batch-capable provider for all given dependencies.
+     *
+     * <p>Providers that fail or miss {@code batch-timeout} are excluded from the per-dependency
+     * lookups that follow, exactly like an unhealthy provider.
      */
-    private String buildCacheKey(DependencyCoordinate dependency) {
-        return String.format("%s:%s:%s:%s", 
-            dependency.groupId(), dependency.artifactId(), 
-            dependency.version(), dependency.buildTool());
+    private BatchPrefetch prefetchBatchProviders(List<DependencyCoordinate> dependencies) {
+        Map<VulnerabilityProvider, Future<Map<DependencyCoordinate, List<Vulnerability>>>> pending = new LinkedHashMap<>();
+        Map<VulnerabilityProvider, VulnerabilityPipelineMetrics.ProviderCall<?>> calls = new HashMap<>();
+        long deadline = System.nanoTime() + batchTimeout.toNanos();
+        for (VulnerabilityProvider provider : providers) {
+            if (provider.supportsBatch() && isAvailable(provider)) {
+                logger.debug("Querying {} in batch for {} dependencies", provider.getSource().getDisplayName(), dependencies.size());
+                VulnerabilityPipelineMetrics.ProviderCall<Map<DependencyCoordinate, List<Vulnerability>>> call =
+                    pipelineMetrics.providerCall(provider.getSource(), "batch", deadline, () -> provider.getVulnerabilities(dependencies));
+                calls.put(provider, call);
+                pending.put(provider, providerExecutor.submit(call));
+            }
+        }
+        if (pending.isEmpty()) {
+            return BatchPrefetch.NONE;
+        }
+
+        Map<VulnerabilityProvider, Map<DependencyCoordinate, List<Vulnerability>>> answered = new HashMap<>();
+        Set<VulnerabilityProvider> failed = new HashSet<>();
+
+        for (Map.Entry<VulnerabilityProvider, Future<Map<DependencyCoordinate, List<Vulnerability>>>> entry : pending.entrySet()) {
+            VulnerabilityProvider provider = entry.getKey();
+            try {
+                answered.put(provider, entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+                calls.get(provider).completed(null);
+                healthRegistry.recordSuccess(provider);
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(true);
+                calls.get(provider).timedOut();
+                failed.add(provider);
+                if (!calls.get(provider).isAwaitingPermit()) {
+                    healthRegistry.recordFailure(provider, e);
+                }
+                logger.warn("Dropping {} batch lookup: no answer within {} ms",
+                    provider.getSource().getDisplayName(), batchTimeout.toMillis());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                calls.get(provider).completed(cause);
+                failed.add(provider);
+                if (isHealthFailure(cause)) {
+                    healthRegistry.recordFailure(provider, cause);
+                }
+                logger.warn("Batch lookup on {} failed: {}", provider.getSource().getDisplayName(), cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.values().forEach(f -> f.cancel(true));
+                failed.addAll(pending.keySet());
+                failed.removeAll(answered.keySet());
+                break;
+            }
+        }
+        return new BatchPrefetch(answered, failed);
+    }
+
+    /**
+     * Queries the given providers concurrently and merges their results in priority order.
+     *
+     * <p>All providers start at once, so the lookup costs roughly the slowest provider rather than
+     * the sum. Each provider gets {@code provider-timeout} from the start of the fan-out; providers that
+     * fail or miss the deadline are cancelled and dropped from the merge. Providers already answered
+     * by a batch prefetch are served from it.
+     *
+     * @param recordHealth whether outcomes feed the providers' circuit breakers
+     * @return the merged vulnerabilities with the number of providers that answered and failed
+     */
+    private ProviderAnswers queryProviders(List<VulnerabilityProvider> selected, DependencyCoordinate dependency,
+                                               boolean recordHealth, BatchPrefetch prefetch) {
+        Map<VulnerabilityProvider, Future<List<Vulnerability>>> pending = new LinkedHashMap<>();
+        Map<VulnerabilityProvider, VulnerabilityPipelineMetrics.ProviderCall<?>> calls = new HashMap<>();
+        long deadline = System.nanoTime() + providerTimeout.toNanos();
+        for (VulnerabilityProvider provider : selected) {
+            Map<DependencyCoordinate, List<Vulnerability>> prefetched = prefetch.answered().get(provider);
+            if (prefetched != null) {
+                pending.put(provider, CompletableFuture.completedFuture(prefetched.getOrDefault(dependency, List.of())));
+                continue;
+            }
+            logger.debug("Querying {} for vulnerabilities", provider.getSource().getDisplayName());
+            VulnerabilityPipelineMetrics.ProviderCall<List<Vulnerability>> call = pipelineMetrics.providerCall(
+                provider.getSource(), recordHealth ? "single" : "offline", deadline, () -> provider.getVulnerabilities(dependency));
+            calls.put(provider, call);
+            pending.put(provider, providerExecutor.submit(call));
+        }
+
+        List<Vulnerability> vulnerabilities = new ArrayList<>();
+        Map<VulnerabilitySource, Long> latencies = new EnumMap<>(VulnerabilitySource.class);
+        int answered = 0;
+        int failed = 0;
+
+        for (Map.Entry<VulnerabilityProvider, Future<List<Vulnerability>>> entry : pending.entrySet()) {
+            VulnerabilityProvider provider = entry.getKey();
+            Future<List<Vulnerability>> future = entry.getValue();
+            VulnerabilityPipelineMetrics.ProviderCall<?> call = calls.get(provider); // null when prefetched
+            try {
+                List<Vulnerability> providerVulns = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (call != null) {
+                    call.completed(null);
+                }
+                if (recordHealth && !prefetch.answered().containsKey(provider)) {
+                    healthRegistry.recordSuccess(provider);
+                }
+                vulnerabilities.addAll(providerVulns);
+                answered++;
+                latencies.put(provider.getSource(), call != null ? call.elapsedNanos() : -1L);
+
+                logger.debug("Found {} vulnerabilities from {}",
+                    providerVulns.size(), provider.getSource().getDisplayName());
+
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                if (call != null) {
+                    call.timedOut();
+                }
+                failed++;
+                if (recordHealth && call != null && !call.isAwaitingPermit()) {
+                    healthRegistry.recordFailure(provider, e);
+                }
+                logger.warn("Dropping {} for {}: no answer within {} ms",
+                    provider.getSource().getDisplayName(), dependency, providerTimeout.toMillis());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                if (call != null) {
+                    call.completed(cause);
+                }
+                failed++;
+                if (recordHealth && isHealthFailure(cause)) {
+                    healthRegistry.recordFailure(provider, cause);
+                }
+                logger.warn("Failed to query {} for {}: {}",
+                    provider.getSource().getDisplayName(), dependency, cause.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.values().forEach(f -> f.cancel(true));
+                logger.warn("Interrupted while querying providers for {}", dependency);
+                failed += pending.size() - answered - failed;
+                break;
+            }
+        }
+
+        return new ProviderAnswers(vulnerabilities, answered, failed, recordHealth ? latencies : Map.of());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        staleRefreshes.shutdown();
+        providerExecutor.shutdownNow();
+    }
+
+    /**
+     * Checks whether a provider should be queried, using the cached breaker state instead of a live probe.
+     */
+    private boolean isAvailable(VulnerabilityProvider provider) {
+        return provider.isHealthy() && healthRegistry.isHealthy(provider);
+    }
+
+    /**
+     * Checks whether a failed call counts against the provider's circuit breaker. A lookup the
+     * provider could not answer for this request alone, or that our own rate limit held back,
+     * still makes the result inconclusive.
+     */
+    private static boolean isHealthFailure(Throwable cause) {
+        return !(cause instanceof ProviderLookupException) && !(cause instanceof ProviderThrottledException);
     }
 
     /**
@@ -481,6 +770,32 @@ public class VulnerabilityMatchingService {
             .orElse(Integer.MAX_VALUE);
     }
 
+    /**
+     * Merged provider results of one lookup, with how many providers answered and how many failed,
+     * timed out or were skipped (open circuit breaker, routing).
+     *
+     * @param latencies online providers that answered, with their latency in nanoseconds (negative
+     *                  when answered from a batch prefetch), for the routing statistics
+     */
+    private record ProviderAnswers(List<Vulnerability> vulnerabilities, int answered, int failed,
+                                   Map<VulnerabilitySource, Long> latencies) {
+
+        /**
+         * Checks whether an empty result can be trusted as "no known vulnerabilities".
+         */
+        boolean isConclusive() {
+            return answered > 0 && failed == 0;
+        }
+    }
+
+    /**
+     * Results of batch lookups shared by the per-dependency lookups of one request.
+     */
+    private record BatchPrefetch(Map<VulnerabilityProvider, Map<DependencyCoordinate, List<Vulnerability>>> answered,
+                                 Set<VulnerabilityProvider> failed) {
+        private static final BatchPrefetch NONE = new BatchPrefetch(Map.of(), Set.of());
+    }
+
     /**
      * Vulnerability statistics holder.
      */
@@ -512,6 +827,19 @@ public class VulnerabilityMatchingService {
         }
     }
 
+    /**
+     * Vulnerabilities resolved for one dependency, and whether they came from a (stale) cache entry.
+     *
+     * @param dataAsOf when the cached data was fetched; {@code null} for a fresh provider lookup
+     */
+    private record ResolvedVulnerabilities(List<Vulnerability> vulnerabilities, boolean cached, boolean stale,
+                                           Instant dataAsOf) {
+
+        String cacheResult() {
+            return !cached ? "miss" : stale ? "stale" : "hit";
+        }
+    }
+
     /**
      * Cache statistics holder.
      */
@@ -520,19 +848,39 @@ public class VulnerabilityMatchingService {
         private final int memoryCacheVulnerabilities;
         private final int fileCacheEntries;
         private final int fileCacheVulnerabilities;
+        private final long memoryCacheHits;
+        private final long memoryCacheMisses;
+        private final long memoryCacheEvictions;
+        private final long hits;
+        private final long misses;
+        private final long expirations;
 
         public CacheStatistics(int memoryCacheEntries, int memoryCacheVulnerabilities,
-                             int fileCacheEntries, int fileCacheVulnerabilities) {
+                             int fileCacheEntries, int fileCacheVulnerabilities,
+                             long memoryCacheHits, long memoryCacheMisses, long memoryCacheEvictions,
+                             long hits, long misses, long expirations) {
             this.memoryCacheEntries = memoryCacheEntries;
             this.memoryCacheVulnerabilities = memoryCacheVulnerabilities;
             this.fileCacheEntries = fileCacheEntries;
             this.fileCacheVulnerabilities = fileCacheVulnerabilities;
+            this.memoryCacheHits = memoryCacheHits;
+            this.memoryCacheMisses = memoryCacheMisses;
+            this.memoryCacheEvictions = memoryCacheEvictions;
+            this.hits = hits;
+            this.misses = misses;
+            this.expirations = expirations;
         }
 
         public int getMemoryCacheEntries() { return memoryCacheEntries; }
         public int getMemoryCacheVulnerabilities() { return memoryCacheVulnerabilities; }
         public int getFileCacheEntries() { return fileCacheEntries; }
         public int getFileCacheVulnerabilities() { return fileCacheVulnerabilities; }
+        public long getMemoryCacheHits() { return memoryCacheHits; }
+        public long getMemoryCacheMisses() { return memoryCacheMisses; }
+        public long getMemoryCacheEvictions() { return memoryCacheEvictions; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getExpirations() { return expirations; }
         
         public int getTotalEntries() { return memoryCacheEntries + fileCacheEntries; }
         public int getTotalVulnerabilities() { return memoryCacheVulnerabilities + fileCacheVulnerabilities; }
@@ -0,0 +1,175 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the vulnerability pipeline, published on {@code /actuator/metrics} and {@code /actuator/prometheus}.
+ *
+ * <ul>
+ *   <li>{@code buildaegis.vulnerability.provider.calls}: timer per provider call, tagged by
+ *       {@code source}, {@code mode} (single, batch, offline) and {@code outcome}
+ *       (success, timeout, throttled, unavailable, error)</li>
+ *   <li>{@code buildaegis.vulnerability.analysis}: timer per dependency analysis, tagged by
+ *       {@code cache} (hit, stale, miss) and {@code outcome}; the scan latency SLO metric</li>
+ *   <li>{@code buildaegis.vulnerability.risk.scoring}: timer of risk and confidence scoring per finding</li>
+ *   <li>{@code buildaegis.vulnerability.findings}: counter of findings by {@code severity}</li>
+ *   <li>{@code buildaegis.vulnerability.downgrades}: counter of false-positive downgrades by original
+ *       {@code severity} and {@code adjusted} severity</li>
+ * </ul>
+ *
+ * <p>Cache tiers publish their own meters: {@code cache.gets{cache=vulnerability-l1}} for the in-memory
+ * tier, {@code buildaegis.vulnerability.cache.lookups} for the store and {@code buildaegis.http.cache.requests}
+ * for conditional HTTP requests.
+ */
+@Component
+public class VulnerabilityPipelineMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer riskScoring;
+
+    public VulnerabilityPipelineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.riskScoring = Timer.builder("buildaegis.vulnerability.risk.scoring")
+            .description("Risk score and confidence calculation per finding")
+            .register(registry);
+    }
+
+    /**
+     * Wraps a provider call so its duration can be recorded with the outcome the caller observes.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} at which the caller stops waiting for the answer
+     */
+    <T> ProviderCall<T> providerCall(VulnerabilitySource source, String mode, long deadlineNanos, Callable<T> call) {
+        return new ProviderCall<>(source, mode, new LookupDeadline(deadlineNanos), call);
+    }
+
+    /**
+     * Records one dependency analysis from request to findings.
+     *
+     * @param cache {@code hit}, {@code stale} or {@code miss}
+     */
+    void recordAnalysis(String cache, boolean success, long durationNanos) {
+        Timer.builder("buildaegis.vulnerability.analysis")
+            .description("Vulnerability analysis of one dependency, from cache or provider lookup to scored findings")
+            .tag("cache", cache)
+            .tag("outcome", success ? "success" : "error")
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    Timer riskScoring() {
+        return riskScoring;
+    }
+
+    void recordFinding(Severity severity) {
+        Counter.builder("buildaegis.vulnerability.findings")
+            .description("Vulnerability findings reported")
+            .tag("severity", severity.name())
+            .register(registry)
+            .increment();
+    }
+
+    void recordDowngrade(Severity original, Severity adjusted) {
+        Counter.builder("buildaegis.vulnerability.downgrades")
+            .description("Vulnerabilities downgraded by false positive analysis")
+            .tag("severity", original.name())
+            .tag("adjusted", adjusted.name())
+            .register(registry)
+            .increment();
+    }
+
+    private void recordProviderCall(VulnerabilitySource source, String mode, String outcome, long durationNanos) {
+        Timer.builder("buildaegis.vulnerability.provider.calls")
+            .description("Vulnerability provider calls")
+            .tag("source", source.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+            .tag("mode", mode)
+            .tag("outcome", outcome)
+            .register(registry)
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static String outcomeOf(Throwable failure) {
+        if (failure == null) {
+            return "success";
+        }
+        if (failure instanceof ProviderThrottledException) {
+            return "throttled";
+        }
+        if (failure instanceof ProviderUnavailableException
+            || (failure instanceof Exception e && ProviderUnavailableException.isAvailabilityFailure(e))) {
+            return "unavailable";
+        }
+        return "error";
+    }
+
+    /**
+     * A provider call submitted to the lookup executor. The call notes when it ran; the caller
+     * records it once it knows the outcome, so calls cancelled after a timeout count only as timeouts.
+     */
+    final class ProviderCall<T> implements Callable<T> {
+
+        private final VulnerabilitySource source;
+        private final String mode;
+        private final LookupDeadline deadline;
+        private final Callable<T> call;
+        private final long submittedAt = System.nanoTime();
+        private volatile long finishedAt;
+
+        private ProviderCall(VulnerabilitySource source, String mode, LookupDeadline deadline, Callable<T> call) {
+            this.source = source;
+            this.mode = mode;
+            this.deadline = deadline;
+            this.call = call;
+        }
+
+        @Override
+        public T call() throws Exception {
+            try {
+                return deadline.run(call);
+            } finally {
+                finishedAt = System.nanoTime();
+            }
+        }
+
+        /**
+         * Records a call that returned or failed.
+         *
+         * @param failure the exception it failed with, or null
+         */
+        void completed(Throwable failure) {
+            recordProviderCall(source, mode, outcomeOf(failure), elapsedNanos());
+        }
+
+        /**
+         * Gets the time from submission until the call returned, or until now if it is still running.
+         */
+        long elapsedNanos() {
+            long end = finishedAt == 0 ? System.nanoTime() : finishedAt;
+            return end - submittedAt;
+        }
+
+        /**
+         * Checks whether the call is waiting for a permit of our own rate limit, i.e. it has not
+         * reached the provider yet.
+         */
+        boolean isAwaitingPermit() {
+            return deadline.isAwaitingPermit();
+        }
+
+        /**
+         * Records a call abandoned at its deadline.
+         */
+        void timedOut() {
+            recordProviderCall(source, mode, "timeout", System.nanoTime() - submittedAt);
+        }
+    }
+}
@@ -4,7 +4,10 @@ import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Interface for vulnerability data providers.
@@ -23,12 +26,53 @@ public interface VulnerabilityProvider {
     
     /**
      * Retrieves vulnerabilities for the given dependency.
-     * 
+     *
      * @param dependency the dependency coordinate to check
      * @return list of vulnerabilities affecting this dependency
+     * @throws ProviderUnavailableException if the source could not be reached or did not answer
      */
     List<Vulnerability> getVulnerabilities(DependencyCoordinate dependency);
-    
+
+    /**
+     * Retrieves vulnerabilities for many dependencies in one call.
+     *
+     * <p>The default implementation falls back to one {@link #getVulnerabilities(DependencyCoordinate)}
+     * call per dependency. Providers with a native bulk endpoint override this together
+     * with {@link #supportsBatch()}.
+     *
+     * @param dependencies the dependency coordinates to check
+     * @return vulnerabilities per dependency; every requested dependency is present
+     * @throws ProviderUnavailableException if the source could not be reached or did not answer
+     */
+    default Map<DependencyCoordinate, List<Vulnerability>> getVulnerabilities(List<DependencyCoordinate> dependencies) {
+        Map<DependencyCoordinate, List<Vulnerability>> results = new LinkedHashMap<>();
+        for (DependencyCoordinate dependency : dependencies) {
+            results.put(dependency, getVulnerabilities(dependency));
+        }
+        return results;
+    }
+
+    /**
+     * Checks if this provider has a native bulk lookup.
+     *
+     * @return true if {@link #getVulnerabilities(List)} is cheaper than per-dependency calls
+     */
+    default boolean supportsBatch() {
+        return false;
+    }
+
+    /**
+     * Gets the online source this provider holds a local copy of, if it only stands in for that source.
+     *
+     * <p>Such a provider is left out of the online fan-out and only queried for a dependency
+     * when the mirrored source was unavailable or failed.
+     *
+     * @return the mirrored source, or empty for a provider that is queried on its own
+     */
+    default Optional<VulnerabilitySource> getMirroredSource() {
+        return Optional.empty();
+    }
+
     /**
      * Checks if this provider supports offline operation.
      * 
@@ -48,12 +92,27 @@ public interface VulnerabilityProvider {
     
     /**
      * Checks if this provider is available and healthy.
-     * 
+     *
+     * <p>Must be cheap and must not perform network I/O; runtime health of remote
+     * providers is tracked by {@link ProviderHealthRegistry}.
+     *
      * @return true if provider is operational
      */
     default boolean isHealthy() {
         return true; // Default to healthy
     }
+
+    /**
+     * Performs a live connectivity check against the underlying source.
+     *
+     * <p>Only called by {@link ProviderHealthRegistry} when probing a provider whose
+     * circuit breaker is open, never on the lookup path.
+     *
+     * @return true if the source answered
+     */
+    default boolean probe() {
+        return isHealthy();
+    }
     
     /**
      * Gets a description of this provider.
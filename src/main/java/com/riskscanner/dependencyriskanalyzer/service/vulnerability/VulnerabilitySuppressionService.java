@@ -88,6 +88,8 @@ public class VulnerabilitySuppressionService {
             .sources(finding.getSources())
             .detectedAt(finding.getDetectedAt())
             .analysisNotes(finding.getAnalysisNotes().orElse(null))
+            .stale(finding.isStale())
+            .dataAsOf(finding.getDataAsOf().orElse(null))
             .build();
         
         logger.info("Suppressed vulnerability {} in {} by {}: {}", 
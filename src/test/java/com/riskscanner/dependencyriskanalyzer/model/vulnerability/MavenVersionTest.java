@@ -0,0 +1,66 @@
+package com.riskscanner.dependencyriskanalyzer.model.vulnerability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MavenVersionTest {
+
+    @Test
+    void ordersQualifiersLikeMaven() {
+        List<String> ascending = List.of(
+            "1-alpha-1", "1-alpha2", "1-beta-1", "1-m1", "1-rc1", "1-snapshot", "1", "1-sp", "1-abc", "1-1",
+            "1.0.1", "1.1-alpha1", "1.1", "1.2", "1.10", "2.0.0-RC1", "2.0.0", "10");
+
+        for (int i = 0; i < ascending.size() - 1; i++) {
+            String lower = ascending.get(i);
+            String higher = ascending.get(i + 1);
+            assertTrue(MavenVersion.compare(lower, higher) < 0, lower + " < " + higher);
+            assertTrue(MavenVersion.compare(higher, lower) > 0, higher + " > " + lower);
+        }
+    }
+
+    @Test
+    void normalizesEquivalentSpellings() {
+        assertEquivalent("1", "1.0.0");
+        assertEquivalent("1.0-ga", "1.0.Final");
+        assertEquivalent("5.6.15.Final", "5.6.15");
+        assertEquivalent("1.0RC1", "1.0-rc-1");
+        assertEquivalent("1.0-cr1", "1.0-RC1");
+        assertEquivalent("1.0a1", "1.0-alpha-1");
+        assertEquivalent("1.007", "1.7");
+        assertNotEquals(0, MavenVersion.compare("1.0-SNAPSHOT", "1.0"));
+    }
+
+    @Test
+    void comparesLargeNumbers() {
+        assertTrue(MavenVersion.compare("20230101120000", "20230101120001") < 0);
+        assertTrue(MavenVersion.compare("123456789012345678901", "123456789012345678902") < 0);
+        assertTrue(MavenVersion.compare("99999999999", "123456789012345678901") < 0);
+    }
+
+    @Test
+    void internsParsedVersions() {
+        assertSame(MavenVersion.parse("2.17.1"), MavenVersion.parse("2.17.1"));
+    }
+
+    @Test
+    void rangesUseMavenOrdering() {
+        VersionRange range = VersionRange.between("2.0-beta9", "2.15.0", false);
+
+        assertTrue(range.includes("2.0"));
+        assertTrue(range.includes("2.14.1"));
+        assertTrue(range.includes("2.15.0-rc1"));
+        assertFalse(range.includes("2.15.0"));
+        assertFalse(range.includes("2.0-alpha1"));
+        assertTrue(VersionRange.exact("1.0").includes("1.0.0"));
+        assertFalse(VersionRange.maximum("31.1-jre", false).includes("32.0.0-jre"));
+    }
+
+    private static void assertEquivalent(String v1, String v2) {
+        assertEquals(0, MavenVersion.compare(v1, v2), v1 + " == " + v2);
+        assertEquals(MavenVersion.parse(v1), MavenVersion.parse(v2));
+    }
+}
@@ -0,0 +1,80 @@
+package com.riskscanner.dependencyriskanalyzer.service.execution;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RefreshQueueTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<String> refreshed = new CopyOnWriteArrayList<>();
+    private RefreshQueue<String> queue;
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    void refreshesMostRequestedKeysFirst() throws Exception {
+        queue = new RefreshQueue<>("test-refresh", 1, 10, 100, this::refresh);
+        recordAccess("cold", 1);
+        recordAccess("warm", 3);
+        recordAccess("hot", 7);
+
+        // Occupies the single thread while the others queue up
+        assertTrue(queue.submit("blocker"));
+        assertTrue(queue.submit("cold"));
+        assertTrue(queue.submit("hot"));
+        assertTrue(queue.submit("warm"));
+        assertFalse(queue.submit("hot"), "already pending");
+        release.countDown();
+
+        awaitRefreshes(4);
+        assertEquals(List.of("blocker", "hot", "warm", "cold"), refreshed);
+        assertEquals(0, queue.getPending());
+    }
+
+    @Test
+    void dropsKeysWhenFull() throws Exception {
+        queue = new RefreshQueue<>("test-refresh", 1, 2, 100, this::refresh);
+
+        assertTrue(queue.submit("a"));
+        assertTrue(queue.submit("b"));
+        assertFalse(queue.submit("c"));
+        assertEquals(1, queue.getDropped());
+        release.countDown();
+
+        awaitRefreshes(2);
+        assertTrue(queue.submit("c"), "accepted again once drained");
+    }
+
+    private void refresh(String key) {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        refreshed.add(key);
+    }
+
+    private void recordAccess(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            queue.recordAccess(key);
+        }
+    }
+
+    private void awaitRefreshes(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((refreshed.size() < count || queue.getPending() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, refreshed.size());
+    }
+}
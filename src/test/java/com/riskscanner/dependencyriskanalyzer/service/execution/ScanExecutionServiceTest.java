@@ -0,0 +1,95 @@
+package com.riskscanner.dependencyriskanalyzer.service.execution;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanExecutionServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ScanExecutionService service = new ScanExecutionService(4, registry);
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        MDC.clear();
+    }
+
+    @Test
+    void processesEveryItemWithinTheConcurrencyLimit() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Map<Integer, Integer> results = new ConcurrentHashMap<>();
+
+        service.forEach(IntStream.range(0, 50).boxed().toList(), 3, i -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(5);
+            results.put(i, i * i);
+            running.decrementAndGet();
+        });
+
+        assertEquals(50, results.size());
+        assertTrue(maxRunning.get() <= 3, "max running " + maxRunning.get());
+        assertEquals(0, service.getActiveTasks());
+        assertEquals(0.0, registry.get("buildaegis.scan.tasks.active").gauge().value());
+    }
+
+    @Test
+    void propagatesCorrelationIdToWorkers() {
+        MDC.put("correlationId", "abc123");
+        Map<Integer, String> seen = new ConcurrentHashMap<>();
+
+        service.forEach(List.of(1, 2, 3), i -> seen.put(i, String.valueOf(MDC.get("correlationId"))));
+
+        assertEquals(Map.of(1, "abc123", 2, "abc123", 3, "abc123"), seen);
+        assertEquals("abc123", MDC.get("correlationId"));
+    }
+
+    @Test
+    void firstFailureCancelsTheRestAndIsRethrown() {
+        CountDownLatch blocked = new CountDownLatch(1);
+        AtomicInteger interrupted = new AtomicInteger();
+        AtomicInteger started = new AtomicInteger();
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () ->
+            service.forEach(IntStream.range(0, 100).boxed().toList(), 2, i -> {
+                started.incrementAndGet();
+                if (i == 0) {
+                    try {
+                        blocked.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        interrupted.incrementAndGet();
+                    }
+                    return;
+                }
+                throw new IllegalStateException("provider failed for " + i);
+            }));
+
+        assertEquals("provider failed for 1", thrown.getMessage());
+        assertTrue(started.get() < 100, "started " + started.get());
+        assertTimeoutPreemptively(java.time.Duration.ofSeconds(5), () -> {
+            while (interrupted.get() == 0) {
+                Thread.sleep(10);
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
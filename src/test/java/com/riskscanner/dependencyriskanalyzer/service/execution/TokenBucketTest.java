@@ -0,0 +1,79 @@
+package com.riskscanner.dependencyriskanalyzer.service.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsBurstThenRefillsEvenly() throws Exception {
+        TokenBucket bucket = new TokenBucket(2, Duration.ofMillis(400));
+
+        assertTrue(bucket.acquire(Duration.ZERO));
+        assertTrue(bucket.acquire(Duration.ZERO));
+        assertFalse(bucket.acquire(Duration.ZERO));
+        assertFalse(bucket.acquire(Duration.ofMillis(50)), "next token is ~200 ms away");
+
+        long start = System.nanoTime();
+        assertTrue(bucket.acquire(Duration.ofSeconds(2)));
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 100);
+    }
+
+    @Test
+    void pauseBlocksEvenAnUnlimitedBucket() throws Exception {
+        TokenBucket bucket = TokenBucket.unlimited();
+        assertTrue(bucket.acquire(Duration.ZERO));
+
+        bucket.pauseFor(Duration.ofMillis(200));
+        bucket.pauseFor(Duration.ofMillis(10)); // Shorter pauses do not cut the current one short
+
+        assertFalse(bucket.acquire(Duration.ZERO));
+        assertTrue(bucket.getPausedFor().toMillis() > 100);
+        assertTrue(bucket.acquire(Duration.ofSeconds(2)));
+        assertEquals(Duration.ZERO, bucket.getPausedFor());
+    }
+
+    @Test
+    void refundedTokensCanBeTakenAgain() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, Duration.ofHours(1));
+        assertTrue(bucket.acquire(Duration.ZERO));
+        assertFalse(bucket.acquire(Duration.ZERO));
+
+        bucket.refund();
+        assertTrue(bucket.acquire(Duration.ZERO));
+        assertFalse(bucket.acquire(Duration.ZERO));
+    }
+
+    @Test
+    void waitingCallersAreServedInArrivalOrder() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, Duration.ofMillis(100));
+        assertTrue(bucket.acquire(Duration.ZERO));
+        List<Integer> served = new CopyOnWriteArrayList<>();
+
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            int caller = i;
+            callers.add(Thread.ofVirtual().start(() -> {
+                try {
+                    if (bucket.acquire(Duration.ofSeconds(5))) {
+                        served.add(caller);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            Thread.sleep(20); // Let each caller queue before the next arrives
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        assertEquals(List.of(0, 1, 2), served);
+    }
+}
@@ -0,0 +1,84 @@
+package com.riskscanner.dependencyriskanalyzer.service.http;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpResponseCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private final URI pom = URI.create("https://repo1.maven.org/maven2/org/apache/commons/commons-text/1.9/commons-text-1.9.pom");
+    private final List<HttpResponseCache> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(HttpResponseCache::shutdown);
+    }
+
+    @Test
+    void keepsValidatorsAndBodiesAcrossRestarts() {
+        HttpResponseCache cache = reopen(DataSize.ofKilobytes(64));
+        Map<String, List<String>> headers = Map.of(
+            "Content-Type", List.of("text/xml"),
+            "ETag", List.of("\"abc\""),
+            "Last-Modified", List.of("Thu, 24 Sep 2020 10:00:00 GMT"),
+            "Date", List.of("Mon, 12 Oct 2026 08:00:00 GMT"));
+        cache.put(pom, headers, "<project/>".getBytes(StandardCharsets.UTF_8), null);
+
+        HttpResponseCache.Entry entry = reopen(DataSize.ofKilobytes(64)).get(pom);
+        assertEquals("\"abc\"", entry.etag());
+        assertEquals("Thu, 24 Sep 2020 10:00:00 GMT", entry.lastModified());
+        assertEquals("<project/>", new String(entry.body(), StandardCharsets.UTF_8));
+        assertFalse(entry.headers().containsKey("date"), "only content type and validators are stored");
+
+        Map<String, List<String>> replayed = HttpResponseCache.replayHeaders(
+            Map.of("ETag", List.of("\"abc\""), "X-RateLimit-Remaining", List.of("42"), "Content-Length", List.of("0")), entry);
+        assertEquals(List.of("text/xml"), replayed.get("Content-Type"));
+        assertEquals(List.of("42"), replayed.get("x-ratelimit-remaining"));
+        assertNull(replayed.get("Content-Length"));
+        assertEquals(List.of(HttpResponseCache.REVALIDATED), replayed.get(HttpResponseCache.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntriesBeyondMaxSize() {
+        HttpResponseCache cache = reopen(DataSize.ofBytes(250));
+        Map<String, List<String>> headers = Map.of("ETag", List.of("\"1\""));
+        byte[] body = new byte[100];
+
+        cache.put(URI.create("https://example.org/a"), headers, body, null);
+        cache.put(URI.create("https://example.org/b"), headers, body, null);
+        cache.revalidated(URI.create("https://example.org/a"), cache.get(URI.create("https://example.org/a")), Map.of());
+        cache.put(URI.create("https://example.org/c"), headers, body, null);
+
+        assertNotNull(cache.get(URI.create("https://example.org/a")));
+        assertNull(cache.get(URI.create("https://example.org/b")));
+        assertNotNull(cache.get(URI.create("https://example.org/c")));
+        assertEquals(200, cache.getSize());
+
+        cache.put(URI.create("https://example.org/no-store"),
+            Map.of("ETag", List.of("\"1\""), "Cache-Control", List.of("no-store")), body, null);
+        cache.put(URI.create("https://example.org/no-validator"), Map.of(), body, null);
+        assertEquals(2, cache.getEntryCount());
+    }
+
+    private HttpResponseCache reopen(DataSize maxSize) {
+        opened.forEach(HttpResponseCache::shutdown);
+        HttpResponseCache cache = new HttpResponseCache(true, cacheDir.toString(), maxSize, DataSize.ofKilobytes(1),
+            Duration.ofDays(30));
+        opened.add(cache);
+        return cache;
+    }
+}
@@ -0,0 +1,163 @@
+package com.riskscanner.dependencyriskanalyzer.service.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicInteger conditionalRequests = new AtomicInteger();
+    private HttpServer server;
+    private String baseUrl;
+    private HttpResponseCache responseCache;
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", this::gzip);
+        server.createContext("/slow", this::slow);
+        server.createContext("/etag", this::etag);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        responseCache = new HttpResponseCache(true, cacheDir.toString(), DataSize.ofMegabytes(1),
+            DataSize.ofKilobytes(64), Duration.ofDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        responseCache.shutdown();
+    }
+
+    @Test
+    void decodesGzipForBothClientStyles() throws Exception {
+        OutboundHttpClient client = client(4);
+
+        String body = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/gzip")).build()).body();
+        assertEquals("{\"vulns\":[]}", body);
+        assertEquals("{\"vulns\":[]}", client.restTemplate().getForObject(baseUrl + "/gzip", String.class));
+
+        assertEquals(2, meterRegistry.get("buildaegis.http.client.requests")
+            .tag("host", "127.0.0.1").tag("status", "200").timer().count());
+    }
+
+    @Test
+    void limitsConcurrentRequestsPerHost() throws Exception {
+        OutboundHttpClient client = client(2);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> responses = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                responses.add(executor.submit(
+                    () -> client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/slow")).build()).statusCode()));
+            }
+            for (Future<Integer> response : responses) {
+                assertEquals(200, response.get());
+            }
+        }
+
+        assertEquals(2, maxInFlight.get());
+    }
+
+    @Test
+    void revalidatesCachedResponsesForBothClientStyles() throws Exception {
+        OutboundHttpClient client = client(4);
+        URI uri = URI.create(baseUrl + "/etag");
+
+        assertEquals("{\"vulns\":[]}", client.send(HttpRequest.newBuilder(uri).build()).body());
+        HttpResponse<String> revalidated = client.send(HttpRequest.newBuilder(uri).build());
+        assertEquals(200, revalidated.statusCode());
+        assertEquals("{\"vulns\":[]}", revalidated.body());
+        assertEquals(HttpResponseCache.REVALIDATED,
+            revalidated.headers().firstValue(HttpResponseCache.CACHE_STATUS_HEADER).orElse(null));
+        assertEquals("59", revalidated.headers().firstValue("X-RateLimit-Remaining").orElse(null));
+
+        ResponseEntity<String> entity = client.restTemplate().getForEntity(uri, String.class);
+        assertEquals(200, entity.getStatusCode().value());
+        assertEquals("{\"vulns\":[]}", entity.getBody());
+        assertTrue(HttpResponseCache.isRevalidated(entity.getHeaders()));
+
+        assertEquals(2, conditionalRequests.get());
+        assertEquals(2, meterRegistry.get("buildaegis.http.cache.requests").tag("result", "revalidated")
+            .functionCounter().count());
+    }
+
+    private OutboundHttpClient client(int maxConcurrentPerHost) {
+        return new OutboundHttpClient(Duration.ofSeconds(5), Duration.ofSeconds(10), maxConcurrentPerHost,
+            responseCache, meterRegistry);
+    }
+
+    private void etag(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("ETag", "\"v1\"");
+        if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            conditionalRequests.incrementAndGet();
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", "59");
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        respond(exchange, "{\"vulns\":[]}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void gzip(HttpExchange exchange) throws IOException {
+        assertEquals("gzip", exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write("{\"vulns\":[]}".getBytes(StandardCharsets.UTF_8));
+        }
+        exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        respond(exchange, compressed.toByteArray());
+    }
+
+    private void slow(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        inFlight.decrementAndGet();
+        respond(exchange, "ok".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
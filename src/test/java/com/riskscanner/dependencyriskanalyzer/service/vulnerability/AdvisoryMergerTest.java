@@ -0,0 +1,73 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdvisoryMergerTest {
+
+    @Test
+    void mergesCveAndGhsaAdvisoriesIntoOneCanonicalAdvisory() {
+        Vulnerability osv = Vulnerability.builder()
+            .id("GHSA-jjjh-jjxp-wpff").source(VulnerabilitySource.OSV).severity(Severity.HIGH)
+            .aliases(List.of("CVE-2022-42003"))
+            .versionRanges(List.of(VersionRange.between("2.4.0", "2.12.7.1", false)))
+            .references(List.of("https://github.com/FasterXML/jackson-databind/issues/3590"))
+            .publishedAt(Instant.parse("2022-10-02T00:00:00Z"))
+            .build();
+        Vulnerability nvd = Vulnerability.builder()
+            .id("CVE-2022-42003").source(VulnerabilitySource.NVD).severity(Severity.HIGH)
+            .title("jackson-databind deep wrapper array nesting")
+            .cvssScore(7.5)
+            .versionRanges(List.of(VersionRange.between("2.4.0", "2.12.7.1", false)))
+            .publishedAt(Instant.parse("2022-10-02T05:15:00Z"))
+            .build();
+        Vulnerability github = Vulnerability.builder()
+            .id("GHSA-jjjh-jjxp-wpff").source(VulnerabilitySource.GITHUB).severity(Severity.CRITICAL)
+            .aliases(List.of("CVE-2022-42003"))
+            .build();
+
+        List<Vulnerability> merged = AdvisoryMerger.merge(List.of(osv, nvd, github));
+
+        assertEquals(1, merged.size());
+        Vulnerability canonical = merged.get(0);
+        assertEquals("CVE-2022-42003", canonical.getId());
+        assertEquals(VulnerabilitySource.NVD, canonical.getSource());
+        assertEquals(List.of(VulnerabilitySource.NVD, VulnerabilitySource.OSV, VulnerabilitySource.GITHUB), canonical.getSources());
+        assertEquals(List.of("GHSA-jjjh-jjxp-wpff"), canonical.getAliases());
+        assertEquals(Severity.CRITICAL, canonical.getSeverity());
+        assertEquals("jackson-databind deep wrapper array nesting", canonical.getTitle());
+        assertEquals(1, canonical.getVersionRanges().size());
+        assertEquals(List.of("https://github.com/FasterXML/jackson-databind/issues/3590"), canonical.getReferences());
+        assertEquals(Instant.parse("2022-10-02T00:00:00Z"), canonical.getPublishedAt());
+    }
+
+    @Test
+    void joinsTransitiveAliasesAndKeepsUnrelatedAdvisories() {
+        Vulnerability first = advisory("GHSA-aaaa-aaaa-aaaa", VulnerabilitySource.GITHUB, "CVE-2024-0001");
+        Vulnerability unrelated = advisory("CVE-2024-9999", VulnerabilitySource.NVD);
+        Vulnerability bridge = advisory("OSV-2024-1", VulnerabilitySource.OSV, "CVE-2024-0001", "GHSA-bbbb-bbbb-bbbb");
+        Vulnerability last = advisory("GHSA-bbbb-bbbb-bbbb", VulnerabilitySource.GITHUB);
+
+        List<Vulnerability> merged = AdvisoryMerger.merge(List.of(first, unrelated, bridge, last));
+
+        assertEquals(2, merged.size());
+        Vulnerability joined = merged.get(0);
+        assertEquals("GHSA-aaaa-aaaa-aaaa", joined.getId());
+        assertEquals(List.of(VulnerabilitySource.GITHUB, VulnerabilitySource.OSV), joined.getSources());
+        assertTrue(joined.getAliases().containsAll(List.of("CVE-2024-0001", "OSV-2024-1", "GHSA-bbbb-bbbb-bbbb")));
+        assertSame(unrelated, merged.get(1));
+        assertEquals(List.of(VulnerabilitySource.NVD), unrelated.getSources());
+    }
+
+    private static Vulnerability advisory(String id, VulnerabilitySource source, String... aliases) {
+        return Vulnerability.builder().id(id).source(source).severity(Severity.MEDIUM).aliases(List.of(aliases)).build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.config.SchedulingConfig;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.service.vulnerability.CpeDictionaryIndex.CpeProduct;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CpeDictionaryIndexTest {
+
+    private static final String CHUNK = """
+        {"resultsPerPage": 3, "format": "NVD_CPE", "version": "2.0", "products": [
+          {"cpe": {"deprecated": false, "cpeName": "cpe:2.3:a:fasterxml:jackson-databind:2.12.0:*:*:*:*:*:*:*",
+                   "titles": [{"title": "FasterXML jackson-databind 2.12.0", "lang": "en"}],
+                   "refs": [{"ref": "https://mvnrepository.com/artifact/com.fasterxml.jackson.core/jackson-databind", "type": "Version"}]}},
+          {"cpe": {"deprecated": false, "cpeName": "cpe:2.3:a:jdom:jdom:2.0.6:*:*:*:*:*:*:*"}},
+          {"cpe": {"deprecated": true, "cpeName": "cpe:2.3:a:example:legacy:1.0:*:*:*:*:*:*:*"}},
+          {"cpe": {"deprecated": false, "cpeName": "cpe:2.3:o:linux:linux_kernel:6.1:*:*:*:*:*:*:*"}}
+        ]}
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskScheduler scheduler = SchedulingConfig.newScheduler(1);
+    private final CpeDictionaryIndex index = new CpeDictionaryIndex("", "", Duration.ofHours(6), registry, scheduler);
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void resolvesBundledMappingsBeforeAnyImport() {
+        assertEquals(List.of(new CpeProduct("apache", "log4j")), index.resolve(coordinate("org.apache.logging.log4j", "log4j-core")));
+        assertEquals(2, index.resolve(coordinate("org.springframework", "spring-webmvc")).size());
+        assertEquals(List.of(), index.resolve(coordinate("org.jdom", "jdom")));
+        assertFalse(index.hasDictionary());
+    }
+
+    @Test
+    void resolvesDictionaryReferencesMappingsAndNamingCandidates() throws IOException {
+        Path chunks = Files.createDirectory(tempDir.resolve("nvdcpe-2.0-chunks"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(chunks.resolve("nvdcpe-2.0-chunk-00001.json.gz")))) {
+            out.write(CHUNK.getBytes(StandardCharsets.UTF_8));
+        }
+        Path mapping = Files.writeString(tempDir.resolve("mapping.txt"), """
+            # local additions
+            org.apache.logging.log4j:log4j-core=apache:log4j,apache:log4j2
+            com.example:*=example:platform
+            not-a-mapping
+            """);
+
+        CpeDictionaryIndex.ImportResult result = index.importFiles(chunks, mapping);
+
+        assertEquals(new CpeDictionaryIndex.ImportResult(2, 1, 2), result);
+        assertEquals(2, index.size());
+        assertTrue(index.hasDictionary());
+        assertEquals(List.of(new CpeProduct("apache", "log4j"), new CpeProduct("apache", "log4j2")),
+            index.resolve(coordinate("org.apache.logging.log4j", "log4j-core")));
+        assertEquals(List.of(new CpeProduct("example", "platform")), index.resolve(coordinate("com.example", "platform-api")));
+        assertEquals(List.of(new CpeProduct("jdom", "jdom")), index.resolve(coordinate("org.jdom", "jdom")));
+        assertEquals(List.of(), index.resolve(coordinate("com.example.internal", "legacy")));
+        assertEquals("cpe:2.3:a:fasterxml:jackson-databind",
+            index.resolve(coordinate("com.fasterxml.jackson.core", "jackson-databind")).get(0).matchString());
+
+        assertEquals(4, registry.get("buildaegis.vulnerability.cpe.lookups").tag("outcome", "hit").counter().count());
+        assertEquals(1, registry.get("buildaegis.vulnerability.cpe.lookups").tag("outcome", "miss").counter().count());
+    }
+
+    @Test
+    void reimportsWhenTheDictionaryChanges() throws IOException {
+        Path chunk = Files.writeString(tempDir.resolve("nvdcpe-2.0-chunk-00001.json"), CHUNK);
+        CpeDictionaryIndex configured = new CpeDictionaryIndex(chunk.toString(), "", Duration.ofHours(6), registry, scheduler);
+        try {
+            configured.refresh();
+            assertEquals(2, configured.size());
+
+            Files.writeString(chunk, "{\"products\": []}");
+            Files.setLastModifiedTime(chunk, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+            configured.refresh();
+            assertEquals(0, configured.size());
+        } finally {
+            configured.shutdown();
+        }
+    }
+
+    private static DependencyCoordinate coordinate(String groupId, String artifactId) {
+        return new DependencyCoordinate(groupId, artifactId, "1.0.0", "maven", "compile");
+    }
+}
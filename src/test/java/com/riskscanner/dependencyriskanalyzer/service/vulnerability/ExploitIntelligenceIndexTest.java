@@ -0,0 +1,151 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.config.SchedulingConfig;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.RiskScore;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExploitIntelligenceIndexTest {
+
+    private static final String KEV = """
+        {"title":"CISA Catalog of Known Exploited Vulnerabilities","catalogVersion":"2024.01.02","count":2,
+         "vulnerabilities":[
+           {"cveID":"CVE-2021-44228","vendorProject":"Apache","product":"Log4j2","dateAdded":"2021-12-10",
+            "knownRansomwareCampaignUse":"Known","cwes":["CWE-20","CWE-917"]},
+           {"cveID":"CVE-2022-22965","vendorProject":"VMware","product":"Spring Framework","dateAdded":"2022-04-04",
+            "knownRansomwareCampaignUse":"Unknown","cwes":[]}]}
+        """;
+
+    private static final String EPSS = """
+        #model_version:v2023.03.01,score_date:2024-01-02T00:00:00+0000
+        cve,epss,percentile
+        CVE-2021-44228,0.97565,0.99996
+        CVE-2022-42889,0.96808,0.99680
+        CVE-2020-0001,0.00043,0.09301
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final ThreadPoolTaskScheduler scheduler = SchedulingConfig.newScheduler(1);
+    private final ExploitIntelligenceIndex index = new ExploitIntelligenceIndex("", "", Duration.ofHours(1), scheduler);
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void joinsKevAndEpssByCve() throws IOException {
+        ExploitIntelligenceIndex.ImportResult result = index.importFiles(write("kev.json", KEV), gzip("epss.csv.gz", EPSS));
+
+        assertEquals(2, result.kevEntries());
+        assertEquals(3, result.epssEntries());
+        assertEquals(4, index.size());
+
+        ExploitIntelligenceIndex.ExploitIntel log4shell = index.lookup("CVE-2021-44228");
+        assertTrue(log4shell.knownExploited());
+        assertTrue(log4shell.ransomwareCampaignUse());
+        assertEquals(LocalDate.of(2021, 12, 10), log4shell.kevDateAdded());
+        assertEquals(0.97565f, log4shell.epss());
+
+        ExploitIntelligenceIndex.ExploitIntel spring4shell = index.lookup("CVE-2022-22965");
+        assertTrue(spring4shell.knownExploited());
+        assertFalse(spring4shell.hasEpss());
+
+        assertFalse(index.lookup("CVE-2022-42889").knownExploited());
+        assertNull(index.lookup("CVE-1999-0001"));
+    }
+
+    @Test
+    void looksUpAdvisoriesByAlias() throws IOException {
+        index.importFiles(write("kev.json", KEV), write("epss.csv", EPSS));
+
+        Vulnerability ghsa = Vulnerability.builder()
+            .id("GHSA-599f-7c49-w659")
+            .aliases(List.of("CVE-2022-42889"))
+            .source(VulnerabilitySource.GITHUB)
+            .severity(Severity.CRITICAL)
+            .build();
+        ExploitIntelligenceIndex.ExploitIntel intel = index.lookup(ghsa);
+        assertFalse(intel.knownExploited());
+        assertEquals(0.96808f, intel.epss());
+
+        Vulnerability unknown = Vulnerability.builder().id("GHSA-test-0001").source(VulnerabilitySource.OSV).severity(Severity.LOW).build();
+        assertNull(index.lookup(unknown));
+    }
+
+    @Test
+    void reloadsChangedFilesAsNewSnapshot() throws IOException {
+        Path kev = write("kev.json", KEV);
+        Path epss = write("epss.csv", EPSS);
+        ExploitIntelligenceIndex configured = new ExploitIntelligenceIndex(kev.toString(), epss.toString(), Duration.ofHours(1), scheduler);
+        try {
+            configured.refresh();
+            assertEquals(4, configured.size());
+
+            Files.writeString(epss, "cve,epss,percentile\nCVE-2023-0001,0.5,0.9\n");
+            Files.setLastModifiedTime(epss, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+            configured.refresh();
+
+            assertEquals(3, configured.size());
+            assertNull(configured.lookup("CVE-2022-42889"));
+            assertEquals(0.5f, configured.lookup("CVE-2023-0001").epss());
+            assertTrue(configured.lookup("CVE-2021-44228").knownExploited());
+        } finally {
+            configured.shutdown();
+        }
+    }
+
+    @Test
+    void scoresExploitComponentFromIntelligence() throws IOException {
+        index.importFiles(write("kev.json", KEV), write("epss.csv", EPSS));
+        RiskScoreCalculator calculator = new RiskScoreCalculator(index);
+        DependencyCoordinate dependency = new DependencyCoordinate("com.example", "lib", "1.0", "maven", "compile");
+
+        RiskScore kev = calculator.calculateRiskScore(vulnerability("CVE-2021-44228"), dependency, List.of("NVD"), 0);
+        RiskScore lowEpss = calculator.calculateRiskScore(vulnerability("CVE-2020-0001"), dependency, List.of("NVD"), 0);
+        RiskScore unknown = calculator.calculateRiskScore(vulnerability("CVE-1999-0001"), dependency, List.of("NVD"), 0);
+
+        assertTrue(kev.getCalculationExplanation().contains("CISA KEV since 2021-12-10"), kev.getCalculationExplanation());
+        assertTrue(kev.getScore() > lowEpss.getScore());
+        assertEquals(unknown.getScore(), lowEpss.getScore());
+        assertTrue(unknown.getCalculationExplanation().contains("no exploit intelligence"));
+    }
+
+    private static Vulnerability vulnerability(String id) {
+        return Vulnerability.builder().id(id).source(VulnerabilitySource.NVD).severity(Severity.HIGH).build();
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+
+    private Path gzip(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return file;
+    }
+}
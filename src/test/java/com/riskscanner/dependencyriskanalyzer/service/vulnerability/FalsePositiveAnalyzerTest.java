@@ -0,0 +1,66 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.FalsePositiveAnalysis;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FalsePositiveAnalyzerTest {
+
+    private final FalsePositiveAnalyzer analyzer = new FalsePositiveAnalyzer(1_000, new SimpleMeterRegistry());
+    private final DependencyCoordinate commonsText =
+        new DependencyCoordinate("org.apache.commons", "commons-text", "1.9", "maven", null);
+    private final Vulnerability text4shell = Vulnerability.builder()
+        .id("GHSA-599f-7c49-w659")
+        .source(VulnerabilitySource.GITHUB)
+        .title("Arbitrary code execution")
+        .description("Variable interpolation is Enabled by default in the StringSubstitutor component")
+        .severity(Severity.CRITICAL)
+        .build();
+
+    @Test
+    void memoizesAnalysesAndDowngradedCopiesPerContext() {
+        FalsePositiveAnalyzer.AnalysisContext testContext = FalsePositiveAnalyzer.AnalysisContext.testContext();
+
+        List<Vulnerability> adjusted = analyzer.applyAnalysis(List.of(text4shell), commonsText, testContext);
+        Vulnerability downgraded = adjusted.get(0);
+        assertNotSame(text4shell, downgraded);
+        assertEquals(Severity.MEDIUM, downgraded.getSeverity());
+        assertSame(downgraded, analyzer.applyAnalysis(List.of(text4shell), commonsText,
+            new FalsePositiveAnalyzer.AnalysisContext(true, false, false, false)).get(0));
+
+        FalsePositiveAnalysis analysis = analyzer.analyze(text4shell, commonsText, FalsePositiveAnalyzer.AnalysisContext.defaultContext());
+        assertFalse(analysis.isDowngraded());
+        assertSame(analysis, analyzer.analyze(text4shell, commonsText, FalsePositiveAnalyzer.AnalysisContext.defaultContext()));
+        assertSame(text4shell, analyzer.applyAnalysis(List.of(text4shell), commonsText,
+            FalsePositiveAnalyzer.AnalysisContext.defaultContext()).get(0));
+        assertTrue(analysis.getReasoning().contains("Vulnerability requires specific configuration that may not be present"));
+        assertTrue(analysis.getReasoning().contains("Vulnerability affects a component that is not used in this context"));
+    }
+
+    @Test
+    void analyzesARefreshedAdvisoryAfresh() {
+        FalsePositiveAnalyzer.AnalysisContext testContext = FalsePositiveAnalyzer.AnalysisContext.testContext();
+        Vulnerability downgraded = analyzer.applyAnalysis(List.of(text4shell), commonsText, testContext).get(0);
+
+        Vulnerability refreshed = Vulnerability.builder()
+            .id(text4shell.getId())
+            .source(text4shell.getSource())
+            .title(text4shell.getTitle())
+            .description(text4shell.getDescription())
+            .severity(Severity.HIGH)
+            .build();
+        Vulnerability downgradedRefresh = analyzer.applyAnalysis(List.of(refreshed), commonsText, testContext).get(0);
+
+        assertNotSame(downgraded, downgradedRefresh);
+        assertEquals(Severity.LOW, downgradedRefresh.getSeverity());
+        assertSame(downgradedRefresh, analyzer.applyAnalysis(List.of(refreshed), commonsText, testContext).get(0));
+    }
+}
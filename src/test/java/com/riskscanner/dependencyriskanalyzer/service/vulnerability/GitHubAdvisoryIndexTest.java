@@ -0,0 +1,152 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.riskscanner.dependencyriskanalyzer.config.SchedulingConfig;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import com.riskscanner.dependencyriskanalyzer.service.http.HttpResponseCache;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubAdvisoryIndexTest {
+
+    private static final String TEXT4SHELL = """
+        {"id":"GHSA-599f-7c49-w659","modified":"2024-01-01T00:00:00Z","summary":"Arbitrary code execution",
+         "aliases":["CVE-2022-42889"],
+         "database_specific":{"severity":"CRITICAL"},
+         "affected":[{"package":{"ecosystem":"Maven","name":"org.apache.commons:commons-text"},
+           "ranges":[{"type":"ECOSYSTEM","events":[{"introduced":"1.5"},{"fixed":"1.10.0"}]}]}]}
+        """;
+
+    private static final String NPM_ONLY = """
+        {"id":"GHSA-npm0-0000-0001","modified":"2024-01-01T00:00:00Z",
+         "affected":[{"package":{"ecosystem":"npm","name":"left-pad"},
+           "ranges":[{"type":"SEMVER","events":[{"introduced":"0"},{"fixed":"1.3.0"}]}]}]}
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final List<Object> events = new ArrayList<>();
+    private final ThreadPoolTaskScheduler scheduler = SchedulingConfig.newScheduler(1);
+    private Path checkout;
+    private GitHubAdvisoryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        checkout = tempDir.resolve("advisory-database");
+        index = newIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void importsReviewedAdvisoriesAndServesProvider() throws IOException {
+        writeAdvisory("2022/10/GHSA-599f-7c49-w659", TEXT4SHELL);
+        writeAdvisory("2024/01/GHSA-npm0-0000-0001", NPM_ONLY);
+
+        GitHubAdvisoryIndex.ImportResult result = index.importCheckout(checkout);
+        assertEquals(new GitHubAdvisoryIndex.ImportResult(2, 0, 0, 0, 0), result);
+
+        GitHubAdvisoryProvider provider = new GitHubAdvisoryProvider(index,
+            new OutboundHttpClient(Duration.ofSeconds(10), Duration.ofSeconds(30), 16,
+                new HttpResponseCache(false, "", DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), Duration.ofDays(1)),
+                new SimpleMeterRegistry()),
+            new ProviderRateLimiter(5, Duration.ofSeconds(30), 60, Duration.ofHours(1), 0, Duration.ofSeconds(1),
+                0, Duration.ofSeconds(1), Duration.ofSeconds(10)));
+        assertTrue(provider.supportsOffline());
+        List<Vulnerability> vulnerable = provider.getVulnerabilities(coordinate("1.9"));
+        assertEquals(1, vulnerable.size());
+        assertEquals(VulnerabilitySource.GITHUB, vulnerable.get(0).getSource());
+        assertTrue(provider.getVulnerabilities(coordinate("1.10.0")).isEmpty());
+    }
+
+    @Test
+    void reimportSkipsFilesWithUnchangedBlob() throws IOException {
+        Path text4shell = writeAdvisory("2022/10/GHSA-599f-7c49-w659", TEXT4SHELL);
+        Path npm = writeAdvisory("2024/01/GHSA-npm0-0000-0001", NPM_ONLY);
+        index.importCheckout(checkout);
+        assertEquals(List.of(touched("org.apache.commons:commons-text")), events);
+
+        // Touched by a fresh checkout, but same content
+        Files.setLastModifiedTime(text4shell, FileTime.from(Instant.now().plusSeconds(60)));
+        Files.delete(npm);
+        GitHubAdvisoryIndex.ImportResult result = index.importCheckout(checkout);
+        assertEquals(new GitHubAdvisoryIndex.ImportResult(0, 0, 1, 1, 0), result);
+        assertEquals(1, events.size(), "no Maven advisory changed");
+
+        Files.writeString(text4shell, TEXT4SHELL.replace("\"modified\"", "\"withdrawn\":\"2024-02-01T00:00:00Z\",\"modified\""));
+        result = index.importCheckout(checkout);
+        assertEquals(new GitHubAdvisoryIndex.ImportResult(0, 1, 0, 0, 0), result);
+        assertTrue(index.findByPackage("org.apache.commons:commons-text").isEmpty());
+        assertEquals(touched("org.apache.commons:commons-text"), events.get(1));
+    }
+
+    @Test
+    void persistedIndexIsLoadedOnStartup() throws Exception {
+        writeAdvisory("2022/10/GHSA-599f-7c49-w659", TEXT4SHELL);
+        index.importCheckout(checkout);
+        index.shutdown();
+
+        index = newIndex();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!index.isLoaded() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, index.findByPackage("org.apache.commons:commons-text").size());
+    }
+
+    @Test
+    void blobIdMatchesGit() {
+        // printf 'hello\n' | git hash-object --stdin
+        assertEquals("ce013625030ba8dba906f756967f9e9ca394464a",
+            GitHubAdvisoryIndex.gitBlobId("hello\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private GitHubAdvisoryIndex newIndex() {
+        return new GitHubAdvisoryIndex(objectMapper, events::add, "", tempDir.resolve("index").toString(), Duration.ofHours(1), scheduler);
+    }
+
+    private static AdvisoryFeedImportedEvent touched(String packageName) {
+        return new AdvisoryFeedImportedEvent("GitHub advisory database", Set.of(packageName), Set.of());
+    }
+
+    private Path writeAdvisory(String dir, String json) throws IOException {
+        String id = dir.substring(dir.lastIndexOf('/') + 1);
+        Path file = checkout.resolve("advisories/github-reviewed").resolve(dir).resolve(id + ".json");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json);
+        return file;
+    }
+
+    private static DependencyCoordinate coordinate(String version) {
+        return new DependencyCoordinate("org.apache.commons", "commons-text", version, "maven", null);
+    }
+}
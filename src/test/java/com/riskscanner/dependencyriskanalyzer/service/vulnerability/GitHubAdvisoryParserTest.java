@@ -0,0 +1,61 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitHubAdvisoryParserTest {
+
+    private static final DependencyCoordinate LOG4J =
+        new DependencyCoordinate("org.apache.logging.log4j", "log4j-core", "2.14.1", "maven", null);
+
+    @Test
+    void readsRestAndGraphQlFieldNames() throws IOException {
+        String response = """
+            [{"identifiers":[{"value":"GHSA-jfh8-c2jp-5v3q","type":"GHSA"},{"value":"CVE-2021-44228","type":"CVE"}],
+              "ghsa_id":"GHSA-jfh8-c2jp-5v3q","summary":"Remote code injection in Log4j","severity":"critical",
+              "html_url":"https://github.com/advisories/GHSA-jfh8-c2jp-5v3q","published_at":"2021-12-10T00:40:56Z",
+              "credits":[{"user":{"login":"someone"},"type":"reporter"}],
+              "vulnerabilities":[
+                {"vulnerable_version_range":">= 2.13.0, < 2.15.0","first_patched_version":"2.15.0",
+                 "package":{"ecosystem":"maven","name":"org.apache.logging.log4j:log4j-core"}},
+                {"package":{"ecosystem":"maven","name":"org.ops4j.pax.logging:pax-logging-log4j2"},
+                 "vulnerable_version_range":">= 1.11.0, < 1.11.10","first_patched_version":"1.11.10"}],
+              "cvss":{"vector_string":null,"score":null},
+              "cwes":[{"cwe_id":"CWE-502","name":"Deserialization of Untrusted Data"},{"cwe_id":"CWE-20"}]},
+             {"summary":"advisory without id"},
+             {"ghsaId":"GHSA-test-0001","publishedAt":"2024-01-01T00:00:00Z",
+              "cvss":{"score":5.3,"vectorString":"CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:U/C:L/I:N/A:N"},
+              "vulnerabilities":[{"package":{"ecosystem":"maven","name":"org.apache.logging.log4j:log4j-core"},
+                "vulnerableVersionRange":"< 2.17.1","firstPatchedVersion":{"identifier":"2.17.1"}}]}]
+            """;
+
+        List<Vulnerability> vulnerabilities = GitHubAdvisoryParser.parse(
+            new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)), LOG4J);
+
+        assertEquals(2, vulnerabilities.size());
+        Vulnerability log4shell = vulnerabilities.get(0);
+        assertEquals("GHSA-jfh8-c2jp-5v3q", log4shell.getId());
+        assertEquals(List.of("GHSA-jfh8-c2jp-5v3q", "CVE-2021-44228"), log4shell.getAliases());
+        assertEquals(Severity.CRITICAL, log4shell.getSeverity());
+        assertEquals(List.of("2.15.0"), log4shell.getAffectedVersions());
+        assertTrue(log4shell.getVersionRange().orElseThrow().includes("2.14.1"));
+        assertEquals("CWE-502", log4shell.getCweId().orElseThrow());
+        assertEquals(List.of("https://github.com/advisories/GHSA-jfh8-c2jp-5v3q"), log4shell.getReferences());
+        assertEquals(Instant.parse("2021-12-10T00:40:56Z"), log4shell.getPublishedAt());
+
+        Vulnerability graphQl = vulnerabilities.get(1);
+        assertEquals(5.3, graphQl.getCvssScore().orElseThrow());
+        assertEquals(List.of("2.17.1"), graphQl.getAffectedVersions());
+        assertTrue(graphQl.getVersionRange().orElseThrow().includes("2.17.0"));
+    }
+}
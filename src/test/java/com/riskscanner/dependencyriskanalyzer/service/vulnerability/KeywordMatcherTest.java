@@ -0,0 +1,47 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeywordMatcherTest {
+
+    private static final List<String> KEYWORDS = List.of("configuration", "enabled", "setting", "when", "module", "component", "feature");
+
+    @Test
+    void findsOverlappingKeywordsIgnoringCase() {
+        KeywordMatcher matcher = new KeywordMatcher(List.of("he", "she", "his", "hers"));
+
+        assertEquals(0b1011, matcher.match("uSHERs"));
+        assertEquals(0b0100, matcher.match("this"));
+        assertEquals(0, matcher.match("hé sé"));
+        assertEquals(0, matcher.match(null));
+    }
+
+    @Test
+    void matchesContainsOnEveryKeyword() {
+        KeywordMatcher matcher = new KeywordMatcher(KEYWORDS);
+        Random random = new Random(42);
+        String[] words = {"When", "the", "XML", "module", "is", "ENABLED", "settings", "component", "featur", "config",
+            "configuration", "wh", "en", "é"};
+
+        for (int i = 0; i < 2_000; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = random.nextInt(12); w > 0; w--) {
+                text.append(words[random.nextInt(words.length)]).append(random.nextBoolean() ? " " : "");
+            }
+            String lower = text.toString().toLowerCase(Locale.ROOT);
+            long expected = 0;
+            for (int k = 0; k < KEYWORDS.size(); k++) {
+                if (lower.contains(KEYWORDS.get(k))) {
+                    expected |= 1L << k;
+                }
+            }
+            assertEquals(expected, matcher.match(text), text::toString);
+        }
+    }
+}
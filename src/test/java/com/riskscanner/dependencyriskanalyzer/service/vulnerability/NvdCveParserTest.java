@@ -0,0 +1,84 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NvdCveParserTest {
+
+    private static final String PAGE = """
+        {"resultsPerPage":3,"startIndex":0,"totalResults":7,"format":"NVD_CVE","version":"2.0",
+         "vulnerabilities":[
+          {"cve":{"id":"CVE-2021-44228","sourceIdentifier":"security@apache.org",
+            "published":"2021-12-10T10:15:09.143","lastModified":"2024-04-03T17:24:40.057",
+            "cveTags":[],"unmapped":{"nested":[{"id":"not-the-record-id"}]},
+            "descriptions":[{"lang":"es","value":"Las funciones JNDI"},{"lang":"en","value":"Apache Log4j2 JNDI features"}],
+            "metrics":{
+              "cvssMetricV2":[{"cvssData":{"baseScore":9.3,"vectorString":"AV:N/AC:M/Au:N/C:C/I:C/A:C"}}],
+              "cvssMetricV31":[{"source":"nvd@nist.gov","cvssData":{"baseScore":10.0,"vectorString":"CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:C/C:H/I:H/A:H"}},
+                               {"cvssData":{"baseScore":1.0}}]},
+            "weaknesses":[{"description":[{"lang":"fr","value":"CWE-1"}]},{"description":[{"lang":"en","value":"CWE-502"}]}],
+            "configurations":[{"nodes":[
+              {"operator":"OR","cpeMatch":[
+                {"vulnerable":true,"criteria":"cpe:2.3:a:apache:log4j:*:*:*:*:*:*:*:*","versionStartIncluding":"2.13.0","versionEndExcluding":"2.15.0"},
+                {"criteria":"cpe:2.3:a:apache:log4j:2.0:beta9:*:*:*:*:*:*","vulnerable":true},
+                {"vulnerable":false,"criteria":"cpe:2.3:a:apache:log4j:2.16.0:*:*:*:*:*:*:*"},
+                {"vulnerable":true,"criteria":"cpe:2.3:o:debian:debian_linux:10.0:*:*:*:*:*:*:*"}]},
+              {"cpeMatch":[{"vulnerable":true,"criteria":"cpe:2.3:a:example:negated:*:*:*:*:*:*:*:*"}],"negate":true}]}],
+            "references":[{"url":"https://logging.apache.org/log4j/2.x/security.html","tags":["Vendor Advisory"]}]}},
+          {"cve":{"descriptions":[{"lang":"en","value":"record without id"}]}},
+          {"cve":{"id":"CVE-2024-00001","published":"2024-01-01T00:00:00.000","lastModified":"2024-01-02T00:00:00.000"}}]}
+        """;
+
+    @Test
+    void streamsPageAndSkipsUnmappedFields() throws IOException {
+        NvdCveParser.Page page = NvdCveParser.parsePage(body(PAGE));
+
+        assertEquals(3, page.resultsPerPage());
+        assertEquals(7, page.totalResults());
+        assertEquals(1, page.skipped());
+        assertEquals(List.of("CVE-2021-44228", "CVE-2024-00001"), page.records().stream().map(NvdCveRecord::id).toList());
+
+        NvdCveRecord log4shell = page.records().get(0);
+        assertEquals("Apache Log4j2 JNDI features", log4shell.description());
+        assertEquals(10.0, log4shell.cvssScore()); // v3.1 wins over v2, regardless of order
+        assertEquals(Severity.CRITICAL, log4shell.severity());
+        assertEquals("CWE-502", log4shell.cweId());
+        assertEquals(List.of("https://logging.apache.org/log4j/2.x/security.html"), log4shell.references());
+        assertEquals(Instant.parse("2021-12-10T10:15:09.143Z"), log4shell.published());
+
+        // Only vulnerable application CPEs of non-negated nodes, even when "negate" follows "cpeMatch"
+        assertEquals(List.of("2.13.0", "2.0"), log4shell.cpeMatches().stream()
+            .map(match -> match.versionStartIncluding() != null ? match.versionStartIncluding() : match.version())
+            .toList());
+
+        NvdCveRecord bare = page.records().get(1);
+        assertEquals("", bare.description());
+        assertEquals(Severity.MEDIUM, bare.severity());
+        assertNull(bare.cvssScore());
+    }
+
+    @Test
+    void treeAndStreamParsingAgree() throws IOException {
+        var item = new ObjectMapper().readTree(PAGE).path("vulnerabilities").get(0).path("cve");
+        assertEquals(NvdCveParser.parsePage(body(PAGE)).records().get(0), NvdCveParser.parse(item));
+    }
+
+    @Test
+    void bodyWithoutObjectHasNoPage() throws IOException {
+        assertNull(NvdCveParser.parsePage(body("")));
+        assertNull(NvdCveParser.parsePage(body("[]")));
+    }
+
+    private static ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,214 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.NvdCpeMatchEntity;
+import com.riskscanner.dependencyriskanalyzer.model.NvdCveEntity;
+import com.riskscanner.dependencyriskanalyzer.model.NvdMirrorStateEntity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.repository.NvdCpeMatchRepository;
+import com.riskscanner.dependencyriskanalyzer.repository.NvdCveRepository;
+import com.riskscanner.dependencyriskanalyzer.repository.NvdMirrorStateRepository;
+import com.riskscanner.dependencyriskanalyzer.service.http.OutboundHttpClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseActions;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.queryParam;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class NvdMirrorServiceTest {
+
+    private static final String BASE_URL = "https://services.nvd.nist.gov/rest/json/cves/2.0";
+    private static final DateTimeFormatter NVD_DATE_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final NvdCveRepository cveRepository = mock(NvdCveRepository.class);
+    private final NvdCpeMatchRepository cpeMatchRepository = mock(NvdCpeMatchRepository.class);
+    private final NvdMirrorStateRepository stateRepository = mock(NvdMirrorStateRepository.class);
+    private final AtomicReference<NvdMirrorStateEntity> state = new AtomicReference<>();
+    private NvdMirrorService mirror;
+
+    @BeforeEach
+    void setUp() {
+        when(stateRepository.findById(1L)).thenAnswer(invocation -> Optional.ofNullable(state.get()));
+        when(stateRepository.save(any())).thenAnswer(invocation -> {
+            state.set(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+        OutboundHttpClient httpClient = mock(OutboundHttpClient.class);
+        when(httpClient.restTemplate()).thenReturn(restTemplate);
+
+        when(cveRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<String> ids = invocation.getArgument(0);
+            List<NvdCveEntity> cves = new ArrayList<>();
+            ids.forEach(id -> cves.add(cve(id)));
+            return cves;
+        });
+
+        mirror = new NvdMirrorService(cveRepository, cpeMatchRepository, stateRepository,
+            mock(PlatformTransactionManager.class), new ObjectMapper(), mock(ApplicationEventPublisher.class), httpClient,
+            BASE_URL, "", "", Duration.ofHours(2), Duration.ZERO, mock(TaskScheduler.class));
+    }
+
+    @Test
+    void splitsTheSyncIntoWindowsOfAtMost120Days() throws Exception {
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS).minus(Duration.ofDays(250));
+        Instant second = start.plus(Duration.ofDays(120));
+        Instant third = second.plus(Duration.ofDays(120));
+        state.set(state(start));
+
+        // The first window spans two pages
+        expectWindow(start, second, 0).andRespond(page(2, "CVE-2024-00001"));
+        expectWindow(start, second, 1).andRespond(page(2, "CVE-2024-00002"));
+        expectWindow(second, third, 0).andRespond(page(0));
+        server.expect(once(), requestTo(startsWith(BASE_URL)))
+            .andExpect(queryParam("lastModStartDate", NVD_DATE_FORMAT.format(third)))
+            .andExpect(queryParam("startIndex", "0"))
+            .andRespond(page(1, "CVE-2024-00003"));
+
+        NvdMirrorService.SyncResult result = mirror.sync();
+
+        server.verify();
+        assertEquals(new NvdMirrorService.SyncResult(3, 3), result);
+        assertTrue(state.get().getLastModified().isAfter(third));
+        assertNotNull(state.get().getLastSyncAt());
+    }
+
+    @Test
+    void resumesFromTheLastCompletedWindowAfterAFailure() throws Exception {
+        Instant start = Instant.now().truncatedTo(ChronoUnit.MILLIS).minus(Duration.ofDays(200));
+        Instant second = start.plus(Duration.ofDays(120));
+        state.set(state(start));
+
+        expectWindow(start, second, 0).andRespond(page(1, "CVE-2024-00001"));
+        server.expect(once(), requestTo(startsWith(BASE_URL)))
+            .andExpect(queryParam("lastModStartDate", NVD_DATE_FORMAT.format(second)))
+            .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThrows(HttpServerErrorException.class, mirror::sync);
+        server.verify();
+        assertEquals(second, state.get().getLastModified());
+
+        server.reset();
+        server.expect(once(), requestTo(startsWith(BASE_URL)))
+            .andExpect(queryParam("lastModStartDate", NVD_DATE_FORMAT.format(second)))
+            .andExpect(queryParam("startIndex", "0"))
+            .andRespond(page(1, "CVE-2024-00002"));
+
+        NvdMirrorService.SyncResult result = mirror.sync();
+
+        server.verify();
+        assertEquals(new NvdMirrorService.SyncResult(1, 1), result);
+        assertTrue(state.get().getLastModified().isAfter(second));
+    }
+
+    @Test
+    void refusesToSyncAnEmptyMirror() {
+        assertThrows(IllegalStateException.class, mirror::sync);
+        server.verify();
+    }
+
+    @Test
+    void matchesTheResolvedCpeProductsOnly() {
+        DependencyCoordinate springCore = new DependencyCoordinate("org.springframework", "spring-core", "5.3.0", "maven", null);
+        when(cpeMatchRepository.findByProductIn(Set.of("spring_framework"))).thenReturn(List.of(
+            cpeMatch("CVE-2022-22965", "vmware", "spring_framework"),
+            cpeMatch("CVE-2099-00001", "other", "spring_framework")));
+
+        List<Vulnerability> vulnerabilities = mirror.findVulnerabilities(springCore,
+            List.of(new CpeDictionaryIndex.CpeProduct("vmware", "spring_framework")));
+
+        assertEquals(List.of("CVE-2022-22965"), vulnerabilities.stream().map(Vulnerability::getId).toList());
+    }
+
+    @Test
+    void guessesCpeNamesWhenNothingResolved() {
+        DependencyCoordinate springCore = new DependencyCoordinate("org.springframework", "spring-core", "5.3.0", "maven", null);
+        when(cpeMatchRepository.findByProductIn(any())).thenReturn(List.of(
+            cpeMatch("CVE-2022-22965", "springframework", "spring_core")));
+
+        List<Vulnerability> vulnerabilities = mirror.findVulnerabilities(springCore, List.of());
+
+        assertEquals(List.of("CVE-2022-22965"), vulnerabilities.stream().map(Vulnerability::getId).toList());
+        verify(cpeMatchRepository).findByProductIn(Set.of("spring-core", "spring_core"));
+    }
+
+    private ResponseActions expectWindow(Instant start, Instant end, int startIndex) {
+        return server.expect(once(), requestTo(startsWith(BASE_URL)))
+            .andExpect(queryParam("lastModStartDate", NVD_DATE_FORMAT.format(start)))
+            .andExpect(queryParam("lastModEndDate", NVD_DATE_FORMAT.format(end)))
+            .andExpect(queryParam("startIndex", String.valueOf(startIndex)));
+    }
+
+    private static NvdMirrorStateEntity state(Instant lastModified) {
+        NvdMirrorStateEntity entity = new NvdMirrorStateEntity();
+        entity.setId(1L);
+        entity.setLastModified(lastModified);
+        return entity;
+    }
+
+    private static NvdCpeMatchEntity cpeMatch(String cveId, String vendor, String product) {
+        NvdCpeMatchEntity entity = new NvdCpeMatchEntity();
+        entity.setCveId(cveId);
+        entity.setCriteria("cpe:2.3:a:" + vendor + ":" + product + ":*:*:*:*:*:*:*:*");
+        entity.setVendor(vendor);
+        entity.setProduct(product);
+        entity.setVersion("*");
+        entity.setVersionEndExcluding("5.3.18");
+        return entity;
+    }
+
+    private static NvdCveEntity cve(String cveId) {
+        NvdCveEntity entity = new NvdCveEntity();
+        entity.setCveId(cveId);
+        entity.setDescription("Remote code execution");
+        entity.setSeverity(Severity.CRITICAL);
+        entity.setReferencesJson("[]");
+        entity.setPublishedAt(Instant.parse("2022-04-01T00:00:00Z"));
+        entity.setLastModifiedAt(Instant.parse("2022-04-02T00:00:00Z"));
+        return entity;
+    }
+
+    private static ResponseCreator page(int totalResults, String... cveIds) {
+        StringBuilder body = new StringBuilder("{\"resultsPerPage\":" + cveIds.length + ",\"totalResults\":" + totalResults
+            + ",\"vulnerabilities\":[");
+        for (int i = 0; i < cveIds.length; i++) {
+            body.append(i > 0 ? "," : "").append("{\"cve\":{\"id\":\"").append(cveIds[i])
+                .append("\",\"published\":\"2024-01-01T00:00:00.000\",\"lastModified\":\"2024-01-02T00:00:00.000\"}}");
+        }
+        return withSuccess(body.append("]}").toString(), MediaType.APPLICATION_JSON);
+    }
+}
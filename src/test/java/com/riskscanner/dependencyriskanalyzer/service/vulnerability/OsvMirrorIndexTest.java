@@ -0,0 +1,130 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.riskscanner.dependencyriskanalyzer.config.SchedulingConfig;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OsvMirrorIndexTest {
+
+    private static final String TEXT4SHELL = """
+        {"id":"GHSA-599f-7c49-w659","modified":"2024-01-01T00:00:00Z","summary":"Arbitrary code execution",
+         "aliases":["CVE-2022-42889"],
+         "severity":[{"type":"CVSS_V3","score":"CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:U/C:H/I:H/A:H"}],
+         "database_specific":{"severity":"CRITICAL"},
+         "affected":[{"package":{"ecosystem":"Maven","name":"org.apache.commons:commons-text"},
+           "ranges":[{"type":"ECOSYSTEM","events":[{"introduced":"1.5"},{"fixed":"1.10.0"}]}]}]}
+        """;
+
+    private static final String MULTI_RANGE = """
+        {"id":"GHSA-test-0001","modified":"2024-01-01T00:00:00Z",
+         "database_specific":{"severity":"MODERATE"},
+         "affected":[{"package":{"ecosystem":"Maven","name":"com.example:lib"},
+           "ranges":[{"type":"ECOSYSTEM","events":[{"introduced":"0"},{"fixed":"1.2"},{"introduced":"2.0"},{"fixed":"2.3"}]}]}]}
+        """;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final ThreadPoolTaskScheduler scheduler = SchedulingConfig.newScheduler(1);
+    private OsvMirrorIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = newIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void importsAndMatchesByPackageAndRange() throws IOException {
+        Path archive = writeArchive(Map.of("GHSA-599f-7c49-w659.json", TEXT4SHELL, "GHSA-test-0001.json", MULTI_RANGE));
+
+        OsvMirrorIndex.ImportResult result = index.importArchive(archive);
+        assertEquals(2, result.added());
+
+        OsvMirrorVulnerabilityProvider provider = new OsvMirrorVulnerabilityProvider(index);
+        List<Vulnerability> vulnerable = provider.getVulnerabilities(coordinate("org.apache.commons", "commons-text", "1.9"));
+        assertEquals(1, vulnerable.size());
+        assertEquals(Severity.CRITICAL, vulnerable.get(0).getSeverity());
+        assertEquals("CVSS:3.1/AV:N/AC:L/PR:N/UI:N/S:U/C:H/I:H/A:H", vulnerable.get(0).getCvssVector().orElse(null));
+
+        assertTrue(provider.getVulnerabilities(coordinate("org.apache.commons", "commons-text", "1.10.0")).isEmpty());
+
+        // Second interval of a multi-interval range
+        List<Vulnerability> second = provider.getVulnerabilities(coordinate("com.example", "lib", "2.1"));
+        assertEquals(1, second.size());
+        assertEquals(Severity.MEDIUM, second.get(0).getSeverity());
+        assertTrue(provider.getVulnerabilities(coordinate("com.example", "lib", "1.5")).isEmpty());
+    }
+
+    @Test
+    void reimportOnlyParsesChangedEntries() throws IOException {
+        index.importArchive(writeArchive(Map.of("GHSA-599f-7c49-w659.json", TEXT4SHELL, "GHSA-test-0001.json", MULTI_RANGE)));
+
+        String withdrawn = MULTI_RANGE.replace("\"modified\"", "\"withdrawn\":\"2024-02-01T00:00:00Z\",\"modified\"");
+        OsvMirrorIndex.ImportResult result = index.importArchive(
+            writeArchive(Map.of("GHSA-599f-7c49-w659.json", TEXT4SHELL, "GHSA-test-0001.json", withdrawn)));
+
+        assertEquals(new OsvMirrorIndex.ImportResult(0, 1, 1, 0, 0), result);
+        assertTrue(index.findByPackage("com.example:lib").isEmpty());
+    }
+
+    @Test
+    void persistedIndexIsLoadedOnStartup() throws Exception {
+        index.importArchive(writeArchive(Map.of("GHSA-599f-7c49-w659.json", TEXT4SHELL)));
+        index.shutdown();
+
+        index = newIndex();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!index.isLoaded() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(1, index.findByPackage("org.apache.commons:commons-text").size());
+    }
+
+    private OsvMirrorIndex newIndex() {
+        return new OsvMirrorIndex(objectMapper, event -> { }, "", tempDir.resolve("index").toString(), Duration.ofHours(1), scheduler);
+    }
+
+    private Path writeArchive(Map<String, String> records) throws IOException {
+        Path archive = Files.createTempFile(tempDir, "all", ".zip");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for (Map.Entry<String, String> record : records.entrySet()) {
+                zip.putNextEntry(new ZipEntry(record.getKey()));
+                zip.write(record.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    private static DependencyCoordinate coordinate(String groupId, String artifactId, String version) {
+        return new DependencyCoordinate(groupId, artifactId, version, "maven", null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OsvRecordParserTest {
+
+    @Test
+    void streamsQueryResponseInAnyFieldOrder() throws IOException {
+        String response = """
+            {"vulns":[
+              {"affected":[
+                 {"ranges":[{"events":[{"introduced":"0"},{"fixed":"1.2"}],"type":"ECOSYSTEM"},
+                            {"events":[{"introduced":"abc123"}],"type":"GIT","repo":"https://example.com/lib.git"}],
+                  "package":{"purl":"pkg:maven/com.example/lib@1.0"},"versions":["1.0","1.1","1.1"]},
+                 {"package":{"ecosystem":"npm","name":"lib"}}],
+               "database_specific":{"severity":"MODERATE","cwe_ids":["CWE-79","CWE-80"]},
+               "severity":[{"type":"CVSS_V3","score":"CVSS:3.1/AV:N/AC:L/PR:N/UI:R/S:U/C:L/I:L/A:N"}],
+               "id":"GHSA-test-0002","aliases":["CVE-2024-0002"],"withdrawn":null,
+               "published":"2024-01-01T00:00:00Z","schema_version":"1.6.0"},
+              {"summary":"record without id"},
+              {"id":"GHSA-test-0003","withdrawn":"2024-02-01T00:00:00Z"}],
+             "next_page_token":null}
+            """;
+
+        List<OsvAdvisory> advisories = OsvRecordParser.parseVulns(
+            new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(List.of("GHSA-test-0002", "GHSA-test-0003"), advisories.stream().map(OsvAdvisory::id).toList());
+        OsvAdvisory advisory = advisories.get(0);
+        assertEquals(Severity.MEDIUM, advisory.severity());
+        assertEquals("CWE-79", advisory.cweId());
+        assertEquals("CVSS:3.1/AV:N/AC:L/PR:N/UI:R/S:U/C:L/I:L/A:N", advisory.cvssVector());
+        assertFalse(advisory.withdrawn());
+        assertEquals(1, advisory.affected().size());
+        OsvAdvisory.AffectedPackage affected = advisory.affected().get(0);
+        assertEquals("com.example:lib", affected.name());
+        assertEquals(List.of("1.0", "1.1"), affected.versions());
+        assertEquals(List.of(new OsvAdvisory.AffectedRange("0", "1.2", null)), affected.ranges());
+        assertTrue(advisories.get(1).withdrawn());
+    }
+}
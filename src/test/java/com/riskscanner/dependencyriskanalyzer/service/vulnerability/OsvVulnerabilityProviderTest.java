@@ -0,0 +1,125 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class OsvVulnerabilityProviderTest {
+
+    private static final String QUERY_URL = "https://api.osv.dev/v1/query";
+    private static final String BATCH_URL = "https://api.osv.dev/v1/querybatch";
+    private static final String VULN_URL = "https://api.osv.dev/v1/vulns/";
+
+    private static final String ADVISORY = """
+        {"id": "GHSA-57j2-w4cx-62h2", "summary": "Deeply nested JSON can exhaust the stack",
+         "aliases": ["CVE-2020-36518"],
+         "affected": [{"package": {"ecosystem": "Maven", "name": "com.fasterxml.jackson.core:jackson-databind"},
+                       "ranges": [{"type": "ECOSYSTEM", "events": [{"introduced": "0"}, {"fixed": "2.12.6.1"}]}]}],
+         "database_specific": {"severity": "HIGH"}}
+        """;
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final OsvVulnerabilityProvider provider = new OsvVulnerabilityProvider(restTemplate);
+
+    @Test
+    void splitsLargeBatchesIntoQuerybatchChunks() {
+        List<DependencyCoordinate> dependencies = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            dependencies.add(new DependencyCoordinate("org.example", "artifact-" + i, "1.0", "maven", "compile"));
+        }
+        server.expect(once(), requestTo(BATCH_URL)).andExpect(jsonPath("$.queries.length()").value(1000))
+            .andRespond(withSuccess("{\"results\": []}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(BATCH_URL)).andExpect(jsonPath("$.queries.length()").value(1))
+            .andExpect(jsonPath("$.queries[0].package.name").value("org.example:artifact-1000"))
+            .andRespond(withSuccess("{\"results\": [{}]}", MediaType.APPLICATION_JSON));
+
+        Map<DependencyCoordinate, List<Vulnerability>> results = provider.getVulnerabilities(dependencies);
+
+        server.verify();
+        assertEquals(1001, results.size());
+        assertTrue(results.values().stream().allMatch(List::isEmpty));
+    }
+
+    @Test
+    void hydratesEachAdvisoryOnceAcrossDependencies() {
+        DependencyCoordinate databind1 = new DependencyCoordinate("com.fasterxml.jackson.core", "jackson-databind", "2.12.0", "maven", "compile");
+        DependencyCoordinate databind2 = new DependencyCoordinate("com.fasterxml.jackson.core", "jackson-databind", "2.12.1", "gradle", "compile");
+        DependencyCoordinate clean = new DependencyCoordinate("org.apache.commons", "commons-text", "1.10.0", "maven", "compile");
+        server.expect(once(), requestTo(BATCH_URL)).andExpect(method(HttpMethod.POST))
+            .andRespond(withSuccess("""
+                {"results": [{"vulns": [{"id": "GHSA-57j2-w4cx-62h2"}]},
+                             {"vulns": [{"id": "GHSA-57j2-w4cx-62h2"}]},
+                             {}]}
+                """, MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(VULN_URL + "GHSA-57j2-w4cx-62h2")).andExpect(method(HttpMethod.GET))
+            .andRespond(withSuccess(ADVISORY, MediaType.APPLICATION_JSON));
+
+        Map<DependencyCoordinate, List<Vulnerability>> results = provider.getVulnerabilities(List.of(databind1, databind2, clean));
+
+        server.verify();
+        assertEquals(List.of("GHSA-57j2-w4cx-62h2"), results.get(databind1).stream().map(Vulnerability::getId).toList());
+        assertEquals(List.of("GHSA-57j2-w4cx-62h2"), results.get(databind2).stream().map(Vulnerability::getId).toList());
+        assertEquals(List.of(), results.get(clean));
+    }
+
+    @Test
+    void requeriesDependenciesWhoseAdvisoryCouldNotBeHydrated() {
+        DependencyCoordinate databind = new DependencyCoordinate("com.fasterxml.jackson.core", "jackson-databind", "2.12.0", "maven", "compile");
+        DependencyCoordinate clean = new DependencyCoordinate("org.apache.commons", "commons-text", "1.10.0", "maven", "compile");
+        server.expect(once(), requestTo(BATCH_URL))
+            .andRespond(withSuccess("{\"results\": [{\"vulns\": [{\"id\": \"GHSA-57j2-w4cx-62h2\"}]}, {}]}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(VULN_URL + "GHSA-57j2-w4cx-62h2")).andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(once(), requestTo(QUERY_URL)).andExpect(jsonPath("$.package.name").value("com.fasterxml.jackson.core:jackson-databind"))
+            .andRespond(withSuccess("{\"vulns\": [" + ADVISORY + "]}", MediaType.APPLICATION_JSON));
+
+        Map<DependencyCoordinate, List<Vulnerability>> results = provider.getVulnerabilities(List.of(databind, clean));
+
+        server.verify();
+        assertEquals(List.of("GHSA-57j2-w4cx-62h2"), results.get(databind).stream().map(Vulnerability::getId).toList());
+        assertEquals(List.of(), results.get(clean));
+    }
+
+    @Test
+    void fallsBackToSingleLookupsWhenTheBatchIsRejected() {
+        DependencyCoordinate databind = new DependencyCoordinate("com.fasterxml.jackson.core", "jackson-databind", "2.12.0", "maven", "compile");
+        DependencyCoordinate clean = new DependencyCoordinate("org.apache.commons", "commons-text", "1.10.0", "maven", "compile");
+        server.expect(once(), requestTo(BATCH_URL)).andRespond(withStatus(HttpStatus.BAD_REQUEST));
+        server.expect(once(), requestTo(QUERY_URL)).andExpect(jsonPath("$.package.name").value("com.fasterxml.jackson.core:jackson-databind"))
+            .andRespond(withSuccess("{\"vulns\": [" + ADVISORY + "]}", MediaType.APPLICATION_JSON));
+        server.expect(once(), requestTo(QUERY_URL)).andExpect(jsonPath("$.package.name").value("org.apache.commons:commons-text"))
+            .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        Map<DependencyCoordinate, List<Vulnerability>> results = provider.getVulnerabilities(List.of(databind, clean));
+
+        server.verify();
+        assertEquals(List.of("GHSA-57j2-w4cx-62h2"), results.get(databind).stream().map(Vulnerability::getId).toList());
+        assertEquals(List.of(), results.get(clean));
+    }
+
+    @Test
+    void unavailableBatchIsNotRetriedAsSingleLookups() {
+        DependencyCoordinate databind = new DependencyCoordinate("com.fasterxml.jackson.core", "jackson-databind", "2.12.0", "maven", "compile");
+        server.expect(once(), requestTo(BATCH_URL)).andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        assertThrows(ProviderUnavailableException.class, () -> provider.getVulnerabilities(List.of(databind)));
+        server.verify();
+    }
+}
@@ -0,0 +1,142 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.config.SchedulingConfig;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProviderHealthRegistryTest {
+
+    private final ThreadPoolTaskScheduler scheduler = SchedulingConfig.newScheduler(1);
+    private StubProvider provider;
+    private ProviderHealthRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        provider = new StubProvider();
+        registry = new ProviderHealthRegistry(List.of(provider), 2, Duration.ZERO, Duration.ofHours(1), scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+        scheduler.shutdown();
+    }
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+        assertTrue(registry.isHealthy(provider));
+
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+        assertFalse(registry.isHealthy(provider));
+        assertEquals(ProviderHealthRegistry.BreakerState.OPEN, registry.getState(provider));
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+        registry.recordSuccess(provider);
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+
+        assertTrue(registry.isHealthy(provider));
+    }
+
+    @Test
+    void probeClosesOpenBreaker() {
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+
+        provider.probeResult = true;
+        registry.probeOpenBreakers();
+
+        assertEquals(ProviderHealthRegistry.BreakerState.CLOSED, registry.getState(provider));
+        assertEquals(1, provider.probes);
+        assertEquals(List.of(ProviderHealthRegistry.BreakerState.OPEN,
+                ProviderHealthRegistry.BreakerState.HALF_OPEN,
+                ProviderHealthRegistry.BreakerState.CLOSED),
+            registry.getRecentTransitions().stream().map(ProviderHealthRegistry.StateTransition::to).toList());
+    }
+
+    @Test
+    void failedProbeReopensBreaker() {
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+
+        provider.probeResult = false;
+        registry.probeOpenBreakers();
+
+        assertEquals(ProviderHealthRegistry.BreakerState.OPEN, registry.getState(provider));
+        assertFalse(registry.isHealthy(provider));
+    }
+
+    @Test
+    void halfOpenBreakerRejectsLookupsWhileTheTrialRuns() throws Exception {
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+        registry.recordFailure(provider, new RuntimeException("timeout"));
+        CountDownLatch probing = new CountDownLatch(1);
+        CountDownLatch finishProbe = new CountDownLatch(1);
+        provider.probeResult = true;
+        provider.probeGate = () -> {
+            probing.countDown();
+            try {
+                finishProbe.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        Thread trial = new Thread(registry::probeOpenBreakers);
+        trial.start();
+        assertTrue(probing.await(5, TimeUnit.SECONDS));
+
+        assertEquals(ProviderHealthRegistry.BreakerState.HALF_OPEN, registry.getState(provider));
+        assertFalse(registry.isHealthy(provider));
+        registry.probeOpenBreakers();
+        assertEquals(1, provider.probes);
+
+        finishProbe.countDown();
+        trial.join(5000);
+        assertEquals(ProviderHealthRegistry.BreakerState.CLOSED, registry.getState(provider));
+        assertTrue(registry.isHealthy(provider));
+    }
+
+    private static class StubProvider implements VulnerabilityProvider {
+        private volatile boolean probeResult;
+        private volatile int probes;
+        private volatile Runnable probeGate = () -> {};
+
+        @Override
+        public VulnerabilitySource getSource() {
+            return VulnerabilitySource.OSV;
+        }
+
+        @Override
+        public List<Vulnerability> getVulnerabilities(DependencyCoordinate dependency) {
+            return List.of();
+        }
+
+        @Override
+        public boolean supportsOffline() {
+            return false;
+        }
+
+        @Override
+        public boolean probe() {
+            probes++;
+            probeGate.run();
+            return probeResult;
+        }
+    }
+}
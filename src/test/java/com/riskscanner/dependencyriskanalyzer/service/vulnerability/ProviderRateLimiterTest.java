@@ -0,0 +1,105 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class ProviderRateLimiterTest {
+
+    private final ProviderRateLimiter rateLimiter = new ProviderRateLimiter(
+        2, Duration.ofHours(1), 60, Duration.ofHours(1), 0, Duration.ofSeconds(1), 0, Duration.ofSeconds(1), Duration.ZERO);
+
+    @Test
+    void throttledResponsePausesTheSourceInsteadOfReturningNothing() {
+        RestTemplate restTemplate = restTemplate(VulnerabilitySource.OSV);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "120");
+        server.expect(requestTo("https://api.osv.dev/v1/query")).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+
+        ProviderThrottledException throttled = assertThrows(ProviderThrottledException.class,
+            () -> restTemplate.getForObject("https://api.osv.dev/v1/query", String.class));
+        assertEquals(Duration.ofSeconds(120), throttled.getRetryAfter());
+        assertEquals(VulnerabilitySource.OSV, throttled.getSource());
+
+        // Rejected locally while paused; the server sees no second request
+        assertThrows(ProviderThrottledException.class, () -> restTemplate.getForObject("https://api.osv.dev/v1/query", String.class));
+        assertTrue(rateLimiter.getPausedFor(VulnerabilitySource.OSV).toSeconds() > 100);
+        assertEquals(Duration.ZERO, rateLimiter.getPausedFor(VulnerabilitySource.NVD));
+        server.verify();
+    }
+
+    @Test
+    void exhaustedGitHubQuotaPausesUntilReset() {
+        RestTemplate restTemplate = restTemplate(VulnerabilitySource.GITHUB);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", String.valueOf(Instant.now().plusSeconds(600).getEpochSecond()));
+        server.expect(requestTo("https://api.github.com/advisories")).andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).headers(headers));
+
+        assertEquals("[]", restTemplate.getForObject("https://api.github.com/advisories", String.class));
+        assertThrows(ProviderThrottledException.class, () -> restTemplate.getForObject("https://api.github.com/advisories", String.class));
+        server.verify();
+    }
+
+    @Test
+    void localBucketRejectsOnceNoPermitIsLeft() {
+        rateLimiter.acquire(VulnerabilitySource.NVD);
+        rateLimiter.acquire(VulnerabilitySource.NVD);
+        assertThrows(ProviderThrottledException.class, () -> rateLimiter.acquire(VulnerabilitySource.NVD));
+    }
+
+    @Test
+    void lookupWaitsForAPermitUntilItsDeadline() throws Exception {
+        ProviderRateLimiter limiter = new ProviderRateLimiter(
+            1, Duration.ofMillis(300), 60, Duration.ofHours(1), 0, Duration.ofSeconds(1), 0, Duration.ofSeconds(1), Duration.ZERO);
+        LookupDeadline deadline = new LookupDeadline(System.nanoTime() + Duration.ofSeconds(5).toNanos());
+
+        limiter.acquire(VulnerabilitySource.NVD);
+        assertThrows(ProviderThrottledException.class, () -> limiter.acquire(VulnerabilitySource.NVD));
+        deadline.run(() -> {
+            limiter.acquire(VulnerabilitySource.NVD);
+            return null;
+        });
+        assertFalse(deadline.isAwaitingPermit());
+
+        LookupDeadline expired = new LookupDeadline(System.nanoTime());
+        assertThrows(ProviderThrottledException.class, () -> expired.run(() -> {
+            limiter.acquire(VulnerabilitySource.NVD);
+            return null;
+        }));
+    }
+
+    @Test
+    void readsRetryAfterDatesAndResetHeaders() {
+        HttpHeaders date = new HttpHeaders();
+        date.set(HttpHeaders.RETRY_AFTER, DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.now().plusSeconds(90).atZone(ZoneOffset.UTC)));
+        long seconds = ProviderRateLimiter.retryAfter(date).toSeconds();
+        assertTrue(seconds > 80 && seconds <= 90, "retry after " + seconds);
+
+        HttpHeaders past = new HttpHeaders();
+        past.set("X-RateLimit-Reset", String.valueOf(Instant.now().minusSeconds(5).getEpochSecond()));
+        assertEquals(Duration.ZERO, ProviderRateLimiter.retryAfter(past));
+    }
+
+    private RestTemplate restTemplate(VulnerabilitySource source) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(rateLimiter.interceptor(source));
+        return restTemplate;
+    }
+}
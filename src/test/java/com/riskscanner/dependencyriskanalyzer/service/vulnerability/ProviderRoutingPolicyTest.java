@@ -0,0 +1,114 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProviderRoutingPolicyTest {
+
+    private static final DependencyCoordinate JACKSON =
+        new DependencyCoordinate("com.fasterxml.jackson.core", "jackson-databind", "2.12.0", "maven", "compile");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void skipsProvidersWithoutUniqueContributionAfterLearning() {
+        ProviderRoutingPolicy policy = newPolicy();
+        try {
+            assertEquals(ProviderRoutingPolicy.Decision.LEARNING, policy.decide(VulnerabilitySource.MAVEN_CENTRAL, "maven"));
+
+            recordLookups(policy, 10);
+
+            assertEquals(ProviderRoutingPolicy.Decision.QUERY, policy.decide(VulnerabilitySource.OSV, "maven"));
+            assertEquals(ProviderRoutingPolicy.Decision.SKIP, policy.decide(VulnerabilitySource.MAVEN_CENTRAL, "maven"));
+            assertEquals(ProviderRoutingPolicy.Decision.LEARNING, policy.decide(VulnerabilitySource.MAVEN_CENTRAL, "npm"));
+
+            VulnerabilityProvider osv = provider(VulnerabilitySource.OSV);
+            VulnerabilityProvider mavenCentral = provider(VulnerabilitySource.MAVEN_CENTRAL);
+            assertEquals(List.of(osv), policy.route(List.of(osv, mavenCentral), JACKSON, Set.of()));
+            assertEquals(List.of(mavenCentral), policy.route(List.of(mavenCentral), JACKSON, Set.of()));
+
+            ProviderRoutingPolicy.Route route = policy.getRoutes().stream()
+                .filter(r -> r.source() == VulnerabilitySource.MAVEN_CENTRAL).findFirst().orElseThrow();
+            assertEquals(10, route.lookups());
+            assertEquals(0.5, route.yieldRate());
+            assertEquals(0.0, route.uniqueRate());
+            assertEquals(5L, route.p95LatencyMillis());
+        } finally {
+            policy.shutdown();
+        }
+    }
+
+    @Test
+    void fullQueryModeQueriesEveryProvider() {
+        ProviderRoutingPolicy policy = newPolicy();
+        try {
+            recordLookups(policy, 10);
+            policy.forceFullQuery(Duration.ofMinutes(5));
+
+            assertEquals(ProviderRoutingPolicy.Decision.FULL_QUERY, policy.decide(VulnerabilitySource.MAVEN_CENTRAL, "maven"));
+            assertNotNull(policy.getFullQueryUntil());
+
+            policy.forceFullQuery(Duration.ZERO);
+            assertEquals(ProviderRoutingPolicy.Decision.SKIP, policy.decide(VulnerabilitySource.MAVEN_CENTRAL, "maven"));
+        } finally {
+            policy.shutdown();
+        }
+    }
+
+    @Test
+    void keepsStatisticsAcrossRestarts() {
+        ProviderRoutingPolicy policy = newPolicy();
+        recordLookups(policy, 10);
+        policy.shutdown();
+
+        ProviderRoutingPolicy reopened = newPolicy();
+        try {
+            assertEquals(ProviderRoutingPolicy.Decision.SKIP, reopened.decide(VulnerabilitySource.MAVEN_CENTRAL, "maven"));
+            assertEquals(2, reopened.getRoutes().size());
+        } finally {
+            reopened.shutdown();
+        }
+    }
+
+    /**
+     * OSV reports a vulnerability in every lookup; Maven Central corroborates it in every other one
+     * but never reports anything OSV did not.
+     */
+    private static void recordLookups(ProviderRoutingPolicy policy, int count) {
+        for (int i = 0; i < count; i++) {
+            List<VulnerabilitySource> sources = i % 2 == 0
+                ? List.of(VulnerabilitySource.OSV, VulnerabilitySource.MAVEN_CENTRAL)
+                : List.of(VulnerabilitySource.OSV);
+            Vulnerability matched = Vulnerability.builder().id("CVE-2022-42003").source(VulnerabilitySource.OSV)
+                .sources(sources).severity(Severity.HIGH).build();
+            policy.record(JACKSON, Map.of(VulnerabilitySource.OSV, -1L, VulnerabilitySource.MAVEN_CENTRAL, 2_000_000L),
+                List.of(matched));
+        }
+    }
+
+    private ProviderRoutingPolicy newPolicy() {
+        return new ProviderRoutingPolicy(true, tempDir.toString(), 10, 0.01, 0.0, 10_000, new SimpleMeterRegistry());
+    }
+
+    private static VulnerabilityProvider provider(VulnerabilitySource source) {
+        VulnerabilityProvider provider = mock(VulnerabilityProvider.class);
+        when(provider.getSource()).thenReturn(source);
+        return provider;
+    }
+}
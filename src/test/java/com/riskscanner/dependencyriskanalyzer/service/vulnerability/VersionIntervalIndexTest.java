@@ -0,0 +1,87 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.MavenVersion;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VersionIntervalIndexTest {
+
+    @Test
+    void findsMultiRangeAndExactEntries() {
+        VersionIntervalIndex<String> index = VersionIntervalIndex.<String>builder()
+            .add(VersionRange.maximum("2.9.10.8", false), "CVE-A")
+            .add(VersionRange.between("2.10.0", "2.12.7.1", false), "CVE-A")
+            .add(VersionRange.between("2.13.0", "2.13.4.2", false), "CVE-A")
+            .add(VersionRange.minimum("2.16.0"), "CVE-B")
+            .add(VersionRange.between("2.12.0", "2.12.1", true), "CVE-C")
+            .addExact("2.9.10.8", "CVE-D")
+            .build();
+
+        assertEquals(List.of("CVE-A"), index.find("2.9.10.7"));
+        assertEquals(List.of("CVE-D"), index.find("2.9.10.8"));
+        assertEquals(Set.of("CVE-A", "CVE-C"), Set.copyOf(index.find("2.12.1")));
+        assertEquals(List.of(), index.find("2.12.7.1"));
+        assertEquals(List.of("CVE-A"), index.find("2.13.1"));
+        assertEquals(List.of(), index.find("2.15.0"));
+        assertEquals(List.of("CVE-B"), index.find("2.16.0"));
+        assertEquals(List.of(), index.find(""));
+    }
+
+    @Test
+    void matchesLinearScan() {
+        Random random = new Random(7);
+        List<Map.Entry<VersionRange, Integer>> ranges = new ArrayList<>();
+        VersionIntervalIndex.Builder<Integer> builder = VersionIntervalIndex.builder();
+        for (int i = 0; i < 500; i++) {
+            VersionRange range = randomRange(random);
+            ranges.add(Map.entry(range, i));
+            builder.add(range, i);
+        }
+        VersionIntervalIndex<Integer> index = builder.build();
+
+        for (int i = 0; i < 2_000; i++) {
+            String version = randomVersion(random);
+            Set<Integer> expected = new HashSet<>();
+            for (Map.Entry<VersionRange, Integer> entry : ranges) {
+                if (entry.getKey().includes(version)) {
+                    expected.add(entry.getValue());
+                }
+            }
+            List<Integer> found = index.find(version);
+            assertEquals(expected, Set.copyOf(found), version);
+            assertEquals(found.size(), Set.copyOf(found).size(), "duplicates for " + version);
+        }
+    }
+
+    private static VersionRange randomRange(Random random) {
+        String a = randomVersion(random);
+        String b = randomVersion(random);
+        boolean ordered = MavenVersion.compare(a, b) <= 0;
+        String low = ordered ? a : b;
+        String high = ordered ? b : a;
+        return switch (random.nextInt(4)) {
+            case 0 -> VersionRange.minimum(low);
+            case 1 -> VersionRange.maximum(high, random.nextBoolean());
+            case 2 -> VersionRange.exact(low);
+            default -> VersionRange.between(low, high, random.nextBoolean());
+        };
+    }
+
+    private static String randomVersion(Random random) {
+        String version = random.nextInt(4) + "." + random.nextInt(12) + "." + random.nextInt(4);
+        return switch (random.nextInt(6)) {
+            case 0 -> version + "-RC" + (random.nextInt(2) + 1);
+            case 1 -> version + ".Final";
+            default -> version;
+        };
+    }
+}
@@ -0,0 +1,247 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.config.SchedulingConfig;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VersionRange;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import org.h2.mvstore.MVStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VulnerabilityCacheServiceTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private final DependencyCoordinate commonsText =
+        new DependencyCoordinate("org.apache.commons", "commons-text", "1.9", "maven", null);
+    private final DependencyCoordinate jacksonCore =
+        new DependencyCoordinate("com.fasterxml.jackson.core", "jackson-core", "2.17.0", "maven", null);
+    private final List<VulnerabilityCacheService> opened = new ArrayList<>();
+    private final ThreadPoolTaskScheduler scheduler = SchedulingConfig.newScheduler(1);
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(VulnerabilityCacheService::shutdown);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void storesTypedVulnerabilitiesAcrossRestarts() {
+        Vulnerability text4shell = Vulnerability.builder()
+            .id("GHSA-599f-7c49-w659")
+            .source(VulnerabilitySource.GITHUB)
+            .title("Arbitrary code execution")
+            .severity(Severity.CRITICAL)
+            .versionRanges(List.of(VersionRange.between("1.5", "1.10.0", false), VersionRange.maximum("1.2", true)))
+            .aliases(List.of("CVE-2022-42889"))
+            .publishedAt(Instant.parse("2022-10-13T12:00:00.123Z"))
+            .cvssScore(9.8)
+            .build();
+        reopen().cacheVulnerabilities(commonsText, List.of(text4shell));
+
+        VulnerabilityCacheService.CacheLookup lookup = reopen().lookup(commonsText);
+        assertEquals(VulnerabilityCacheService.CacheStatus.HIT, lookup.status());
+        Vulnerability cached = lookup.vulnerabilities().get(0);
+        assertEquals(text4shell, cached);
+        assertEquals(text4shell.getVersionRanges(), cached.getVersionRanges());
+        assertEquals(text4shell.getAliases(), cached.getAliases());
+        assertEquals(text4shell.getPublishedAt(), cached.getPublishedAt());
+        assertEquals(9.8, cached.getCvssScore().orElseThrow());
+        assertTrue(cached.affectsVersion("1.9"));
+    }
+
+    @Test
+    void distinguishesNegativeEntriesFromMisses() {
+        VulnerabilityCacheService cache = reopen();
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS, cache.lookup(commonsText).status());
+
+        cache.cacheVulnerabilities(commonsText, List.of());
+
+        VulnerabilityCacheService.CacheLookup lookup = cache.lookup(commonsText);
+        assertEquals(VulnerabilityCacheService.CacheStatus.NEGATIVE, lookup.status());
+        assertTrue(lookup.isCached());
+        assertTrue(lookup.vulnerabilities().isEmpty());
+        assertEquals(VulnerabilityCacheService.CacheStatus.NEGATIVE, reopen().lookup(commonsText).status());
+    }
+
+    @Test
+    void negativeEntriesUseTheirOwnTtl() {
+        reopen().cacheVulnerabilities(commonsText, List.of());
+
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS,
+            reopen(Duration.ofHours(24), Duration.ZERO).lookup(commonsText).status());
+        reopen().cacheVulnerabilities(commonsText, List.of());
+        assertEquals(VulnerabilityCacheService.CacheStatus.NEGATIVE,
+            reopen(Duration.ZERO, Duration.ofHours(6)).lookup(commonsText).status());
+    }
+
+    @Test
+    void servesExpiredEntriesAsStaleUpToMaxStale() {
+        VulnerabilityCacheService cache = reopen(Duration.ZERO, Duration.ZERO, Duration.ofHours(1), DataSize.ofMegabytes(1));
+        cache.cacheVulnerabilities(commonsText, List.of());
+
+        VulnerabilityCacheService.CacheLookup lookup = cache.lookup(commonsText);
+        assertEquals(VulnerabilityCacheService.CacheStatus.NEGATIVE, lookup.status());
+        assertTrue(lookup.stale());
+        assertNotNull(lookup.cachedAt());
+        assertEquals(1, cache.getCacheStatistics().getStaleHits());
+
+        VulnerabilityCacheService strict = reopen(Duration.ZERO, Duration.ZERO, Duration.ZERO, DataSize.ofMegabytes(1));
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS, strict.lookup(commonsText).status());
+        assertEquals(1, strict.getCacheStatistics().getExpirations());
+    }
+
+    @Test
+    void memoryCacheIsBoundedByWeight() {
+        VulnerabilityCacheService cache = reopen(Duration.ofHours(24), Duration.ofHours(6), Duration.ZERO, DataSize.ofKilobytes(4));
+        for (int i = 0; i < 200; i++) {
+            cache.cacheVulnerabilities(new DependencyCoordinate("org.example", "lib" + i, "1.0", "maven", null), List.of());
+        }
+        cache.cleanupExpiredCache();
+
+        VulnerabilityCacheService.CacheStatistics statistics = cache.getCacheStatistics();
+        assertTrue(statistics.getMemoryCacheEntries() < 200, "entries: " + statistics.getMemoryCacheEntries());
+        assertTrue(statistics.getMemoryCacheEvictions() > 0);
+        assertEquals(200, statistics.getFileCacheEntries());
+        // Evicted entries are still served from the store
+        for (int i = 0; i < 200; i++) {
+            assertEquals(VulnerabilityCacheService.CacheStatus.NEGATIVE,
+                cache.lookup(new DependencyCoordinate("org.example", "lib" + i, "1.0", "maven", null)).status());
+        }
+    }
+
+    @Test
+    void statisticsAreKeptIncrementallyAndSurviveRestarts() {
+        Vulnerability first = Vulnerability.builder().id("CVE-1").source(VulnerabilitySource.NVD).severity(Severity.HIGH).build();
+        Vulnerability second = Vulnerability.builder().id("CVE-2").source(VulnerabilitySource.NVD).severity(Severity.LOW).build();
+        VulnerabilityCacheService cache = reopen();
+        cache.cacheVulnerabilities(commonsText, List.of(first));
+        cache.cacheVulnerabilities(commonsText, List.of(first, second));
+        cache.cacheVulnerabilities(jacksonCore, List.of());
+        cache.lookup(commonsText);
+        cache.lookup(jacksonCore);
+        cache.lookup(new DependencyCoordinate("org.example", "absent", "1.0", "maven", null));
+
+        VulnerabilityCacheService restarted = reopen();
+        VulnerabilityCacheService.CacheStatistics statistics = restarted.getCacheStatistics();
+        assertEquals(2, statistics.getFileCacheEntries());
+        assertEquals(2, statistics.getFileCacheVulnerabilities());
+        assertTrue(statistics.getTotalCacheSizeBytes() > 0);
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getNegativeHits());
+        assertEquals(1, statistics.getMisses());
+
+        restarted.onAdvisoryFeedImported(new AdvisoryFeedImportedEvent("test", Set.of("org.apache.commons:commons-text"), Set.of()));
+        assertEquals(1, restarted.getCacheStatistics().getFileCacheEntries());
+        assertEquals(0, restarted.getCacheStatistics().getFileCacheVulnerabilities());
+        restarted.clearCache();
+        assertEquals(0, restarted.getCacheStatistics().getTotalCacheSizeBytes());
+    }
+
+    @Test
+    void peekingDoesNotCountAsALookup() {
+        VulnerabilityCacheService cache = reopen();
+        cache.cacheVulnerabilities(jacksonCore, List.of());
+
+        assertEquals(VulnerabilityCacheService.CacheStatus.NEGATIVE, cache.peek(jacksonCore).status());
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS, cache.peek(commonsText).status());
+
+        VulnerabilityCacheService.CacheStatistics statistics = cache.getCacheStatistics();
+        assertEquals(0, statistics.getNegativeHits());
+        assertEquals(0, statistics.getMisses());
+    }
+
+    @Test
+    void lookupTotalsSurviveACrash() {
+        Vulnerability first = Vulnerability.builder().id("CVE-1").source(VulnerabilitySource.NVD).severity(Severity.HIGH).build();
+        VulnerabilityCacheService cache = reopen();
+        cache.cacheVulnerabilities(commonsText, List.of(first));
+        cache.lookup(commonsText);
+        cache.lookup(jacksonCore);
+        cache.saveCounters();
+
+        // Committed like the store's background commit, then killed without a clean shutdown
+        MVStore store = (MVStore) ReflectionTestUtils.getField(cache, "store");
+        store.commit();
+        store.closeImmediately();
+
+        VulnerabilityCacheService.CacheStatistics statistics = reopen().getCacheStatistics();
+        assertEquals(1, statistics.getFileCacheEntries());
+        assertEquals(1, statistics.getFileCacheVulnerabilities());
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+    }
+
+    @Test
+    void feedImportInvalidatesTouchedArtifactsOnly() {
+        VulnerabilityCacheService cache = reopen();
+        cache.cacheVulnerabilities(commonsText, List.of());
+        cache.cacheVulnerabilities(jacksonCore, List.of());
+
+        cache.onAdvisoryFeedImported(new AdvisoryFeedImportedEvent("test", Set.of("org.apache.commons:commons-text"), Set.of()));
+
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS, cache.lookup(commonsText).status());
+        assertEquals(VulnerabilityCacheService.CacheStatus.NEGATIVE, cache.lookup(jacksonCore).status());
+
+        // NVD imports name CPE products, which use underscores
+        cache.onAdvisoryFeedImported(new AdvisoryFeedImportedEvent("test", Set.of(), Set.of("jackson_core")));
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS, cache.lookup(jacksonCore).status());
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS, reopen().lookup(jacksonCore).status());
+    }
+
+    @Test
+    void migratesLegacyJsonFiles() throws Exception {
+        Files.writeString(cacheDir.resolve("org.apache.commons_commons-text_1.9_maven.json"), """
+            [{"id":"GHSA-599f-7c49-w659","source":"GITHUB","title":"Arbitrary code execution","severity":"CRITICAL",
+              "affectedVersions":["1.9"],"versionRange":{"present":true},
+              "references":[],"aliases":["CVE-2022-42889"],"cweId":{"present":false}}]
+            """);
+        Path negative = Files.createFile(cacheDir.resolve("com.fasterxml.jackson.core_jackson-core_2.17.0_maven.negative"));
+        Files.setLastModifiedTime(negative, FileTime.from(Instant.now().minus(Duration.ofHours(7))));
+        Files.writeString(cacheDir.resolve("org.example_broken_1.0_maven.json"), "[{\"id\":");
+
+        VulnerabilityCacheService cache = reopen();
+
+        VulnerabilityCacheService.CacheLookup lookup = cache.lookup(commonsText);
+        assertEquals(VulnerabilityCacheService.CacheStatus.HIT, lookup.status());
+        assertTrue(lookup.vulnerabilities().get(0).affectsVersion("1.9"));
+        assertEquals(VulnerabilityCacheService.CacheStatus.MISS, cache.lookup(jacksonCore).status(), "migrated with its mtime");
+        try (var files = Files.list(cacheDir)) {
+            assertEquals(List.of("vulnerability-cache.mv.db"), files.map(file -> file.getFileName().toString()).toList());
+        }
+    }
+
+    private VulnerabilityCacheService reopen() {
+        return reopen(Duration.ofHours(24), Duration.ofHours(6));
+    }
+
+    // The store file is locked while open, so the previous instance is closed first
+    private VulnerabilityCacheService reopen(Duration ttl, Duration negativeTtl) {
+        return reopen(ttl, negativeTtl, Duration.ZERO, DataSize.ofMegabytes(64));
+    }
+
+    private VulnerabilityCacheService reopen(Duration ttl, Duration negativeTtl, Duration maxStale, DataSize memoryMaxSize) {
+        opened.forEach(VulnerabilityCacheService::shutdown);
+        VulnerabilityCacheService cache = new VulnerabilityCacheService(cacheDir.toString(), ttl, negativeTtl, maxStale, memoryMaxSize, scheduler);
+        opened.add(cache);
+        return cache;
+    }
+}
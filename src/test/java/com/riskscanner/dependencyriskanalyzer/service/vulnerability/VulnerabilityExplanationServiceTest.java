@@ -8,11 +8,14 @@ import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilityS
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilityFinding;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.RiskScore;
 import com.riskscanner.dependencyriskanalyzer.model.vulnerability.ConfidenceLevel;
+import com.riskscanner.dependencyriskanalyzer.service.execution.ScanExecutionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +42,7 @@ public class VulnerabilityExplanationServiceTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         explanationService = new VulnerabilityExplanationService();
+        ReflectionTestUtils.setField(explanationService, "scanExecution", new ScanExecutionService(4, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -0,0 +1,318 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.config.SchedulingConfig;
+import com.riskscanner.dependencyriskanalyzer.model.DependencyCoordinate;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Severity;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.Vulnerability;
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import com.riskscanner.dependencyriskanalyzer.service.execution.ScanExecutionService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VulnerabilityMatchingServiceTest {
+
+    private static final DependencyCoordinate COMMONS_TEXT =
+        new DependencyCoordinate("org.apache.commons", "commons-text", "1.9", "maven", "compile");
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ThreadPoolTaskScheduler scheduler = SchedulingConfig.newScheduler(1);
+    private final List<Runnable> cleanup = new ArrayList<>();
+    private ProviderHealthRegistry healthRegistry;
+    private VulnerabilityCacheService cacheService;
+
+    @AfterEach
+    void tearDown() {
+        cleanup.forEach(Runnable::run);
+        scheduler.shutdown();
+    }
+
+    @Test
+    void ordersCachedResultsLikeFreshOnes() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1,
+            dependency -> List.of(advisory("GHSA-low", Severity.LOW), advisory("CVE-2022-42889", Severity.CRITICAL)));
+        VulnerabilityMatchingService service = newService(List.of(osv));
+
+        List<Vulnerability> fresh = service.getVulnerabilities(List.of(COMMONS_TEXT)).get(COMMONS_TEXT);
+        List<Vulnerability> cachedBatch = service.getVulnerabilities(List.of(COMMONS_TEXT)).get(COMMONS_TEXT);
+        List<Vulnerability> cachedSingle = service.getVulnerabilities(COMMONS_TEXT);
+
+        assertEquals(1, osv.lookups);
+        assertEquals(List.of("CVE-2022-42889", "GHSA-low"), fresh.stream().map(Vulnerability::getId).toList());
+        assertEquals(fresh.stream().map(Vulnerability::getId).toList(), cachedBatch.stream().map(Vulnerability::getId).toList());
+        assertEquals(fresh.stream().map(Vulnerability::getId).toList(), cachedSingle.stream().map(Vulnerability::getId).toList());
+    }
+
+    @Test
+    void countsEachLookupOnce() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1,
+            dependency -> List.of(advisory("CVE-2022-42889", Severity.CRITICAL)));
+        VulnerabilityMatchingService service = newService(List.of(osv));
+
+        service.getVulnerabilities(COMMONS_TEXT);
+        service.getVulnerabilities(COMMONS_TEXT);
+
+        VulnerabilityCacheService.CacheStatistics statistics = cacheService.getCacheStatistics();
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getHits());
+    }
+
+    @Test
+    void queriesProvidersConcurrently() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1,
+            dependency -> sleepThen(400, List.of(advisory("GHSA-599f-7c49-w659", Severity.CRITICAL))));
+        StubProvider github = new StubProvider(VulnerabilitySource.GITHUB, 3,
+            dependency -> sleepThen(400, List.of(advisory("GHSA-low", Severity.LOW))));
+        VulnerabilityMatchingService service = newService(List.of(osv, github), 200, Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        List<Vulnerability> results = service.getVulnerabilities(COMMONS_TEXT);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 750, "providers ran one after the other: " + elapsedMillis + " ms");
+        assertEquals(2, results.size());
+        assertEquals(2, providerCalls("success"));
+    }
+
+    @Test
+    void dropsAndCancelsAProviderThatMissesTheDeadline() throws Exception {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1,
+            dependency -> List.of(advisory("CVE-2022-42889", Severity.CRITICAL)));
+        StubProvider nvd = new StubProvider(VulnerabilitySource.NVD, 2, dependency -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+            }
+            return List.of();
+        });
+        VulnerabilityMatchingService service = newService(List.of(osv, nvd), 200, Duration.ofMillis(300));
+
+        long start = System.nanoTime();
+        List<Vulnerability> results = service.getVulnerabilities(COMMONS_TEXT);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMillis < 1300, "lookup waited past the deadline: " + elapsedMillis + " ms");
+        assertEquals(List.of("CVE-2022-42889"), results.stream().map(Vulnerability::getId).toList());
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS), "hanging provider was not cancelled");
+        assertEquals(1, providerCalls("success"));
+        assertEquals(1, providerCalls("timeout"));
+        assertEquals(ProviderHealthRegistry.BreakerState.OPEN, healthRegistry.getState(nvd));
+    }
+
+    @Test
+    void keepsTheOtherAnswersWhenAProviderThrows() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1, dependency -> List.of());
+        StubProvider slowGithub = new StubProvider(VulnerabilitySource.GITHUB, 3,
+            dependency -> sleepThen(200, List.of()));
+        StubProvider nvd = new StubProvider(VulnerabilitySource.NVD, 2, dependency -> {
+            throw new IllegalStateException("connection reset");
+        });
+        VulnerabilityMatchingService service = newService(List.of(osv, slowGithub, nvd), 200, Duration.ofSeconds(5));
+
+        assertEquals(List.of(), service.getVulnerabilities(COMMONS_TEXT));
+        // One provider failed, so the clean result is not cached and the next request asks again
+        assertEquals(List.of(), service.getVulnerabilities(COMMONS_TEXT));
+
+        assertEquals(2, osv.lookups);
+        assertEquals(2, slowGithub.lookups);
+        assertEquals(4, providerCalls("success"));
+        assertEquals(1, providerCalls("error"));
+        assertEquals(ProviderHealthRegistry.BreakerState.OPEN, healthRegistry.getState(nvd));
+    }
+
+    @Test
+    void doesNotCacheACleanResultWhenAProviderCouldNotAnswer() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1, dependency -> List.of());
+        StubProvider github = new StubProvider(VulnerabilitySource.GITHUB, 3, dependency -> {
+            throw new ProviderLookupException(VulnerabilitySource.GITHUB, "unexpected 422", null);
+        });
+        VulnerabilityMatchingService service = newService(List.of(osv, github));
+
+        assertEquals(List.of(), service.getVulnerabilities(COMMONS_TEXT));
+        assertEquals(List.of(), service.getVulnerabilities(COMMONS_TEXT));
+
+        assertEquals(2, osv.lookups);
+        assertEquals(2, github.lookups);
+        assertEquals(ProviderHealthRegistry.BreakerState.CLOSED, healthRegistry.getState(github));
+    }
+
+    @Test
+    void ownRateLimitDoesNotOpenTheBreaker() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1, dependency -> List.of());
+        StubProvider nvd = new StubProvider(VulnerabilitySource.NVD, 3, dependency -> {
+            throw new ProviderThrottledException(VulnerabilitySource.NVD, "rate limited", Duration.ZERO);
+        });
+        VulnerabilityMatchingService service = newService(List.of(osv, nvd));
+
+        assertEquals(List.of(), service.getVulnerabilities(COMMONS_TEXT));
+        assertEquals(List.of(), service.getVulnerabilities(COMMONS_TEXT));
+
+        assertEquals(2, nvd.lookups);
+        assertEquals(ProviderHealthRegistry.BreakerState.CLOSED, healthRegistry.getState(nvd));
+    }
+
+    @Test
+    void doesNotCacheACleanResultWhenRoutingSkippedAProvider() {
+        DependencyCoordinate commonsLang = new DependencyCoordinate("org.apache.commons", "commons-lang3", "3.12.0", "maven", "compile");
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1,
+            dependency -> dependency.equals(COMMONS_TEXT) ? List.of(advisory("CVE-2022-42889", Severity.CRITICAL)) : List.of());
+        StubProvider github = new StubProvider(VulnerabilitySource.GITHUB, 3, dependency -> List.of());
+        VulnerabilityMatchingService service = newService(List.of(osv, github), 1);
+
+        service.getVulnerabilities(COMMONS_TEXT);
+        assertEquals(List.of(), service.getVulnerabilities(commonsLang));
+        assertEquals(List.of(), service.getVulnerabilities(commonsLang));
+
+        assertEquals(3, osv.lookups);
+        assertEquals(1, github.lookups);
+    }
+
+    private VulnerabilityMatchingService newService(List<VulnerabilityProvider> providers) {
+        return newService(providers, 200);
+    }
+
+    private VulnerabilityMatchingService newService(List<VulnerabilityProvider> providers, long minRoutingLookups) {
+        return newService(providers, minRoutingLookups, Duration.ofSeconds(5));
+    }
+
+    private VulnerabilityMatchingService newService(List<VulnerabilityProvider> providers, long minRoutingLookups,
+                                                    Duration providerTimeout) {
+        cacheService = new VulnerabilityCacheService(tempDir.resolve("cache").toString(),
+            Duration.ofHours(24), Duration.ofHours(6), Duration.ofHours(72), DataSize.ofMegabytes(1), scheduler);
+        healthRegistry = new ProviderHealthRegistry(providers, 1, Duration.ofMinutes(1), Duration.ofHours(1), scheduler);
+        ProviderRoutingPolicy routingPolicy = new ProviderRoutingPolicy(true, tempDir.resolve("routing").toString(),
+            minRoutingLookups, 0.005, 0, 10_000, meterRegistry);
+        VulnerabilityMatchingService service = new VulnerabilityMatchingService(providers, cacheService,
+            new FalsePositiveAnalyzer(100, meterRegistry), null, healthRegistry,
+            new VulnerabilityPipelineMetrics(meterRegistry), new ScanExecutionService(4, meterRegistry), routingPolicy,
+            providerTimeout, Duration.ofSeconds(10), 1, 10, meterRegistry);
+        cleanup.add(service::shutdown);
+        cleanup.add(routingPolicy::shutdown);
+        cleanup.add(healthRegistry::shutdown);
+        cleanup.add(cacheService::shutdown);
+        return service;
+    }
+
+    private long providerCalls(String outcome) {
+        return meterRegistry.find("buildaegis.vulnerability.provider.calls").tag("outcome", outcome).timers().stream()
+            .mapToLong(Timer::count)
+            .sum();
+    }
+
+    private static List<Vulnerability> sleepThen(long millis, List<Vulnerability> result) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    private static Vulnerability advisory(String id, Severity severity) {
+        return Vulnerability.builder()
+            .id(id)
+            .source(VulnerabilitySource.OSV)
+            .severity(severity)
+            .affectedVersions(List.of("1.9"))
+            .build();
+    }
+
+    @Test
+    void leavesTheMirrorOutWhileItsSourceAnswers() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1,
+            dependency -> List.of(advisory("CVE-2022-42889", Severity.CRITICAL)));
+        StubProvider mirror = new StubProvider(VulnerabilitySource.OSV_MIRROR, 1,
+            dependency -> List.of(advisory("CVE-2022-42889", Severity.CRITICAL)), VulnerabilitySource.OSV);
+        VulnerabilityMatchingService service = newService(List.of(osv, mirror));
+
+        assertEquals(List.of("CVE-2022-42889"), service.getVulnerabilities(COMMONS_TEXT).stream().map(Vulnerability::getId).toList());
+        assertEquals(1, osv.lookups);
+        assertEquals(0, mirror.lookups);
+    }
+
+    @Test
+    void asksTheMirrorWhenItsSourceFails() {
+        StubProvider osv = new StubProvider(VulnerabilitySource.OSV, 1, dependency -> {
+            throw new IllegalStateException("connection reset");
+        });
+        StubProvider mirror = new StubProvider(VulnerabilitySource.OSV_MIRROR, 1,
+            dependency -> List.of(advisory("CVE-2022-42889", Severity.CRITICAL)), VulnerabilitySource.OSV);
+        VulnerabilityMatchingService service = newService(List.of(osv, mirror), 200, Duration.ofSeconds(5));
+
+        assertEquals(List.of("CVE-2022-42889"), service.getVulnerabilities(COMMONS_TEXT).stream().map(Vulnerability::getId).toList());
+        // The breaker is now open, so OSV is unavailable and the mirror answers alone
+        assertEquals(List.of("CVE-2022-42889"), service.getVulnerabilities(COMMONS_TEXT).stream().map(Vulnerability::getId).toList());
+
+        assertEquals(1, osv.lookups);
+        assertEquals(2, mirror.lookups);
+        assertEquals(ProviderHealthRegistry.BreakerState.OPEN, healthRegistry.getState(osv));
+    }
+
+    private static final class StubProvider implements VulnerabilityProvider {
+
+        private final VulnerabilitySource source;
+        private final int priority;
+        private final Function<DependencyCoordinate, List<Vulnerability>> lookup;
+        private final VulnerabilitySource mirrorOf;
+        private volatile int lookups;
+
+        private StubProvider(VulnerabilitySource source, int priority,
+                             Function<DependencyCoordinate, List<Vulnerability>> lookup) {
+            this(source, priority, lookup, null);
+        }
+
+        private StubProvider(VulnerabilitySource source, int priority,
+                             Function<DependencyCoordinate, List<Vulnerability>> lookup, VulnerabilitySource mirrorOf) {
+            this.source = source;
+            this.priority = priority;
+            this.lookup = lookup;
+            this.mirrorOf = mirrorOf;
+        }
+
+        @Override
+        public VulnerabilitySource getSource() {
+            return source;
+        }
+
+        @Override
+        public List<Vulnerability> getVulnerabilities(DependencyCoordinate dependency) {
+            lookups++;
+            return lookup.apply(dependency);
+        }
+
+        @Override
+        public Optional<VulnerabilitySource> getMirroredSource() {
+            return Optional.ofNullable(mirrorOf);
+        }
+
+        @Override
+        public boolean supportsOffline() {
+            return mirrorOf != null;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.riskscanner.dependencyriskanalyzer.service.vulnerability;
+
+import com.riskscanner.dependencyriskanalyzer.model.vulnerability.VulnerabilitySource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VulnerabilityPipelineMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final VulnerabilityPipelineMetrics metrics = new VulnerabilityPipelineMetrics(registry);
+
+    @Test
+    void recordsProviderCallsBySourceModeAndOutcome() throws Exception {
+        VulnerabilityPipelineMetrics.ProviderCall<List<String>> call =
+            metrics.providerCall(VulnerabilitySource.MAVEN_CENTRAL, "single", System.nanoTime(), List::of);
+        call.call();
+        call.completed(null);
+        metrics.providerCall(VulnerabilitySource.NVD, "batch", System.nanoTime(), List::of).timedOut();
+
+        assertEquals(1, registry.get("buildaegis.vulnerability.provider.calls")
+            .tags("source", "maven-central", "mode", "single", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("buildaegis.vulnerability.provider.calls")
+            .tags("source", "nvd", "mode", "batch", "outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void classifiesProviderFailures() {
+        assertEquals("throttled", VulnerabilityPipelineMetrics.outcomeOf(
+            new ProviderThrottledException(VulnerabilitySource.GITHUB, "rate limited", Duration.ofSeconds(1))));
+        assertEquals("unavailable", VulnerabilityPipelineMetrics.outcomeOf(new ResourceAccessException("refused")));
+        assertEquals("error", VulnerabilityPipelineMetrics.outcomeOf(new IllegalStateException("bad response")));
+    }
+}